@@ -0,0 +1,24 @@
+-- migrations/001-book-title-id-index.sql
+--
+-- Replaces idx_title (title) with idx_title_id (title, id), which serves the
+-- keyset pages of GET /api/v1/books?sort=title and the title search. The old
+-- index is a strict prefix of the new one, so it served no query the new one
+-- cannot while costing a write on every insert and title change.
+-- ddl-auto=update creates idx_title_id but never drops indexes, and
+-- ddl-auto=validate creates neither.
+--
+-- Safe to run while the application is serving traffic:
+--   psql -U library_user -d library_db \
+--        -f scripts/migrations/001-book-title-id-index.sql
+--
+-- idx_title_id is built first, so title lookups are never left without an
+-- index. CREATE INDEX CONCURRENTLY cannot run inside a transaction; if the
+-- build fails it leaves an INVALID index behind; drop it and run the script
+-- again.
+
+\set ON_ERROR_STOP on
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_title_id
+    ON books (title, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_title;
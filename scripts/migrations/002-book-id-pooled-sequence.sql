@@ -0,0 +1,35 @@
+-- migrations/002-book-id-pooled-sequence.sql
+--
+-- Moves books.id from IDENTITY generation to the pooled-lo sequence used by
+-- the Book entity, so Hibernate can batch inserts.
+--
+-- Run once against an existing database while the application is stopped:
+--   psql -U library_user -d library_db \
+--        -v allocation_size=50 \
+--        -f scripts/migrations/002-book-id-pooled-sequence.sql
+--
+-- allocation_size is the number of IDs each application instance reserves per
+-- sequence call. The application adopts the INCREMENT BY of books_id_seq at
+-- startup, so this is also how the allocation size is changed later on
+-- (ALTER SEQUENCE books_id_seq INCREMENT BY <n>).
+
+\set ON_ERROR_STOP on
+
+BEGIN;
+
+LOCK TABLE books IN EXCLUSIVE MODE;
+
+-- Dropping the identity also drops the sequence it owned (books_id_seq)
+ALTER TABLE books ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE books ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS books_id_seq
+    START WITH 1
+    INCREMENT BY :allocation_size;
+
+ALTER SEQUENCE books_id_seq INCREMENT BY :allocation_size;
+
+-- With pooled-lo the next sequence value is the first ID of the next block
+SELECT setval('books_id_seq', COALESCE((SELECT MAX(id) FROM books), 0) + 1, false);
+
+COMMIT;
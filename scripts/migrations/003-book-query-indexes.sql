@@ -0,0 +1,31 @@
+-- migrations/003-book-query-indexes.sql
+--
+-- Creates the composite indexes declared on the Book entity for
+-- GET /api/v1/books/query. Databases managed with ddl-auto=validate do not
+-- get them otherwise.
+--
+-- Safe to run while the application is serving traffic:
+--   psql -U library_user -d library_db \
+--        -f scripts/migrations/003-book-query-indexes.sql
+--
+-- CREATE INDEX CONCURRENTLY does not block writes but cannot run inside a
+-- transaction, so each index is built on its own. If a build fails it leaves
+-- an INVALID index behind; drop it and run the script again.
+
+\set ON_ERROR_STOP on
+
+-- Equality on author or publisher, then a range or sort on the date or price
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_author_publication_date
+    ON books (author, publication_date, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_publisher_publication_date
+    ON books (publisher, publication_date, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_publisher_price
+    ON books (publisher, price, id);
+
+-- Ranges and keyset pages on price or publication date alone
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_price_id
+    ON books (price, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_publication_date_id
+    ON books (publication_date, id);
+
+ANALYZE books;
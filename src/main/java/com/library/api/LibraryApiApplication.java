@@ -2,6 +2,7 @@ package com.library.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Main entry point for the Library Management API application.
@@ -10,6 +11,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * including operations to create, read, update, and delete books.
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class LibraryApiApplication {
 
     public static void main(String[] args) {
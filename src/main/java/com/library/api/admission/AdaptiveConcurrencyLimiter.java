@@ -0,0 +1,216 @@
+package com.library.api.admission;
+
+import com.library.api.config.ConcurrencyLimitProperties;
+import com.library.api.deadline.RequestDeadline;
+import com.library.api.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive concurrency limiter for database-bound calls.
+ *
+ * Admits calls while fewer than the current limit are in flight. Others
+ * wait in a short, bounded queue and are rejected with
+ * {@link ServiceOverloadedException} once it is full or their wait expires,
+ * instead of piling up on the connection pool. A request deadline shortens
+ * the wait further. The limit follows an AIMD
+ * rule: it grows by roughly one per limit's worth of fast calls made while
+ * at least half the slots are busy, and is multiplied by the backoff ratio
+ * whenever a call exceeds the latency threshold or fails for lack of
+ * database capacity. Bulk calls are judged by their latency per item, so a
+ * large batch that is fast per row does not shrink the limit for everyone.
+ *
+ * Publishes {@code library.concurrency.limit}, {@code .in-flight},
+ * {@code .queued}, {@code .queue-wait} and {@code .rejected}.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotAvailable = lock.newCondition();
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+    private final long latencyThresholdNanos;
+
+    private double limit;
+    private int inFlight;
+    private int queued;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+
+        Gauge.builder("library.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("library.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Database-bound calls currently admitted")
+                .register(meterRegistry);
+        Gauge.builder("library.concurrency.queued", this, AdaptiveConcurrencyLimiter::getQueued)
+                .description("Calls waiting for a slot")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("library.concurrency.queue-wait")
+                .description("Time calls spent waiting for a slot")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("library.concurrency.rejected")
+                .description("Calls shed because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a call once a slot is available.
+     *
+     * @param call the database-bound call
+     * @param <T> the result type
+     * @return the result of the call
+     * @throws ServiceOverloadedException if no slot became available in time
+     */
+    public <T> T execute(Supplier<T> call) {
+        return execute(call, 1);
+    }
+
+    /**
+     * Runs a bulk call once a slot is available. Its latency is divided by
+     * the number of items before it is compared with the latency threshold.
+     *
+     * @param call the database-bound call
+     * @param items the number of items the call works on
+     * @param <T> the result type
+     * @return the result of the call
+     * @throws ServiceOverloadedException if no slot became available in time
+     */
+    public <T> T execute(Supplier<T> call, int items) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+
+        acquire();
+        long start = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            return call.get();
+        } catch (CannotCreateTransactionException | TransientDataAccessException e) {
+            // Lost optimistic-lock races say nothing about database capacity
+            overloaded = !(e instanceof ConcurrencyFailureException);
+            throw e;
+        } finally {
+            release((System.nanoTime() - start) / Math.max(1, items), overloaded);
+        }
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return the number of calls admitted at once
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of admitted calls.
+     *
+     * @return the calls in flight
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of calls waiting for a slot.
+     *
+     * @return the queued calls
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire() {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return;
+            }
+            if (queued >= properties.getMaxQueueSize()) {
+                throw reject();
+            }
+
+            queued++;
+            long start = System.nanoTime();
+            long remaining = RequestDeadline.current()
+                    .map(deadline -> Math.min(deadline.remaining().toNanos(), properties.getMaxQueueWait().toNanos()))
+                    .orElse(properties.getMaxQueueWait().toNanos());
+            try {
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        throw reject();
+                    }
+                    remaining = slotAvailable.awaitNanos(remaining);
+                }
+                inFlight++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject();
+            } finally {
+                queued--;
+                queueWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long latencyNanos, boolean overloaded) {
+        lock.lock();
+        try {
+            if (overloaded || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+            } else if (inFlight * 2 >= currentLimit()) {
+                limit = Math.min(properties.getMaxLimit(), limit + 1.0 / limit);
+            }
+            inFlight--;
+            slotAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentLimit() {
+        return Math.max(properties.getMinLimit(), (int) limit);
+    }
+
+    private ServiceOverloadedException reject() {
+        rejectedCounter.increment();
+        return ServiceOverloadedException.atLimit(currentLimit(), properties.getRetryAfter());
+    }
+}
@@ -0,0 +1,111 @@
+package com.library.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.api.config.BookCacheProperties;
+import com.library.api.dto.BookResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+
+/**
+ * Bounded in-process cache of books keyed by ID.
+ *
+ * Backed by Caffeine, whose W-TinyLFU policy admits and evicts entries by
+ * access frequency so that popular books stay resident. Each entry records
+ * the entity version it was built from, letting callers reject entries that
+ * were overtaken by a write. Hit, miss and eviction counts are published
+ * as {@code cache.*} metrics tagged {@code cache=books}.
+ */
+@Component
+@Slf4j
+public class BookCache {
+
+    static final String CACHE_NAME = "books";
+
+    private final Cache<Long, CachedBook> cache;
+    private final boolean enabled;
+    private final Counter staleCounter;
+
+    public BookCache(BookCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.staleCounter = Counter.builder("library.cache.stale")
+                .description("Cache hits rejected because the book was modified since it was cached")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached entry for a book, if any.
+     *
+     * @param id the book ID
+     * @return the cached entry, or null on a miss or when caching is disabled
+     */
+    public CachedBook get(Long id) {
+        return enabled ? cache.getIfPresent(id) : null;
+    }
+
+    /**
+     * Caches the representation of a book at the given version.
+     *
+     * @param id the book ID
+     * @param version the entity version the representation was built from
+     * @param book the representation to cache
+     */
+    public void put(Long id, Long version, BookResponseDto book) {
+        if (enabled) {
+            cache.put(id, new CachedBook(version, book));
+        }
+    }
+
+    /**
+     * Returns whether a cached entry still matches the book's current version.
+     * A mismatching entry is evicted and counted as stale.
+     *
+     * @param id the book ID
+     * @param cached the entry previously returned by {@link #get(Long)}
+     * @param currentVersion the version currently stored in the database
+     * @return true if the entry can be served
+     */
+    public boolean isCurrent(Long id, CachedBook cached, Long currentVersion) {
+        if (Objects.equals(cached.version(), currentVersion)) {
+            return true;
+        }
+        log.debug("Discarding stale cache entry for book {} (cached version {}, current {})",
+                id, cached.version(), currentVersion);
+        staleCounter.increment();
+        cache.asMap().remove(id, cached);
+        return false;
+    }
+
+    /**
+     * Removes a book from the cache now and, when called inside a transaction,
+     * again once it commits, so a concurrent read cannot repopulate the entry
+     * with data from before the write.
+     *
+     * @param id the book ID
+     */
+    public void evict(Long id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+}
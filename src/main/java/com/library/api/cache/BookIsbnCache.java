@@ -0,0 +1,78 @@
+package com.library.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.api.config.BookCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded in-process cache resolving ISBNs to book IDs.
+ *
+ * The cached ID is only a hint: callers resolve the book through
+ * {@link BookCache} and must confirm that it still carries the ISBN before
+ * serving it. Sized and enabled by the same {@code library.cache.books}
+ * settings, and published as {@code cache.*} metrics tagged
+ * {@code cache=books-by-isbn}.
+ */
+@Component
+public class BookIsbnCache {
+
+    static final String CACHE_NAME = "books-by-isbn";
+
+    private final Cache<String, Long> cache;
+    private final boolean enabled;
+
+    public BookIsbnCache(BookCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the ID last seen for an ISBN.
+     *
+     * @param isbn the ISBN
+     * @return the book ID, or null on a miss or when caching is disabled
+     */
+    public Long get(String isbn) {
+        return enabled ? cache.getIfPresent(isbn) : null;
+    }
+
+    /**
+     * Records which book an ISBN belongs to.
+     *
+     * @param isbn the ISBN
+     * @param id the ID of the book carrying the ISBN
+     */
+    public void put(String isbn, Long id) {
+        if (enabled) {
+            cache.put(isbn, id);
+        }
+    }
+
+    /**
+     * Removes an ISBN now and, when called inside a transaction, again once it
+     * completes, so a concurrent lookup cannot re-insert the old mapping.
+     *
+     * @param isbn the ISBN that no longer belongs to its cached book
+     */
+    public void evict(String isbn) {
+        cache.invalidate(isbn);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(isbn);
+                }
+            });
+        }
+    }
+}
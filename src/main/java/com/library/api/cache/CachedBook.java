@@ -0,0 +1,12 @@
+package com.library.api.cache;
+
+import com.library.api.dto.BookResponseDto;
+
+/**
+ * A cached book representation together with the entity version it was built from.
+ *
+ * @param version the value of {@code Book.version} when the entry was loaded
+ * @param book the response representation of the book
+ */
+public record CachedBook(Long version, BookResponseDto book) {
+}
@@ -0,0 +1,217 @@
+package com.library.api.coalescing;
+
+import com.library.api.config.GroupCommitProperties;
+import com.library.api.deadline.RequestDeadline;
+import com.library.api.dto.BookRequestDto;
+import com.library.api.dto.BookResponseDto;
+import com.library.api.exception.DeadlineExceededException;
+import com.library.api.exception.DuplicateIsbnException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Group commit for single-book creates.
+ *
+ * The first create to arrive opens a batch and waits for the configured
+ * window, or until the batch is full, while later creates join it. That
+ * caller then inserts the whole batch in one transaction on its own thread;
+ * the others wait for their own result. A create whose ISBN already exists,
+ * or was taken by an earlier create in the same batch, fails with
+ * {@link DuplicateIsbnException} without affecting the rest. If a concurrent
+ * writer takes one of the ISBNs mid-batch, the batch transaction rolls back
+ * and its creates are retried one by one.
+ *
+ * The batch runs under the caller that opened it, with its
+ * {@link RequestDeadline} and routing context. Retries therefore happen on
+ * each caller's own thread, and when the batch fails because that caller ran
+ * out of time, the other callers create their own book within their own
+ * deadline instead of failing too.
+ *
+ * Publishes {@code library.group-commit.batch-size} and
+ * {@code library.group-commit.fallbacks}.
+ */
+@Slf4j
+@Component
+public class CreateBookBatcher {
+
+    private final GroupCommitProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final DistributionSummary batchSizes;
+    private final Counter fallbacks;
+
+    private Batch open;
+
+    public CreateBookBatcher(GroupCommitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.batchSizes = DistributionSummary.builder("library.group-commit.batch-size")
+                .description("Number of creates committed together")
+                .serviceLevelObjectives(1, 2, 5, 10, 25, 50, 100)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("library.group-commit.fallbacks")
+                .description("Batches retried one create at a time after a concurrent ISBN conflict")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns whether creates are group-committed.
+     *
+     * @return true if {@link #submit} should be used
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Creates a book as part of a batch.
+     *
+     * @param request the book to create
+     * @param createAll creates a batch, returning null for skipped duplicates
+     * @param createOne creates a single book, used when a batch has to be retried
+     * @return the created book
+     * @throws DuplicateIsbnException if the ISBN is already taken
+     */
+    public BookResponseDto submit(BookRequestDto request,
+                                  Function<List<BookRequestDto>, List<BookResponseDto>> createAll,
+                                  Function<BookRequestDto, BookResponseDto> createOne) {
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        Batch batch;
+        boolean leader;
+
+        lock.lock();
+        try {
+            leader = open == null;
+            if (leader) {
+                open = new Batch(lock.newCondition());
+            }
+            batch = open;
+            batch.items.add(pending);
+            if (batch.items.size() >= properties.getMaxBatchSize()) {
+                open = null;
+                batch.full.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (leader) {
+            awaitBatch(batch);
+            flush(batch.items, pending, createAll);
+        }
+
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RetryAlone) {
+                return createOne.apply(request);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until the batch is full or its window has passed, then closes it.
+     *
+     * @param batch the batch opened by the calling thread
+     */
+    private void awaitBatch(Batch batch) {
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            long remaining = properties.getWindow().toNanos();
+            while (open == batch && remaining > 0) {
+                try {
+                    remaining = batch.full.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    break;
+                }
+            }
+            if (open == batch) {
+                open = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates a closed batch and completes each of its creates.
+     *
+     * @param items the creates of the batch
+     * @param leader the create of the caller running the batch
+     * @param createAll creates the batch in one transaction
+     */
+    private void flush(List<Pending> items, Pending leader,
+                       Function<List<BookRequestDto>, List<BookResponseDto>> createAll) {
+        batchSizes.record(items.size());
+        List<BookRequestDto> requests = items.stream().map(Pending::request).toList();
+
+        List<BookResponseDto> created;
+        try {
+            created = createAll.apply(requests);
+        } catch (DuplicateIsbnException e) {
+            log.debug("Group commit of {} books hit a concurrent ISBN conflict, retrying one by one", items.size());
+            fallbacks.increment();
+            items.forEach(item -> item.result.completeExceptionally(new RetryAlone(e)));
+            return;
+        } catch (RuntimeException e) {
+            // The leader's deadline is not the others', so they retry within their own
+            boolean leaderOutOfTime = e instanceof DeadlineExceededException
+                    || RequestDeadline.current().map(RequestDeadline::isExpired).orElse(false);
+            items.forEach(item -> item.result.completeExceptionally(
+                    leaderOutOfTime && item != leader ? new RetryAlone(e) : e));
+            return;
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            BookResponseDto book = created.get(i);
+            Pending item = items.get(i);
+            if (book != null) {
+                item.result.complete(book);
+            } else {
+                item.result.completeExceptionally(DuplicateIsbnException.forIsbn(item.request.getIsbn()));
+            }
+        }
+    }
+
+    /**
+     * Outcome of a create that its caller has to run again on its own.
+     */
+    private static final class RetryAlone extends RuntimeException {
+
+        RetryAlone(Throwable cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+    }
+
+    private record Pending(BookRequestDto request, CompletableFuture<BookResponseDto> result) {
+    }
+
+    private static final class Batch {
+
+        private final List<Pending> items = new ArrayList<>();
+        private final Condition full;
+
+        private Batch(Condition full) {
+            this.full = full;
+        }
+    }
+}
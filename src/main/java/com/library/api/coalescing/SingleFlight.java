@@ -0,0 +1,163 @@
+package com.library.api.coalescing;
+
+import com.library.api.config.SingleFlightProperties;
+import com.library.api.deadline.RequestDeadline;
+import com.library.api.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls into a single execution.
+ *
+ * The first caller for a given operation and arguments runs the call; callers
+ * arriving while it is in flight wait for it and share its result or
+ * exception. Nothing is retained once the call completes, so this bounds
+ * concurrency without caching. Executed and coalesced calls are counted as
+ * {@code library.single-flight.calls}, tagged by operation and outcome.
+ *
+ * Every caller keeps its own {@link RequestDeadline}: a waiting caller gives
+ * up when its deadline passes, and a call that failed because the leader ran
+ * out of time is run again by the callers still waiting for it instead of
+ * failing them too.
+ *
+ * Whether the current thread's last call only shared another caller's
+ * execution is available from {@link #lastCallShared()}, so that layers in
+ * front of this one can count each database call once.
+ */
+@Component
+public class SingleFlight {
+
+    private static final ThreadLocal<Boolean> SHARED = new ThreadLocal<>();
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(SingleFlightProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a call, or joins an identical call that is already in flight.
+     *
+     * @param operation the name of the operation
+     * @param arguments the arguments identifying the call, may contain nulls
+     * @param call the call to run if none is in flight
+     * @param <T> the result type
+     * @return the result of the call
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, List<?> arguments, Supplier<T> call) {
+        SHARED.remove();
+        if (!enabled) {
+            return call.get();
+        }
+
+        Key key = new Key(operation, arguments);
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+
+        if (existing != null) {
+            SHARED.set(Boolean.TRUE);
+            meterRegistry.counter("library.single-flight.calls", "operation", operation, "outcome", "coalesced")
+                    .increment();
+            try {
+                return (T) await(existing);
+            } catch (LeaderDeadlineExceeded e) {
+                // The leader's deadline is not ours, so run the call again within our own
+                return execute(operation, arguments, call);
+            }
+        }
+
+        meterRegistry.counter("library.single-flight.calls", "operation", operation, "outcome", "executed")
+                .increment();
+        try {
+            T result = call.get();
+            leader.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            boolean leaderOutOfTime = e instanceof DeadlineExceededException
+                    || RequestDeadline.current().map(RequestDeadline::isExpired).orElse(false);
+            leader.completeExceptionally(leaderOutOfTime ? new LeaderDeadlineExceeded(e) : e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    /**
+     * Returns whether the last call made on this thread through
+     * {@link #execute(String, List, Supplier)} waited for another caller's
+     * execution instead of running the call itself, whether it succeeded or failed.
+     *
+     * @return true if the result or failure was shared
+     */
+    public static boolean lastCallShared() {
+        return Boolean.TRUE.equals(SHARED.get());
+    }
+
+    /**
+     * Forgets whether this thread's last call was shared, before a call
+     * that may not go through single-flight at all.
+     */
+    public static void clearShared() {
+        SHARED.remove();
+    }
+
+    /**
+     * Waits for the leader's result, no longer than the current request's deadline allows.
+     *
+     * @param shared the leader's pending result
+     * @return the leader's result
+     * @throws DeadlineExceededException if the current deadline passes first
+     * @throws LeaderDeadlineExceeded if the leader failed on its own deadline
+     */
+    private static Object await(CompletableFuture<Object> shared) {
+        Optional<RequestDeadline> deadline = RequestDeadline.current();
+        try {
+            if (deadline.isEmpty()) {
+                return shared.join();
+            }
+            deadline.get().checkNotExpired();
+            return shared.get(deadline.get().remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw DeadlineExceededException.forTimeout(deadline.get().getTimeout(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared call", e);
+        } catch (CompletionException | ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Failure of a leader whose own deadline had passed, which says nothing about the waiting callers.
+     */
+    private static final class LeaderDeadlineExceeded extends RuntimeException {
+
+        LeaderDeadlineExceeded(Throwable cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+    }
+
+    private record Key(String operation, List<?> arguments) {
+    }
+}
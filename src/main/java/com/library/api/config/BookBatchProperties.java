@@ -0,0 +1,22 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for bulk book operations.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.batch")
+public class BookBatchProperties {
+
+    /**
+     * Maximum number of books accepted in a single batch request.
+     */
+    private int maxItems = 5000;
+
+    /**
+     * Maximum number of ISBNs bound into a single IN query when checking for duplicates.
+     */
+    private int lookupChunkSize = 1000;
+}
@@ -0,0 +1,35 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-process book cache.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.cache.books")
+public class BookCacheProperties {
+
+    /**
+     * Whether single-book lookups are served from the in-process cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of books held in the cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long an entry may live after it was loaded from the database.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    /**
+     * Whether a cache hit is confirmed against the book's current version before it is served.
+     * Keeps instances consistent with writes made elsewhere, at the cost of one indexed lookup.
+     */
+    private boolean validateVersion = true;
+}
@@ -0,0 +1,34 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for streaming bulk imports.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.import")
+public class BookImportProperties {
+
+    /**
+     * Number of rows committed per transaction. Capped by {@code library.batch.max-items}.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Maximum number of rejected rows whose details are kept on an import job.
+     */
+    private int maxReportedErrors = 100;
+
+    /**
+     * Maximum number of import jobs kept in memory. The oldest completed or
+     * failed job is evicted to make room; pending and running jobs never are,
+     * so new jobs are refused while all retained jobs are in progress.
+     */
+    private int maxRetainedJobs = 100;
+
+    /**
+     * Maximum length of a single input record, in characters.
+     */
+    private int maxRecordLength = 65536;
+}
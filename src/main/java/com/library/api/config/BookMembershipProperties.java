@@ -0,0 +1,31 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the in-memory ISBN and ID membership filters.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.membership")
+public class BookMembershipProperties {
+
+    /**
+     * Whether lookups for definitely absent ISBNs and IDs skip the database.
+     * Only enable when this instance is the sole writer of the books table:
+     * the filters only learn about the writes it performs itself, so a book
+     * written by another instance, the import script or plain SQL would be
+     * reported missing until the next restart.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of ISBNs the Bloom filter is sized for.
+     */
+    private long expectedIsbns = 1_000_000;
+
+    /**
+     * Target false-positive probability of the Bloom filter at the expected number of ISBNs.
+     */
+    private double falsePositiveRate = 0.01;
+}
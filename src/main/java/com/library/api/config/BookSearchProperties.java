@@ -0,0 +1,57 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory book search index.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.search")
+public class BookSearchProperties {
+
+    /**
+     * Whether title and author searches, fuzzy searches and suggestions are
+     * answered from the in-memory index. While disabled, substring searches
+     * query the database and fuzzy searches and suggestions answer 503.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How often books written by other instances, imports or plain SQL are
+     * re-read into the index, and deleted books dropped from it. Zero to only
+     * see writes made through this instance.
+     */
+    private Duration catchUpInterval = Duration.ofMinutes(1);
+
+    /**
+     * How much older than the previous catch-up a change may be and still be
+     * re-read. Covers transactions that committed after the catch-up started
+     * but stamped their rows before it, and clock skew between instances.
+     */
+    private Duration catchUpMargin = Duration.ofMinutes(5);
+
+    /**
+     * Number of leading characters a term must share exactly with a fuzzy query term.
+     * Lower values find typos in the first letters at the cost of slower fuzzy searches.
+     */
+    private int fuzzyPrefixLength = 1;
+
+    /**
+     * Retry-After sent with searches that need the index while it is loading or disabled.
+     */
+    private Duration unavailableRetryAfter = Duration.ofSeconds(5);
+
+    /**
+     * Number of suggestions returned when the request does not specify a limit.
+     */
+    private int defaultSuggestions = 10;
+
+    /**
+     * Upper bound on the number of suggestions per request. The index keeps
+     * this many precomputed suggestions for every popular prefix.
+     */
+    private int maxSuggestions = 20;
+}
@@ -0,0 +1,55 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the database circuit breaker and its stale-response store.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    /**
+     * Whether book service calls go through the circuit breaker.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Percentage of failed calls in the window at which the breaker opens.
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * Number of most recent calls the failure rate is computed over.
+     */
+    private int slidingWindowSize = 20;
+
+    /**
+     * Minimum number of calls in the window before the breaker may open.
+     */
+    private int minimumCalls = 10;
+
+    /**
+     * How long the breaker stays open before letting probes through.
+     */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    /**
+     * Number of probe calls allowed while half-open; all must succeed to close.
+     */
+    private int permittedProbes = 3;
+
+    /**
+     * Maximum number of books held across the last known good read responses;
+     * a page or list weighs as many books as it contains.
+     */
+    private long staleMaxBooks = 50_000;
+
+    /**
+     * Stale responses older than this are not served.
+     */
+    private Duration staleTtl = Duration.ofHours(1);
+}
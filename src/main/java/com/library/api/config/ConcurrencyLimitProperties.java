@@ -0,0 +1,60 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the adaptive concurrency limiter in front of the database.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.concurrency")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Whether database-bound service calls are subject to admission control.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Concurrency limit before any latency has been observed.
+     */
+    private int initialLimit = 10;
+
+    /**
+     * Lowest concurrency limit the limiter backs off to.
+     */
+    private int minLimit = 1;
+
+    /**
+     * Highest concurrency limit the limiter grows to.
+     */
+    private int maxLimit = 100;
+
+    /**
+     * Calls slower than this are treated as a sign of overload and shrink the limit.
+     * Batch creates are measured per item.
+     */
+    private Duration latencyThreshold = Duration.ofMillis(250);
+
+    /**
+     * Factor applied to the limit on overload.
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Maximum number of calls waiting for a slot; further calls are rejected at once.
+     */
+    private int maxQueueSize = 100;
+
+    /**
+     * How long a call may wait for a slot before it is rejected.
+     */
+    private Duration maxQueueWait = Duration.ofMillis(100);
+
+    /**
+     * Retry-After advertised to rejected clients.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,36 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for per-request deadlines.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.deadline")
+public class DeadlineProperties {
+
+    /**
+     * Whether requests carry a deadline into their database work.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Deadline for requests without a timeout header or endpoint default.
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Upper bound on the timeout a client may ask for.
+     */
+    private Duration maxTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Default deadlines by request path pattern, checked in order before the global default.
+     */
+    private Map<String, Duration> endpointTimeouts = new LinkedHashMap<>();
+}
@@ -0,0 +1,56 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the ranked full-text search index.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.full-text")
+public class FullTextSearchProperties {
+
+    /**
+     * Whether the full-text index is built.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How often books written by other instances, imports or plain SQL are
+     * re-read into the index, and deleted books dropped from it. Zero to only
+     * see writes made through this instance.
+     */
+    private Duration catchUpInterval = Duration.ofMinutes(1);
+
+    /**
+     * File the index is saved to after loading and on shutdown, so a restart
+     * only re-reads the books changed since. Empty to always rebuild from the database.
+     */
+    private String snapshotPath = "data/full-text-index.bin";
+
+    /**
+     * How much older than the snapshot or the previous catch-up a change may
+     * be and still be re-read. Covers transactions that committed after the
+     * catch-up started but stamped their rows before it, and clock skew
+     * between instances.
+     */
+    private Duration catchUpMargin = Duration.ofMinutes(5);
+
+    /**
+     * How many times a title term counts compared to a description term.
+     * Changing it discards existing snapshots.
+     */
+    private int titleWeight = 2;
+
+    /**
+     * BM25 term frequency saturation: how quickly repeating a term stops raising the score.
+     */
+    private double k1 = 1.2;
+
+    /**
+     * BM25 length normalization, from 0 (ignore document length) to 1 (fully normalize).
+     */
+    private double b = 0.75;
+}
@@ -1,16 +1,35 @@
 package com.library.api.config;
 
 import com.library.api.dto.ErrorResponseDto;
+import com.library.api.exception.BatchSizeExceededException;
 import com.library.api.exception.BookNotFoundException;
+import com.library.api.exception.BookUpdateConflictException;
+import com.library.api.exception.BookVersionMismatchException;
+import com.library.api.exception.DeadlineExceededException;
 import com.library.api.exception.DuplicateIsbnException;
+import com.library.api.exception.IdempotencyKeyInProgressException;
+import com.library.api.exception.IdempotencyKeyMismatchException;
+import com.library.api.exception.ImportJobNotFoundException;
+import com.library.api.exception.ImportJobStateException;
+import com.library.api.exception.InvalidIdempotencyKeyException;
+import com.library.api.exception.InvalidPageRequestException;
+import com.library.api.exception.InvalidPatchException;
+import com.library.api.exception.InvalidRequestTimeoutException;
+import com.library.api.exception.InvalidSearchRequestException;
+import com.library.api.exception.ServiceOverloadedException;
+import com.library.api.exception.UnsupportedFormatException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -51,6 +70,56 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Handles ImportJobNotFoundException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 404 status
+     */
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleImportJobNotFoundException(
+            ImportJobNotFoundException ex,
+            HttpServletRequest request) {
+
+        log.error("Import job not found: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .error(HttpStatus.NOT_FOUND.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    /**
+     * Handles ImportJobStateException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 409 status
+     */
+    @ExceptionHandler(ImportJobStateException.class)
+    public ResponseEntity<ErrorResponseDto> handleImportJobStateException(
+            ImportJobStateException ex,
+            HttpServletRequest request) {
+
+        log.error("Import job state conflict: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     /**
      * Handles DuplicateIsbnException.
      *
@@ -76,6 +145,410 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handles BookVersionMismatchException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 412 status
+     */
+    @ExceptionHandler(BookVersionMismatchException.class)
+    public ResponseEntity<ErrorResponseDto> handleBookVersionMismatchException(
+            BookVersionMismatchException ex,
+            HttpServletRequest request) {
+
+        log.error("Precondition failed: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .error(HttpStatus.PRECONDITION_FAILED.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    /**
+     * Handles BookUpdateConflictException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 409 status
+     */
+    @ExceptionHandler(BookUpdateConflictException.class)
+    public ResponseEntity<ErrorResponseDto> handleBookUpdateConflictException(
+            BookUpdateConflictException ex,
+            HttpServletRequest request) {
+
+        log.warn("Update conflict: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles OptimisticLockingFailureException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 409 status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+
+        log.warn("Optimistic locking failure: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .message("The book was modified concurrently; retry the request")
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles InvalidPageRequestException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 400 status
+     */
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidPageRequestException(
+            InvalidPageRequestException ex,
+            HttpServletRequest request) {
+
+        log.error("Invalid page request: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles InvalidSearchRequestException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 400 status
+     */
+    @ExceptionHandler(InvalidSearchRequestException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidSearchRequestException(
+            InvalidSearchRequestException ex,
+            HttpServletRequest request) {
+
+        log.error("Invalid search request: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles UnsupportedFormatException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 400 status
+     */
+    @ExceptionHandler(UnsupportedFormatException.class)
+    public ResponseEntity<ErrorResponseDto> handleUnsupportedFormatException(
+            UnsupportedFormatException ex,
+            HttpServletRequest request) {
+
+        log.error("Unsupported format: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles BatchSizeExceededException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 400 status
+     */
+    @ExceptionHandler(BatchSizeExceededException.class)
+    public ResponseEntity<ErrorResponseDto> handleBatchSizeExceededException(
+            BatchSizeExceededException ex,
+            HttpServletRequest request) {
+
+        log.error("Batch too large: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles InvalidIdempotencyKeyException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 400 status
+     */
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidIdempotencyKeyException(
+            InvalidIdempotencyKeyException ex,
+            HttpServletRequest request) {
+
+        log.error("Invalid idempotency key: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles IdempotencyKeyMismatchException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 422 status
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponseDto> handleIdempotencyKeyMismatchException(
+            IdempotencyKeyMismatchException ex,
+            HttpServletRequest request) {
+
+        log.error("Idempotency key reused: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.UNPROCESSABLE_ENTITY.value())
+                .error(HttpStatus.UNPROCESSABLE_ENTITY.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+
+    /**
+     * Handles IdempotencyKeyInProgressException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 409 status
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponseDto> handleIdempotencyKeyInProgressException(
+            IdempotencyKeyInProgressException ex,
+            HttpServletRequest request) {
+
+        log.error("Idempotency key in progress: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles ServiceOverloadedException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 503 status and a Retry-After header
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponseDto> handleServiceOverloadedException(
+            ServiceOverloadedException ex,
+            HttpServletRequest request) {
+
+        log.warn("Request shed: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles InvalidRequestTimeoutException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 400 status
+     */
+    @ExceptionHandler(InvalidRequestTimeoutException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidRequestTimeoutException(
+            InvalidRequestTimeoutException ex,
+            HttpServletRequest request) {
+
+        log.error("Invalid request timeout: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles DeadlineExceededException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 504 status
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponseDto> handleDeadlineExceededException(
+            DeadlineExceededException ex,
+            HttpServletRequest request) {
+
+        log.warn("Request deadline exceeded: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.GATEWAY_TIMEOUT.value())
+                .error(HttpStatus.GATEWAY_TIMEOUT.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(errorResponse);
+    }
+
+    /**
+     * Handles TransactionTimedOutException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 504 status
+     */
+    @ExceptionHandler(TransactionTimedOutException.class)
+    public ResponseEntity<ErrorResponseDto> handleTransactionTimedOutException(
+            TransactionTimedOutException ex,
+            HttpServletRequest request) {
+
+        log.warn("Transaction timed out: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.GATEWAY_TIMEOUT.value())
+                .error(HttpStatus.GATEWAY_TIMEOUT.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(errorResponse);
+    }
+
+    /**
+     * Handles InvalidPatchException.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 400 status and the rejected fields, if any
+     */
+    @ExceptionHandler(InvalidPatchException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidPatchException(
+            InvalidPatchException ex,
+            HttpServletRequest request) {
+
+        log.error("Invalid patch: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .validationErrors(ex.getValidationErrors().isEmpty() ? null : ex.getValidationErrors())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles request parameters that cannot be converted to their declared type,
+     * such as a malformed price or date.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 400 status
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponseDto> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex,
+            HttpServletRequest request) {
+
+        log.error("Parameter type mismatch: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message("Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'")
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Handles validation errors from @Valid annotation.
      *
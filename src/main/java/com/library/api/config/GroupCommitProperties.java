@@ -0,0 +1,29 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for group-committing concurrent single-book creates.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.group-commit")
+public class GroupCommitProperties {
+
+    /**
+     * Whether concurrent single-book creates are combined into batched transactions.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long the first create of a batch waits for others to join it.
+     */
+    private Duration window = Duration.ofMillis(5);
+
+    /**
+     * Number of creates that closes a batch before the window ends.
+     */
+    private int maxBatchSize = 50;
+}
@@ -0,0 +1,34 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for Idempotency-Key handling.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Maximum number of idempotency keys whose responses are retained.
+     */
+    private long maxEntries = 10_000;
+
+    /**
+     * How long the response to an idempotency key is retained.
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * How long a duplicate request waits for the in-flight original before giving up.
+     */
+    private Duration inFlightTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Maximum accepted length of an idempotency key.
+     */
+    private int maxKeyLength = 255;
+}
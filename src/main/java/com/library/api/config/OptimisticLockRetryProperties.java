@@ -0,0 +1,29 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for retrying book updates that lose an optimistic-lock race.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.optimistic-lock")
+public class OptimisticLockRetryProperties {
+
+    /**
+     * Total number of attempts, including the first, before answering 409.
+     */
+    private int maxAttempts = 4;
+
+    /**
+     * Upper bound of the random delay before the first retry.
+     */
+    private Duration initialBackoff = Duration.ofMillis(10);
+
+    /**
+     * Upper bound of the random delay before any retry.
+     */
+    private Duration maxBackoff = Duration.ofMillis(200);
+}
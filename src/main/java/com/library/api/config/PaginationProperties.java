@@ -0,0 +1,25 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for cursor-based pagination.
+ *
+ * Bounds the page size accepted by list and search endpoints so that
+ * a single request can never materialize an unbounded result set.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.pagination")
+public class PaginationProperties {
+
+    /**
+     * Page size used when the client does not request one.
+     */
+    private int defaultPageSize = 20;
+
+    /**
+     * Upper bound applied to any requested page size.
+     */
+    private int maxPageSize = 100;
+}
@@ -0,0 +1,92 @@
+package com.library.api.config;
+
+import com.library.api.routing.ReadYourWritesTracker;
+import com.library.api.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration class for read-replica routing.
+ *
+ * Active when {@code library.replicas.enabled} is true. The primary pool is
+ * still configured through {@code spring.datasource}. The application-wide
+ * DataSource becomes a LazyConnectionDataSourceProxy: connections of
+ * read-only transactions come from the replicas, all others from the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "library.replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * Configures the primary connection pool.
+     *
+     * @param properties the spring.datasource properties
+     * @return the primary pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Configures the replica pools and the read-only router over them.
+     *
+     * @param properties the replica properties
+     * @param primaryDataSource the primary pool used as fallback
+     * @param tracker the read-your-writes tracker
+     * @param meterRegistry the registry for routing metrics
+     * @return the router for read-only connections
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(ReplicaProperties properties,
+                                                             HikariDataSource primaryDataSource,
+                                                             ReadYourWritesTracker tracker,
+                                                             MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaProperties.Replica> configured = properties.getDataSources();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaProperties.Replica replica = configured.get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (i + 1);
+
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            replicas.put(name, dataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, tracker, properties, meterRegistry);
+    }
+
+    /**
+     * Configures the application-wide DataSource.
+     *
+     * @param primaryDataSource the primary pool
+     * @param replicaRoutingDataSource the router for read-only connections
+     * @return a proxy that picks the pool once the transaction's read-only flag is known
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
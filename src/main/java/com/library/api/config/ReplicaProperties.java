@@ -0,0 +1,98 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for routing read-only transactions to read replicas.
+ *
+ * The primary is configured through {@code spring.datasource}; replicas are
+ * listed here.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.replicas")
+public class ReplicaProperties {
+
+    /**
+     * Whether read-only transactions are routed to replicas.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Replicas lagging further behind the primary than this are not used.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How often replica lag is measured.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    /**
+     * Query returning a replica's replay lag in seconds.
+     */
+    private String lagQuery = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    /**
+     * How long a client's reads stay on the primary after it writes.
+     */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    /**
+     * Header identifying a client for read-your-writes; the remote address, as resolved
+     * from trusted forwarded headers, is used without it.
+     */
+    private String clientHeader = "X-Client-Id";
+
+    /**
+     * Maximum number of clients tracked as having written recently.
+     */
+    private long maxStickyClients = 100_000;
+
+    /**
+     * Replica connection settings.
+     */
+    private List<Replica> dataSources = new ArrayList<>();
+
+    /**
+     * Connection settings for one replica.
+     */
+    @Data
+    public static class Replica {
+
+        /**
+         * Name used in pool names and metrics.
+         */
+        private String name;
+
+        /**
+         * JDBC URL of the replica.
+         */
+        private String url;
+
+        /**
+         * Login username of the replica.
+         */
+        private String username;
+
+        /**
+         * Login password of the replica.
+         */
+        private String password;
+
+        /**
+         * Maximum size of the replica's connection pool.
+         */
+        private int maximumPoolSize = 10;
+
+        /**
+         * How long a read waits for a replica connection before falling back to the primary.
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,17 @@
+package com.library.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for coalescing concurrent identical reads.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.single-flight")
+public class SingleFlightProperties {
+
+    /**
+     * Whether concurrent identical reads share a single database call.
+     */
+    private boolean enabled = true;
+}
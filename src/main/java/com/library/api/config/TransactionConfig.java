@@ -0,0 +1,32 @@
+package com.library.api.config;
+
+import com.library.api.deadline.DeadlineAwareJpaTransactionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Configuration class for transaction management.
+ *
+ * Replaces the auto-configured JpaTransactionManager with one that derives
+ * transaction and statement timeouts from the request deadline.
+ */
+@Configuration
+public class TransactionConfig {
+
+    /**
+     * Configures the deadline-aware transaction manager.
+     *
+     * @param customizers the customizers Spring Boot would apply to its own transaction manager
+     * @return the transaction manager
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new DeadlineAwareJpaTransactionManager();
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+}
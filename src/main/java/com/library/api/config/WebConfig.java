@@ -0,0 +1,33 @@
+package com.library.api.config;
+
+import com.library.api.deadline.DeadlineInterceptor;
+import com.library.api.routing.ReplicaClientInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class for Spring MVC.
+ *
+ * Registers the interceptors that give every API request a deadline and
+ * identify its client for read-replica routing.
+ */
+@Configuration
+@EnableConfigurationProperties({DeadlineProperties.class, ReplicaProperties.class})
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DeadlineInterceptor deadlineInterceptor;
+    private final ReplicaClientInterceptor replicaClientInterceptor;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(deadlineInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(replicaClientInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -1,8 +1,24 @@
 package com.library.api.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.library.api.dto.BatchCreateResponseDto;
+import com.library.api.dto.BookLookupRequestDto;
+import com.library.api.dto.BookLookupResponseDto;
 import com.library.api.dto.BookRequestDto;
 import com.library.api.dto.BookResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
 import com.library.api.dto.ErrorResponseDto;
+import com.library.api.dto.FuzzyMatchDto;
+import com.library.api.dto.SearchHitDto;
+import com.library.api.dto.SuggestionDto;
+import com.library.api.export.ExportFormat;
+import com.library.api.idempotency.IdempotencyStore;
+import com.library.api.idempotency.IdempotentResult;
+import com.library.api.pagination.BookQuerySortKey;
+import com.library.api.pagination.BookSortKey;
+import com.library.api.query.BookFilter;
+import com.library.api.search.BookSearchField;
+import com.library.api.service.BookExportService;
 import com.library.api.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,10 +30,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -33,12 +55,25 @@ import java.util.List;
 @Tag(name = "Books", description = "Book management API")
 public class BookController {
 
+    /**
+     * Media type of RFC 7396 JSON Merge Patch documents.
+     */
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final BookService bookService;
+    private final BookExportService bookExportService;
+    private final IdempotencyStore idempotencyStore;
 
     /**
      * Creates a new book in the library.
+     * When an Idempotency-Key is supplied, a retry with the same key and payload
+     * receives the original response instead of creating the book again.
      *
      * @param requestDto the book data
+     * @param idempotencyKey the client's key for this creation, if any
      * @return the created book with HTTP 201 status
      */
     @PostMapping
@@ -53,23 +88,79 @@ public class BookController {
                     responseCode = "400",
                     description = "Invalid request data or duplicate ISBN",
                     content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "The original request with this Idempotency-Key is still in progress",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "The Idempotency-Key was already used for a different request",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
     public ResponseEntity<BookResponseDto> createBook(
-            @Valid @RequestBody BookRequestDto requestDto) {
+            @Valid @RequestBody BookRequestDto requestDto,
+            @Parameter(description = "Client-generated key that makes retries of this request safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
         log.info("Received request to create book with ISBN: {}", requestDto.getIsbn());
 
-        BookResponseDto response = bookService.createBook(requestDto);
+        if (idempotencyKey == null) {
+            BookResponseDto response = bookService.createBook(requestDto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+
+        IdempotentResult<BookResponseDto> result =
+                idempotencyStore.execute(idempotencyKey, requestDto, () -> bookService.createBook(requestDto));
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.value());
+    }
+
+    /**
+     * Creates many books in a single request.
+     * Each item is validated and checked for ISBN uniqueness individually, so
+     * rejected items do not prevent the others from being created.
+     *
+     * @param requestDtos the books to create
+     * @return per-item results with HTTP 200 status
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Create books in bulk",
+            description = "Adds many books at once and reports the outcome of each item")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed, see per-item results",
+                    content = @Content(schema = @Schema(implementation = BatchCreateResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Batch exceeds the maximum number of items",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<BatchCreateResponseDto> createBooksBatch(
+            @RequestBody List<BookRequestDto> requestDtos) {
+
+        log.info("Received request to create batch of {} books", requestDtos.size());
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        BatchCreateResponseDto response = bookService.createBooks(requestDtos);
+
+        return ResponseEntity.ok(response);
     }
 
     /**
      * Retrieves a book by its ID.
+     * When If-None-Match is sent, only the book's version is read to decide
+     * whether the client's copy is still current.
      *
      * @param id the book ID
-     * @return the book details with HTTP 200 status
+     * @param ifNoneMatch entity tags of the copies the client holds, if any
+     * @return the book details with HTTP 200 status, or HTTP 304 if the client's copy is current
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get book by ID", description = "Retrieves detailed information about a specific book")
@@ -79,6 +170,7 @@ public class BookController {
                     description = "Book found",
                     content = @Content(schema = @Schema(implementation = BookResponseDto.class))
             ),
+            @ApiResponse(responseCode = "304", description = "Book not modified since the supplied ETag"),
             @ApiResponse(
                     responseCode = "404",
                     description = "Book not found",
@@ -87,42 +179,269 @@ public class BookController {
     })
     public ResponseEntity<BookResponseDto> getBookById(
             @Parameter(description = "Book ID", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         log.info("Received request to get book with ID: {}", id);
 
+        if (ifNoneMatch != null) {
+            String etag = BookEntityTags.of(id, bookService.getBookVersion(id));
+            if (BookEntityTags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
         BookResponseDto response = bookService.getBookById(id);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(BookEntityTags.of(id, response.getVersion()))
+                .body(response);
+    }
+
+    /**
+     * Retrieves a book by its ISBN.
+     *
+     * @param isbn the ISBN
+     * @return the book details with HTTP 200 status
+     */
+    @GetMapping("/isbn/{isbn}")
+    @Operation(summary = "Get book by ISBN", description = "Retrieves a book by its ISBN")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Book found",
+                    content = @Content(schema = @Schema(implementation = BookResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Book not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<BookResponseDto> getBookByIsbn(
+            @Parameter(description = "Book ISBN", required = true)
+            @PathVariable String isbn) {
+
+        log.info("Received request to get book with ISBN: {}", isbn);
+
+        BookResponseDto response = bookService.getBookByIsbn(isbn);
+
+        return ResponseEntity.ok()
+                .eTag(BookEntityTags.of(response.getId(), response.getVersion()))
+                .body(response);
     }
 
     /**
-     * Retrieves all books in the library.
+     * Retrieves books in the library, one page at a time.
      *
-     * @return list of all books with HTTP 200 status
+     * @param cursor the continuation token returned with the previous page
+     * @param size the maximum number of books to return
+     * @param sort the ordering of the listing, {@code id} or {@code title}
+     * @return page of books with HTTP 200 status
      */
     @GetMapping
-    @Operation(summary = "Get all books", description = "Retrieves a list of all books in the library")
+    @Operation(summary = "Get all books", description = "Retrieves a page of books in the library using cursor pagination")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
                     description = "Books retrieved successfully",
-                    content = @Content(schema = @Schema(implementation = BookResponseDto.class))
+                    content = @Content(schema = @Schema(implementation = CursorPageResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor, page size or sort key",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
-    public ResponseEntity<List<BookResponseDto>> getAllBooks() {
-        log.info("Received request to get all books");
+    public ResponseEntity<CursorPageResponseDto<BookResponseDto>> getAllBooks(
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort key: id or title")
+            @RequestParam(required = false) String sort) {
 
-        List<BookResponseDto> response = bookService.getAllBooks();
+        log.info("Received request to get books page (sort: {}, size: {})", sort, size);
+
+        CursorPageResponseDto<BookResponseDto> response =
+                bookService.getBooksPage(cursor, size, BookSortKey.fromParameter(sort));
+
+        // An If-None-Match matching the page's tag is answered with 304 before the body is serialized
+        return ResponseEntity.ok()
+                .eTag(BookEntityTags.of(response))
+                .body(response);
+    }
+
+    /**
+     * Lists the books matching any combination of author, publisher, price range
+     * and publication date range, one page at a time.
+     *
+     * @param author the exact author name
+     * @param publisher the exact publisher name
+     * @param minPrice the lowest price, inclusive
+     * @param maxPrice the highest price, inclusive
+     * @param publishedFrom the earliest publication date, inclusive
+     * @param publishedTo the latest publication date, inclusive
+     * @param sort the ordering of the results, {@code id}, {@code title}, {@code price} or {@code publicationDate}
+     * @param cursor the continuation token returned with the previous page
+     * @param size the maximum number of books to return
+     * @return page of matching books with HTTP 200 status
+     */
+    @GetMapping("/query")
+    @Operation(summary = "Query books by several criteria",
+            description = "Retrieves a page of the books matching every given criterion, filtered and sorted "
+                    + "by the database using cursor pagination")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Books retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPageResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Malformed or empty criteria, invalid cursor, page size or sort key",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<CursorPageResponseDto<BookResponseDto>> queryBooks(
+            @Parameter(description = "Exact author name")
+            @RequestParam(required = false) String author,
+            @Parameter(description = "Exact publisher name")
+            @RequestParam(required = false) String publisher,
+            @Parameter(description = "Lowest price, inclusive", example = "10.00")
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Highest price, inclusive", example = "25.00")
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Earliest publication date, inclusive", example = "2000-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedFrom,
+            @Parameter(description = "Latest publication date, inclusive", example = "2009-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedTo,
+            @Parameter(description = "Sort key: id, title, price or publicationDate")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server")
+            @RequestParam(required = false) Integer size) {
+
+        BookFilter filter = new BookFilter(author, publisher, minPrice, maxPrice, publishedFrom, publishedTo);
+        log.info("Received request to query books (filter: {}, sort: {}, size: {})", filter, sort, size);
+
+        CursorPageResponseDto<BookResponseDto> response =
+                bookService.queryBooks(filter, cursor, size, BookQuerySortKey.fromParameter(sort));
+
+        // An If-None-Match matching the page's tag is answered with 304 before the body is serialized
+        return ResponseEntity.ok()
+                .eTag(BookEntityTags.of(response))
+                .body(response);
+    }
+
+    /**
+     * Retrieves many books by ID in one request.
+     *
+     * @param ids the book IDs, in the order the books should be returned
+     * @return the found books and the missing IDs with HTTP 200 status
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get books by IDs",
+            description = "Retrieves many books in one request; IDs without a book are reported as missing")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Books retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = BookLookupResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Too many IDs requested",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<BookLookupResponseDto> getBooksByIds(
+            @Parameter(description = "Comma-separated book IDs", required = true)
+            @RequestParam List<Long> ids) {
+
+        log.info("Received request to get {} books by ID", ids.size());
+
+        BookLookupResponseDto response = bookService.getBooksByIds(ids);
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Retrieves many books by ID, taking the IDs from the request body.
+     * Equivalent to {@code GET /api/v1/books?ids=...} for lists too long for a URL.
+     *
+     * @param requestDto the book IDs
+     * @return the found books and the missing IDs with HTTP 200 status
+     */
+    @PostMapping("/lookup")
+    @Operation(summary = "Get books by IDs (POST)",
+            description = "Retrieves many books in one request, for ID lists too long for a query string")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Books retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = BookLookupResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request data or too many IDs requested",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<BookLookupResponseDto> lookupBooks(
+            @Valid @RequestBody BookLookupRequestDto requestDto) {
+
+        log.info("Received request to look up {} books by ID", requestDto.getIds().size());
+
+        BookLookupResponseDto response = bookService.getBooksByIds(requestDto.getIds());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Exports the full book catalog as a streamed document.
+     *
+     * @param format the export format, {@code ndjson} or {@code csv}
+     * @return the streamed catalog with HTTP 200 status
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export all books",
+            description = "Streams the full catalog as NDJSON or CSV without buffering it in memory")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Catalog export started"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unsupported export format",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @Parameter(description = "Export format: ndjson or csv")
+            @RequestParam(required = false) String format) {
+
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+
+        log.info("Received request to export books as {}", exportFormat);
+
+        StreamingResponseBody body = outputStream -> bookExportService.exportBooks(exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"books." + exportFormat.getParameterValue() + "\"")
+                .body(body);
+    }
+
     /**
      * Updates an existing book.
      *
      * @param id the book ID
      * @param requestDto the updated book data
+     * @param ifMatch the entity tag the update is based on, if any
      * @return the updated book with HTTP 200 status
      */
     @PutMapping("/{id}")
@@ -142,18 +461,75 @@ public class BookController {
                     responseCode = "404",
                     description = "Book not found",
                     content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "Book was modified since the version named in If-Match",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
     public ResponseEntity<BookResponseDto> updateBook(
             @Parameter(description = "Book ID", required = true)
             @PathVariable Long id,
-            @Valid @RequestBody BookRequestDto requestDto) {
+            @Valid @RequestBody BookRequestDto requestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         log.info("Received request to update book with ID: {}", id);
 
-        BookResponseDto response = bookService.updateBook(id, requestDto);
+        BookResponseDto response = bookService.updateBook(id, requestDto, BookEntityTags.expectedVersion(ifMatch, id));
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(BookEntityTags.of(id, response.getVersion()))
+                .body(response);
+    }
+
+    /**
+     * Partially updates a book with JSON Merge Patch semantics.
+     * Only the supplied fields are validated and written to the database.
+     *
+     * @param id the book ID
+     * @param patch the merge patch document
+     * @param ifMatch the entity tag the patch is based on, if any
+     * @return the patched book with HTTP 200 status
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch a book",
+            description = "Updates only the supplied fields (RFC 7396 JSON Merge Patch); null clears an optional field")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Book successfully patched",
+                    content = @Content(schema = @Schema(implementation = BookResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Malformed patch, invalid field values or duplicate ISBN",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Book not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "Book was modified since the version named in If-Match",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<BookResponseDto> patchBook(
+            @Parameter(description = "Book ID", required = true)
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        log.info("Received request to patch book with ID: {}", id);
+
+        BookResponseDto response = bookService.patchBook(id, patch, BookEntityTags.expectedVersion(ifMatch, id));
+
+        return ResponseEntity.ok()
+                .eTag(BookEntityTags.of(id, response.getVersion()))
+                .body(response);
     }
 
     /**
@@ -190,7 +566,9 @@ public class BookController {
      * Searches books by title keyword.
      *
      * @param title the title search keyword
-     * @return list of matching books with HTTP 200 status
+     * @param cursor the continuation token returned with the previous page
+     * @param size the maximum number of books to return
+     * @return page of matching books with HTTP 200 status
      */
     @GetMapping("/search/title")
     @Operation(summary = "Search books by title", description = "Searches for books containing the specified title keyword")
@@ -198,25 +576,40 @@ public class BookController {
             @ApiResponse(
                     responseCode = "200",
                     description = "Search completed successfully",
-                    content = @Content(schema = @Schema(implementation = BookResponseDto.class))
+                    content = @Content(schema = @Schema(implementation = CursorPageResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
-    public ResponseEntity<List<BookResponseDto>> searchBooksByTitle(
+    public ResponseEntity<CursorPageResponseDto<BookResponseDto>> searchBooksByTitle(
             @Parameter(description = "Title search keyword", required = true)
-            @RequestParam String title) {
+            @RequestParam String title,
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server")
+            @RequestParam(required = false) Integer size) {
 
         log.info("Received request to search books by title: {}", title);
 
-        List<BookResponseDto> response = bookService.searchBooksByTitle(title);
+        CursorPageResponseDto<BookResponseDto> response =
+                bookService.searchBooksByTitlePage(title, cursor, size);
 
-        return ResponseEntity.ok(response);
+        // An If-None-Match matching the page's tag is answered with 304 before the body is serialized
+        return ResponseEntity.ok()
+                .eTag(BookEntityTags.of(response))
+                .body(response);
     }
 
     /**
      * Searches books by author keyword.
      *
      * @param author the author search keyword
-     * @return list of matching books with HTTP 200 status
+     * @param cursor the continuation token returned with the previous page
+     * @param size the maximum number of books to return
+     * @return page of matching books with HTTP 200 status
      */
     @GetMapping("/search/author")
     @Operation(summary = "Search books by author", description = "Searches for books by the specified author keyword")
@@ -224,17 +617,159 @@ public class BookController {
             @ApiResponse(
                     responseCode = "200",
                     description = "Search completed successfully",
-                    content = @Content(schema = @Schema(implementation = BookResponseDto.class))
+                    content = @Content(schema = @Schema(implementation = CursorPageResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
-    public ResponseEntity<List<BookResponseDto>> searchBooksByAuthor(
+    public ResponseEntity<CursorPageResponseDto<BookResponseDto>> searchBooksByAuthor(
             @Parameter(description = "Author search keyword", required = true)
-            @RequestParam String author) {
+            @RequestParam String author,
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server")
+            @RequestParam(required = false) Integer size) {
 
         log.info("Received request to search books by author: {}", author);
 
-        List<BookResponseDto> response = bookService.searchBooksByAuthor(author);
+        CursorPageResponseDto<BookResponseDto> response =
+                bookService.searchBooksByAuthorPage(author, cursor, size);
 
-        return ResponseEntity.ok(response);
+        // An If-None-Match matching the page's tag is answered with 304 before the body is serialized
+        return ResponseEntity.ok()
+                .eTag(BookEntityTags.of(response))
+                .body(response);
+    }
+
+    /**
+     * Searches book titles and descriptions, ranking the results by relevance.
+     *
+     * @param q the query text
+     * @param cursor the continuation token returned with the previous page
+     * @param size the maximum number of books to return
+     * @return page of matching books with their scores, most relevant first, with HTTP 200 status
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Full-text search of titles and descriptions",
+            description = "Finds books whose title or description contains any query term, ranked by BM25 "
+                    + "so that books with more, rarer terms and terms in the title come first")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Search completed successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPageResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Blank query, invalid cursor or invalid page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Full-text index is still loading",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<CursorPageResponseDto<SearchHitDto>> searchBooks(
+            @Parameter(description = "Query text", required = true, example = "dragons and wizards")
+            @RequestParam String q,
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server")
+            @RequestParam(required = false) Integer size) {
+
+        log.info("Received request to full-text search books: {}", q);
+
+        return ResponseEntity.ok(bookService.searchBooks(q, cursor, size));
+    }
+
+    /**
+     * Searches books by title or author, tolerating typos.
+     *
+     * @param q the query text
+     * @param field the searched field, {@code author} or {@code title}
+     * @param maxEdits the allowed edit distance per query term
+     * @param limit the maximum number of books to return
+     * @return matching books, closest first, with HTTP 200 status
+     */
+    @GetMapping("/search/fuzzy")
+    @Operation(summary = "Search books with typo tolerance",
+            description = "Finds books whose author or title terms are within a small edit distance "
+                    + "of every query term, closest first")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Search completed successfully",
+                    content = @Content(schema = @Schema(implementation = FuzzyMatchDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Blank query, unknown field, or invalid edit distance or limit",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Search index is still loading",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<List<FuzzyMatchDto>> searchBooksFuzzy(
+            @Parameter(description = "Query text", required = true, example = "robert c marin")
+            @RequestParam String q,
+            @Parameter(description = "Searched field, author (default) or title")
+            @RequestParam(required = false) String field,
+            @Parameter(description = "Allowed edit distance per query term, 0 to 2; "
+                    + "by default 0 for terms of up to 2 characters, 1 up to 5 and 2 beyond")
+            @RequestParam(required = false) Integer maxEdits,
+            @Parameter(description = "Maximum number of results, capped by the server")
+            @RequestParam(required = false) Integer limit) {
+
+        log.info("Received request to fuzzy search books (field: {}): {}", field, q);
+
+        return ResponseEntity.ok(bookService.searchBooksFuzzy(
+                q, BookSearchField.fromParameter(field, BookSearchField.AUTHOR), maxEdits, limit));
+    }
+
+    /**
+     * Suggests titles and authors completing a typed prefix.
+     *
+     * @param prefix the typed prefix
+     * @param limit the maximum number of suggestions
+     * @return suggestions, most common first, with HTTP 200 status
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest titles and authors",
+            description = "Completes a prefix of a title or author from memory, "
+                    + "suggesting those shared by the most books first")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Suggestions computed successfully",
+                    content = @Content(schema = @Schema(implementation = SuggestionDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Blank prefix or invalid limit",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Search index is still loading",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<List<SuggestionDto>> suggestBooks(
+            @Parameter(description = "Typed prefix, case-insensitive", required = true, example = "robert c")
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions, capped by the server")
+            @RequestParam(required = false) Integer limit) {
+
+        // Search boxes call this on every keystroke, too often for info-level request logging
+        log.debug("Received request to suggest completions of: {}", prefix);
+
+        return ResponseEntity.ok(bookService.suggestBooks(prefix, limit));
     }
 }
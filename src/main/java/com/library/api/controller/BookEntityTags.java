@@ -0,0 +1,89 @@
+package com.library.api.controller;
+
+import com.library.api.dto.BookResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
+import com.library.api.exception.BookVersionMismatchException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Builds and matches the entity tags of book representations.
+ *
+ * A book's tag is derived from its ID and {@code Book.version}, so it can be
+ * computed, and an {@code If-None-Match} or {@code If-Match} header checked,
+ * from the version column alone without loading or serializing the book.
+ */
+final class BookEntityTags {
+
+    private static final String ANY = "*";
+
+    private BookEntityTags() {
+    }
+
+    /**
+     * Returns the strong entity tag of a book.
+     *
+     * @param id the book ID
+     * @param version the book version
+     * @return the quoted entity tag
+     */
+    static String of(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Returns the strong entity tag of a page of books, derived from the IDs and
+     * versions of its content and from the position of the next page.
+     *
+     * @param page the page
+     * @return the quoted entity tag
+     */
+    static String of(CursorPageResponseDto<BookResponseDto> page) {
+        StringBuilder key = new StringBuilder();
+        for (BookResponseDto book : page.getContent()) {
+            key.append(book.getId()).append('-').append(book.getVersion()).append(',');
+        }
+        key.append(page.getNextCursor());
+        return "\"p-" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Returns whether an {@code If-None-Match} header matches an entity tag,
+     * using the weak comparison required for that header.
+     *
+     * @param ifNoneMatch the header value
+     * @param etag the current entity tag
+     * @return true if the client's copy is current
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> ANY.equals(tag) || tag.equals(etag));
+    }
+
+    /**
+     * Extracts the version a client expects from an {@code If-Match} header.
+     *
+     * @param ifMatch the header value, may be null
+     * @param id the ID of the book being modified
+     * @return the expected version, or null if any version is acceptable
+     * @throws BookVersionMismatchException if no tag in the header can match the book
+     */
+    static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .filter(tag -> tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1)
+                .map(tag -> tag.substring(prefix.length(), tag.length() - 1))
+                .filter(version -> version.chars().allMatch(Character::isDigit))
+                .map(Long::valueOf)
+                .findFirst()
+                .orElseThrow(() -> BookVersionMismatchException.forIfMatch(id, ifMatch));
+    }
+}
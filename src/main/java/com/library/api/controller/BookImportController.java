@@ -0,0 +1,141 @@
+package com.library.api.controller;
+
+import com.library.api.dto.ErrorResponseDto;
+import com.library.api.dto.ImportJobResponseDto;
+import com.library.api.ingest.ImportFormat;
+import com.library.api.service.BookImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * REST controller for streaming bulk imports of books.
+ *
+ * An import job is created first and its content is then streamed with a
+ * separate request, so the job ID is known before the upload starts and the
+ * job can be polled, or resumed after a failed upload.
+ */
+@RestController
+@RequestMapping("/api/v1/books/imports")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Book imports", description = "Streaming bulk import API")
+public class BookImportController {
+
+    private final BookImportService bookImportService;
+
+    /**
+     * Creates a pending import job.
+     *
+     * @param format the format of the content, {@code ndjson} or {@code csv}
+     * @return the created job with HTTP 201 status
+     */
+    @PostMapping
+    @Operation(summary = "Create an import job", description = "Creates a job that content can then be streamed into")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Import job created",
+                    content = @Content(schema = @Schema(implementation = ImportJobResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unsupported import format",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<ImportJobResponseDto> createImportJob(
+            @Parameter(description = "Content format: ndjson or csv")
+            @RequestParam(required = false) String format) {
+
+        log.info("Received request to create import job (format: {})", format);
+
+        ImportJobResponseDto response = bookImportService.createJob(ImportFormat.fromParameter(format));
+
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(response.getId())
+                .toUri();
+
+        return ResponseEntity.created(location).body(response);
+    }
+
+    /**
+     * Retrieves the state and progress of an import job.
+     *
+     * @param id the job ID
+     * @return the job with HTTP 200 status
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get import job", description = "Retrieves the state and progress of an import job")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import job found",
+                    content = @Content(schema = @Schema(implementation = ImportJobResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Import job not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<ImportJobResponseDto> getImportJob(
+            @Parameter(description = "Import job ID", required = true)
+            @PathVariable String id) {
+
+        log.info("Received request to get import job with ID: {}", id);
+
+        return ResponseEntity.ok(bookImportService.getJob(id));
+    }
+
+    /**
+     * Streams content into an import job. Re-sending the same content to a
+     * failed job resumes it after the last committed row.
+     *
+     * @param id the job ID
+     * @param content the request body, read incrementally
+     * @return the job state once the content has been consumed, with HTTP 200 status
+     */
+    @PutMapping("/{id}/content")
+    @Operation(summary = "Upload import content",
+            description = "Streams CSV or NDJSON rows into the job, committing them in chunks")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Content consumed; the job is COMPLETED or FAILED",
+                    content = @Content(schema = @Schema(implementation = ImportJobResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Import job not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Import job is running or already completed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    public ResponseEntity<ImportJobResponseDto> uploadImportContent(
+            @Parameter(description = "Import job ID", required = true)
+            @PathVariable String id,
+            InputStream content) {
+
+        log.info("Received content for import job with ID: {}", id);
+
+        return ResponseEntity.ok(bookImportService.runJob(id, content));
+    }
+}
@@ -0,0 +1,38 @@
+package com.library.api.deadline;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.util.Optional;
+
+/**
+ * JpaTransactionManager that bounds each new transaction by the request deadline.
+ *
+ * The time left, rounded up to whole seconds, becomes the transaction
+ * timeout. Hibernate applies what remains of it as the JDBC query timeout of
+ * every statement, and Spring adds it as a hint to every query, so the
+ * database cancels work nobody is waiting for. A transaction whose deadline
+ * has already passed fails before a connection is taken.
+ */
+public class DeadlineAwareJpaTransactionManager extends JpaTransactionManager {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        Optional<RequestDeadline> deadline = RequestDeadline.current();
+        if (deadline.isEmpty()) {
+            return timeout;
+        }
+
+        long remainingMillis = deadline.get().remaining().toMillis();
+        if (remainingMillis <= 0) {
+            throw new TransactionTimedOutException("Request deadline expired before the transaction began");
+        }
+        int remainingSeconds = (int) Math.min(Integer.MAX_VALUE, (remainingMillis + 999) / 1000);
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remainingSeconds : Math.min(timeout, remainingSeconds);
+    }
+}
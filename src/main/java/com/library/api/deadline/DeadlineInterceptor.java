@@ -0,0 +1,88 @@
+package com.library.api.deadline;
+
+import com.library.api.config.DeadlineProperties;
+import com.library.api.exception.DeadlineExceededException;
+import com.library.api.exception.InvalidRequestTimeoutException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Binds a {@link RequestDeadline} to each API request.
+ *
+ * The timeout comes from the {@value #REQUEST_TIMEOUT_HEADER} header, in
+ * milliseconds and capped at the configured maximum, or else from the first
+ * matching endpoint default, or else from the global default. Requests that
+ * arrive with no time left are rejected before any database work starts.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final DeadlineProperties properties;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        Duration timeout = resolveTimeout(request);
+        if (timeout.isZero() || timeout.isNegative()) {
+            throw DeadlineExceededException.alreadyExpired();
+        }
+        RequestDeadline.bind(RequestDeadline.after(timeout));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        RequestDeadline.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestDeadline.clear();
+    }
+
+    private Duration resolveTimeout(HttpServletRequest request) {
+        String header = request.getHeader(REQUEST_TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                Duration requested = Duration.ofMillis(Long.parseLong(header.trim()));
+                return requested.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : requested;
+            } catch (NumberFormatException e) {
+                throw InvalidRequestTimeoutException.forValue(REQUEST_TIMEOUT_HEADER, header);
+            }
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, Duration> endpoint : properties.getEndpointTimeouts().entrySet()) {
+            if (pathMatcher.match(endpoint.getKey(), path)) {
+                return endpoint.getValue();
+            }
+        }
+        return properties.getDefaultTimeout();
+    }
+}
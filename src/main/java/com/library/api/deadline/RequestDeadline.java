@@ -0,0 +1,101 @@
+package com.library.api.deadline;
+
+import com.library.api.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Point in time by which the current request's work must finish.
+ *
+ * The deadline is bound to the request thread by {@link DeadlineInterceptor}
+ * and read by the admission layer and {@link DeadlineAwareJpaTransactionManager},
+ * which turn the time left into a transaction and JDBC statement timeout.
+ * Work on other threads, such as import jobs or streamed exports, has no
+ * deadline.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final Duration timeout;
+    private final long expiresAtNanos;
+
+    private RequestDeadline(Duration timeout) {
+        this.timeout = timeout;
+        this.expiresAtNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * Creates a deadline that expires after the given timeout.
+     *
+     * @param timeout the time allowed from now
+     * @return the deadline
+     */
+    public static RequestDeadline after(Duration timeout) {
+        return new RequestDeadline(timeout);
+    }
+
+    /**
+     * Returns the deadline bound to the current thread.
+     *
+     * @return the deadline, or empty outside a request
+     */
+    public static Optional<RequestDeadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Binds a deadline to the current thread.
+     *
+     * @param deadline the deadline
+     */
+    public static void bind(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    /**
+     * Removes the deadline bound to the current thread.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the timeout this deadline was created with.
+     *
+     * @return the original timeout
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Returns the time left before the deadline.
+     *
+     * @return the remaining time, negative once expired
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(expiresAtNanos - System.nanoTime());
+    }
+
+    /**
+     * Returns whether the deadline has passed.
+     *
+     * @return true if no time is left
+     */
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Fails fast if the deadline has passed.
+     *
+     * @throws DeadlineExceededException if no time is left
+     */
+    public void checkNotExpired() {
+        if (isExpired()) {
+            throw DeadlineExceededException.forTimeout(timeout);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.library.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the response of a batch create request.
+ *
+ * Contains one result per submitted item, in request order, along with
+ * aggregated counts per outcome.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Summary and per-item results of a batch create request")
+public class BatchCreateResponseDto {
+
+    @Schema(description = "Number of submitted items", example = "3")
+    private int total;
+
+    @Schema(description = "Number of created books", example = "1")
+    private int created;
+
+    @Schema(description = "Number of items rejected because their ISBN already exists", example = "1")
+    private int duplicates;
+
+    @Schema(description = "Number of items rejected by validation", example = "1")
+    private int invalid;
+
+    @Schema(description = "Per-item results, in request order")
+    private List<BatchItemResultDto> results;
+}
@@ -0,0 +1,46 @@
+package com.library.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a single item of a batch request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of a single item of a batch create request")
+public class BatchItemResultDto {
+
+    @Schema(description = "Zero-based position of the item in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Outcome of the item", example = "CREATED")
+    private Status status;
+
+    @Schema(description = "ISBN of the item", example = "978-0-13235-088-4")
+    private String isbn;
+
+    @Schema(description = "ID of the created book, only set when the item was created", example = "1")
+    private Long id;
+
+    @Schema(description = "Reason the item was rejected", example = "A book with ISBN '978-0-13235-088-4' already exists")
+    private String message;
+
+    @Schema(description = "Validation errors, only set when the item failed validation")
+    private List<ErrorResponseDto.ValidationError> validationErrors;
+
+    /**
+     * Possible outcomes of a batch item.
+     */
+    public enum Status {
+        CREATED,
+        DUPLICATE_ISBN,
+        VALIDATION_ERROR
+    }
+}
@@ -0,0 +1,26 @@
+package com.library.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for fetching many books by ID in one request.
+ *
+ * Used by the POST form of the multi-get endpoint, for ID lists that are
+ * too long for a query string.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "IDs of the books to fetch")
+public class BookLookupRequestDto {
+
+    @NotEmpty(message = "At least one ID is required")
+    @Schema(description = "Book IDs, in the order the books should be returned", example = "[3, 1, 2]", required = true)
+    private List<@NotNull(message = "IDs must not be null") Long> ids;
+}
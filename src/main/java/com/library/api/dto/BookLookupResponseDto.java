@@ -0,0 +1,26 @@
+package com.library.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the result of a multi-get request.
+ *
+ * Books are returned in the requested order; IDs that do not match a book
+ * are listed separately instead of failing the whole request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Books found for the requested IDs and the IDs that were not found")
+public class BookLookupResponseDto {
+
+    @Schema(description = "Found books, in the requested order")
+    private List<BookResponseDto> books;
+
+    @Schema(description = "Requested IDs that do not match any book", example = "[42]")
+    private List<Long> missingIds;
+}
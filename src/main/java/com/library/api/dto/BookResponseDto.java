@@ -1,6 +1,7 @@
 package com.library.api.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
@@ -56,4 +57,11 @@ public class BookResponseDto {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     @Schema(description = "Timestamp when the book was last updated", example = "2024-01-15T10:30:00")
     private LocalDateTime updatedAt;
+
+    /**
+     * Optimistic-locking version, exposed to clients through the ETag header.
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Long version;
 }
@@ -0,0 +1,35 @@
+package com.library.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a single page of a keyset-paginated listing.
+ *
+ * Clients pass {@code nextCursor} back unchanged to fetch the following page;
+ * it is absent on the last page.
+ *
+ * @param <T> the type of the page items
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Page of results with an opaque continuation cursor")
+public class CursorPageResponseDto<T> {
+
+    @Schema(description = "Items of the current page")
+    private List<T> content;
+
+    @Schema(description = "Number of items in the current page", example = "20")
+    private int size;
+
+    @Schema(description = "Whether more items are available after this page", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque token to request the next page, null on the last page",
+            example = "aWQ6MjA")
+    private String nextCursor;
+}
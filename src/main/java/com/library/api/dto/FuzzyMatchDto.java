@@ -0,0 +1,25 @@
+package com.library.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * Data Transfer Object for one result of a typo-tolerant search.
+ *
+ * Carries the matched book together with how far it was from the query, so
+ * that clients can tell exact hits from corrected ones.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Book matched by a fuzzy search and its edit distance from the query")
+public class FuzzyMatchDto {
+
+    @Schema(description = "Matched book")
+    private BookResponseDto book;
+
+    @Schema(description = "Sum over the query terms of the edit distance to the closest term of the book",
+            example = "1")
+    private int distance;
+}
@@ -0,0 +1,98 @@
+package com.library.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object describing the state and progress of a bulk import job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "State and progress of a streaming bulk import job")
+public class ImportJobResponseDto {
+
+    @Schema(description = "Unique identifier of the import job", example = "3f2b8c1e-4d7a-4a8e-9d1c-2b6f0e9a7c55")
+    private String id;
+
+    @Schema(description = "Input format of the job", example = "csv")
+    private String format;
+
+    @Schema(description = "Current state of the job", example = "RUNNING")
+    private Status status;
+
+    @Schema(description = "Number of data rows read so far", example = "120500")
+    private long rowsRead;
+
+    @Schema(description = "Number of leading data rows whose chunk has been committed; "
+            + "a resumed upload skips these rows", example = "120000")
+    private long committedRows;
+
+    @Schema(description = "Number of created books", example = "119870")
+    private long created;
+
+    @Schema(description = "Number of rows rejected because their ISBN already exists", example = "110")
+    private long duplicates;
+
+    @Schema(description = "Number of rows rejected by parsing or validation", example = "20")
+    private long invalid;
+
+    @Schema(description = "Details of the first rejected rows")
+    private List<RowError> errors;
+
+    @Schema(description = "Reason the last run of the job failed")
+    private String failureMessage;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @Schema(description = "Timestamp when the job was created", example = "2024-01-15T10:30:00")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @Schema(description = "Timestamp when the last run of the job started", example = "2024-01-15T10:30:05")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @Schema(description = "Timestamp when the last run of the job ended", example = "2024-01-15T10:42:17")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Possible states of an import job.
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * Nested class describing a rejected row.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Rejected row details")
+    public static class RowError {
+
+        @Schema(description = "One-based data row number", example = "42")
+        private long row;
+
+        @Schema(description = "ISBN of the row, if it could be read", example = "978-0-13235-088-4")
+        private String isbn;
+
+        @Schema(description = "Outcome of the row", example = "DUPLICATE_ISBN")
+        private BatchItemResultDto.Status status;
+
+        @Schema(description = "Reason the row was rejected", example = "A book with ISBN '978-0-13235-088-4' already exists")
+        private String message;
+    }
+}
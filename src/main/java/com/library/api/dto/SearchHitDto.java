@@ -0,0 +1,25 @@
+package com.library.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * Data Transfer Object for one result of a ranked full-text search.
+ *
+ * Carries the matched book together with its relevance score, which is only
+ * meaningful relative to the other results of the same query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Book matched by a full-text search and its relevance score")
+public class SearchHitDto {
+
+    @Schema(description = "Matched book")
+    private BookResponseDto book;
+
+    @Schema(description = "BM25 relevance of the title and description to the query, higher is better",
+            example = "7.42")
+    private double score;
+}
@@ -0,0 +1,27 @@
+package com.library.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * Data Transfer Object for one autocomplete suggestion.
+ *
+ * A suggestion is a whole title or author rather than a book, so that a
+ * search box can offer it without loading any book.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Title or author completing a typed prefix")
+public class SuggestionDto {
+
+    @Schema(description = "Suggested title or author", example = "Robert C. Martin")
+    private String text;
+
+    @Schema(description = "Field the suggestion comes from, title or author", example = "author")
+    private String field;
+
+    @Schema(description = "Number of books with this title or author", example = "3")
+    private int books;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -15,13 +16,24 @@ import java.time.LocalDateTime;
  *
  * This entity uses JPA annotations for persistence and includes
  * audit fields for tracking creation and update timestamps.
+ * Updates only write the columns that actually changed.
+ * The composite indexes ending in {@code id} serve the sorted, filtered
+ * pages of {@link com.library.api.query.BookSpecifications}; the one on
+ * {@code updated_at} serves the periodic catch-up of the search indexes.
  */
 @Entity
+@DynamicUpdate
 @Table(
         name = "books",
         indexes = {
                 @Index(name = "idx_isbn", columnList = "isbn", unique = true),
-                @Index(name = "idx_title", columnList = "title")
+                @Index(name = "idx_title_id", columnList = "title, id"),
+                @Index(name = "idx_author_publication_date", columnList = "author, publication_date, id"),
+                @Index(name = "idx_publisher_publication_date", columnList = "publisher, publication_date, id"),
+                @Index(name = "idx_publisher_price", columnList = "publisher, price, id"),
+                @Index(name = "idx_price_id", columnList = "price, id"),
+                @Index(name = "idx_publication_date_id", columnList = "publication_date, id"),
+                @Index(name = "idx_updated_at", columnList = "updated_at")
         }
 )
 @Getter
@@ -32,8 +44,27 @@ import java.time.LocalDateTime;
 @ToString
 public class Book {
 
+    /**
+     * Default number of IDs reserved per sequence call, used when Hibernate
+     * creates {@code books_id_seq}. For an existing sequence its INCREMENT BY
+     * wins: {@code increment_size_mismatch_strategy: FIX} adopts it at startup,
+     * so the allocation size is changed with ALTER SEQUENCE, not here; see
+     * scripts/migrations/002-book-id-pooled-sequence.sql.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Sequence-based IDs (pooled-lo optimizer) let Hibernate assign identifiers
+     * before flushing, which keeps JDBC insert batching enabled.
+     * IDENTITY generation would force one round trip per insert.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_id_generator")
+    @SequenceGenerator(
+            name = "book_id_generator",
+            sequenceName = "books_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE
+    )
     private Long id;
 
     @NotBlank(message = "Title cannot be blank")
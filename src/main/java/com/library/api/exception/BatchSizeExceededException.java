@@ -0,0 +1,29 @@
+package com.library.api.exception;
+
+/**
+ * Exception thrown when a batch request contains more items than
+ * the configured maximum.
+ */
+public class BatchSizeExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new BatchSizeExceededException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public BatchSizeExceededException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new BatchSizeExceededException for a specific batch size.
+     *
+     * @param size the number of submitted items
+     * @param maxItems the maximum number of items allowed
+     * @return a new BatchSizeExceededException with an appropriate message
+     */
+    public static BatchSizeExceededException forSize(int size, int maxItems) {
+        return new BatchSizeExceededException("Batch contains " + size
+                + " items but at most " + maxItems + " are allowed");
+    }
+}
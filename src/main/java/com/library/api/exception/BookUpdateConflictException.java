@@ -0,0 +1,29 @@
+package com.library.api.exception;
+
+/**
+ * Exception thrown when a book update keeps losing to concurrent updates of
+ * the same book.
+ */
+public class BookUpdateConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new BookUpdateConflictException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public BookUpdateConflictException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new BookUpdateConflictException for a book ID.
+     *
+     * @param id the ID of the contended book
+     * @param attempts the number of attempts made
+     * @return a new BookUpdateConflictException with an appropriate message
+     */
+    public static BookUpdateConflictException forId(Long id, int attempts) {
+        return new BookUpdateConflictException("Book with ID " + id + " was modified concurrently "
+                + attempts + " times in a row; retry later");
+    }
+}
@@ -0,0 +1,41 @@
+package com.library.api.exception;
+
+/**
+ * Exception thrown when a conditional update names a version of a book
+ * that is no longer current.
+ */
+public class BookVersionMismatchException extends RuntimeException {
+
+    /**
+     * Constructs a new BookVersionMismatchException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public BookVersionMismatchException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new BookVersionMismatchException for a stale expected version.
+     *
+     * @param id the book ID
+     * @param expectedVersion the version the client based its change on
+     * @param currentVersion the version currently stored
+     * @return a new BookVersionMismatchException with an appropriate message
+     */
+    public static BookVersionMismatchException forVersion(Long id, Long expectedVersion, Long currentVersion) {
+        return new BookVersionMismatchException("Book with ID " + id + " is at version " + currentVersion
+                + " but the request was based on version " + expectedVersion);
+    }
+
+    /**
+     * Constructs a new BookVersionMismatchException for an If-Match header naming no version of the book.
+     *
+     * @param id the book ID
+     * @param ifMatch the If-Match header value
+     * @return a new BookVersionMismatchException with an appropriate message
+     */
+    public static BookVersionMismatchException forIfMatch(Long id, String ifMatch) {
+        return new BookVersionMismatchException("If-Match " + ifMatch + " does not match book with ID " + id);
+    }
+}
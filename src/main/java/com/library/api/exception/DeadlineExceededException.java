@@ -0,0 +1,58 @@
+package com.library.api.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request's deadline passes before its database work completes.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new DeadlineExceededException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new DeadlineExceededException with a detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the failure observed once the deadline had passed
+     */
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Constructs a new DeadlineExceededException for a request that arrived without time left.
+     *
+     * @return a new DeadlineExceededException with an appropriate message
+     */
+    public static DeadlineExceededException alreadyExpired() {
+        return new DeadlineExceededException("Request deadline expired before processing started");
+    }
+
+    /**
+     * Constructs a new DeadlineExceededException for a request timeout.
+     *
+     * @param timeout the timeout the request was given
+     * @return a new DeadlineExceededException with an appropriate message
+     */
+    public static DeadlineExceededException forTimeout(Duration timeout) {
+        return new DeadlineExceededException("Request deadline of " + timeout.toMillis() + " ms exceeded");
+    }
+
+    /**
+     * Constructs a new DeadlineExceededException for a request timeout with its cause.
+     *
+     * @param timeout the timeout the request was given
+     * @param cause the failure observed once the deadline had passed
+     * @return a new DeadlineExceededException with an appropriate message
+     */
+    public static DeadlineExceededException forTimeout(Duration timeout, Throwable cause) {
+        return new DeadlineExceededException("Request deadline of " + timeout.toMillis() + " ms exceeded", cause);
+    }
+}
@@ -26,4 +26,13 @@ public class DuplicateIsbnException extends RuntimeException {
     public static DuplicateIsbnException forIsbn(String isbn) {
         return new DuplicateIsbnException("A book with ISBN '" + isbn + "' already exists");
     }
+
+    /**
+     * Constructs a new DuplicateIsbnException for a batch insert that hit an existing ISBN.
+     *
+     * @return a new DuplicateIsbnException with an appropriate message
+     */
+    public static DuplicateIsbnException forBatch() {
+        return new DuplicateIsbnException("A book in the batch has an ISBN that already exists");
+    }
 }
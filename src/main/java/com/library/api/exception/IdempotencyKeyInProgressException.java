@@ -0,0 +1,27 @@
+package com.library.api.exception;
+
+/**
+ * Exception thrown when the original request for an Idempotency-Key is still
+ * running after a duplicate has waited for it.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    /**
+     * Constructs a new IdempotencyKeyInProgressException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new IdempotencyKeyInProgressException for a specific key.
+     *
+     * @param key the idempotency key
+     * @return a new IdempotencyKeyInProgressException with an appropriate message
+     */
+    public static IdempotencyKeyInProgressException forKey(String key) {
+        return new IdempotencyKeyInProgressException("A request with Idempotency-Key '" + key + "' is still in progress");
+    }
+}
@@ -0,0 +1,26 @@
+package com.library.api.exception;
+
+/**
+ * Exception thrown when an Idempotency-Key is reused with a different request payload.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    /**
+     * Constructs a new IdempotencyKeyMismatchException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new IdempotencyKeyMismatchException for a specific key.
+     *
+     * @param key the reused idempotency key
+     * @return a new IdempotencyKeyMismatchException with an appropriate message
+     */
+    public static IdempotencyKeyMismatchException forKey(String key) {
+        return new IdempotencyKeyMismatchException("Idempotency-Key '" + key + "' was already used for a different request");
+    }
+}
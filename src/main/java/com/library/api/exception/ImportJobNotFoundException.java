@@ -0,0 +1,29 @@
+package com.library.api.exception;
+
+/**
+ * Exception thrown when a requested import job is not known.
+ *
+ * Import jobs are kept in memory, so this is also thrown for jobs that
+ * were evicted or created before a restart.
+ */
+public class ImportJobNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new ImportJobNotFoundException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public ImportJobNotFoundException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new ImportJobNotFoundException for a specific job ID.
+     *
+     * @param id the ID of the job that was not found
+     * @return a new ImportJobNotFoundException with an appropriate message
+     */
+    public static ImportJobNotFoundException forId(String id) {
+        return new ImportJobNotFoundException("Import job not found with ID: " + id);
+    }
+}
@@ -0,0 +1,43 @@
+package com.library.api.exception;
+
+import com.library.api.dto.ImportJobResponseDto;
+
+/**
+ * Exception thrown when content is uploaded to an import job that is
+ * already running or has completed, or when a new job cannot be retained.
+ */
+public class ImportJobStateException extends RuntimeException {
+
+    /**
+     * Constructs a new ImportJobStateException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public ImportJobStateException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new ImportJobStateException for a job in a non-runnable state.
+     *
+     * @param id the ID of the job
+     * @param status the current state of the job
+     * @return a new ImportJobStateException with an appropriate message
+     */
+    public static ImportJobStateException notRunnable(String id, ImportJobResponseDto.Status status) {
+        return new ImportJobStateException("Import job " + id + " is " + status
+                + "; only PENDING or FAILED jobs accept content");
+    }
+
+    /**
+     * Constructs a new ImportJobStateException for a job that cannot be created
+     * because every retained job is still pending or running.
+     *
+     * @param maxRetainedJobs the maximum number of retained jobs
+     * @return a new ImportJobStateException with an appropriate message
+     */
+    public static ImportJobStateException tooManyInProgress(int maxRetainedJobs) {
+        return new ImportJobStateException("All " + maxRetainedJobs
+                + " retained import jobs are PENDING or RUNNING; retry once one has finished");
+    }
+}
@@ -0,0 +1,26 @@
+package com.library.api.exception;
+
+/**
+ * Exception thrown when an Idempotency-Key header is blank or too long.
+ */
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidIdempotencyKeyException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new InvalidIdempotencyKeyException for the maximum key length.
+     *
+     * @param maxLength the maximum accepted key length
+     * @return a new InvalidIdempotencyKeyException with an appropriate message
+     */
+    public static InvalidIdempotencyKeyException forMaxLength(int maxLength) {
+        return new InvalidIdempotencyKeyException("Idempotency-Key must be between 1 and " + maxLength + " characters");
+    }
+}
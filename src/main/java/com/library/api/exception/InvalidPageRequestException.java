@@ -0,0 +1,19 @@
+package com.library.api.exception;
+
+/**
+ * Exception thrown when a pagination request cannot be honoured.
+ *
+ * This covers malformed or tampered continuation tokens, cursors issued
+ * for a different sort order, unknown sort keys and invalid page sizes.
+ */
+public class InvalidPageRequestException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidPageRequestException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,68 @@
+package com.library.api.exception;
+
+import com.library.api.dto.ErrorResponseDto;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Exception thrown when a JSON Merge Patch document cannot be applied to a book,
+ * either because it is malformed or because a supplied field is invalid.
+ */
+@Getter
+public class InvalidPatchException extends RuntimeException {
+
+    private final List<ErrorResponseDto.ValidationError> validationErrors;
+
+    /**
+     * Constructs a new InvalidPatchException with a detail message and field errors.
+     *
+     * @param message the detail message
+     * @param validationErrors the errors of the individual fields, may be empty
+     */
+    public InvalidPatchException(String message, List<ErrorResponseDto.ValidationError> validationErrors) {
+        super(message);
+        this.validationErrors = validationErrors;
+    }
+
+    /**
+     * Constructs a new InvalidPatchException for a document that is not a JSON object.
+     *
+     * @return a new InvalidPatchException with an appropriate message
+     */
+    public static InvalidPatchException notAnObject() {
+        return new InvalidPatchException("Patch document must be a JSON object", List.of());
+    }
+
+    /**
+     * Constructs a new InvalidPatchException for fields that cannot be patched.
+     *
+     * @param fields the unknown or read-only fields
+     * @return a new InvalidPatchException with an appropriate message
+     */
+    public static InvalidPatchException unknownFields(Collection<String> fields) {
+        return new InvalidPatchException("Patch document contains fields that cannot be modified: "
+                + String.join(", ", fields), List.of());
+    }
+
+    /**
+     * Constructs a new InvalidPatchException for values of the wrong type or format.
+     *
+     * @param detail the parser's description of the problem
+     * @return a new InvalidPatchException with an appropriate message
+     */
+    public static InvalidPatchException unreadable(String detail) {
+        return new InvalidPatchException("Patch document could not be read: " + detail, List.of());
+    }
+
+    /**
+     * Constructs a new InvalidPatchException for supplied fields that failed validation.
+     *
+     * @param validationErrors the errors of the individual fields
+     * @return a new InvalidPatchException with an appropriate message
+     */
+    public static InvalidPatchException invalidFields(List<ErrorResponseDto.ValidationError> validationErrors) {
+        return new InvalidPatchException("Validation failed for one or more fields", validationErrors);
+    }
+}
@@ -0,0 +1,27 @@
+package com.library.api.exception;
+
+/**
+ * Exception thrown when a request timeout header is not a number of milliseconds.
+ */
+public class InvalidRequestTimeoutException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidRequestTimeoutException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidRequestTimeoutException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new InvalidRequestTimeoutException for a header value.
+     *
+     * @param header the header name
+     * @param value the rejected value
+     * @return a new InvalidRequestTimeoutException with an appropriate message
+     */
+    public static InvalidRequestTimeoutException forValue(String header, String value) {
+        return new InvalidRequestTimeoutException(header + " must be a whole number of milliseconds, got: " + value);
+    }
+}
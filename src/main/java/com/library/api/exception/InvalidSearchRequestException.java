@@ -0,0 +1,19 @@
+package com.library.api.exception;
+
+/**
+ * Exception thrown when a search request cannot be honoured.
+ *
+ * This covers empty queries, unknown search fields and out-of-range
+ * search options.
+ */
+public class InvalidSearchRequestException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidSearchRequestException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidSearchRequestException(String message) {
+        super(message);
+    }
+}
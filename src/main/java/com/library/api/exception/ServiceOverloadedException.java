@@ -0,0 +1,60 @@
+package com.library.api.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is shed because the database is at its
+ * concurrency limit or considered unavailable, or because the in-memory
+ * search index it needs is not loaded.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new ServiceOverloadedException with a detail message.
+     *
+     * @param message the detail message
+     * @param retryAfter how long the client should wait before retrying
+     */
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Constructs a new ServiceOverloadedException for the current concurrency limit.
+     *
+     * @param limit the concurrency limit that was reached
+     * @param retryAfter how long the client should wait before retrying
+     * @return a new ServiceOverloadedException with an appropriate message
+     */
+    public static ServiceOverloadedException atLimit(int limit, Duration retryAfter) {
+        return new ServiceOverloadedException("Service is at its concurrency limit of " + limit
+                + "; retry later", retryAfter);
+    }
+
+    /**
+     * Constructs a new ServiceOverloadedException for an open circuit breaker.
+     *
+     * @param retryAfter how long the client should wait before retrying
+     * @return a new ServiceOverloadedException with an appropriate message
+     */
+    public static ServiceOverloadedException circuitOpen(Duration retryAfter) {
+        return new ServiceOverloadedException("Database is unavailable and no earlier response is available; "
+                + "retry later", retryAfter);
+    }
+
+    /**
+     * Constructs a new ServiceOverloadedException for a search that needs the in-memory index.
+     *
+     * @param retryAfter how long the client should wait before retrying
+     * @return a new ServiceOverloadedException with an appropriate message
+     */
+    public static ServiceOverloadedException searchIndexUnavailable(Duration retryAfter) {
+        return new ServiceOverloadedException("Search index is not available yet; retry later", retryAfter);
+    }
+}
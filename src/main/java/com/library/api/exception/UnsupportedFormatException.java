@@ -0,0 +1,28 @@
+package com.library.api.exception;
+
+/**
+ * Exception thrown when a catalog export or import is requested in a format
+ * the API does not support.
+ */
+public class UnsupportedFormatException extends RuntimeException {
+
+    /**
+     * Constructs a new UnsupportedFormatException with a detail message.
+     *
+     * @param message the detail message
+     */
+    public UnsupportedFormatException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new UnsupportedFormatException for a specific format.
+     *
+     * @param format the requested format
+     * @return a new UnsupportedFormatException with an appropriate message
+     */
+    public static UnsupportedFormatException forFormat(String format) {
+        return new UnsupportedFormatException("Unsupported format: '" + format
+                + "'. Supported formats are: ndjson, csv");
+    }
+}
@@ -0,0 +1,65 @@
+package com.library.api.export;
+
+import com.library.api.exception.UnsupportedFormatException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+/**
+ * Output formats supported by the catalog export.
+ */
+public enum ExportFormat {
+
+    /**
+     * Newline-delimited JSON, one book per line.
+     */
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+
+    /**
+     * Comma-separated values with a header row (RFC 4180 quoting).
+     */
+    CSV("csv", new MediaType("text", "csv"));
+
+    private final String parameterValue;
+    private final MediaType mediaType;
+
+    ExportFormat(String parameterValue, MediaType mediaType) {
+        this.parameterValue = parameterValue;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Returns the value used for this format in request parameters and file extensions.
+     *
+     * @return the parameter value
+     */
+    public String getParameterValue() {
+        return parameterValue;
+    }
+
+    /**
+     * Returns the content type of the exported document.
+     *
+     * @return the media type
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolves an export format from its request parameter value (case-insensitive).
+     *
+     * @param value the parameter value, or null for the default format
+     * @return the matching export format
+     * @throws UnsupportedFormatException if the value does not match any format
+     */
+    public static ExportFormat fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        return Arrays.stream(values())
+                .filter(format -> format.parameterValue.equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> UnsupportedFormatException.forFormat(value));
+    }
+}
@@ -0,0 +1,113 @@
+package com.library.api.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.api.config.IdempotencyProperties;
+import com.library.api.exception.IdempotencyKeyInProgressException;
+import com.library.api.exception.IdempotencyKeyMismatchException;
+import com.library.api.exception.InvalidIdempotencyKeyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory store of responses keyed by client-supplied idempotency keys.
+ *
+ * The first request with a key registers a pending response before running
+ * the operation. Later requests with the same key and an equal payload wait
+ * for that response and receive it without running the operation again. A
+ * failed operation is forgotten, so the client may retry it. Entries expire
+ * after {@code library.idempotency.ttl}.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private final ConcurrentMap<String, Entry> entries;
+    private final Duration inFlightTimeout;
+    private final int maxKeyLength;
+    private final Counter replayCounter;
+
+    public IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        Cache<String, Entry> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency");
+        this.entries = cache.asMap();
+        this.inFlightTimeout = properties.getInFlightTimeout();
+        this.maxKeyLength = properties.getMaxKeyLength();
+        this.replayCounter = Counter.builder("library.idempotency.replays")
+                .description("Requests answered with the stored response of an earlier request with the same key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs an operation at most once per idempotency key.
+     *
+     * @param key the idempotency key
+     * @param request the request payload, compared with equals to detect key reuse
+     * @param operation the operation to run for the first request
+     * @param <T> the response type
+     * @return the response, and whether it was replayed
+     * @throws InvalidIdempotencyKeyException if the key is blank or too long
+     * @throws IdempotencyKeyMismatchException if the key was used for a different request
+     * @throws IdempotencyKeyInProgressException if the original request did not finish in time
+     */
+    @SuppressWarnings("unchecked")
+    public <T> IdempotentResult<T> execute(String key, Object request, Supplier<T> operation) {
+        if (key.isBlank() || key.length() > maxKeyLength) {
+            throw InvalidIdempotencyKeyException.forMaxLength(maxKeyLength);
+        }
+
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.putIfAbsent(key, entry);
+        if (existing == null) {
+            try {
+                T response = operation.get();
+                entry.response().complete(response);
+                return new IdempotentResult<>(response, false);
+            } catch (RuntimeException e) {
+                entries.remove(key, entry);
+                entry.response().completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        if (!Objects.equals(existing.request(), request)) {
+            throw IdempotencyKeyMismatchException.forKey(key);
+        }
+
+        log.debug("Replaying response for idempotency key {}", key);
+        replayCounter.increment();
+        try {
+            return new IdempotentResult<>((T) existing.response().get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS),
+                    true);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw IdempotencyKeyInProgressException.forKey(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw IdempotencyKeyInProgressException.forKey(key);
+        }
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> response) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.library.api.idempotency;
+
+/**
+ * Outcome of an operation executed under an idempotency key.
+ *
+ * @param value the response of the operation
+ * @param replayed true if the response was stored by an earlier request with the same key
+ * @param <T> the response type
+ */
+public record IdempotentResult<T>(T value, boolean replayed) {
+}
@@ -0,0 +1,47 @@
+package com.library.api.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Incremental reader of book rows from an import stream.
+ *
+ * Readers only ever hold the current record in memory, so an import of any
+ * size runs in constant memory and consumes its input no faster than the
+ * caller asks for rows.
+ */
+public interface BookRowReader extends Closeable {
+
+    /**
+     * Reads the next data row.
+     *
+     * @return the next row, or null at the end of the input
+     * @throws IOException if the input cannot be read or is structurally malformed
+     */
+    ImportRow next() throws IOException;
+
+    /**
+     * Opens a reader for the given format.
+     *
+     * @param format the input format
+     * @param inputStream the raw input, decoded as UTF-8
+     * @param objectMapper the mapper used to parse JSON rows
+     * @param maxRecordLength the maximum length of a single record, in characters
+     * @return the row reader
+     * @throws IOException if the input header cannot be read
+     */
+    static BookRowReader open(ImportFormat format, InputStream inputStream,
+                              ObjectMapper objectMapper, int maxRecordLength) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return switch (format) {
+            case NDJSON -> new NdjsonBookRowReader(reader, objectMapper, maxRecordLength);
+            case CSV -> new CsvBookRowReader(reader, maxRecordLength);
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package com.library.api.ingest;
+
+import com.library.api.dto.BookRequestDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads CSV with a header row naming the {@link BookRequestDto} fields.
+ *
+ * Columns may appear in any order and unknown columns are ignored. Fields
+ * follow RFC 4180 quoting, so quoted values may contain commas, escaped
+ * quotes and line breaks.
+ */
+class CsvBookRowReader implements BookRowReader {
+
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("title", "author", "isbn", "publicationdate", "price");
+
+    private final BufferedReader reader;
+    private final int maxRecordLength;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long rowNumber;
+
+    CsvBookRowReader(BufferedReader reader, int maxRecordLength) throws IOException {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IOException("CSV input is empty, a header row is required");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IOException("CSV header is missing required columns: " + missing);
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+
+        rowNumber++;
+        try {
+            return ImportRow.parsed(rowNumber, BookRequestDto.builder()
+                    .title(field(record, "title"))
+                    .author(field(record, "author"))
+                    .isbn(field(record, "isbn"))
+                    .publicationDate(parse(field(record, "publicationdate"), LocalDate::parse))
+                    .price(parse(field(record, "price"), BigDecimal::new))
+                    .description(field(record, "description"))
+                    .pages(parse(field(record, "pages"), Integer::valueOf))
+                    .publisher(field(record, "publisher"))
+                    .build());
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            return ImportRow.unparseable(rowNumber, "Invalid value: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns the value of a named column, or null if it is absent or empty.
+     *
+     * @param record the fields of the current record
+     * @param column the lower-case column name
+     * @return the field value, or null
+     */
+    private String field(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    /**
+     * Applies a parser to an optional value.
+     *
+     * @param value the raw value, may be null
+     * @param parser the parser to apply
+     * @param <T> the parsed type
+     * @return the parsed value, or null if the value was null
+     */
+    private static <T> T parse(String value, Function<String, T> parser) {
+        return value == null ? null : parser.apply(value.trim());
+    }
+
+    /**
+     * Reads one CSV record, honouring quoted fields that span lines.
+     *
+     * @return the fields of the record, or null at the end of the input
+     * @throws IOException if reading fails or the record is too long
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        int length = 0;
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (++length > maxRecordLength) {
+                throw new IOException("Record " + (rowNumber + 1) + " exceeds " + maxRecordLength + " characters");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (quoted) {
+            throw new IOException("Record " + (rowNumber + 1) + " has an unterminated quoted field");
+        }
+        if (!read) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
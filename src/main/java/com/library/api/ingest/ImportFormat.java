@@ -0,0 +1,53 @@
+package com.library.api.ingest;
+
+import com.library.api.exception.UnsupportedFormatException;
+
+import java.util.Arrays;
+
+/**
+ * Input formats supported by the streaming bulk import.
+ */
+public enum ImportFormat {
+
+    /**
+     * Newline-delimited JSON, one {@code BookRequestDto} per line.
+     */
+    NDJSON("ndjson"),
+
+    /**
+     * Comma-separated values with a header row naming the book fields (RFC 4180 quoting).
+     */
+    CSV("csv");
+
+    private final String parameterValue;
+
+    ImportFormat(String parameterValue) {
+        this.parameterValue = parameterValue;
+    }
+
+    /**
+     * Returns the value used for this format in request parameters.
+     *
+     * @return the parameter value
+     */
+    public String getParameterValue() {
+        return parameterValue;
+    }
+
+    /**
+     * Resolves an import format from its request parameter value (case-insensitive).
+     *
+     * @param value the parameter value, or null for the default format
+     * @return the matching import format
+     * @throws UnsupportedFormatException if the value does not match any format
+     */
+    public static ImportFormat fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        return Arrays.stream(values())
+                .filter(format -> format.parameterValue.equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> UnsupportedFormatException.forFormat(value));
+    }
+}
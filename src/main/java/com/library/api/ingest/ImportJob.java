@@ -0,0 +1,184 @@
+package com.library.api.ingest;
+
+import com.library.api.dto.ImportJobResponseDto;
+import com.library.api.dto.ImportJobResponseDto.RowError;
+import com.library.api.dto.ImportJobResponseDto.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mutable state of a bulk import job.
+ *
+ * A job is updated by the thread streaming its content and read concurrently
+ * by clients polling for progress, so every access is synchronized. Counters
+ * other than {@code rowsRead} only move when a chunk commits, which keeps them
+ * consistent with {@code committedRows} when a failed job is resumed.
+ */
+public class ImportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final ImportFormat format;
+    private final int maxReportedErrors;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final List<RowError> errors = new ArrayList<>();
+
+    private Status status = Status.PENDING;
+    private long rowsRead;
+    private long committedRows;
+    private long created;
+    private long duplicates;
+    private long invalid;
+    private String failureMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * Creates a pending job.
+     *
+     * @param format the input format of the job
+     * @param maxReportedErrors the maximum number of rejected rows to keep details for
+     */
+    public ImportJob(ImportFormat format, int maxReportedErrors) {
+        this.format = format;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Returns the unique identifier of the job.
+     *
+     * @return the job ID
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the input format of the job.
+     *
+     * @return the import format
+     */
+    public ImportFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns the current state of the job.
+     *
+     * @return the job status
+     */
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns whether the job is completed or its last run failed, that is
+     * whether no client is uploading to it or about to.
+     *
+     * @return true if the job is completed or failed
+     */
+    public synchronized boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    /**
+     * Returns the number of leading data rows already committed.
+     *
+     * @return the resume offset
+     */
+    public synchronized long getCommittedRows() {
+        return committedRows;
+    }
+
+    /**
+     * Moves a pending or failed job to running.
+     *
+     * @return true if the job was started, false if it is already running or completed
+     */
+    public synchronized boolean start() {
+        if (status != Status.PENDING && status != Status.FAILED) {
+            return false;
+        }
+        status = Status.RUNNING;
+        rowsRead = committedRows;
+        failureMessage = null;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        return true;
+    }
+
+    /**
+     * Records that a data row has been read.
+     *
+     * @param rowNumber the number of the row
+     */
+    public synchronized void rowRead(long rowNumber) {
+        rowsRead = Math.max(rowsRead, rowNumber);
+    }
+
+    /**
+     * Records the outcome of a committed chunk.
+     *
+     * @param lastRowNumber the number of the last row of the chunk
+     * @param createdRows the number of created books
+     * @param duplicateRows the number of rows rejected as duplicates
+     * @param rejectedRows details of the rows rejected as duplicates or invalid
+     */
+    public synchronized void chunkCommitted(long lastRowNumber, long createdRows, long duplicateRows,
+                                            List<RowError> rejectedRows) {
+        committedRows = lastRowNumber;
+        created += createdRows;
+        duplicates += duplicateRows;
+        invalid += rejectedRows.size() - duplicateRows;
+        for (RowError error : rejectedRows) {
+            if (errors.size() >= maxReportedErrors) {
+                break;
+            }
+            errors.add(error);
+        }
+    }
+
+    /**
+     * Marks the job as completed.
+     */
+    public synchronized void complete() {
+        status = Status.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Marks the current run of the job as failed. The job can be resumed.
+     *
+     * @param message the failure reason
+     */
+    public synchronized void fail(String message) {
+        status = Status.FAILED;
+        failureMessage = message;
+        finishedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Returns a consistent snapshot of the job.
+     *
+     * @return the job state
+     */
+    public synchronized ImportJobResponseDto snapshot() {
+        return ImportJobResponseDto.builder()
+                .id(id)
+                .format(format.getParameterValue())
+                .status(status)
+                .rowsRead(rowsRead)
+                .committedRows(committedRows)
+                .created(created)
+                .duplicates(duplicates)
+                .invalid(invalid)
+                .errors(errors.isEmpty() ? null : List.copyOf(errors))
+                .failureMessage(failureMessage)
+                .createdAt(createdAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
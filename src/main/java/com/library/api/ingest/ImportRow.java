@@ -0,0 +1,38 @@
+package com.library.api.ingest;
+
+import com.library.api.dto.BookRequestDto;
+
+/**
+ * A single data row read from an import stream.
+ *
+ * Exactly one of {@code book} and {@code error} is set: rows that cannot be
+ * parsed carry the parse error instead of a book.
+ *
+ * @param rowNumber the one-based position of the row among the data rows of the input
+ * @param book the parsed book, or null if the row could not be parsed
+ * @param error the parse error, or null if the row was parsed
+ */
+public record ImportRow(long rowNumber, BookRequestDto book, String error) {
+
+    /**
+     * Creates a successfully parsed row.
+     *
+     * @param rowNumber the row number
+     * @param book the parsed book
+     * @return the row
+     */
+    public static ImportRow parsed(long rowNumber, BookRequestDto book) {
+        return new ImportRow(rowNumber, book, null);
+    }
+
+    /**
+     * Creates a row that could not be parsed.
+     *
+     * @param rowNumber the row number
+     * @param error the parse error
+     * @return the row
+     */
+    public static ImportRow unparseable(long rowNumber, String error) {
+        return new ImportRow(rowNumber, null, error);
+    }
+}
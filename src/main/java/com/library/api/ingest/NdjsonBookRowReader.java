@@ -0,0 +1,73 @@
+package com.library.api.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.library.api.dto.BookRequestDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads newline-delimited JSON, one book per non-blank line.
+ */
+class NdjsonBookRowReader implements BookRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader bookReader;
+    private final int maxRecordLength;
+    private final StringBuilder line = new StringBuilder();
+    private long rowNumber;
+
+    NdjsonBookRowReader(BufferedReader reader, ObjectMapper objectMapper, int maxRecordLength) {
+        this.reader = reader;
+        this.bookReader = objectMapper.readerFor(BookRequestDto.class);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String json;
+        do {
+            json = readLine();
+            if (json == null) {
+                return null;
+            }
+        } while (json.isBlank());
+
+        rowNumber++;
+        try {
+            return ImportRow.parsed(rowNumber, bookReader.readValue(json));
+        } catch (JsonProcessingException ex) {
+            return ImportRow.unparseable(rowNumber, "Invalid JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Reads one line, refusing lines longer than the configured maximum.
+     *
+     * @return the line without its terminator, or null at the end of the input
+     * @throws IOException if reading fails or the line is too long
+     */
+    private String readLine() throws IOException {
+        line.setLength(0);
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                return line.toString();
+            }
+            if (c != '\r') {
+                if (line.length() >= maxRecordLength) {
+                    throw new IOException("Line " + (rowNumber + 1) + " exceeds " + maxRecordLength + " characters");
+                }
+                line.append((char) c);
+            }
+        }
+        return line.isEmpty() ? null : line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -6,6 +6,7 @@ import com.library.api.entity.Book;
 import org.mapstruct.*;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * MapStruct mapper interface for converting between Book entities and DTOs.
@@ -20,6 +21,12 @@ import java.util.List;
 )
 public interface BookMapper {
 
+    /**
+     * Names of the BookRequestDto fields a merge patch may modify.
+     */
+    Set<String> PATCHABLE_FIELDS = Set.of(
+            "title", "author", "isbn", "publicationDate", "price", "description", "pages", "publisher");
+
     /**
      * Converts a Book entity to a BookResponseDto.
      *
@@ -60,4 +67,29 @@ public interface BookMapper {
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
     void updateEntityFromDto(BookRequestDto requestDto, @MappingTarget Book book);
+
+    /**
+     * Applies the supplied fields of a merge patch to an existing Book entity.
+     * Unlike {@link #updateEntityFromDto}, a supplied null clears the property,
+     * and fields that were not supplied are left untouched.
+     *
+     * @param changes the patch values, bound to a BookRequestDto
+     * @param fields the names of the fields present in the patch document
+     * @param book the target Book entity to update
+     */
+    default void patchEntity(BookRequestDto changes, Set<String> fields, Book book) {
+        for (String field : fields) {
+            switch (field) {
+                case "title" -> book.setTitle(changes.getTitle());
+                case "author" -> book.setAuthor(changes.getAuthor());
+                case "isbn" -> book.setIsbn(changes.getIsbn());
+                case "publicationDate" -> book.setPublicationDate(changes.getPublicationDate());
+                case "price" -> book.setPrice(changes.getPrice());
+                case "description" -> book.setDescription(changes.getDescription());
+                case "pages" -> book.setPages(changes.getPages());
+                case "publisher" -> book.setPublisher(changes.getPublisher());
+                default -> throw new IllegalArgumentException("Field cannot be patched: " + field);
+            }
+        }
+    }
 }
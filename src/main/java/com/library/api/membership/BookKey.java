@@ -0,0 +1,10 @@
+package com.library.api.membership;
+
+/**
+ * Identity columns of a book, loaded when building the membership filters.
+ *
+ * @param id the book ID
+ * @param isbn the book ISBN
+ */
+public record BookKey(Long id, String isbn) {
+}
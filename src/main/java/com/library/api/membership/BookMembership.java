@@ -0,0 +1,170 @@
+package com.library.api.membership;
+
+import com.library.api.config.BookMembershipProperties;
+import com.library.api.repository.BookRepository;
+import com.library.api.routing.ReplicaRouting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * In-memory membership filters for book ISBNs and IDs.
+ *
+ * ISBNs are tracked in a Bloom filter and IDs in a bitmap, both loaded from
+ * the database once the application is ready and updated on every write made
+ * through this instance. A negative answer is definite, which lets callers
+ * skip the corresponding database query; a positive answer must still be
+ * confirmed against the database. Until loading completes, or when disabled,
+ * nothing is reported as absent. Writes made elsewhere are never seen, so the
+ * filters are disabled by default and only safe for a single-writer deployment.
+ */
+@Component
+@Slf4j
+public class BookMembership {
+
+    private final BookMembershipProperties properties;
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final IsbnBloomFilter isbns;
+    private final IdBitmap ids = new IdBitmap();
+    private final Counter isbnShortCircuits;
+    private final Counter idShortCircuits;
+
+    private volatile boolean ready;
+
+    public BookMembership(BookMembershipProperties properties, BookRepository bookRepository,
+                          PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.isbns = new IsbnBloomFilter(properties.getExpectedIsbns(), properties.getFalsePositiveRate());
+
+        this.isbnShortCircuits = Counter.builder("library.membership.short-circuits")
+                .description("Lookups answered without a database query because the key is definitely absent")
+                .tag("key", "isbn")
+                .register(meterRegistry);
+        this.idShortCircuits = Counter.builder("library.membership.short-circuits")
+                .description("Lookups answered without a database query because the key is definitely absent")
+                .tag("key", "id")
+                .register(meterRegistry);
+        Gauge.builder("library.membership.false-positive-rate", isbns, IsbnBloomFilter::estimatedFalsePositiveRate)
+                .description("Estimated false-positive probability of the ISBN Bloom filter")
+                .tag("key", "isbn")
+                .register(meterRegistry);
+        Gauge.builder("library.membership.memory", isbns, IsbnBloomFilter::sizeInBytes)
+                .description("Memory used by the membership filter")
+                .baseUnit("bytes")
+                .tag("key", "isbn")
+                .register(meterRegistry);
+        Gauge.builder("library.membership.memory", ids, IdBitmap::sizeInBytes)
+                .description("Memory used by the membership filter")
+                .baseUnit("bytes")
+                .tag("key", "id")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the ISBNs and IDs of all existing books.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            log.info("Book membership filters are disabled");
+            return;
+        }
+
+        try {
+            // A lagging replica would leave recent books out and make them look absent
+            Long loaded = ReplicaRouting.onPrimary(() -> readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<BookKey> keys = bookRepository.streamAllKeys()) {
+                    for (Iterator<BookKey> it = keys.iterator(); it.hasNext(); count++) {
+                        BookKey key = it.next();
+                        recordBook(key.id(), key.isbn());
+                    }
+                }
+                return count;
+            }));
+            ready = true;
+            log.info("Loaded {} books into membership filters: ISBN filter {} bytes with {} hashes "
+                            + "(estimated false-positive rate {}), ID bitmap {} bytes",
+                    loaded, isbns.sizeInBytes(), isbns.hashCount(),
+                    String.format("%.5f", isbns.estimatedFalsePositiveRate()), ids.sizeInBytes());
+        } catch (RuntimeException e) {
+            log.warn("Could not load book membership filters, every lookup will query the database", e);
+        }
+    }
+
+    /**
+     * Returns whether no book can have the given ISBN.
+     *
+     * @param isbn the ISBN
+     * @return true if the ISBN is definitely absent and the database need not be queried
+     */
+    public boolean isbnDefinitelyAbsent(String isbn) {
+        if (!ready || isbns.mightContain(isbn)) {
+            return false;
+        }
+        isbnShortCircuits.increment();
+        return true;
+    }
+
+    /**
+     * Returns whether no book can have the given ID.
+     *
+     * @param id the book ID
+     * @return true if the ID is definitely absent and the database need not be queried
+     */
+    public boolean idDefinitelyAbsent(Long id) {
+        if (!ready || ids.contains(id)) {
+            return false;
+        }
+        idShortCircuits.increment();
+        return true;
+    }
+
+    /**
+     * Records a book that was created, or whose ISBN changed.
+     * Must be called before the writing transaction commits; if it rolls back
+     * the stale entry only costs a false positive.
+     *
+     * @param id the book ID
+     * @param isbn the book ISBN
+     */
+    public void recordBook(Long id, String isbn) {
+        ids.add(id);
+        isbns.add(isbn);
+    }
+
+    /**
+     * Records that a book was deleted. The ID is only cleared once the
+     * deleting transaction commits, so a rollback never hides an existing book.
+     * The ISBN stays in the Bloom filter, which cannot forget elements.
+     *
+     * @param id the book ID
+     */
+    public void recordDeletion(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.remove(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.remove(id);
+            }
+        });
+    }
+}
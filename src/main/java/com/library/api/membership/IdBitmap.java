@@ -0,0 +1,77 @@
+package com.library.api.membership;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe bitmap of book IDs.
+ *
+ * IDs are grouped into pages of 65,536 bits that are allocated on first use,
+ * so a dense sequence of IDs costs one bit each while gaps between ranges
+ * cost nothing.
+ */
+class IdBitmap {
+
+    private static final int PAGE_BITS = 16;
+    private static final int WORDS_PER_PAGE = (1 << PAGE_BITS) / 64;
+
+    private final ConcurrentMap<Long, AtomicLongArray> pages = new ConcurrentHashMap<>();
+
+    /**
+     * Marks an ID as existing.
+     *
+     * @param id the book ID
+     */
+    void add(long id) {
+        AtomicLongArray page = pages.computeIfAbsent(id >>> PAGE_BITS, key -> new AtomicLongArray(WORDS_PER_PAGE));
+        update(page, id, true);
+    }
+
+    /**
+     * Marks an ID as no longer existing.
+     *
+     * @param id the book ID
+     */
+    void remove(long id) {
+        AtomicLongArray page = pages.get(id >>> PAGE_BITS);
+        if (page != null) {
+            update(page, id, false);
+        }
+    }
+
+    /**
+     * Returns whether an ID is marked as existing.
+     *
+     * @param id the book ID
+     * @return true if the ID was added and not removed since
+     */
+    boolean contains(long id) {
+        AtomicLongArray page = pages.get(id >>> PAGE_BITS);
+        return page != null && (page.get(wordIndex(id)) & (1L << id)) != 0;
+    }
+
+    /**
+     * Returns the memory used by the allocated pages.
+     *
+     * @return the size in bytes
+     */
+    long sizeInBytes() {
+        return (long) pages.size() * WORDS_PER_PAGE * Long.BYTES;
+    }
+
+    private static void update(AtomicLongArray page, long id, boolean set) {
+        int word = wordIndex(id);
+        long mask = 1L << id;
+        long current;
+        long updated;
+        do {
+            current = page.get(word);
+            updated = set ? current | mask : current & ~mask;
+        } while (current != updated && !page.compareAndSet(word, current, updated));
+    }
+
+    private static int wordIndex(long id) {
+        return (int) ((id & ((1 << PAGE_BITS) - 1)) >>> 6);
+    }
+}
@@ -0,0 +1,114 @@
+package com.library.api.membership;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over ISBN strings.
+ *
+ * Sized from an expected number of insertions and a target false-positive
+ * probability. Uses double hashing of a 64-bit hash to derive the probe
+ * positions. Elements can be added but never removed.
+ */
+class IsbnBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    IsbnBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = Math.toIntExact(Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Adds an ISBN to the filter.
+     *
+     * @param isbn the ISBN
+     */
+    void add(String isbn) {
+        long hash1 = hash(isbn);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Returns whether the ISBN may have been added.
+     *
+     * @param isbn the ISBN
+     * @return false only if the ISBN was definitely never added
+     */
+    boolean mightContain(String isbn) {
+        long hash1 = hash(isbn);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the current false-positive probability from the fraction of set bits.
+     *
+     * @return the probability that an absent ISBN is reported as possibly present
+     */
+    double estimatedFalsePositiveRate() {
+        long setBits = 0;
+        for (int i = 0; i < words.length(); i++) {
+            setBits += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) setBits / bitCount, hashCount);
+    }
+
+    /**
+     * Returns the memory used by the bit array.
+     *
+     * @return the size in bytes
+     */
+    long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    private static long hash(String value) {
+        // FNV-1a over the UTF-8 bytes, finalised with a MurmurHash3 mix
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
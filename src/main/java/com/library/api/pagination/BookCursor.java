@@ -0,0 +1,90 @@
+package com.library.api.pagination;
+
+import com.library.api.entity.Book;
+import com.library.api.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned in a keyset-paginated listing.
+ *
+ * A cursor is handed to clients as an opaque, URL-safe token. It records the
+ * sort key it was produced for and the key values of the last row, so the
+ * next page can be fetched with an index seek instead of an OFFSET scan.
+ *
+ * @param sortKey the ordering the cursor belongs to
+ * @param id the ID of the last returned book
+ * @param title the title of the last returned book, only set for {@link BookSortKey#TITLE}
+ */
+public record BookCursor(BookSortKey sortKey, Long id, String title) {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Builds the cursor pointing just after the given book.
+     *
+     * @param sortKey the ordering of the listing
+     * @param book the last book of the current page
+     * @return the cursor for the next page
+     */
+    public static BookCursor after(BookSortKey sortKey, Book book) {
+        String title = sortKey == BookSortKey.TITLE ? book.getTitle() : null;
+        return new BookCursor(sortKey, book.getId(), title);
+    }
+
+    /**
+     * Encodes this cursor into an opaque token.
+     *
+     * @return the URL-safe token
+     */
+    public String encode() {
+        StringBuilder raw = new StringBuilder()
+                .append(sortKey.getParameterValue())
+                .append(SEPARATOR)
+                .append(id);
+        if (sortKey == BookSortKey.TITLE) {
+            raw.append(SEPARATOR).append(title);
+        }
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the opaque token sent by the client
+     * @param expectedSortKey the ordering requested alongside the token
+     * @return the decoded cursor
+     * @throws InvalidPageRequestException if the token is malformed or belongs to another ordering
+     */
+    public static BookCursor decode(String token, BookSortKey expectedSortKey) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+
+        String[] parts = raw.split(SEPARATOR, 3);
+        BookSortKey sortKey = BookSortKey.fromParameter(parts[0]);
+        if (sortKey != expectedSortKey) {
+            throw new InvalidPageRequestException("Cursor was issued for sort '"
+                    + sortKey.getParameterValue() + "' but sort '"
+                    + expectedSortKey.getParameterValue() + "' was requested");
+        }
+
+        int expectedParts = sortKey == BookSortKey.TITLE ? 3 : 2;
+        if (parts.length != expectedParts) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+
+        try {
+            Long id = Long.parseLong(parts[1]);
+            return new BookCursor(sortKey, id, expectedParts == 3 ? parts[2] : null);
+        } catch (NumberFormatException ex) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+    }
+}
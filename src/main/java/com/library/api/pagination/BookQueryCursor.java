@@ -0,0 +1,109 @@
+package com.library.api.pagination;
+
+import com.library.api.entity.Book;
+import com.library.api.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a multi-criteria book query.
+ *
+ * Encoded like {@link BookCursor}, but for the sort keys of
+ * {@link BookQuerySortKey}. The filters are not part of the cursor: a client
+ * changing them between pages simply continues the new listing from the
+ * same position.
+ *
+ * @param sortKey the ordering the cursor belongs to
+ * @param id the ID of the last returned book
+ * @param value the sorted value of the last returned book as text, null for {@link BookQuerySortKey#ID}
+ */
+public record BookQueryCursor(BookQuerySortKey sortKey, Long id, String value) {
+
+    private static final String PREFIX = "query";
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Builds the cursor pointing just after the given book.
+     *
+     * @param sortKey the ordering of the listing
+     * @param book the last book of the current page
+     * @return the cursor for the next page
+     */
+    public static BookQueryCursor after(BookQuerySortKey sortKey, Book book) {
+        return new BookQueryCursor(sortKey, book.getId(), sortKey.format(book));
+    }
+
+    /**
+     * Returns the sorted value with the type of the entity attribute.
+     *
+     * @return the parsed value, or null for {@link BookQuerySortKey#ID}
+     * @throws InvalidPageRequestException if the value is malformed
+     */
+    public Comparable<?> sortValue() {
+        return value == null ? null : sortKey.parse(value);
+    }
+
+    /**
+     * Encodes this cursor into an opaque token.
+     *
+     * @return the URL-safe token
+     */
+    public String encode() {
+        StringBuilder raw = new StringBuilder()
+                .append(PREFIX)
+                .append(SEPARATOR)
+                .append(sortKey.getParameterValue())
+                .append(SEPARATOR)
+                .append(id);
+        if (value != null) {
+            raw.append(SEPARATOR).append(value);
+        }
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the opaque token sent by the client
+     * @param expectedSortKey the ordering requested alongside the token
+     * @return the decoded cursor
+     * @throws InvalidPageRequestException if the token is malformed or belongs to another ordering or listing
+     */
+    public static BookQueryCursor decode(String token, BookQuerySortKey expectedSortKey) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+
+        String[] parts = raw.split(SEPARATOR, 4);
+        if (parts.length < 3 || !PREFIX.equals(parts[0])) {
+            throw new InvalidPageRequestException("Cursor was not issued by a book query");
+        }
+        BookQuerySortKey sortKey = BookQuerySortKey.fromParameter(parts[1]);
+        if (sortKey != expectedSortKey) {
+            throw new InvalidPageRequestException("Cursor was issued for sort '"
+                    + sortKey.getParameterValue() + "' but sort '"
+                    + expectedSortKey.getParameterValue() + "' was requested");
+        }
+
+        int expectedParts = sortKey == BookQuerySortKey.ID ? 3 : 4;
+        if (parts.length != expectedParts) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+
+        BookQueryCursor cursor;
+        try {
+            cursor = new BookQueryCursor(sortKey, Long.parseLong(parts[2]), expectedParts == 4 ? parts[3] : null);
+        } catch (NumberFormatException ex) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+        // Rejects a tampered value now rather than when the query is built
+        cursor.sortValue();
+        return cursor;
+    }
+}
@@ -0,0 +1,113 @@
+package com.library.api.pagination;
+
+import com.library.api.entity.Book;
+import com.library.api.exception.InvalidPageRequestException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Keys the results of a multi-criteria book query can be ordered by.
+ *
+ * Like {@link BookSortKey}, every key ends with the book ID as a unique
+ * tie-breaker, and every sorted column is non-null, so a cursor holding the
+ * column value and the ID always identifies exactly one position.
+ */
+public enum BookQuerySortKey {
+
+    /**
+     * Orders by {@code (id)}.
+     */
+    ID("id", "id", book -> null, value -> null),
+
+    /**
+     * Orders by {@code (title, id)}.
+     */
+    TITLE("title", "title", Book::getTitle, value -> value),
+
+    /**
+     * Orders by {@code (price, id)}.
+     */
+    PRICE("price", "price", book -> book.getPrice().toPlainString(), BigDecimal::new),
+
+    /**
+     * Orders by {@code (publication_date, id)}.
+     */
+    PUBLICATION_DATE("publicationDate", "publicationDate",
+            book -> book.getPublicationDate().toString(), LocalDate::parse);
+
+    private final String parameterValue;
+    private final String attribute;
+    private final Function<Book, String> formatter;
+    private final Function<String, Comparable<?>> parser;
+
+    BookQuerySortKey(String parameterValue, String attribute,
+                     Function<Book, String> formatter, Function<String, Comparable<?>> parser) {
+        this.parameterValue = parameterValue;
+        this.attribute = attribute;
+        this.formatter = formatter;
+        this.parser = parser;
+    }
+
+    /**
+     * Returns the value used for this key in request parameters and cursors.
+     *
+     * @return the parameter value
+     */
+    public String getParameterValue() {
+        return parameterValue;
+    }
+
+    /**
+     * Returns the {@link Book} attribute sorted on before the ID.
+     *
+     * @return the entity attribute name
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Formats the sorted value of a book for a cursor.
+     *
+     * @param book the book
+     * @return the value as text, or null for {@link #ID}, which only needs the ID
+     */
+    public String format(Book book) {
+        return formatter.apply(book);
+    }
+
+    /**
+     * Parses a sorted value formatted by {@link #format(Book)}.
+     *
+     * @param value the value as text
+     * @return the value with the type of the entity attribute, or null for {@link #ID}
+     * @throws InvalidPageRequestException if the text is not a valid value for this key
+     */
+    public Comparable<?> parse(String value) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException ex) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+    }
+
+    /**
+     * Resolves a sort key from its request parameter value (case-insensitive).
+     *
+     * @param value the parameter value, or null for the default key
+     * @return the matching sort key
+     * @throws InvalidPageRequestException if the value does not match any key
+     */
+    public static BookQuerySortKey fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        return Arrays.stream(values())
+                .filter(key -> key.parameterValue.equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new InvalidPageRequestException("Unsupported sort key: " + value));
+    }
+}
@@ -0,0 +1,56 @@
+package com.library.api.pagination;
+
+import com.library.api.exception.InvalidPageRequestException;
+
+import java.util.Arrays;
+
+/**
+ * Keys a book listing can be ordered by when using keyset pagination.
+ *
+ * Every key ends with the book ID as a unique tie-breaker so the ordering
+ * is total and a cursor always identifies exactly one position.
+ */
+public enum BookSortKey {
+
+    /**
+     * Orders by {@code (id)}.
+     */
+    ID("id"),
+
+    /**
+     * Orders by {@code (title, id)}.
+     */
+    TITLE("title");
+
+    private final String parameterValue;
+
+    BookSortKey(String parameterValue) {
+        this.parameterValue = parameterValue;
+    }
+
+    /**
+     * Returns the value used for this key in request parameters and cursors.
+     *
+     * @return the parameter value
+     */
+    public String getParameterValue() {
+        return parameterValue;
+    }
+
+    /**
+     * Resolves a sort key from its request parameter value (case-insensitive).
+     *
+     * @param value the parameter value, or null for the default key
+     * @return the matching sort key
+     * @throws InvalidPageRequestException if the value does not match any key
+     */
+    public static BookSortKey fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        return Arrays.stream(values())
+                .filter(key -> key.parameterValue.equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new InvalidPageRequestException("Unsupported sort key: " + value));
+    }
+}
@@ -0,0 +1,85 @@
+package com.library.api.pagination;
+
+import com.library.api.exception.InvalidPageRequestException;
+import com.library.api.search.ScoredMatch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last result returned by a ranked full-text search.
+ *
+ * Results are ordered by descending score, then by ascending ID, so the score
+ * and ID of the last result identify where the next page starts. The score is
+ * encoded bit for bit, since a rounded score could skip or repeat results.
+ *
+ * @param score the score of the last returned book
+ * @param id the ID of the last returned book
+ */
+public record SearchHitCursor(double score, long id) {
+
+    private static final String PREFIX = "rank";
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Builds the cursor pointing just after the given match.
+     *
+     * @param match the last match of the current page
+     * @return the cursor for the next page
+     */
+    public static SearchHitCursor after(ScoredMatch match) {
+        return new SearchHitCursor(match.score(), match.id());
+    }
+
+    /**
+     * Returns the match this cursor points after.
+     *
+     * @return the last match of the previous page
+     */
+    public ScoredMatch toMatch() {
+        return new ScoredMatch(id, score);
+    }
+
+    /**
+     * Encodes this cursor into an opaque token.
+     *
+     * @return the URL-safe token
+     */
+    public String encode() {
+        String raw = PREFIX + SEPARATOR + Long.toHexString(Double.doubleToLongBits(score)) + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the opaque token sent by the client
+     * @return the decoded cursor
+     * @throws InvalidPageRequestException if the token is malformed or was issued by another listing
+     */
+    public static SearchHitCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+
+        String[] parts = raw.split(SEPARATOR, 3);
+        if (parts.length != 3 || !PREFIX.equals(parts[0])) {
+            throw new InvalidPageRequestException("Cursor was not issued by a full-text search");
+        }
+
+        try {
+            double score = Double.longBitsToDouble(Long.parseUnsignedLong(parts[1], 16));
+            if (!Double.isFinite(score)) {
+                throw new InvalidPageRequestException("Malformed cursor");
+            }
+            return new SearchHitCursor(score, Long.parseLong(parts[2]));
+        } catch (NumberFormatException ex) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+    }
+}
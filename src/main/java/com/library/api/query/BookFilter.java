@@ -0,0 +1,19 @@
+package com.library.api.query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Criteria of a multi-criteria book query. Every criterion is optional and
+ * the given ones must all hold.
+ *
+ * @param author the exact author, or null for any
+ * @param publisher the exact publisher, or null for any
+ * @param minPrice the inclusive lower bound on the price, or null
+ * @param maxPrice the inclusive upper bound on the price, or null
+ * @param publishedFrom the inclusive lower bound on the publication date, or null
+ * @param publishedTo the inclusive upper bound on the publication date, or null
+ */
+public record BookFilter(String author, String publisher, BigDecimal minPrice, BigDecimal maxPrice,
+                         LocalDate publishedFrom, LocalDate publishedTo) {
+}
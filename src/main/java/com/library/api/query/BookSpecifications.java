@@ -0,0 +1,97 @@
+package com.library.api.query;
+
+import com.library.api.entity.Book;
+import com.library.api.pagination.BookQueryCursor;
+import com.library.api.pagination.BookQuerySortKey;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the single query behind a multi-criteria book listing.
+ *
+ * Every criterion becomes a plain comparison on its column with a bound
+ * parameter, never a function call such as {@code LOWER(author)}, so the
+ * composite indexes declared on {@link Book} stay usable and PostgreSQL can
+ * reuse one cached plan per combination of criteria. Equality criteria match
+ * the leading column of those indexes; the sort column and the ID match
+ * their trailing columns, so a filtered, sorted page is read in index order
+ * and the query stops after the page instead of sorting every match.
+ */
+public final class BookSpecifications {
+
+    private static final String ID = "id";
+
+    private BookSpecifications() {
+    }
+
+    /**
+     * Matches the books satisfying a filter, positioned after a cursor.
+     *
+     * @param filter the criteria
+     * @param after the position of the last book of the previous page, or null for the first page
+     * @return the specification
+     */
+    public static Specification<Book> matching(BookFilter filter, BookQueryCursor after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.author() != null) {
+                predicates.add(cb.equal(root.get("author"), filter.author()));
+            }
+            if (filter.publisher() != null) {
+                predicates.add(cb.equal(root.get("publisher"), filter.publisher()));
+            }
+            if (filter.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+            }
+            if (filter.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+            }
+            if (filter.publishedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("publicationDate"), filter.publishedFrom()));
+            }
+            if (filter.publishedTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("publicationDate"), filter.publishedTo()));
+            }
+            if (after != null) {
+                predicates.add(after(root, cb, after));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Returns the ordering of a sort key, ending with the ID as a tie-breaker.
+     *
+     * @param sortKey the sort key
+     * @return the ascending sort
+     */
+    public static Sort orderBy(BookQuerySortKey sortKey) {
+        return sortKey == BookQuerySortKey.ID ? Sort.by(ID) : Sort.by(sortKey.getAttribute(), ID);
+    }
+
+    /**
+     * Positions the query after a cursor, in the form {@code findPageAfterTitle} uses:
+     * {@code sorted >= :value AND (sorted > :value OR id > :id)}. The first predicate
+     * is a plain lower bound an index on {@code (sorted, id)} can seek to.
+     */
+    @SuppressWarnings("unchecked")
+    private static <Y extends Comparable<? super Y>> Predicate after(Root<Book> root, CriteriaBuilder cb,
+                                                                     BookQueryCursor cursor) {
+        Path<Long> id = root.get(ID);
+        if (cursor.sortKey() == BookQuerySortKey.ID) {
+            return cb.greaterThan(id, cursor.id());
+        }
+        Path<Y> sorted = root.get(cursor.sortKey().getAttribute());
+        Y value = (Y) cursor.sortValue();
+        return cb.and(
+                cb.greaterThanOrEqualTo(sorted, value),
+                cb.or(cb.greaterThan(sorted, value), cb.greaterThan(id, cursor.id())));
+    }
+}
@@ -1,22 +1,41 @@
 package com.library.api.repository;
 
 import com.library.api.entity.Book;
+import com.library.api.membership.BookKey;
+import com.library.api.search.BookSearchFields;
+import com.library.api.search.BookTextFields;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Book entity persistence operations.
  *
  * Extends JpaRepository to provide standard CRUD operations and
  * includes custom query methods for specific business requirements.
+ * Multi-criteria queries are built as specifications, see
+ * {@link com.library.api.query.BookSpecifications}.
  */
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+
+    /**
+     * Number of rows the JDBC driver fetches per round trip when streaming.
+     */
+    String STREAM_FETCH_SIZE = "500";
 
     /**
      * Checks if a book with the given ISBN exists in the database.
@@ -37,30 +56,40 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     boolean existsByIsbnAndIdNot(String isbn, Long id);
 
     /**
-     * Finds a book by its ISBN.
+     * Returns which of the given ISBNs already belong to a book, in a single query.
      *
-     * @param isbn the ISBN to search for
-     * @return an Optional containing the book if found
+     * @param isbns the ISBNs to check
+     * @return the subset of {@code isbns} that already exist
      */
-    Optional<Book> findByIsbn(String isbn);
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
 
     /**
-     * Searches for books by title containing the given keyword (case-insensitive).
+     * Deletes a book with a single statement, without loading it first.
      *
-     * @param title the title keyword to search for
-     * @return list of books matching the search criteria
+     * @param id the book ID
+     * @return the number of deleted rows, 0 if no book has the ID
      */
-    @Query("SELECT b FROM Book b WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))")
-    List<Book> searchByTitle(@Param("title") String title);
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.id = :id")
+    int deleteBookById(@Param("id") Long id);
 
     /**
-     * Searches for books by author name containing the given keyword (case-insensitive).
+     * Returns the current optimistic-locking version of a book without loading the row.
      *
-     * @param author the author keyword to search for
-     * @return list of books matching the search criteria
+     * @param id the book ID
+     * @return an Optional containing the version if the book exists
      */
-    @Query("SELECT b FROM Book b WHERE LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%'))")
-    List<Book> searchByAuthor(@Param("author") String author);
+    @Query("SELECT b.version FROM Book b WHERE b.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Finds a book by its ISBN.
+     *
+     * @param isbn the ISBN to search for
+     * @return an Optional containing the book if found
+     */
+    Optional<Book> findByIsbn(String isbn);
 
     /**
      * Find books by title containing the given string (case-insensitive).
@@ -77,4 +106,160 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @return list of books matching the author
      */
     List<Book> findByAuthorContainingIgnoreCase(String author);
+
+    /**
+     * Fetches the next page of books ordered by ID (keyset pagination).
+     *
+     * @param afterId the ID of the last book of the previous page, 0 for the first page
+     * @param limit the maximum number of books to return
+     * @return books with an ID greater than {@code afterId}, in ascending ID order
+     */
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Fetches the first page of books ordered by title, then ID.
+     *
+     * @param limit the maximum number of books to return
+     * @return the first books in {@code (title, id)} order
+     */
+    List<Book> findAllByOrderByTitleAscIdAsc(Limit limit);
+
+    /**
+     * Fetches the next page of books ordered by title, then ID (keyset pagination).
+     * The redundant {@code b.title >= :title} predicate gives the planner an index
+     * lower bound on {@code idx_title_id} so each page starts with a seek.
+     *
+     * @param title the title of the last book of the previous page
+     * @param afterId the ID of the last book of the previous page
+     * @param limit the maximum number of books to return
+     * @return books positioned after {@code (title, afterId)}, in {@code (title, id)} order
+     */
+    @Query("SELECT b FROM Book b WHERE b.title >= :title "
+            + "AND (b.title > :title OR b.id > :afterId) "
+            + "ORDER BY b.title ASC, b.id ASC")
+    List<Book> findPageAfterTitle(@Param("title") String title, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Fetches the next page of books whose title contains the keyword (case-insensitive),
+     * ordered by ID (keyset pagination).
+     *
+     * @param title the title keyword to search for
+     * @param afterId the ID of the last book of the previous page, 0 for the first page
+     * @param limit the maximum number of books to return
+     * @return matching books with an ID greater than {@code afterId}
+     */
+    @Query("SELECT b FROM Book b WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')) "
+            + "AND b.id > :afterId ORDER BY b.id ASC")
+    List<Book> searchByTitleAfterId(@Param("title") String title, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Fetches the next page of books whose author contains the keyword (case-insensitive),
+     * ordered by ID (keyset pagination).
+     *
+     * @param author the author keyword to search for
+     * @param afterId the ID of the last book of the previous page, 0 for the first page
+     * @param limit the maximum number of books to return
+     * @return matching books with an ID greater than {@code afterId}
+     */
+    @Query("SELECT b FROM Book b WHERE LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%')) "
+            + "AND b.id > :afterId ORDER BY b.id ASC")
+    List<Book> searchByAuthorAfterId(@Param("author") String author, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Streams every book ordered by ID through a forward-only cursor.
+     * Rows are fetched in batches of {@link #STREAM_FETCH_SIZE} and loaded read-only,
+     * so Hibernate keeps no dirty-checking snapshots. Must be called inside a
+     * transaction and the stream must be closed by the caller.
+     *
+     * @return a lazily populated stream of books
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT b FROM Book b ORDER BY b.id ASC")
+    Stream<Book> streamAllByOrderByIdAsc();
+
+    /**
+     * Streams the ID and ISBN of every book, without loading entities.
+     * Must be called inside a transaction and the stream must be closed.
+     *
+     * @return a stream of book keys
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.library.api.membership.BookKey(b.id, b.isbn) FROM Book b")
+    Stream<BookKey> streamAllKeys();
+
+    /**
+     * Streams the ID, title and author of every book, without loading entities.
+     * Must be called inside a transaction and the stream must be closed.
+     *
+     * @return a stream of searchable book fields
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.library.api.search.BookSearchFields(b.id, b.title, b.author) FROM Book b")
+    Stream<BookSearchFields> streamAllSearchFields();
+
+    /**
+     * Streams the ID, title and author of books modified after a point in time.
+     * Must be called inside a transaction and the stream must be closed.
+     *
+     * @param since the exclusive lower bound on the last modification time
+     * @return a stream of searchable book fields
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.library.api.search.BookSearchFields(b.id, b.title, b.author) "
+            + "FROM Book b WHERE b.updatedAt > :since")
+    Stream<BookSearchFields> streamSearchFieldsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Streams the ID, title and description of every book, without loading entities.
+     * Must be called inside a transaction and the stream must be closed.
+     *
+     * @return a stream of full-text searchable book fields
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.library.api.search.BookTextFields(b.id, b.title, b.description) FROM Book b")
+    Stream<BookTextFields> streamAllTextFields();
+
+    /**
+     * Streams the ID, title and description of books modified after a point in time.
+     * Must be called inside a transaction and the stream must be closed.
+     *
+     * @param since the exclusive lower bound on the last modification time
+     * @return a stream of full-text searchable book fields
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.library.api.search.BookTextFields(b.id, b.title, b.description) "
+            + "FROM Book b WHERE b.updatedAt > :since")
+    Stream<BookTextFields> streamTextFieldsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Streams the ID of every book in ascending order, reading only the primary key index.
+     * Must be called inside a transaction and the stream must be closed.
+     *
+     * @return a stream of book IDs
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.id FROM Book b ORDER BY b.id ASC")
+    Stream<Long> streamAllIds();
 }
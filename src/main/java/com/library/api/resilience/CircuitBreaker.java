@@ -0,0 +1,299 @@
+package com.library.api.resilience;
+
+import com.library.api.config.CircuitBreakerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Circuit breaker for calls that need the database.
+ *
+ * While closed, it records the outcome of the last calls in a fixed-size
+ * window and opens once the share of database failures reaches the
+ * threshold. While open, calls are refused without touching the database.
+ * After the open duration, a few probe calls are let through: if all of
+ * them succeed the breaker closes, and any failure opens it again.
+ *
+ * Only failures that point at an unavailable database count. Domain errors
+ * and rejections by other admission layers leave the window unchanged.
+ * Each permission remembers the state it was granted in, so a call admitted
+ * while closed that completes after the breaker moved on is neither recorded
+ * in the new state's window nor taken for a probe.
+ *
+ * Publishes {@code library.circuit-breaker.state} (0 closed, 1 open,
+ * 2 half-open) and {@code library.circuit-breaker.calls} by outcome.
+ */
+@Slf4j
+@Component
+public class CircuitBreaker {
+
+    /**
+     * Breaker states.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Permission to make one call, tied to the breaker state it was granted in.
+     */
+    public static final class Permission {
+
+        private static final Permission REFUSED = new Permission(false, -1);
+
+        private final boolean granted;
+        private final long generation;
+
+        private Permission(boolean granted, long generation) {
+            this.granted = granted;
+            this.generation = generation;
+        }
+
+        /**
+         * Returns whether the call may go ahead.
+         *
+         * @return true if granted, false if the breaker refused the call
+         */
+        public boolean isGranted() {
+            return granted;
+        }
+    }
+
+    private final CircuitBreakerProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] window;
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter rejectedCounter;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private long openedAtNanos;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public CircuitBreaker(CircuitBreakerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.window = new boolean[properties.getSlidingWindowSize()];
+
+        Gauge.builder("library.circuit-breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("Database circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        this.successCounter = callCounter(meterRegistry, "success");
+        this.failureCounter = callCounter(meterRegistry, "failure");
+        this.rejectedCounter = callCounter(meterRegistry, "rejected");
+    }
+
+    /**
+     * Returns whether a failure means the database is unavailable.
+     *
+     * @param failure the failure of a call
+     * @return true if the failure counts against the breaker
+     */
+    public static boolean isDatabaseFailure(Throwable failure) {
+        return failure instanceof CannotCreateTransactionException
+                || failure instanceof DataAccessResourceFailureException
+                || failure instanceof TransientDataAccessResourceException
+                || failure instanceof RecoverableDataAccessException
+                || failure instanceof QueryTimeoutException;
+    }
+
+    /**
+     * Asks to make a call.
+     *
+     * Every granted permission must be followed by exactly one of
+     * {@link #onSuccess(Permission)}, {@link #onFailure(Permission)} or
+     * {@link #onIgnored(Permission)}.
+     *
+     * @return the permission, granted if the call may go ahead
+     */
+    public Permission tryAcquirePermission() {
+        if (!properties.isEnabled()) {
+            return new Permission(true, -1);
+        }
+
+        lock.lock();
+        try {
+            if (state == State.OPEN && System.nanoTime() - openedAtNanos >= properties.getOpenDuration().toNanos()) {
+                transitionTo(State.HALF_OPEN);
+            }
+            boolean permitted = switch (state) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    if (probesInFlight + probeSuccesses >= properties.getPermittedProbes()) {
+                        yield false;
+                    }
+                    probesInFlight++;
+                    yield true;
+                }
+            };
+            if (!permitted) {
+                rejectedCounter.increment();
+                return Permission.REFUSED;
+            }
+            return new Permission(true, generation);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a call that succeeded.
+     *
+     * @param permission the permission the call was made under
+     */
+    public void onSuccess(Permission permission) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        successCounter.increment();
+        lock.lock();
+        try {
+            if (permission.generation != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                probesInFlight--;
+                if (++probeSuccesses >= properties.getPermittedProbes()) {
+                    transitionTo(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a call that failed because the database is unavailable.
+     *
+     * @param permission the permission the call was made under
+     */
+    public void onFailure(Permission permission) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        failureCounter.increment();
+        lock.lock();
+        try {
+            if (permission.generation != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                transitionTo(State.OPEN);
+            } else if (state == State.CLOSED) {
+                record(true);
+                if (windowCalls >= properties.getMinimumCalls()
+                        && windowFailures * 100 >= properties.getFailureRateThreshold() * windowCalls) {
+                    transitionTo(State.OPEN);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a call whose outcome says nothing about database health.
+     *
+     * @param permission the permission the call was made under
+     */
+    public void onIgnored(Permission permission) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (permission.generation == generation && state == State.HALF_OPEN && probesInFlight > 0) {
+                probesInFlight--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current state.
+     *
+     * @return the breaker state
+     */
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how long clients should wait before retrying a refused call.
+     *
+     * @return the time until probes are let through, at least one second
+     */
+    public Duration getRetryAfter() {
+        lock.lock();
+        try {
+            long remaining = properties.getOpenDuration().toNanos() - (System.nanoTime() - openedAtNanos);
+            Duration retryAfter = Duration.ofNanos(Math.max(0, remaining));
+            return retryAfter.compareTo(Duration.ofSeconds(1)) < 0 ? Duration.ofSeconds(1) : retryAfter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failed) {
+        if (windowCalls == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        log.warn("Database circuit breaker {} -> {}", state, next);
+        state = next;
+        generation++;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAtNanos = System.nanoTime();
+        } else if (next == State.CLOSED) {
+            windowIndex = 0;
+            windowCalls = 0;
+            windowFailures = 0;
+        }
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("library.circuit-breaker.calls")
+                .description("Calls seen by the database circuit breaker, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
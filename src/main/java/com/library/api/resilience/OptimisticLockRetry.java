@@ -0,0 +1,111 @@
+package com.library.api.resilience;
+
+import com.library.api.config.OptimisticLockRetryProperties;
+import com.library.api.deadline.RequestDeadline;
+import com.library.api.exception.BookUpdateConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retry for updates that lose an optimistic-lock race.
+ *
+ * Each attempt must run in its own transaction, so the update re-reads the
+ * book and reapplies the change on top of the winning write. Attempts are
+ * separated by a random delay of up to {@code initial-backoff}, doubling per
+ * retry up to {@code max-backoff}, so that competing writers spread out. When
+ * the attempts run out, or the request deadline would pass while waiting, the
+ * update fails with {@link BookUpdateConflictException}.
+ *
+ * Publishes {@code library.optimistic-lock.calls}, {@code .conflicts} and
+ * {@code .exhausted}, tagged by operation.
+ */
+@Slf4j
+@Component
+public class OptimisticLockRetry {
+
+    private final OptimisticLockRetryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public OptimisticLockRetry(OptimisticLockRetryProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs an update, retrying it on optimistic-lock conflicts.
+     *
+     * @param operation the operation name, used as metric tag
+     * @param id the ID of the book being updated
+     * @param update the update, run in a new transaction per attempt
+     * @param <T> the result type
+     * @return the result of the first attempt that commits
+     * @throws BookUpdateConflictException if every attempt conflicted
+     */
+    public <T> T execute(String operation, Long id, Supplier<T> update) {
+        counter("library.optimistic-lock.calls", operation).increment();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return update.get();
+            } catch (OptimisticLockingFailureException e) {
+                counter("library.optimistic-lock.conflicts", operation).increment();
+
+                Duration backoff = backoff(attempt);
+                if (attempt >= properties.getMaxAttempts() || !waitBeforeRetry(backoff)) {
+                    counter("library.optimistic-lock.exhausted", operation).increment();
+                    log.warn("Giving up {} of book {} after {} conflicting attempts", operation, id, attempt);
+                    throw BookUpdateConflictException.forId(id, attempt);
+                }
+                log.debug("{} of book {} conflicted on attempt {}, retrying in {} ms",
+                        operation, id, attempt, backoff.toMillis());
+            }
+        }
+    }
+
+    /**
+     * Picks the delay before the next attempt using full jitter.
+     *
+     * @param attempt the number of the attempt that just conflicted
+     * @return a random delay between zero and the exponential bound
+     */
+    private Duration backoff(int attempt) {
+        long bound = properties.getInitialBackoff().toNanos() << Math.min(attempt - 1, 30);
+        bound = Math.min(Math.max(bound, 0), properties.getMaxBackoff().toNanos());
+        return Duration.ofNanos(bound == 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1));
+    }
+
+    /**
+     * Sleeps before a retry unless the request deadline would pass first.
+     *
+     * @param backoff the delay
+     * @return false if the retry should not be attempted
+     */
+    private boolean waitBeforeRetry(Duration backoff) {
+        boolean withinDeadline = RequestDeadline.current()
+                .map(deadline -> deadline.remaining().compareTo(backoff) > 0)
+                .orElse(true);
+        if (!withinDeadline) {
+            return false;
+        }
+        try {
+            Thread.sleep(backoff);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.library.api.resilience;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.Duration;
+
+/**
+ * Adds staleness headers to responses built from last known good data.
+ *
+ * Such responses carry {@code Age} with the age of the data in seconds and
+ * {@value #STALE_WARNING}.
+ */
+@RestControllerAdvice
+public class StaleResponseHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(StaleResponses.STALE_AGE_ATTRIBUTE)
+                instanceof Duration age) {
+            response.getHeaders().set(HttpHeaders.AGE, String.valueOf(age.toSeconds()));
+            response.getHeaders().set(HttpHeaders.WARNING, STALE_WARNING);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,127 @@
+package com.library.api.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.api.config.CircuitBreakerProperties;
+import com.library.api.dto.BookLookupResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bounded store of the last good response of each read.
+ *
+ * Read results are keyed by operation name and arguments and served when
+ * the database is unavailable. The store is bounded by the number of books
+ * held across all responses, so a page of a hundred books weighs a hundred
+ * single-book reads. Entries older than the configured TTL are
+ * dropped rather than served. Published as {@code cache.*} metrics tagged
+ * {@code cache=stale-responses}, with {@code library.circuit-breaker.stale-served}
+ * counting responses served from it.
+ */
+@Component
+public class StaleResponseStore {
+
+    static final String CACHE_NAME = "stale-responses";
+
+    private final Cache<Key, Entry> cache;
+    private final Counter staleServedCounter;
+    private final boolean enabled;
+
+    public StaleResponseStore(CircuitBreakerProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getStaleMaxBooks())
+                .weigher((Key key, Entry entry) -> weigh(entry.value()))
+                .expireAfterWrite(properties.getStaleTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.staleServedCounter = Counter.builder("library.circuit-breaker.stale-served")
+                .description("Read responses served from the last known good copy")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the latest good response of a read. Does nothing when the
+     * circuit breaker is disabled.
+     *
+     * @param operation the operation name
+     * @param arguments the operation arguments
+     * @param value the response
+     */
+    public void put(String operation, List<?> arguments, Object value) {
+        if (enabled && value != null) {
+            cache.put(new Key(operation, arguments), new Entry(value, Instant.now()));
+        }
+    }
+
+    /**
+     * Returns the last good response of a read and counts it as served.
+     *
+     * @param operation the operation name
+     * @param arguments the operation arguments
+     * @return the stored response, or null if there is none
+     */
+    public Entry serve(String operation, List<?> arguments) {
+        Entry entry = cache.getIfPresent(new Key(operation, arguments));
+        if (entry != null) {
+            staleServedCounter.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Removes the stored response of a read whose data has changed.
+     *
+     * @param operation the operation name
+     * @param arguments the operation arguments
+     */
+    public void evict(String operation, List<?> arguments) {
+        cache.invalidate(new Key(operation, arguments));
+    }
+
+    /**
+     * Returns the number of books a response holds, at least one.
+     *
+     * @param value the response
+     * @return the weight of the response
+     */
+    static int weigh(Object value) {
+        int books = switch (value) {
+            case CursorPageResponseDto<?> page -> page.getContent() == null ? 0 : page.getContent().size();
+            case BookLookupResponseDto lookup -> lookup.getBooks() == null ? 0 : lookup.getBooks().size();
+            case Collection<?> collection -> collection.size();
+            default -> 1;
+        };
+        return Math.max(1, books);
+    }
+
+    /**
+     * A stored response and when it was produced.
+     *
+     * @param value the response
+     * @param fetchedAt when the response was read from the database
+     */
+    public record Entry(Object value, Instant fetchedAt) {
+
+        /**
+         * Returns how old the response is.
+         *
+         * @return the time since it was read from the database
+         */
+        public Duration age() {
+            return Duration.between(fetchedAt, Instant.now());
+        }
+    }
+
+    private record Key(String operation, List<?> arguments) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.library.api.resilience;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Marks the current request as answered from stale data.
+ *
+ * The mark is kept as a request attribute, so it needs no cleanup, and is
+ * turned into response headers by {@link StaleResponseHeaderAdvice}.
+ */
+public final class StaleResponses {
+
+    static final String STALE_AGE_ATTRIBUTE = StaleResponses.class.getName() + ".AGE";
+
+    private StaleResponses() {
+    }
+
+    /**
+     * Marks the current request's response as stale.
+     *
+     * Keeps the oldest age when a request is answered from several stale reads.
+     * Does nothing outside a request.
+     *
+     * @param age how old the served data is
+     */
+    public static void markStale(Duration age) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Object previous = attributes.getAttribute(STALE_AGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (previous instanceof Duration earlier && earlier.compareTo(age) >= 0) {
+            return;
+        }
+        attributes.setAttribute(STALE_AGE_ATTRIBUTE, age, RequestAttributes.SCOPE_REQUEST);
+    }
+}
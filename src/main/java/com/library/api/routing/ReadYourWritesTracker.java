@@ -0,0 +1,62 @@
+package com.library.api.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.api.config.ReplicaProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Remembers which clients wrote recently so their reads stay on the primary.
+ *
+ * Registered with the transaction manager as an execution listener: every
+ * committed read-write transaction marks the current client for the
+ * configured sticky window.
+ */
+@Component
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final ReplicaProperties properties;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(ReplicaProperties properties) {
+        this.properties = properties;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxStickyClients())
+                .expireAfterWrite(properties.getStickyWindow())
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            recordWrite();
+        }
+    }
+
+    /**
+     * Marks the current client as having written, for writes committed on
+     * another thread on its behalf.
+     */
+    public void recordWrite() {
+        if (properties.isEnabled()) {
+            ReplicaRouting.currentClient().ifPresent(client -> recentWriters.put(client, Boolean.TRUE));
+        }
+    }
+
+    /**
+     * Returns whether the current client wrote within the sticky window.
+     *
+     * @return true if the client's reads must use the primary
+     */
+    public boolean isSticky() {
+        return ReplicaRouting.currentClient()
+                .map(client -> recentWriters.getIfPresent(client) != null)
+                .orElse(false);
+    }
+}
@@ -0,0 +1,55 @@
+package com.library.api.routing;
+
+import com.library.api.config.ReplicaProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Binds the requesting client to the thread for read-your-writes routing.
+ *
+ * The client is identified by the configured header, falling back to the
+ * remote address. Behind a proxy that address is only the client's own when
+ * {@code server.forward-headers-strategy} resolves it from
+ * {@code X-Forwarded-For}; otherwise every client shares the proxy's address
+ * and one write pins all of their reads to the primary.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReplicaClientInterceptor implements AsyncHandlerInterceptor {
+
+    private final ReplicaProperties properties;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (properties.isEnabled()) {
+            String client = request.getHeader(properties.getClientHeader());
+            ReplicaRouting.bindClient(StringUtils.hasText(client) ? client : request.getRemoteAddr());
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ReplicaRouting.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReplicaRouting.clear();
+    }
+}
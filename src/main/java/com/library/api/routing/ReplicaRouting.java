@@ -0,0 +1,75 @@
+package com.library.api.routing;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing context for read-only transactions.
+ *
+ * Carries the client a request was made by, so recent writers keep reading
+ * from the primary, and lets callers pin work to the primary when replica
+ * lag would make the result wrong rather than merely stale.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<String> CLIENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Binds the client making the current request.
+     *
+     * @param client the client key
+     */
+    public static void bindClient(String client) {
+        CLIENT.set(client);
+    }
+
+    /**
+     * Returns the client making the current request.
+     *
+     * @return the client key, or empty outside a request
+     */
+    public static Optional<String> currentClient() {
+        return Optional.ofNullable(CLIENT.get());
+    }
+
+    /**
+     * Removes the client bound to the current thread.
+     */
+    public static void clear() {
+        CLIENT.remove();
+    }
+
+    /**
+     * Returns whether the current thread's reads must use the primary.
+     *
+     * @return true inside {@link #onPrimary(Supplier)}
+     */
+    public static boolean isPrimaryPinned() {
+        return Boolean.TRUE.equals(PRIMARY_PINNED.get());
+    }
+
+    /**
+     * Runs work with every read routed to the primary.
+     *
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the result of the work
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_PINNED.get();
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_PINNED.remove();
+            } else {
+                PRIMARY_PINNED.set(previous);
+            }
+        }
+    }
+}
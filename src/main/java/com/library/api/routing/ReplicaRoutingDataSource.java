@@ -0,0 +1,211 @@
+package com.library.api.routing;
+
+import com.library.api.config.ReplicaProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource for read-only connections that spreads them over the replicas.
+ *
+ * Used as the read-only target of a LazyConnectionDataSourceProxy, so it is
+ * only asked for connections of read-only transactions. Replicas are picked
+ * round-robin among those whose last measured lag was within the configured
+ * maximum. Reads fall back to the primary when no replica qualifies or a
+ * replica cannot hand out a connection, when the client wrote within the
+ * sticky window, and when the caller pinned the work to the primary.
+ *
+ * Publishes {@code library.replicas.lag} per replica and
+ * {@code library.replicas.routed} by target and reason.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWritesTracker tracker;
+    private final ReplicaProperties properties;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter pinnedRoutes;
+    private final Counter stickyRoutes;
+    private final Counter fallbackRoutes;
+
+    private ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReadYourWritesTracker tracker, ReplicaProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.tracker = tracker;
+        this.properties = properties;
+
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, routedCounter(meterRegistry, name, "replica"));
+            Gauge.builder("library.replicas.lag", replica, r -> r.lagSeconds)
+                    .description("Replay lag of the replica as last measured, NaN if unreachable")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+        });
+        this.pinnedRoutes = routedCounter(meterRegistry, PRIMARY, "pinned");
+        this.stickyRoutes = routedCounter(meterRegistry, PRIMARY, "sticky");
+        this.fallbackRoutes = routedCounter(meterRegistry, PRIMARY, "fallback");
+    }
+
+    /**
+     * Starts measuring replica lag in the background.
+     *
+     * Replicas are not used until their first measurement succeeds.
+     */
+    public void start() {
+        lagChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-lag-check").daemon().factory());
+        long interval = properties.getLagCheckInterval().toMillis();
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Measures every replica's lag and updates which ones may serve reads.
+     */
+    public void checkLag() {
+        double maxLagSeconds = properties.getMaxLag().toMillis() / 1000.0;
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(properties.getLagQuery())) {
+                double lag = resultSet.next() ? resultSet.getDouble(1) : Double.NaN;
+                replica.lagSeconds = lag;
+                boolean available = lag <= maxLagSeconds;
+                if (available != replica.available) {
+                    log.info("Replica {} is now {} (lag {} s)", replica.name, available ? "in use" : "skipped", lag);
+                }
+                replica.available = available;
+            } catch (SQLException | RuntimeException e) {
+                if (replica.available) {
+                    log.warn("Replica {} is unreachable, reads fall back to the primary", replica.name, e);
+                }
+                replica.lagSeconds = Double.NaN;
+                replica.available = false;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Routed like {@link #getConnection()}, passing the credentials to the chosen target.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Picks the target of a read-only connection and opens it there.
+     *
+     * @param opener opens a connection on the chosen target
+     * @return a connection to a replica, or to the primary
+     * @throws SQLException if the primary cannot hand out a connection
+     */
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (ReplicaRouting.isPrimaryPinned()) {
+            pinnedRoutes.increment();
+            return opener.open(primary);
+        }
+        if (tracker.isSticky()) {
+            stickyRoutes.increment();
+            return opener.open(primary);
+        }
+
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                Connection connection = opener.open(replica.dataSource);
+                replica.routes.increment();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Could not get a connection from replica {}, skipping it until the next lag check",
+                        replica.name, e);
+                replica.available = false;
+            }
+        }
+
+        fallbackRoutes.increment();
+        return opener.open(primary);
+    }
+
+    /**
+     * Stops lag measurement and closes the replica pools.
+     */
+    @Override
+    public void close() throws Exception {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("library.replicas.routed")
+                .description("Read-only connections handed out, by target and reason")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter routes;
+        private volatile double lagSeconds = Double.NaN;
+        private volatile boolean available;
+
+        private Replica(String name, DataSource dataSource, Counter routes) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.routes = routes;
+        }
+    }
+}
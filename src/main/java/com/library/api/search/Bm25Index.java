@@ -0,0 +1,578 @@
+package com.library.api.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe inverted index ranking documents by BM25.
+ *
+ * A document is a title and a body split into {@link SearchTerms terms};
+ * title terms count {@code titleWeight} times. Documents get increasing
+ * internal numbers, so every posting list is an append-only sorted array.
+ * Replacing or removing a document only marks its number deleted. The index
+ * is compacted once deleted numbers make up a quarter of it; until then they
+ * still count towards document frequencies, as in Lucene.
+ *
+ * Top-K queries use WAND: every query term has an upper bound on the score it
+ * can contribute, and a document is only scored when the bounds of the terms
+ * it may contain add up to at least the lowest score in the bounded result
+ * heap. Documents that cannot enter the heap are skipped without being
+ * looked at, so queries mixing rare and common terms mostly walk the
+ * posting lists of the rare ones. Posting lists also keep a bound for every
+ * block of {@value #BLOCK_SIZE} postings, which lets queries made only of
+ * common terms skip whole blocks that cannot beat the heap (block-max WAND).
+ */
+class Bm25Index {
+
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final int MIN_DELETED_FOR_COMPACTION = 1024;
+    private static final int MAX_FREQUENCY = 255;
+    private static final int BLOCK_SIZE = 64;
+    private static final double BOUND_SLACK = 1e-9;
+
+    /**
+     * Orders matches best first: by descending score, then by ascending book ID.
+     */
+    static final Comparator<ScoredMatch> RANKING = Comparator.comparingDouble(ScoredMatch::score).reversed()
+            .thenComparing(ScoredMatch::id);
+
+    private final int titleWeight;
+    private final double k1;
+    private final double b;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Postings> postings = new HashMap<>();
+    private Map<Long, Integer> documentsById = new HashMap<>();
+    private long[] bookIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private BitSet deleted = new BitSet();
+    private int documentCount;
+    private int deletedCount;
+    private long totalLength;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param titleWeight how many times a title term counts compared to a body term
+     * @param k1 the BM25 term frequency saturation
+     * @param b the BM25 document length normalization
+     */
+    Bm25Index(int titleWeight, double k1, double b) {
+        this.titleWeight = titleWeight;
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    /**
+     * Indexes a document, replacing its previous version.
+     *
+     * @param id the book ID
+     * @param title the title, may be null
+     * @param body the body text, may be null
+     */
+    void put(long id, String title, String body) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : SearchTerms.of(title)) {
+            frequencies.merge(term, titleWeight, Integer::sum);
+            length += titleWeight;
+        }
+        for (String term : SearchTerms.of(body)) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            if (length == 0) {
+                return;
+            }
+
+            int document = documentCount++;
+            if (document == bookIds.length) {
+                bookIds = Arrays.copyOf(bookIds, document * 2);
+                lengths = Arrays.copyOf(lengths, document * 2);
+            }
+            bookIds[document] = id;
+            lengths[document] = length;
+            documentsById.put(id, document);
+            totalLength += length;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new Postings())
+                        .append(document, Math.min(entry.getValue(), MAX_FREQUENCY), length);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document.
+     *
+     * @param id the book ID
+     */
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the best-scoring documents containing any term of the query.
+     *
+     * @param query the query text
+     * @param after the last match of the previous page, or null for the first page
+     * @param limit the maximum number of matches to return
+     * @return the matches ranked after {@code after}, best first
+     */
+    List<ScoredMatch> search(String query, ScoredMatch after, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(SearchTerms.of(query));
+
+        lock.readLock().lock();
+        try {
+            int liveCount = documentsById.size();
+            if (liveCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / liveCount;
+
+            Cursor[] cursors = queryTerms.stream()
+                    .map(postings::get)
+                    .filter(Objects::nonNull)
+                    .map(list -> new Cursor(list, idf(list.size, liveCount), averageLength))
+                    .toArray(Cursor[]::new);
+            PriorityQueue<ScoredMatch> worstFirst = new PriorityQueue<>(limit + 1, RANKING.reversed());
+
+            while (true) {
+                Arrays.sort(cursors, Comparator.comparingInt(Cursor::document));
+                // Summing bounds in another order than scores may round differently, which must not drop ties
+                double threshold = worstFirst.size() < limit ? 0 : worstFirst.peek().score() * (1 - BOUND_SLACK);
+
+                // The pivot is the first document whose terms could together reach the threshold
+                int pivot = -1;
+                double bound = 0;
+                for (int i = 0; i < cursors.length && cursors[i].document() != Integer.MAX_VALUE; i++) {
+                    bound += cursors[i].upperBound;
+                    if (bound > 0 && bound >= threshold) {
+                        pivot = i;
+                        break;
+                    }
+                }
+                if (pivot < 0) {
+                    break;
+                }
+
+                int document = cursors[pivot].document();
+                if (cursors[0].document() != document) {
+                    // Documents before the pivot cannot make it into the heap
+                    for (int i = 0; i < pivot; i++) {
+                        cursors[i].advanceTo(document);
+                    }
+                    continue;
+                }
+
+                // The sorted cursors on this document are followed by those past it
+                int last = pivot;
+                while (last + 1 < cursors.length && cursors[last + 1].document() == document) {
+                    last++;
+                }
+                double blockBound = 0;
+                int blockEnd = last + 1 < cursors.length ? cursors[last + 1].document() : Integer.MAX_VALUE;
+                for (int i = 0; i <= last; i++) {
+                    blockBound += cursors[i].blockUpperBound();
+                    blockEnd = Math.min(blockEnd, cursors[i].blockLastDocument() + 1);
+                }
+                if (blockBound < threshold) {
+                    // Until one of these blocks ends or another term starts, no document can beat the heap
+                    for (int i = 0; i <= last; i++) {
+                        cursors[i].advanceTo(blockEnd);
+                    }
+                    continue;
+                }
+
+                double score = 0;
+                for (Cursor cursor : cursors) {
+                    if (cursor.document() == document) {
+                        score += cursor.score(lengths[document]);
+                        cursor.advanceTo(document + 1);
+                    }
+                }
+                if (deleted.get(document)) {
+                    continue;
+                }
+                ScoredMatch match = new ScoredMatch(bookIds[document], score);
+                if (after != null && RANKING.compare(match, after) <= 0) {
+                    continue;
+                }
+                worstFirst.add(match);
+                if (worstFirst.size() > limit) {
+                    worstFirst.poll();
+                }
+            }
+
+            ScoredMatch[] matches = worstFirst.toArray(new ScoredMatch[0]);
+            Arrays.sort(matches, RANKING);
+            return List.of(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed documents.
+     *
+     * @return the document count
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documentsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of distinct terms.
+     *
+     * @return the dictionary size
+     */
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of the indexed documents.
+     *
+     * @return the book IDs in ascending order
+     */
+    long[] ids() {
+        lock.readLock().lock();
+        try {
+            return documentsById.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the memory used by the posting lists and per-document arrays.
+     *
+     * @return the approximate size in bytes
+     */
+    long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) bookIds.length * (Long.BYTES + Integer.BYTES);
+            for (Postings list : postings.values()) {
+                bytes += (long) list.documents.length * (Integer.BYTES + Byte.BYTES)
+                        + (long) list.blockMinLengths.length * (Integer.BYTES + Byte.BYTES);
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the index, without its deleted documents, in the format read by {@link #readFrom(DataInput)}.
+     *
+     * @param out the output
+     * @throws IOException if writing fails
+     */
+    void writeTo(DataOutput out) throws IOException {
+        lock.writeLock().lock();
+        try {
+            compact();
+            out.writeInt(SNAPSHOT_FORMAT);
+            out.writeInt(titleWeight);
+            out.writeInt(documentCount);
+            for (int document = 0; document < documentCount; document++) {
+                out.writeLong(bookIds[document]);
+                out.writeInt(lengths[document]);
+            }
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                Postings list = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(list.size);
+                int previous = 0;
+                for (int i = 0; i < list.size; i++) {
+                    // Gaps between sorted document numbers are small and encoded in one or two bytes
+                    writeVarInt(out, list.documents[i] - previous);
+                    previous = list.documents[i];
+                    out.writeByte(list.frequencies[i]);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents of the index with a snapshot written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in the input
+     * @return false, leaving the index unchanged, if the snapshot was written with another format or title weight
+     * @throws IOException if reading fails or the snapshot is corrupt
+     */
+    boolean readFrom(DataInput in) throws IOException {
+        if (in.readInt() != SNAPSHOT_FORMAT || in.readInt() != titleWeight) {
+            return false;
+        }
+        int count = in.readInt();
+        long[] ids = new long[Math.max(count, 1024)];
+        int[] documentLengths = new int[ids.length];
+        Map<Long, Integer> byId = new HashMap<>(count * 4 / 3 + 1);
+        long total = 0;
+        for (int document = 0; document < count; document++) {
+            ids[document] = in.readLong();
+            documentLengths[document] = in.readInt();
+            byId.put(ids[document], document);
+            total += documentLengths[document];
+        }
+        int terms = in.readInt();
+        Map<String, Postings> lists = new HashMap<>(terms * 4 / 3 + 1);
+        for (int t = 0; t < terms; t++) {
+            String term = in.readUTF();
+            int size = in.readInt();
+            Postings list = new Postings();
+            int document = 0;
+            for (int i = 0; i < size; i++) {
+                document += readVarInt(in);
+                if (document >= count) {
+                    throw new IOException("Posting refers to unknown document " + document);
+                }
+                list.append(document, in.readUnsignedByte(), documentLengths[document]);
+            }
+            lists.put(term, list);
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings = lists;
+            documentsById = byId;
+            bookIds = ids;
+            lengths = documentLengths;
+            deleted = new BitSet();
+            documentCount = count;
+            deletedCount = 0;
+            totalLength = total;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(long id) {
+        Integer document = documentsById.remove(id);
+        if (document != null) {
+            deleted.set(document);
+            deletedCount++;
+            totalLength -= lengths[document];
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (deletedCount > Math.max(MIN_DELETED_FOR_COMPACTION, documentCount / 4)) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumbers the live documents consecutively and drops deleted ones from the posting lists.
+     * Must be called while holding the write lock.
+     */
+    private void compact() {
+        if (deletedCount == 0) {
+            return;
+        }
+        int[] renumbered = new int[documentCount];
+        int live = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (deleted.get(document)) {
+                renumbered[document] = -1;
+                continue;
+            }
+            renumbered[document] = live;
+            bookIds[live] = bookIds[document];
+            lengths[live] = lengths[document];
+            documentsById.put(bookIds[live], live);
+            live++;
+        }
+
+        Map<String, Postings> compacted = new HashMap<>(postings.size());
+        for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+            Postings list = entry.getValue();
+            Postings kept = new Postings();
+            for (int i = 0; i < list.size; i++) {
+                int document = renumbered[list.documents[i]];
+                if (document >= 0) {
+                    kept.append(document, list.frequencies[i] & 0xFF, lengths[document]);
+                }
+            }
+            if (kept.size > 0) {
+                compacted.put(entry.getKey(), kept);
+            }
+        }
+
+        postings = compacted;
+        documentCount = live;
+        deleted = new BitSet();
+        deletedCount = 0;
+    }
+
+    private static double idf(int documentFrequency, int documentCount) {
+        // Deleted documents still counted in the posting list must not push the frequency past the total
+        int frequency = Math.min(documentFrequency, documentCount);
+        return Math.log(1 + (documentCount - frequency + 0.5) / (frequency + 0.5));
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    /**
+     * Posting list of one term: sorted document numbers with their term frequencies,
+     * plus the largest frequency and the shortest document length, which bound the
+     * score the term can contribute, over the whole list and per block. Deleted
+     * documents only loosen the bounds.
+     */
+    private static final class Postings {
+
+        private int[] documents = new int[2];
+        private byte[] frequencies = new byte[2];
+        private int size;
+        private int maxFrequency;
+        private int minLength = Integer.MAX_VALUE;
+        private byte[] blockMaxFrequencies = new byte[1];
+        private int[] blockMinLengths = {Integer.MAX_VALUE};
+
+        private void append(int document, int frequency, int length) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            int block = size / BLOCK_SIZE;
+            if (block == blockMinLengths.length) {
+                blockMaxFrequencies = Arrays.copyOf(blockMaxFrequencies, block * 2);
+                blockMinLengths = Arrays.copyOf(blockMinLengths, block * 2);
+                Arrays.fill(blockMinLengths, block, block * 2, Integer.MAX_VALUE);
+            }
+            documents[size] = document;
+            frequencies[size] = (byte) frequency;
+            size++;
+            maxFrequency = Math.max(maxFrequency, frequency);
+            minLength = Math.min(minLength, length);
+            blockMaxFrequencies[block] = (byte) Math.max(blockMaxFrequencies[block] & 0xFF, frequency);
+            blockMinLengths[block] = Math.min(blockMinLengths[block], length);
+        }
+    }
+
+    /**
+     * Position in the posting list of one query term.
+     */
+    private final class Cursor {
+
+        private final Postings list;
+        private final double idf;
+        private final double averageLength;
+        private final double upperBound;
+        private int position;
+
+        private Cursor(Postings list, double idf, double averageLength) {
+            this.list = list;
+            this.idf = idf;
+            this.averageLength = averageLength;
+            // Term frequency raises the score and document length lowers it, so this pair bounds every document
+            this.upperBound = termScore(list.maxFrequency, list.minLength);
+        }
+
+        private int document() {
+            return position < list.size ? list.documents[position] : Integer.MAX_VALUE;
+        }
+
+        private double score(int length) {
+            return termScore(list.frequencies[position] & 0xFF, length);
+        }
+
+        /**
+         * Bounds the score of the documents in the block of the current posting.
+         */
+        private double blockUpperBound() {
+            int block = position / BLOCK_SIZE;
+            return termScore(list.blockMaxFrequencies[block] & 0xFF, list.blockMinLengths[block]);
+        }
+
+        private int blockLastDocument() {
+            return list.documents[Math.min(list.size, (position / BLOCK_SIZE + 1) * BLOCK_SIZE) - 1];
+        }
+
+        /**
+         * Moves to the first posting at or after a document, galloping from the current position.
+         */
+        private void advanceTo(int document) {
+            int low = position;
+            int step = 1;
+            while (low + step < list.size && list.documents[low + step] < document) {
+                low += step;
+                step <<= 1;
+            }
+            int high = Math.min(list.size, low + step);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (list.documents[middle] < document) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            position = low;
+        }
+
+        private double termScore(int frequency, int length) {
+            double norm = k1 * (1 - b + b * length / averageLength);
+            return idf * frequency * (k1 + 1) / (frequency + norm);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.library.api.search;
+
+import com.library.api.config.FullTextSearchProperties;
+import com.library.api.entity.Book;
+import com.library.api.repository.BookRepository;
+import com.library.api.routing.ReplicaRouting;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * In-memory BM25 index over book titles and descriptions.
+ *
+ * Loaded once the application is ready and updated when writes made through
+ * this instance commit, like {@link BookSearchIndex}. Writes made elsewhere
+ * are picked up by a periodic catch-up: books modified since the previous one
+ * are re-read, followed by a scan of the primary key to drop deleted books.
+ * Tokenizing the whole catalog is the slow part of loading, so the index is
+ * saved to a snapshot file after loading and on shutdown. On the next start
+ * the snapshot is read back and caught up the same way.
+ */
+@Component
+@Slf4j
+public class BookFullTextIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x4C42_4654;
+
+    private final FullTextSearchProperties properties;
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Bm25Index index;
+
+    private volatile boolean ready;
+    private volatile LocalDateTime caughtUpTo;
+    private ScheduledExecutorService catchUpScheduler;
+
+    public BookFullTextIndex(FullTextSearchProperties properties, BookRepository bookRepository,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.index = new Bm25Index(properties.getTitleWeight(), properties.getK1(), properties.getB());
+
+        Gauge.builder("library.full-text.memory", index, Bm25Index::sizeInBytes)
+                .description("Approximate memory used by the full-text index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("library.full-text.documents", index, Bm25Index::size)
+                .description("Books in the full-text index")
+                .register(meterRegistry);
+        Gauge.builder("library.full-text.terms", index, Bm25Index::termCount)
+                .description("Distinct terms in the full-text index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the index from its snapshot and the books changed since, or from all books without a usable snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            log.info("Full-text index is disabled");
+            return;
+        }
+
+        // Rows read while loading may be overtaken by concurrent writes, so the next catch-up re-reads from here
+        LocalDateTime loadStarted = LocalDateTime.now();
+        try {
+            LocalDateTime snapshotTaken = readSnapshot();
+            // A lagging replica would leave recent books out of search results
+            if (snapshotTaken != null) {
+                LocalDateTime since = snapshotTaken.minus(properties.getCatchUpMargin());
+                ReplicaRouting.onPrimary(() -> readOnlyTransaction.execute(status -> catchUp(since)));
+            } else {
+                ReplicaRouting.onPrimary(() -> readOnlyTransaction.execute(status -> rebuild()));
+            }
+            caughtUpTo = loadStarted;
+            ready = true;
+            log.info("Full-text index holds {} books and {} terms in {} bytes",
+                    index.size(), index.termCount(), index.sizeInBytes());
+        } catch (RuntimeException e) {
+            log.warn("Could not build full-text index, full-text searches are unavailable", e);
+            return;
+        }
+        writeSnapshot(loadStarted);
+        scheduleCatchUp();
+    }
+
+    /**
+     * Re-reads the books modified since the previous catch-up, or since loading,
+     * and removes books that no longer exist. Does nothing until the index is loaded.
+     */
+    public void catchUp() {
+        if (!ready) {
+            return;
+        }
+
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime since = caughtUpTo.minus(properties.getCatchUpMargin());
+        ReplicaRouting.onPrimary(() -> readOnlyTransaction.execute(status -> catchUp(since)));
+        caughtUpTo = started;
+    }
+
+    /**
+     * Stops the periodic catch-up and saves the index so that the next start
+     * does not have to rebuild it.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void save() {
+        synchronized (this) {
+            if (catchUpScheduler != null) {
+                catchUpScheduler.shutdownNow();
+                catchUpScheduler = null;
+            }
+        }
+        if (ready) {
+            // Writes made elsewhere since the last catch-up are not in the index yet
+            writeSnapshot(caughtUpTo);
+        }
+    }
+
+    /**
+     * Returns whether the index is loaded.
+     *
+     * @return true once every existing book has been indexed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds the books whose title or description best match a query, ranked by BM25.
+     * Books matching any query term are returned; those matching more, rarer terms rank first.
+     *
+     * @param query the query text
+     * @param after the last match of the previous page, or null for the first page
+     * @param limit the maximum number of matches to return
+     * @return the matches ranked after {@code after}, highest score first, then by ascending ID
+     */
+    public List<ScoredMatch> search(String query, ScoredMatch after, int limit) {
+        return index.search(query, after, limit);
+    }
+
+    /**
+     * Records a book that was created or modified, once the writing transaction commits.
+     *
+     * @param book the saved book
+     */
+    public void recordBook(Book book) {
+        Long id = book.getId();
+        String title = book.getTitle();
+        String description = book.getDescription();
+        BookSearchIndex.afterCommit(() -> index.put(id, title, description));
+    }
+
+    /**
+     * Records that a book was deleted, once the deleting transaction commits.
+     *
+     * @param id the book ID
+     */
+    public void recordDeletion(Long id) {
+        BookSearchIndex.afterCommit(() -> index.remove(id));
+    }
+
+    private long rebuild() {
+        long count = 0;
+        try (Stream<BookTextFields> rows = bookRepository.streamAllTextFields()) {
+            for (Iterator<BookTextFields> it = rows.iterator(); it.hasNext(); count++) {
+                BookTextFields row = it.next();
+                index.put(row.id(), row.title(), row.description());
+            }
+        }
+        log.info("Tokenized {} books for full-text search", count);
+        return count;
+    }
+
+    private long catchUp(LocalDateTime since) {
+        long changed = 0;
+        try (Stream<BookTextFields> rows = bookRepository.streamTextFieldsUpdatedSince(since)) {
+            for (Iterator<BookTextFields> it = rows.iterator(); it.hasNext(); changed++) {
+                BookTextFields row = it.next();
+                index.put(row.id(), row.title(), row.description());
+            }
+        }
+
+        long removed;
+        try (Stream<Long> ids = bookRepository.streamAllIds()) {
+            removed = BookSearchIndex.removeMissing(index.ids(), ids, index::remove);
+        }
+
+        log.debug("Full-text index re-read {} books changed since {} and dropped {} deleted books",
+                changed, since, removed);
+        return changed;
+    }
+
+    private synchronized void scheduleCatchUp() {
+        long interval = properties.getCatchUpInterval().toMillis();
+        if (interval <= 0 || catchUpScheduler != null) {
+            return;
+        }
+        catchUpScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("full-text-catch-up").daemon().factory());
+        catchUpScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                catchUp();
+            } catch (RuntimeException e) {
+                log.warn("Could not catch up the full-text index, retrying in {} ms", interval, e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reads the snapshot into the index.
+     *
+     * @return when the snapshot was taken, or null if there is no usable snapshot
+     */
+    private LocalDateTime readSnapshot() {
+        Path path = snapshotPath();
+        if (path == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                log.warn("Ignoring full-text snapshot {}: not a snapshot file", path);
+                return null;
+            }
+            LocalDateTime taken = LocalDateTime.parse(in.readUTF());
+            if (!index.readFrom(in)) {
+                log.info("Ignoring full-text snapshot {}: written with another format or title weight", path);
+                return null;
+            }
+            log.info("Read full-text snapshot {} taken at {}", path, taken);
+            return taken;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | DateTimeParseException e) {
+            log.warn("Ignoring unreadable full-text snapshot {}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the index to a temporary file and moves it over the snapshot,
+     * so a crash while writing never leaves a truncated snapshot behind.
+     *
+     * @param taken the time from which changes may be missing from the index
+     */
+    private void writeSnapshot(LocalDateTime taken) {
+        Path path = snapshotPath();
+        if (path == null) {
+            return;
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeUTF(taken.toString());
+                index.writeTo(out);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved full-text snapshot {} ({} bytes)", path, Files.size(path));
+        } catch (IOException e) {
+            log.warn("Could not save full-text snapshot {}, keeping the previous one", path, e);
+        }
+    }
+
+    private Path snapshotPath() {
+        String configured = properties.getSnapshotPath();
+        return configured == null || configured.isBlank() ? null : Path.of(configured);
+    }
+}
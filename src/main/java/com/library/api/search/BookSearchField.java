@@ -0,0 +1,54 @@
+package com.library.api.search;
+
+import com.library.api.exception.InvalidSearchRequestException;
+
+import java.util.Arrays;
+
+/**
+ * Book fields the in-memory search structures can be queried on.
+ */
+public enum BookSearchField {
+
+    /**
+     * Searches {@code Book.title}.
+     */
+    TITLE("title"),
+
+    /**
+     * Searches {@code Book.author}.
+     */
+    AUTHOR("author");
+
+    private final String parameterValue;
+
+    BookSearchField(String parameterValue) {
+        this.parameterValue = parameterValue;
+    }
+
+    /**
+     * Returns the value used for this field in request parameters.
+     *
+     * @return the parameter value
+     */
+    public String getParameterValue() {
+        return parameterValue;
+    }
+
+    /**
+     * Resolves a field from its request parameter value (case-insensitive).
+     *
+     * @param value the parameter value, or null for the default field
+     * @param defaultField the field to use when no value is given
+     * @return the matching field
+     * @throws InvalidSearchRequestException if the value does not match any field
+     */
+    public static BookSearchField fromParameter(String value, BookSearchField defaultField) {
+        if (value == null || value.isBlank()) {
+            return defaultField;
+        }
+        return Arrays.stream(values())
+                .filter(field -> field.parameterValue.equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new InvalidSearchRequestException("Unsupported search field: " + value));
+    }
+}
@@ -0,0 +1,11 @@
+package com.library.api.search;
+
+/**
+ * Searchable columns of a book, loaded when building the search index.
+ *
+ * @param id the book ID
+ * @param title the book title
+ * @param author the book author
+ */
+public record BookSearchFields(Long id, String title, String author) {
+}
@@ -0,0 +1,416 @@
+package com.library.api.search;
+
+import com.library.api.config.BookSearchProperties;
+import com.library.api.entity.Book;
+import com.library.api.repository.BookRepository;
+import com.library.api.routing.ReplicaRouting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory search indexes over book titles and authors.
+ *
+ * Built from a streaming scan once the application is ready and updated when
+ * writes made through this instance commit. Writes made elsewhere, by other
+ * instances, imports or plain SQL, are picked up by a periodic catch-up that
+ * re-reads the books modified since the previous one and drops deleted books
+ * by merging the index against the primary key. A trigram index answers the
+ * substring searches that {@code LOWER(x) LIKE '%kw%'} would otherwise answer
+ * with a full table scan, a term dictionary answers typo-tolerant searches,
+ * and a trie of whole titles and authors answers prefix suggestions.
+ * Callers load the returned IDs from the database, since the indexes can
+ * lag behind it by up to one catch-up interval. Until loading completes,
+ * when disabled, or for keywords shorter than a trigram, substring searches
+ * fall back to the database query; fuzzy searches and suggestions have no
+ * such fallback.
+ */
+@Component
+@Slf4j
+public class BookSearchIndex {
+
+    /**
+     * Largest edit distance a fuzzy search may allow per query term.
+     */
+    public static final int MAX_EDITS = FuzzyTermIndex.MAX_EDITS;
+
+    private final BookSearchProperties properties;
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TrigramIndex titles = new TrigramIndex();
+    private final TrigramIndex authors = new TrigramIndex();
+    private final FuzzyTermIndex titleTerms;
+    private final FuzzyTermIndex authorTerms;
+    private final SuggestionTrie titleSuggestions;
+    private final SuggestionTrie authorSuggestions;
+    private final Counter indexedSearches;
+
+    private volatile boolean ready;
+    private volatile LocalDateTime caughtUpTo;
+    private ScheduledExecutorService catchUpScheduler;
+
+    public BookSearchIndex(BookSearchProperties properties, BookRepository bookRepository,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.titleTerms = new FuzzyTermIndex(properties.getFuzzyPrefixLength());
+        this.authorTerms = new FuzzyTermIndex(properties.getFuzzyPrefixLength());
+        this.titleSuggestions = new SuggestionTrie(BookSearchField.TITLE, properties.getMaxSuggestions());
+        this.authorSuggestions = new SuggestionTrie(BookSearchField.AUTHOR, properties.getMaxSuggestions());
+
+        this.indexedSearches = Counter.builder("library.search.indexed")
+                .description("Searches answered from the in-memory index instead of a table scan")
+                .register(meterRegistry);
+        Gauge.builder("library.search.memory", titles, TrigramIndex::sizeInBytes)
+                .description("Approximate memory used by the search index")
+                .baseUnit("bytes")
+                .tag("field", "title")
+                .tag("index", "trigram")
+                .register(meterRegistry);
+        Gauge.builder("library.search.memory", authors, TrigramIndex::sizeInBytes)
+                .description("Approximate memory used by the search index")
+                .baseUnit("bytes")
+                .tag("field", "author")
+                .tag("index", "trigram")
+                .register(meterRegistry);
+        Gauge.builder("library.search.memory", titleTerms, FuzzyTermIndex::sizeInBytes)
+                .description("Approximate memory used by the search index")
+                .baseUnit("bytes")
+                .tag("field", "title")
+                .tag("index", "terms")
+                .register(meterRegistry);
+        Gauge.builder("library.search.memory", authorTerms, FuzzyTermIndex::sizeInBytes)
+                .description("Approximate memory used by the search index")
+                .baseUnit("bytes")
+                .tag("field", "author")
+                .tag("index", "terms")
+                .register(meterRegistry);
+        Gauge.builder("library.search.memory", titleSuggestions, SuggestionTrie::sizeInBytes)
+                .description("Approximate memory used by the search index")
+                .baseUnit("bytes")
+                .tag("field", "title")
+                .tag("index", "suggestions")
+                .register(meterRegistry);
+        Gauge.builder("library.search.memory", authorSuggestions, SuggestionTrie::sizeInBytes)
+                .description("Approximate memory used by the search index")
+                .baseUnit("bytes")
+                .tag("field", "author")
+                .tag("index", "suggestions")
+                .register(meterRegistry);
+        Gauge.builder("library.search.terms", titleTerms, FuzzyTermIndex::termCount)
+                .description("Distinct terms in the fuzzy search dictionary")
+                .tag("field", "title")
+                .register(meterRegistry);
+        Gauge.builder("library.search.terms", authorTerms, FuzzyTermIndex::termCount)
+                .description("Distinct terms in the fuzzy search dictionary")
+                .tag("field", "author")
+                .register(meterRegistry);
+        Gauge.builder("library.search.suggestions", titleSuggestions, SuggestionTrie::size)
+                .description("Distinct texts that can be suggested")
+                .tag("field", "title")
+                .register(meterRegistry);
+        Gauge.builder("library.search.suggestions", authorSuggestions, SuggestionTrie::size)
+                .description("Distinct texts that can be suggested")
+                .tag("field", "author")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indexes the title and author of all existing books.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            log.info("Book search index is disabled");
+            return;
+        }
+
+        // Rows read while loading may be overtaken by concurrent writes, so the first catch-up re-reads from here
+        LocalDateTime loadStarted = LocalDateTime.now();
+        try {
+            // A lagging replica would leave recent books out of search results
+            Long loaded = ReplicaRouting.onPrimary(() -> readOnlyTransaction.execute(status -> {
+                long count = 0;
+                titleTerms.startBulkLoad();
+                authorTerms.startBulkLoad();
+                titleSuggestions.startBulkLoad();
+                authorSuggestions.startBulkLoad();
+                try (Stream<BookSearchFields> rows = bookRepository.streamAllSearchFields()) {
+                    for (Iterator<BookSearchFields> it = rows.iterator(); it.hasNext(); count++) {
+                        BookSearchFields row = it.next();
+                        index(row.id(), row.title(), row.author());
+                    }
+                } finally {
+                    titleTerms.finishBulkLoad();
+                    authorTerms.finishBulkLoad();
+                    titleSuggestions.finishBulkLoad();
+                    authorSuggestions.finishBulkLoad();
+                }
+                return count;
+            }));
+            caughtUpTo = loadStarted;
+            ready = true;
+            log.info("Indexed {} books for search: trigram indexes {} + {} bytes, "
+                            + "term dictionaries of {} + {} terms in {} + {} bytes, "
+                            + "suggestion tries of {} + {} texts in {} + {} bytes",
+                    loaded, titles.sizeInBytes(), authors.sizeInBytes(),
+                    titleTerms.termCount(), authorTerms.termCount(),
+                    titleTerms.sizeInBytes(), authorTerms.sizeInBytes(),
+                    titleSuggestions.size(), authorSuggestions.size(),
+                    titleSuggestions.sizeInBytes(), authorSuggestions.sizeInBytes());
+        } catch (RuntimeException e) {
+            log.warn("Could not build book search index, searches will scan the database", e);
+            return;
+        }
+        scheduleCatchUp();
+    }
+
+    /**
+     * Re-reads the books modified since the previous catch-up, or since loading,
+     * and removes books that no longer exist. Does nothing until the index is loaded.
+     */
+    public void catchUp() {
+        if (!ready) {
+            return;
+        }
+
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime since = caughtUpTo.minus(properties.getCatchUpMargin());
+        ReplicaRouting.onPrimary(() -> readOnlyTransaction.execute(status -> {
+            long changed = 0;
+            try (Stream<BookSearchFields> rows = bookRepository.streamSearchFieldsUpdatedSince(since)) {
+                for (Iterator<BookSearchFields> it = rows.iterator(); it.hasNext(); changed++) {
+                    BookSearchFields row = it.next();
+                    index(row.id(), row.title(), row.author());
+                }
+            }
+            long removed;
+            try (Stream<Long> ids = bookRepository.streamAllIds()) {
+                removed = removeMissing(titles.ids(), ids, this::remove);
+            }
+            log.debug("Search index re-read {} books changed since {} and dropped {} deleted books",
+                    changed, since, removed);
+            return changed;
+        }));
+        caughtUpTo = started;
+    }
+
+    /**
+     * Stops the periodic catch-up.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void stop() {
+        if (catchUpScheduler != null) {
+            catchUpScheduler.shutdownNow();
+            catchUpScheduler = null;
+        }
+    }
+
+    /**
+     * Returns whether the indexes are loaded.
+     *
+     * @return true once every existing book has been indexed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns whether a keyword can be searched in the index.
+     *
+     * @param keyword the search keyword
+     * @return true if the index is loaded and the keyword spans at least one trigram
+     */
+    public boolean canSearch(String keyword) {
+        return ready && keyword.length() >= TrigramIndex.GRAM_LENGTH;
+    }
+
+    /**
+     * Finds books whose title contains the keyword, ignoring case.
+     *
+     * @param keyword the title keyword, see {@link #canSearch(String)}
+     * @param afterId only books with a greater ID are returned
+     * @param limit the maximum number of IDs to return
+     * @return the candidate book IDs in ascending order
+     */
+    public List<Long> searchTitles(String keyword, long afterId, int limit) {
+        indexedSearches.increment();
+        return titles.search(keyword, afterId, limit);
+    }
+
+    /**
+     * Finds books whose author contains the keyword, ignoring case.
+     *
+     * @param keyword the author keyword, see {@link #canSearch(String)}
+     * @param afterId only books with a greater ID are returned
+     * @param limit the maximum number of IDs to return
+     * @return the candidate book IDs in ascending order
+     */
+    public List<Long> searchAuthors(String keyword, long afterId, int limit) {
+        indexedSearches.increment();
+        return authors.search(keyword, afterId, limit);
+    }
+
+    /**
+     * Finds books with, for every term of the query, a term of the field within
+     * a small edit distance of it, such as "Robert C. Martin" for "robert c marin".
+     *
+     * @param query the query text
+     * @param field the searched field
+     * @param maxEdits the allowed edit distance per query term, up to {@link #MAX_EDITS},
+     *                 or null to allow more edits in longer terms
+     * @param limit the maximum number of matches to return
+     * @return the matches, closest first, then by ascending ID
+     */
+    public List<FuzzyMatch> searchFuzzy(String query, BookSearchField field, Integer maxEdits, int limit) {
+        FuzzyTermIndex terms = field == BookSearchField.TITLE ? titleTerms : authorTerms;
+        return terms.search(query, maxEdits, limit);
+    }
+
+    /**
+     * Suggests whole titles and authors starting with a typed prefix, ignoring case
+     * and repeated whitespace. Texts shared by more books are suggested first.
+     *
+     * @param prefix the typed prefix
+     * @param limit the maximum number of suggestions, at most the configured maximum
+     * @return the suggestions from both fields, most common first, then alphabetically
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        List<Suggestion> suggestions = new ArrayList<>(titleSuggestions.suggest(prefix, limit));
+        suggestions.addAll(authorSuggestions.suggest(prefix, limit));
+        suggestions.sort(Comparator.comparingInt(Suggestion::weight).reversed()
+                .thenComparing(Suggestion::text, String.CASE_INSENSITIVE_ORDER));
+        return suggestions.subList(0, Math.min(limit, suggestions.size()));
+    }
+
+    /**
+     * Records a book that was created or modified. The index is only updated
+     * once the writing transaction commits, so a rollback never changes it.
+     *
+     * @param book the saved book
+     */
+    public void recordBook(Book book) {
+        Long id = book.getId();
+        String title = book.getTitle();
+        String author = book.getAuthor();
+        afterCommit(() -> index(id, title, author));
+    }
+
+    /**
+     * Records that a book was deleted, once the deleting transaction commits.
+     *
+     * @param id the book ID
+     */
+    public void recordDeletion(Long id) {
+        afterCommit(() -> remove(id));
+    }
+
+    /**
+     * Returns whether a text contains a keyword the way the index compares them.
+     *
+     * @param text the text, may be null
+     * @param keyword the keyword
+     * @return true if the text contains the keyword, ignoring case
+     */
+    public static boolean containsKeyword(String text, String keyword) {
+        return text != null && TrigramIndex.normalize(text).contains(TrigramIndex.normalize(keyword));
+    }
+
+    private void index(Long id, String title, String author) {
+        // The trigram indexes hold the previous text, which the tries need to move the book's weight
+        titleSuggestions.replace(titles.put(id, title), title);
+        authorSuggestions.replace(authors.put(id, author), author);
+        titleTerms.put(id, title);
+        authorTerms.put(id, author);
+    }
+
+    private void remove(long id) {
+        titleSuggestions.replace(titles.remove(id), null);
+        authorSuggestions.replace(authors.remove(id), null);
+        titleTerms.remove(id);
+        authorTerms.remove(id);
+    }
+
+    private synchronized void scheduleCatchUp() {
+        long interval = properties.getCatchUpInterval().toMillis();
+        if (interval <= 0 || catchUpScheduler != null) {
+            return;
+        }
+        catchUpScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("search-index-catch-up").daemon().factory());
+        catchUpScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                catchUp();
+            } catch (RuntimeException e) {
+                log.warn("Could not catch up the book search index, retrying in {} ms", interval, e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Removes the indexed IDs that are missing from the database. Both sides
+     * are sorted by ID, so deleted books are found in a single merge pass.
+     *
+     * @param indexed the indexed IDs in ascending order
+     * @param ids every book ID in ascending order
+     * @param remove removes an ID from the index
+     * @return the number of removed IDs
+     */
+    static long removeMissing(long[] indexed, Stream<Long> ids, LongConsumer remove) {
+        long removed = 0;
+        int next = 0;
+        for (Iterator<Long> it = ids.iterator(); it.hasNext() && next < indexed.length; ) {
+            long id = it.next();
+            for (; next < indexed.length && indexed[next] < id; next++, removed++) {
+                remove.accept(indexed[next]);
+            }
+            if (next < indexed.length && indexed[next] == id) {
+                next++;
+            }
+        }
+        for (; next < indexed.length; next++, removed++) {
+            remove.accept(indexed[next]);
+        }
+        return removed;
+    }
+
+    /**
+     * Runs an index update once the current transaction commits, or right away outside a transaction.
+     *
+     * @param update the index update
+     */
+    static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
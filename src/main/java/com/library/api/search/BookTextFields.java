@@ -0,0 +1,11 @@
+package com.library.api.search;
+
+/**
+ * Full-text searchable columns of a book, loaded when building the full-text index.
+ *
+ * @param id the book ID
+ * @param title the book title
+ * @param description the book description, may be null
+ */
+public record BookTextFields(Long id, String title, String description) {
+}
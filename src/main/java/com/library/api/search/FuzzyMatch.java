@@ -0,0 +1,10 @@
+package com.library.api.search;
+
+/**
+ * A book matched by a fuzzy search.
+ *
+ * @param id the book ID
+ * @param distance the total edit distance between the query terms and the book's closest terms
+ */
+public record FuzzyMatch(Long id, int distance) {
+}
@@ -0,0 +1,474 @@
+package com.library.api.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe term dictionary answering typo-tolerant queries.
+ *
+ * Indexed texts are split into {@link SearchTerms terms}, each mapped to the
+ * IDs of the texts containing it. A query term is expanded to the dictionary
+ * terms within a bounded Levenshtein distance by walking the sorted terms while
+ * simulating the Levenshtein automaton of the query term: the DP row of a
+ * shared prefix is computed once, and as soon as a prefix cannot lead to a
+ * match the walk seeks past every term that starts with it. Only the part of
+ * the dictionary the automaton can reach is visited, instead of computing a
+ * distance to every term. Terms must also share the first characters of the
+ * query term exactly, which is where typos are least likely and which keeps
+ * the reachable part of a large dictionary small.
+ *
+ * The sorted terms live in a packed {@link SortedTermArray}. New terms are
+ * kept in a small sorted set until enough accumulate to rebuild the array,
+ * and removed terms are skipped until then.
+ */
+class FuzzyTermIndex {
+
+    /**
+     * Largest supported edit distance; beyond it nearly every short term matches.
+     */
+    static final int MAX_EDITS = 2;
+
+    private static final int MIN_PENDING_TERMS = 4096;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Set<String>> termsById = new HashMap<>();
+    private final TreeSet<String> pendingTerms = new TreeSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int prefixLength;
+
+    private SortedTermArray terms = SortedTermArray.EMPTY;
+    private volatile SortedTermArray packedPendingTerms = SortedTermArray.EMPTY;
+    private int removedTerms;
+    private boolean bulkLoading;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param prefixLength the number of leading characters a term must share exactly with the query term
+     */
+    FuzzyTermIndex(int prefixLength) {
+        this.prefixLength = prefixLength;
+    }
+
+    /**
+     * Indexes the terms of an entry's text, replacing its previous terms.
+     *
+     * @param id the entry ID
+     * @param text the text, null to remove the entry
+     */
+    void put(long id, String text) {
+        Set<String> entryTerms = new LinkedHashSet<>(SearchTerms.of(text));
+
+        lock.writeLock().lock();
+        try {
+            Set<String> previous = entryTerms.isEmpty() ? termsById.remove(id) : termsById.put(id, entryTerms);
+            if (previous != null) {
+                for (String term : previous) {
+                    if (!entryTerms.contains(term)) {
+                        unlink(id, term);
+                    }
+                }
+            }
+            for (String term : entryTerms) {
+                postings.computeIfAbsent(term, this::addTerm).add(id);
+            }
+            if (!bulkLoading && pendingTerms.size() + removedTerms > Math.max(MIN_PENDING_TERMS, terms.size() / 64)) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an entry from the index.
+     *
+     * @param id the entry ID
+     */
+    void remove(long id) {
+        put(id, null);
+    }
+
+    /**
+     * Defers rebuilding the sorted terms until {@link #finishBulkLoad()},
+     * so that loading many entries rebuilds them only once.
+     */
+    void startBulkLoad() {
+        lock.writeLock().lock();
+        try {
+            bulkLoading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the sorted terms after a bulk load.
+     */
+    void finishBulkLoad() {
+        lock.writeLock().lock();
+        try {
+            bulkLoading = false;
+            compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the entries containing, for every term of the query, a term within
+     * the allowed edit distance of it.
+     *
+     * @param query the query text
+     * @param maxEdits the allowed edit distance per query term, or null to derive it from each term's length
+     * @param limit the maximum number of matches to return
+     * @return the matches, closest first, then by ascending ID
+     */
+    List<FuzzyMatch> search(String query, Integer maxEdits, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(SearchTerms.of(query));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<String, Integer>> expansions = new ArrayList<>(queryTerms.size());
+            for (String queryTerm : queryTerms) {
+                Map<String, Integer> expansion = expand(queryTerm,
+                        maxEdits != null ? maxEdits : defaultMaxEdits(queryTerm));
+                if (expansion.isEmpty()) {
+                    return List.of();
+                }
+                expansions.add(expansion);
+            }
+            // Start from the query term with the fewest candidate entries and only check those against the others
+            expansions.sort(Comparator.comparingLong(this::postingCount));
+
+            Map<Long, Integer> distances = new HashMap<>();
+            expansions.get(0).forEach((term, distance) -> {
+                PostingList ids = postings.get(term);
+                for (int i = 0; i < ids.size(); i++) {
+                    distances.merge(ids.get(i), distance, Math::min);
+                }
+            });
+            for (Map<String, Integer> expansion : expansions.subList(1, expansions.size())) {
+                distances.entrySet().removeIf(entry -> {
+                    int best = closestDistance(expansion, entry.getKey());
+                    if (best == Integer.MAX_VALUE) {
+                        return true;
+                    }
+                    entry.setValue(entry.getValue() + best);
+                    return false;
+                });
+            }
+
+            return closest(distances, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of distinct terms.
+     *
+     * @return the dictionary size
+     */
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the memory used by the sorted terms and posting lists.
+     *
+     * @return the approximate size in bytes
+     */
+    long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = terms.sizeInBytes();
+            for (PostingList ids : postings.values()) {
+                bytes += ids.capacity() * (long) Long.BYTES;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the edit distance tolerated for a query term of a given length:
+     * none for very short terms, where one edit already changes the word, and
+     * up to {@link #MAX_EDITS} for longer ones.
+     *
+     * @param term the query term
+     * @return the allowed edit distance
+     */
+    static int defaultMaxEdits(String term) {
+        if (term.length() <= 2) {
+            return 0;
+        }
+        return term.length() <= 5 ? 1 : MAX_EDITS;
+    }
+
+    /**
+     * Finds the dictionary terms within an edit distance of a term.
+     * Must be called while holding the read lock.
+     *
+     * @param term the normalized query term
+     * @param maxEdits the allowed edit distance
+     * @return the matching terms and their distance to {@code term}
+     */
+    private Map<String, Integer> expand(String term, int maxEdits) {
+        String prefix = term.substring(0, Math.min(prefixLength, term.length()));
+        String suffix = term.substring(prefix.length());
+
+        // rows[d] is the Levenshtein DP row after reading the first d characters after the prefix of a
+        // dictionary term. A longer suffix than suffix.length() + maxEdits is always dead, which bounds d.
+        int[][] rows = new int[suffix.length() + maxEdits + 2][suffix.length() + 1];
+        for (int j = 0; j <= suffix.length(); j++) {
+            rows[0][j] = j;
+        }
+
+        Map<String, Integer> matches = new HashMap<>();
+        walk(terms, prefix, suffix, maxEdits, rows, matches);
+        walk(pendingTermArray(), prefix, suffix, maxEdits, rows, matches);
+        return matches;
+    }
+
+    private void walk(SortedTermArray candidates, String prefix, String suffix, int maxEdits, int[][] rows,
+                      Map<String, Integer> matches) {
+        int start = prefix.length();
+        int length = suffix.length();
+        int previous = -1;
+        int validDepth = 0;
+        int index = candidates.ceiling(prefix);
+        String prefixEnd = prefixSuccessor(prefix);
+        int end = prefixEnd == null ? candidates.size() : candidates.ceiling(prefixEnd);
+
+        while (index < end) {
+            int candidateLength = candidates.length(index) - start;
+            int depth = previous < 0 ? 0
+                    : Math.min(validDepth, commonPrefixLength(candidates, previous, index) - start);
+            boolean dead = false;
+            while (depth < candidateLength) {
+                char c = candidates.charAt(index, start + depth);
+                int[] row = rows[depth];
+                int[] next = rows[depth + 1];
+                next[0] = depth + 1;
+                int rowMin = next[0];
+                for (int j = 1; j <= length; j++) {
+                    int substitution = row[j - 1] + (suffix.charAt(j - 1) == c ? 0 : 1);
+                    next[j] = Math.min(substitution, Math.min(row[j] + 1, next[j - 1] + 1));
+                    rowMin = Math.min(rowMin, next[j]);
+                }
+                depth++;
+                if (rowMin > maxEdits) {
+                    dead = true;
+                    break;
+                }
+            }
+
+            previous = index;
+            validDepth = depth;
+            if (dead) {
+                String target = nextLiveCandidate(candidates, index, start, depth, suffix, maxEdits, rows);
+                index = target == null ? end : candidates.ceiling(target, index, end);
+                continue;
+            }
+            int distance = rows[candidateLength][length];
+            if (distance <= maxEdits) {
+                String candidate = candidates.term(index);
+                // Terms whose last entry was removed stay in the array until the next rebuild
+                if (postings.containsKey(candidate)) {
+                    matches.merge(candidate, distance, Math::min);
+                }
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Returns the smallest string after a dead candidate prefix that the automaton may still accept.
+     * Every character absent from the query suffix produces the same DP row, so when that row is dead
+     * the walk jumps straight to the next sibling whose last character occurs in the suffix, instead
+     * of visiting every sibling in turn.
+     *
+     * @param candidates the sorted terms
+     * @param index the candidate whose prefix died
+     * @param start the length of the exact prefix
+     * @param depth the number of characters after the exact prefix read when the prefix died
+     * @param suffix the query term after the exact prefix
+     * @param maxEdits the allowed edit distance
+     * @param rows the DP rows, valid up to {@code depth}
+     * @return the string to seek to, or null if no later candidate in the range can match
+     */
+    private static String nextLiveCandidate(SortedTermArray candidates, int index, int start, int depth,
+                                            String suffix, int maxEdits, int[][] rows) {
+        String parent = candidates.prefix(index, start + depth - 1);
+        char last = candidates.charAt(index, start + depth - 1);
+        if (last == Character.MAX_VALUE) {
+            return prefixSuccessor(parent);
+        }
+        if (!deadForUnmatchedCharacter(rows[depth - 1], depth - 1, suffix.length(), maxEdits)) {
+            return parent + (char) (last + 1);
+        }
+
+        char next = Character.MAX_VALUE;
+        boolean found = false;
+        for (int j = 0; j < suffix.length(); j++) {
+            char c = suffix.charAt(j);
+            if (c > last && c <= next) {
+                next = c;
+                found = true;
+            }
+        }
+        return found ? parent + next : prefixSuccessor(parent);
+    }
+
+    private static boolean deadForUnmatchedCharacter(int[] row, int depth, int length, int maxEdits) {
+        int previous = depth + 1;
+        if (previous <= maxEdits) {
+            return false;
+        }
+        for (int j = 1; j <= length; j++) {
+            previous = Math.min(Math.min(row[j - 1], row[j]), previous) + 1;
+            if (previous <= maxEdits) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SortedTermArray pendingTermArray() {
+        SortedTermArray packed = packedPendingTerms;
+        if (packed == null) {
+            // Racing readers may each pack the same set; the result is identical
+            packed = SortedTermArray.of(pendingTerms);
+            packedPendingTerms = packed;
+        }
+        return packed;
+    }
+
+    private PostingList addTerm(String term) {
+        pendingTerms.add(term);
+        packedPendingTerms = null;
+        return new PostingList();
+    }
+
+    private void unlink(long id, String term) {
+        PostingList ids = postings.get(term);
+        if (ids != null && ids.remove(id) && ids.size() == 0) {
+            postings.remove(term);
+            if (pendingTerms.remove(term)) {
+                packedPendingTerms = null;
+            } else {
+                removedTerms++;
+            }
+        }
+    }
+
+    /**
+     * Merges the pending terms into the sorted terms and drops removed ones.
+     * Must be called while holding the write lock.
+     */
+    private void compact() {
+        List<String> merged = new ArrayList<>(postings.size());
+        Iterator<String> pending = pendingTerms.iterator();
+        String nextPending = pending.hasNext() ? pending.next() : null;
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.term(i);
+            while (nextPending != null && nextPending.compareTo(term) < 0) {
+                merged.add(nextPending);
+                nextPending = pending.hasNext() ? pending.next() : null;
+            }
+            if (postings.containsKey(term)) {
+                merged.add(term);
+            }
+        }
+        while (nextPending != null) {
+            merged.add(nextPending);
+            nextPending = pending.hasNext() ? pending.next() : null;
+        }
+
+        terms = SortedTermArray.of(merged);
+        pendingTerms.clear();
+        packedPendingTerms = SortedTermArray.EMPTY;
+        removedTerms = 0;
+    }
+
+    private long postingCount(Map<String, Integer> expansion) {
+        long count = 0;
+        for (String term : expansion.keySet()) {
+            count += postings.get(term).size();
+        }
+        return count;
+    }
+
+    private int closestDistance(Map<String, Integer> expansion, long id) {
+        int best = Integer.MAX_VALUE;
+        for (Map.Entry<String, Integer> entry : expansion.entrySet()) {
+            if (entry.getValue() < best && postings.get(entry.getKey()).contains(id)) {
+                best = entry.getValue();
+            }
+        }
+        return best;
+    }
+
+    private static List<FuzzyMatch> closest(Map<Long, Integer> distances, int limit) {
+        Comparator<FuzzyMatch> order = Comparator.comparingInt(FuzzyMatch::distance).thenComparing(FuzzyMatch::id);
+        PriorityQueue<FuzzyMatch> top = new PriorityQueue<>(order.reversed());
+        distances.forEach((id, distance) -> {
+            FuzzyMatch match = new FuzzyMatch(id, distance);
+            if (top.size() < limit) {
+                top.add(match);
+            } else if (order.compare(match, top.peek()) < 0) {
+                top.poll();
+                top.add(match);
+            }
+        });
+        List<FuzzyMatch> matches = new ArrayList<>(top);
+        matches.sort(order);
+        return matches;
+    }
+
+    private static int commonPrefixLength(SortedTermArray candidates, int a, int b) {
+        int max = Math.min(candidates.length(a), candidates.length(b));
+        int i = 0;
+        while (i < max && candidates.charAt(a, i) == candidates.charAt(b, i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the smallest string greater than every string starting with a prefix.
+     *
+     * @param prefix the prefix
+     * @return the successor, or null if the prefix is empty or no string sorts after its extensions
+     */
+    private static String prefixSuccessor(String prefix) {
+        char[] successor = prefix.toCharArray();
+        for (int last = successor.length - 1; last >= 0; last--) {
+            if (successor[last] != Character.MAX_VALUE) {
+                successor[last]++;
+                return new String(successor, 0, last + 1);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.library.api.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, growable list of entry IDs, not thread-safe. IDs are mostly
+ * assigned in increasing order, so additions are usually appends.
+ */
+final class PostingList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    void add(long id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            insertAt(-index - 1, id);
+            return;
+        }
+        insertAt(size, id);
+    }
+
+    boolean remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    int indexAfter(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return ids.length;
+    }
+
+    private void insertAt(int index, long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+}
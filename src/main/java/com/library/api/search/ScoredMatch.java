@@ -0,0 +1,10 @@
+package com.library.api.search;
+
+/**
+ * A book matched by a ranked full-text search.
+ *
+ * @param id the book ID
+ * @param score the BM25 relevance score, higher is better
+ */
+public record ScoredMatch(Long id, double score) {
+}
@@ -0,0 +1,42 @@
+package com.library.api.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into the lower-cased terms the search structures index.
+ *
+ * A term is a maximal run of letters and digits; everything else separates
+ * terms. No stemming or stop-word removal is applied.
+ */
+final class SearchTerms {
+
+    private SearchTerms() {
+    }
+
+    /**
+     * Splits text into terms, in order of appearance.
+     *
+     * @param text the text, may be null
+     * @return the terms, possibly repeated
+     */
+    static List<String> of(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean termChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                terms.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,137 @@
+package com.library.api.search;
+
+import java.util.Collection;
+
+/**
+ * Immutable, sorted array of terms packed into a single character array.
+ *
+ * Consecutive terms are stored next to each other, so walking the array in
+ * order reads memory sequentially, and seeking costs one binary search. This
+ * is several times smaller and faster to scan than a tree of strings.
+ */
+final class SortedTermArray {
+
+    static final SortedTermArray EMPTY = new SortedTermArray(new char[0], new int[]{0});
+
+    private final char[] chars;
+    private final int[] offsets;
+
+    private SortedTermArray(char[] chars, int[] offsets) {
+        this.chars = chars;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Packs terms that are already sorted and distinct.
+     *
+     * @param sortedTerms the terms, in ascending order
+     * @return the packed array
+     */
+    static SortedTermArray of(Collection<String> sortedTerms) {
+        int length = 0;
+        for (String term : sortedTerms) {
+            length += term.length();
+        }
+        char[] chars = new char[length];
+        int[] offsets = new int[sortedTerms.size() + 1];
+        int index = 0;
+        int position = 0;
+        for (String term : sortedTerms) {
+            term.getChars(0, term.length(), chars, position);
+            position += term.length();
+            offsets[++index] = position;
+        }
+        return new SortedTermArray(chars, offsets);
+    }
+
+    int size() {
+        return offsets.length - 1;
+    }
+
+    int length(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    char charAt(int index, int position) {
+        return chars[offsets[index] + position];
+    }
+
+    String term(int index) {
+        return new String(chars, offsets[index], length(index));
+    }
+
+    String prefix(int index, int length) {
+        return new String(chars, offsets[index], length);
+    }
+
+    /**
+     * Returns the position of the first term not less than a key.
+     *
+     * @param key the key
+     * @return the index of the ceiling term, or {@link #size()} if every term is less than the key
+     */
+    int ceiling(String key) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(middle, key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the position of the first term not less than a key within a range,
+     * probing forward from its start with exponentially growing steps. This is
+     * cheaper than {@link #ceiling(String)} when the answer is close to the start.
+     *
+     * @param key the key
+     * @param from the first index of the range, whose term must be less than the key
+     * @param to the end of the range, exclusive
+     * @return the index of the ceiling term, or {@code to} if every term of the range is less than the key
+     */
+    int ceiling(String key, int from, int to) {
+        int low = from;
+        int step = 1;
+        while (low + step < to && compare(low + step, key) < 0) {
+            low += step;
+            step <<= 1;
+        }
+        int high = Math.min(to, low + step);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(middle, key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Estimates the memory used by the packed terms.
+     *
+     * @return the size in bytes
+     */
+    long sizeInBytes() {
+        return (long) chars.length * Character.BYTES + (long) offsets.length * Integer.BYTES;
+    }
+
+    private int compare(int index, String key) {
+        int start = offsets[index];
+        int length = length(index);
+        int common = Math.min(length, key.length());
+        for (int i = 0; i < common; i++) {
+            int difference = chars[start + i] - key.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - key.length();
+    }
+}
@@ -0,0 +1,11 @@
+package com.library.api.search;
+
+/**
+ * A completion offered for a typed prefix.
+ *
+ * @param text the title or author as last written, with whitespace runs collapsed
+ * @param field the field the text comes from
+ * @param weight the number of books with this text
+ */
+public record Suggestion(String text, BookSearchField field, int weight) {
+}
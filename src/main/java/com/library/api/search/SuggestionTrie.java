@@ -0,0 +1,505 @@
+package com.library.api.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe compressed trie of weighted texts answering top-K prefix completions.
+ *
+ * Texts are normalized to lower case with single spaces, and each distinct
+ * normalized text is a key weighted by the number of entries carrying it.
+ * Chains of single-child nodes are collapsed into one edge labelled with
+ * several characters, so the trie has fewer nodes than keys. Every node whose
+ * subtree holds more than {@code maxResults} keys caches its best keys; a
+ * completion walks down the prefix and reads that list, so its cost depends
+ * on the length of the prefix rather than on how many keys share it. Smaller
+ * subtrees are collected directly, which keeps the cached lists to about two
+ * slots per key. A write refreshes the cached lists on the path of its key.
+ */
+class SuggestionTrie {
+
+    // Rough JVM object sizes with compressed references, for the footprint estimate
+    private static final int NODE_BYTES = 40;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int STRING_BYTES = 40;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final Comparator<Node> BEST_FIRST = Comparator.comparingInt((Node node) -> -node.weight)
+            .thenComparing(node -> node.text, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(node -> node.text);
+
+    private final BookSearchField field;
+    private final int maxResults;
+    private final Node root = new Node(new char[0], null);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private boolean bulkLoading;
+
+    /**
+     * Creates an empty trie.
+     *
+     * @param field the field whose texts the trie holds
+     * @param maxResults the largest number of completions a lookup may ask for
+     */
+    SuggestionTrie(BookSearchField field, int maxResults) {
+        this.field = field;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Moves one entry from its previous text to its current one.
+     *
+     * @param previous the previous text of the entry, null if it is new
+     * @param text the current text, null if the entry was removed
+     */
+    void replace(String previous, String text) {
+        String previousKey = previous == null ? null : normalize(previous, false);
+        String key = text == null ? null : normalize(text, false);
+
+        lock.writeLock().lock();
+        try {
+            if (key != null && key.equals(previousKey)) {
+                // Same key, only keep the latest spelling for display
+                Node node = find(key);
+                if (node != null && node.weight > 0) {
+                    node.text = collapseWhitespace(text, false);
+                }
+                return;
+            }
+            if (previousKey != null && !previousKey.isEmpty()) {
+                adjust(previousKey, null, -1);
+            }
+            if (key != null && !key.isEmpty()) {
+                adjust(key, collapseWhitespace(text, false), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Defers computing the cached completions until {@link #finishBulkLoad()},
+     * so that loading many entries computes them only once.
+     */
+    void startBulkLoad() {
+        lock.writeLock().lock();
+        try {
+            bulkLoading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Computes the cached completions of every node after a bulk load.
+     */
+    void finishBulkLoad() {
+        lock.writeLock().lock();
+        try {
+            bulkLoading = false;
+            // Parents come before their children in pre-order, so visiting it backwards refreshes children first
+            List<Node> nodes = preOrder();
+            for (int i = nodes.size() - 1; i >= 0; i--) {
+                Node node = nodes.get(i);
+                node.top = node.count > maxResults ? best(node) : null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the heaviest texts starting with a prefix, ignoring case and repeated whitespace.
+     *
+     * @param prefix the typed prefix
+     * @param limit the maximum number of completions, at most {@code maxResults}
+     * @return the completions, heaviest first, then alphabetically
+     */
+    List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix, true);
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int position = 0;
+            while (position < key.length()) {
+                Node child = child(node, key.charAt(position));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonPrefixLength(child.label, key, position);
+                if (position + common < key.length() && common < child.label.length) {
+                    return List.of();
+                }
+                node = child;
+                position += common;
+            }
+
+            List<Node> best = node.top != null ? Arrays.asList(node.top) : collectSorted(node);
+            List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, best.size()));
+            for (int i = 0; i < best.size() && i < limit; i++) {
+                Node match = best.get(i);
+                suggestions.add(new Suggestion(match.text, field, match.weight));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of distinct texts.
+     *
+     * @return the key count
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return root.count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the memory used by the nodes, their labels, cached completions and display texts.
+     *
+     * @return the approximate size in bytes
+     */
+    long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Node node : preOrder()) {
+                bytes += NODE_BYTES + ARRAY_HEADER_BYTES + (long) node.label.length * Character.BYTES;
+                if (node.children.length > 0) {
+                    bytes += ARRAY_HEADER_BYTES + (long) node.children.length * Integer.BYTES;
+                }
+                if (node.top != null) {
+                    bytes += ARRAY_HEADER_BYTES + (long) node.top.length * Integer.BYTES;
+                }
+                if (node.text != null) {
+                    bytes += STRING_BYTES + node.text.length();
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cases text and collapses whitespace the way keys and prefixes are compared.
+     *
+     * @param text the text
+     * @param keepTrailingSpace whether a trailing whitespace run is kept as one space, as in a typed prefix
+     * @return the normalized text
+     */
+    static String normalize(String text, boolean keepTrailingSpace) {
+        return collapseWhitespace(text.toLowerCase(Locale.ROOT), keepTrailingSpace);
+    }
+
+    private static String collapseWhitespace(String text, boolean keepTrailingSpace) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = !normalized.isEmpty();
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            normalized.append(c);
+        }
+        if (pendingSpace && keepTrailingSpace) {
+            normalized.append(' ');
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Changes the weight of a key, creating or removing its node as needed.
+     * Must be called while holding the write lock.
+     *
+     * @param key the normalized key, not empty
+     * @param text the display text to store, or null to keep the current one
+     * @param delta the weight change
+     */
+    private void adjust(String key, String text, int delta) {
+        Node node = insert(key);
+        boolean wasKey = node.weight > 0;
+        node.weight += delta;
+        if (text != null) {
+            node.text = text;
+        }
+        // Writes to one entry may be applied out of order, so the weight can briefly drop below zero
+        if (node.weight == 0) {
+            node.text = null;
+        }
+        int countDelta = (node.weight > 0 ? 1 : 0) - (wasKey ? 1 : 0);
+        boolean improved = delta > 0 && node.weight > 0;
+
+        for (Node current = node; current != null; current = current.parent) {
+            current.count += countDelta;
+            if (!bulkLoading) {
+                refreshTop(current, node, improved);
+            }
+        }
+        prune(node);
+    }
+
+    /**
+     * Returns the node of a key, splitting an edge or adding a leaf if it does not exist yet.
+     */
+    private Node insert(String key) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = child(node, key.charAt(position));
+            if (child == null) {
+                Node leaf = new Node(key.substring(position).toCharArray(), node);
+                addChild(node, leaf);
+                return leaf;
+            }
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length) {
+                child = split(child, common);
+            }
+            node = child;
+            position += common;
+        }
+        return node;
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = child(node, key.charAt(position));
+            if (child == null || commonPrefixLength(child.label, key, position) != child.label.length) {
+                return null;
+            }
+            node = child;
+            position += child.label.length;
+        }
+        return node;
+    }
+
+    /**
+     * Inserts a node for the first characters of an edge, above the node the edge leads to.
+     *
+     * @param node the node the edge leads to
+     * @param length the number of label characters kept by the new node
+     * @return the new node
+     */
+    private static Node split(Node node, int length) {
+        Node parent = node.parent;
+        Node middle = new Node(Arrays.copyOf(node.label, length), parent);
+        parent.children[indexOf(parent, node)] = middle;
+        node.label = Arrays.copyOfRange(node.label, length, node.label.length);
+        node.parent = middle;
+        middle.children = new Node[]{node};
+        middle.count = node.count;
+        middle.top = node.top;
+        return middle;
+    }
+
+    /**
+     * Removes a node that no longer holds a key and collapses single-child chains it leaves behind.
+     * Pruning never changes the keys of a subtree, so counts and cached completions stay valid.
+     */
+    private void prune(Node node) {
+        while (node != root && node.weight == 0 && node.children.length == 0) {
+            Node parent = node.parent;
+            removeChild(parent, node);
+            node = parent;
+        }
+        if (node != root && node.weight == 0 && node.children.length == 1) {
+            // Merge into the child rather than the other way round, so the key's node keeps its identity
+            Node child = node.children[0];
+            char[] label = Arrays.copyOf(node.label, node.label.length + child.label.length);
+            System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+            child.label = label;
+            child.parent = node.parent;
+            node.parent.children[indexOf(node.parent, node)] = child;
+        }
+    }
+
+    /**
+     * Updates the cached completions of a node after the weight of one key below it changed.
+     * Only a key that got lighter while among the best requires merging the children's lists again.
+     *
+     * @param node the node to update
+     * @param changed the key node whose weight changed
+     * @param improved whether the weight increased
+     */
+    private void refreshTop(Node node, Node changed, boolean improved) {
+        if (node.count <= maxResults) {
+            node.top = null;
+        } else if (node.top == null) {
+            node.top = best(node);
+        } else if (improved) {
+            node.top = promote(node.top, changed);
+        } else if (Arrays.asList(node.top).contains(changed)) {
+            node.top = best(node);
+        }
+    }
+
+    /**
+     * Returns cached completions updated for a key that got heavier.
+     */
+    private Node[] promote(Node[] top, Node changed) {
+        List<Node> best = new ArrayList<>(Arrays.asList(top));
+        if (!best.contains(changed)) {
+            if (best.size() >= maxResults && BEST_FIRST.compare(changed, best.get(best.size() - 1)) >= 0) {
+                return top;
+            }
+            best.add(changed);
+        }
+        best.sort(BEST_FIRST);
+        return best.subList(0, Math.min(maxResults, best.size())).toArray(NO_CHILDREN);
+    }
+
+    /**
+     * Computes the best keys of a subtree from the node's own key and its children's sorted lists,
+     * keeping only the {@code maxResults} best candidates in a bounded heap.
+     */
+    private Node[] best(Node node) {
+        PriorityQueue<Node> worstFirst = new PriorityQueue<>(maxResults + 1, BEST_FIRST.reversed());
+        if (node.weight > 0) {
+            worstFirst.add(node);
+        }
+        for (Node child : node.children) {
+            for (Node candidate : child.top != null ? Arrays.asList(child.top) : collectSorted(child)) {
+                if (worstFirst.size() == maxResults && BEST_FIRST.compare(candidate, worstFirst.peek()) >= 0) {
+                    // The rest of this child's list is worse still
+                    break;
+                }
+                worstFirst.add(candidate);
+                if (worstFirst.size() > maxResults) {
+                    worstFirst.poll();
+                }
+            }
+        }
+        Node[] best = worstFirst.toArray(NO_CHILDREN);
+        Arrays.sort(best, BEST_FIRST);
+        return best;
+    }
+
+    /**
+     * Returns every key node of a subtree small enough to have no cached completions, best first.
+     */
+    private static List<Node> collectSorted(Node node) {
+        List<Node> keys = new ArrayList<>();
+        collect(node, keys);
+        keys.sort(BEST_FIRST);
+        return keys;
+    }
+
+    private static void collect(Node node, List<Node> keys) {
+        if (node.weight > 0) {
+            keys.add(node);
+        }
+        for (Node child : node.children) {
+            collect(child, keys);
+        }
+    }
+
+    private List<Node> preOrder() {
+        List<Node> nodes = new ArrayList<>();
+        List<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            nodes.add(node);
+            stack.addAll(Arrays.asList(node.children));
+        }
+        return nodes;
+    }
+
+    private static Node child(Node node, char first) {
+        Node[] children = node.children;
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char c = children[middle].label[0];
+            if (c < first) {
+                low = middle + 1;
+            } else if (c > first) {
+                high = middle - 1;
+            } else {
+                return children[middle];
+            }
+        }
+        return null;
+    }
+
+    private static void addChild(Node node, Node child) {
+        Node[] children = node.children;
+        int index = 0;
+        while (index < children.length && children[index].label[0] < child.label[0]) {
+            index++;
+        }
+        Node[] grown = new Node[children.length + 1];
+        System.arraycopy(children, 0, grown, 0, index);
+        grown[index] = child;
+        System.arraycopy(children, index, grown, index + 1, children.length - index);
+        node.children = grown;
+    }
+
+    private static void removeChild(Node node, Node child) {
+        Node[] children = node.children;
+        int index = indexOf(node, child);
+        Node[] shrunk = children.length == 1 ? NO_CHILDREN : new Node[children.length - 1];
+        System.arraycopy(children, 0, shrunk, 0, index);
+        System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+        node.children = shrunk;
+    }
+
+    private static int indexOf(Node node, Node child) {
+        for (int i = 0; i < node.children.length; i++) {
+            if (node.children[i] == child) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Node is not a child of its parent");
+    }
+
+    private static int commonPrefixLength(char[] label, String key, int from) {
+        int max = Math.min(label.length, key.length() - from);
+        int i = 0;
+        while (i < max && label[i] == key.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        private char[] label;
+        private Node parent;
+        private Node[] children = NO_CHILDREN;
+        // Display text and weight of the key ending here; the weight is the number of entries with the key
+        private String text;
+        private int weight;
+        // Number of keys in the subtree and, when there are more than maxResults, the best of them
+        private int count;
+        private Node[] top;
+
+        private Node(char[] label, Node parent) {
+            this.label = label;
+            this.parent = parent;
+        }
+    }
+}
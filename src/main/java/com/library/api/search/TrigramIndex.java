@@ -0,0 +1,207 @@
+package com.library.api.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe trigram inverted index answering case-insensitive substring queries.
+ *
+ * Every indexed text is lower-cased and split into overlapping three-character
+ * grams, each mapped to the sorted IDs of the texts containing it. A query is
+ * answered by intersecting the posting lists of its own trigrams, driven by
+ * the shortest one, and confirming each candidate against the stored text, so
+ * the work done depends on the rarest trigram of the query rather than on the
+ * number of indexed texts. Queries shorter than a trigram cannot be answered.
+ */
+class TrigramIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, String> texts = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes the text of an entry, replacing its previous text.
+     *
+     * @param id the entry ID
+     * @param text the text, null to remove the entry
+     * @return the previous normalized text of the entry, or null if it was not indexed
+     */
+    String put(long id, String text) {
+        if (text == null) {
+            return remove(id);
+        }
+        String normalized = normalize(text);
+
+        lock.writeLock().lock();
+        try {
+            String previous = texts.put(id, normalized);
+            if (normalized.equals(previous)) {
+                return previous;
+            }
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            for (long gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an entry from the index.
+     *
+     * @param id the entry ID
+     * @return the normalized text of the entry, or null if it was not indexed
+     */
+    String remove(long id) {
+        lock.writeLock().lock();
+        try {
+            String previous = texts.remove(id);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the entries whose text contains the query, ignoring case.
+     *
+     * @param query the substring to look for, at least {@link #GRAM_LENGTH} characters long
+     * @param afterId only entries with a greater ID are returned
+     * @param limit the maximum number of IDs to return
+     * @return the matching IDs in ascending order
+     */
+    List<Long> search(String query, long afterId, int limit) {
+        String normalized = normalize(query);
+        Set<Long> queryGrams = grams(normalized);
+        if (queryGrams.isEmpty()) {
+            throw new IllegalArgumentException("Query must have at least " + GRAM_LENGTH + " characters");
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(queryGrams.size());
+            for (long gram : queryGrams) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            PostingList driver = lists.get(0);
+            List<Long> matches = new ArrayList<>(Math.min(limit, driver.size()));
+            for (int i = driver.indexAfter(afterId); i < driver.size() && matches.size() < limit; i++) {
+                long id = driver.get(i);
+                if (containsAll(lists, id) && texts.get(id).contains(normalized)) {
+                    matches.add(id);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed entries.
+     *
+     * @return the entry count
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return texts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of the indexed entries.
+     *
+     * @return the entry IDs in ascending order
+     */
+    long[] ids() {
+        lock.readLock().lock();
+        try {
+            return texts.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the memory used by the posting lists and stored texts.
+     *
+     * @return the approximate size in bytes
+     */
+    long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (PostingList list : postings.values()) {
+                bytes += list.capacity() * (long) Long.BYTES;
+            }
+            for (String text : texts.values()) {
+                bytes += text.length();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cases text the way queries and indexed texts are compared.
+     *
+     * @param text the text
+     * @return the normalized text
+     */
+    static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private void unlink(long id, String text) {
+        for (long gram : grams(text)) {
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static boolean containsAll(List<PostingList> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,25 @@
+package com.library.api.service;
+
+import com.library.api.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting the full book catalog.
+ *
+ * Implementations write books directly to the given stream as they are read
+ * from the database, so memory use does not depend on the catalog size.
+ */
+public interface BookExportService {
+
+    /**
+     * Writes every book in the library to the output stream, ordered by ID.
+     *
+     * @param format the output format
+     * @param outputStream the destination stream, left open when the export completes
+     * @return the number of exported books
+     * @throws IOException if writing to the stream fails
+     */
+    long exportBooks(ExportFormat format, OutputStream outputStream) throws IOException;
+}
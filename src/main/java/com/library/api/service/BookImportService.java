@@ -0,0 +1,46 @@
+package com.library.api.service;
+
+import com.library.api.dto.ImportJobResponseDto;
+import com.library.api.ingest.ImportFormat;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for streaming bulk imports of books.
+ *
+ * An import is a job: it is created first, then its content is streamed in.
+ * Rows are committed in chunks, so if the upload fails the same content can be
+ * streamed again and the rows of already committed chunks are skipped.
+ */
+public interface BookImportService {
+
+    /**
+     * Creates a pending import job.
+     *
+     * @param format the format of the content that will be uploaded
+     * @return the created job
+     * @throws ImportJobStateException if every retained job is pending or running
+     */
+    ImportJobResponseDto createJob(ImportFormat format);
+
+    /**
+     * Retrieves the current state and progress of an import job.
+     *
+     * @param jobId the job ID
+     * @return the job state
+     * @throws ImportJobNotFoundException if no job exists with the given ID
+     */
+    ImportJobResponseDto getJob(String jobId);
+
+    /**
+     * Streams content into an import job and blocks until it is consumed.
+     * Rows up to the job's committed offset are skipped, which resumes a failed job.
+     *
+     * @param jobId the job ID
+     * @param content the raw content, read incrementally
+     * @return the job state once the content has been consumed or the run failed
+     * @throws ImportJobNotFoundException if no job exists with the given ID
+     * @throws ImportJobStateException if the job is running or already completed
+     */
+    ImportJobResponseDto runJob(String jobId, InputStream content);
+}
@@ -1,7 +1,18 @@
 package com.library.api.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.library.api.dto.BatchCreateResponseDto;
+import com.library.api.dto.BookLookupResponseDto;
 import com.library.api.dto.BookRequestDto;
 import com.library.api.dto.BookResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
+import com.library.api.dto.FuzzyMatchDto;
+import com.library.api.dto.SearchHitDto;
+import com.library.api.dto.SuggestionDto;
+import com.library.api.pagination.BookQuerySortKey;
+import com.library.api.pagination.BookSortKey;
+import com.library.api.query.BookFilter;
+import com.library.api.search.BookSearchField;
 
 import java.util.List;
 
@@ -22,6 +33,33 @@ public interface BookService {
      */
     BookResponseDto createBook(BookRequestDto requestDto);
 
+    /**
+     * Creates many books at once.
+     * ISBNs are checked for duplicates with set-based queries and the accepted books
+     * are inserted in JDBC batches. Invalid or duplicate items are reported
+     * individually and do not prevent the other items from being created. If a
+     * concurrent insert takes one of the ISBNs after the check, the valid items
+     * are retried one transaction each and the losing item is reported as a duplicate.
+     *
+     * @param requestDtos the books to create
+     * @return per-item results in request order and aggregated counts
+     * @throws BatchSizeExceededException if the batch exceeds the configured maximum size
+     */
+    BatchCreateResponseDto createBooks(List<BookRequestDto> requestDtos);
+
+    /**
+     * Creates independently requested books in one transaction.
+     * Used to group-commit concurrent single creates, whose items have already
+     * been validated. An item whose ISBN already exists, or repeats the ISBN
+     * of an earlier item, is skipped.
+     *
+     * @param requestDtos the books to create
+     * @return the created books in request order, with null for skipped items
+     * @throws DuplicateIsbnException if a concurrent writer took one of the ISBNs,
+     *                                in which case none of the books is created
+     */
+    List<BookResponseDto> createBooksSkippingDuplicates(List<BookRequestDto> requestDtos);
+
     /**
      * Retrieves a book by its unique identifier.
      *
@@ -32,11 +70,45 @@ public interface BookService {
     BookResponseDto getBookById(Long id);
 
     /**
-     * Retrieves all books in the library.
+     * Retrieves the current version of a book without loading it.
+     *
+     * @param id the book ID
+     * @return the book's optimistic-locking version
+     * @throws BookNotFoundException if no book exists with the given ID
+     */
+    Long getBookVersion(Long id);
+
+    /**
+     * Retrieves a book by its ISBN.
+     * Repeat lookups are resolved through an in-process ISBN-to-ID cache.
+     *
+     * @param isbn the ISBN
+     * @return the book details
+     * @throws BookNotFoundException if no book exists with the given ISBN
+     */
+    BookResponseDto getBookByIsbn(String isbn);
+
+    /**
+     * Retrieves many books by ID with set-based queries.
+     * Duplicate IDs are returned once, at the position of their first occurrence.
+     *
+     * @param ids the book IDs, in the order the books should be returned
+     * @return the found books in the requested order and the IDs that were not found
+     * @throws BatchSizeExceededException if more IDs are requested than the configured maximum
+     */
+    BookLookupResponseDto getBooksByIds(List<Long> ids);
+
+    /**
+     * Retrieves one page of books using keyset pagination.
+     * The cost of a page does not depend on how deep into the listing it is.
      *
-     * @return list of all books, empty list if no books exist
+     * @param cursor the continuation token of the previous page, or null for the first page
+     * @param size the requested page size, or null for the configured default
+     * @param sortKey the ordering of the listing
+     * @return the requested page and the cursor of the next one
+     * @throws InvalidPageRequestException if the cursor or page size is invalid
      */
-    List<BookResponseDto> getAllBooks();
+    CursorPageResponseDto<BookResponseDto> getBooksPage(String cursor, Integer size, BookSortKey sortKey);
 
     /**
      * Updates an existing book with new information.
@@ -44,11 +116,29 @@ public interface BookService {
      *
      * @param id the ID of the book to update
      * @param requestDto the updated book data
+     * @param expectedVersion the version the change is based on, or null to update unconditionally
      * @return the updated book
      * @throws BookNotFoundException if no book exists with the given ID
+     * @throws BookVersionMismatchException if the book is no longer at the expected version
      * @throws DuplicateIsbnException if the updated ISBN conflicts with another book
      */
-    BookResponseDto updateBook(Long id, BookRequestDto requestDto);
+    BookResponseDto updateBook(Long id, BookRequestDto requestDto, Long expectedVersion);
+
+    /**
+     * Partially updates a book with JSON Merge Patch (RFC 7396) semantics.
+     * Only the fields present in the patch are validated and written; a null
+     * value clears an optional field.
+     *
+     * @param id the ID of the book to patch
+     * @param patch the merge patch document
+     * @param expectedVersion the version the patch is based on, or null to patch unconditionally
+     * @return the patched book details
+     * @throws BookNotFoundException if no book exists with the given ID
+     * @throws BookVersionMismatchException if the book is no longer at the expected version
+     * @throws InvalidPatchException if the patch is malformed or a supplied field is invalid
+     * @throws DuplicateIsbnException if the patched ISBN conflicts with another book
+     */
+    BookResponseDto patchBook(Long id, JsonNode patch, Long expectedVersion);
 
     /**
      * Deletes a book from the library system.
@@ -59,18 +149,82 @@ public interface BookService {
     void deleteBook(Long id);
 
     /**
-     * Searches for books by title keyword.
+     * Searches for books by title keyword, one page at a time.
      *
      * @param title the title keyword (case-insensitive)
-     * @return list of matching books
+     * @param cursor the continuation token of the previous page, or null for the first page
+     * @param size the requested page size, or null for the configured default
+     * @return the requested page of matching books, ordered by ID
+     * @throws InvalidPageRequestException if the cursor or page size is invalid
      */
-    List<BookResponseDto> searchBooksByTitle(String title);
+    CursorPageResponseDto<BookResponseDto> searchBooksByTitlePage(String title, String cursor, Integer size);
 
     /**
-     * Searches for books by author keyword.
+     * Searches for books by author keyword, one page at a time.
      *
      * @param author the author keyword (case-insensitive)
-     * @return list of matching books
+     * @param cursor the continuation token of the previous page, or null for the first page
+     * @param size the requested page size, or null for the configured default
+     * @return the requested page of matching books, ordered by ID
+     * @throws InvalidPageRequestException if the cursor or page size is invalid
+     */
+    CursorPageResponseDto<BookResponseDto> searchBooksByAuthorPage(String author, String cursor, Integer size);
+
+    /**
+     * Searches for books whose title or author matches a query despite typos.
+     * Every query term must be within the allowed edit distance of a term of the
+     * field; the closest books are returned first.
+     *
+     * @param query the query text
+     * @param field the searched field
+     * @param maxEdits the allowed edit distance per query term, or null to allow more edits in longer terms
+     * @param limit the maximum number of results, or null for the configured default page size
+     * @return the matching books with their edit distance, closest first
+     * @throws InvalidSearchRequestException if the query is blank or the edit distance is out of range
+     * @throws InvalidPageRequestException if the limit is invalid
+     * @throws ServiceOverloadedException if the search index has not been loaded yet
+     */
+    List<FuzzyMatchDto> searchBooksFuzzy(String query, BookSearchField field, Integer maxEdits, Integer limit);
+
+    /**
+     * Suggests titles and authors starting with a typed prefix, from memory.
+     * Titles and authors shared by more books are suggested first.
+     *
+     * @param prefix the typed prefix (case-insensitive)
+     * @param limit the maximum number of suggestions, or null for the configured default
+     * @return the suggestions, most common first
+     * @throws InvalidSearchRequestException if the prefix is blank or the limit is not positive
+     * @throws ServiceOverloadedException if the search index has not been loaded yet
+     */
+    List<SuggestionDto> suggestBooks(String prefix, Integer limit);
+
+    /**
+     * Searches titles and descriptions for any of the query terms, one page at a time.
+     * Books are ranked by BM25, so books containing more of the terms, rarer terms
+     * or the terms in their title come first.
+     *
+     * @param query the query text
+     * @param cursor the continuation token of the previous page, or null for the first page
+     * @param size the requested page size, or null for the configured default
+     * @return the requested page of matching books with their scores, most relevant first
+     * @throws InvalidSearchRequestException if the query is blank
+     * @throws InvalidPageRequestException if the cursor or page size is invalid
+     * @throws ServiceOverloadedException if the full-text index has not been loaded yet
+     */
+    CursorPageResponseDto<SearchHitDto> searchBooks(String query, String cursor, Integer size);
+
+    /**
+     * Lists the books matching every given criterion, one page at a time,
+     * with a single database query.
+     *
+     * @param filter the criteria; any of them may be null
+     * @param cursor the continuation token of the previous page, or null for the first page
+     * @param size the requested page size, or null for the configured default
+     * @param sortKey the ordering of the results
+     * @return the requested page of matching books
+     * @throws InvalidSearchRequestException if a name is blank or a range is empty
+     * @throws InvalidPageRequestException if the cursor or page size is invalid
      */
-    List<BookResponseDto> searchBooksByAuthor(String author);
+    CursorPageResponseDto<BookResponseDto> queryBooks(BookFilter filter, String cursor, Integer size,
+                                                      BookQuerySortKey sortKey);
 }
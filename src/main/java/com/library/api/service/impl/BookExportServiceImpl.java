@@ -0,0 +1,150 @@
+package com.library.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.library.api.dto.BookResponseDto;
+import com.library.api.entity.Book;
+import com.library.api.export.ExportFormat;
+import com.library.api.mapper.BookMapper;
+import com.library.api.repository.BookRepository;
+import com.library.api.service.BookExportService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the BookExportService interface.
+ *
+ * Books are read through a forward-only database cursor and written to the
+ * output one at a time. Each entity is detached from the persistence context
+ * once written, so neither the heap nor the first-level cache grow with the
+ * size of the catalog.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class BookExportServiceImpl implements BookExportService {
+
+    private static final String CSV_HEADER = "id,title,author,isbn,publicationDate,price,"
+            + "description,pages,publisher,createdAt,updatedAt";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long exportBooks(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("Starting {} export of the book catalog", format);
+
+        long exported;
+        try (Stream<Book> books = bookRepository.streamAllByOrderByIdAsc()) {
+            exported = switch (format) {
+                case NDJSON -> writeNdjson(books.iterator(), outputStream);
+                case CSV -> writeCsv(books.iterator(), outputStream);
+            };
+        }
+
+        log.info("Finished {} export of {} books", format, exported);
+
+        return exported;
+    }
+
+    /**
+     * Writes books as newline-delimited JSON.
+     *
+     * @param books the books to write
+     * @param outputStream the destination stream
+     * @return the number of written books
+     * @throws IOException if writing fails
+     */
+    private long writeNdjson(Iterator<Book> books, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(BookResponseDto.class);
+        long count = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (books.hasNext()) {
+                Book book = books.next();
+                writer.writeValue(generator, bookMapper.toResponseDto(book));
+                generator.writeRaw('\n');
+                entityManager.detach(book);
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Writes books as CSV with a header row.
+     *
+     * @param books the books to write
+     * @param outputStream the destination stream
+     * @return the number of written books
+     * @throws IOException if writing fails
+     */
+    private long writeCsv(Iterator<Book> books, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long count = 0;
+
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (books.hasNext()) {
+            Book book = books.next();
+            BookResponseDto dto = bookMapper.toResponseDto(book);
+            writer.write(String.join(",",
+                    csvValue(dto.getId()),
+                    csvValue(dto.getTitle()),
+                    csvValue(dto.getAuthor()),
+                    csvValue(dto.getIsbn()),
+                    csvValue(dto.getPublicationDate()),
+                    csvValue(dto.getPrice() == null ? null : dto.getPrice().toPlainString()),
+                    csvValue(dto.getDescription()),
+                    csvValue(dto.getPages()),
+                    csvValue(dto.getPublisher()),
+                    csvValue(dto.getCreatedAt() == null ? null : TIMESTAMP_FORMAT.format(dto.getCreatedAt())),
+                    csvValue(dto.getUpdatedAt() == null ? null : TIMESTAMP_FORMAT.format(dto.getUpdatedAt()))));
+            writer.write("\r\n");
+            entityManager.detach(book);
+            count++;
+        }
+        writer.flush();
+
+        return count;
+    }
+
+    /**
+     * Formats a single CSV field, quoting it when it contains a delimiter,
+     * a quote or a line break.
+     *
+     * @param value the field value, may be null
+     * @return the escaped field
+     */
+    private static String csvValue(Object value) {
+        String text = Objects.toString(value, "");
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
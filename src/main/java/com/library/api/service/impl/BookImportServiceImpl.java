@@ -0,0 +1,236 @@
+package com.library.api.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.api.config.BookBatchProperties;
+import com.library.api.config.BookImportProperties;
+import com.library.api.dto.BatchCreateResponseDto;
+import com.library.api.dto.BatchItemResultDto;
+import com.library.api.dto.BookRequestDto;
+import com.library.api.dto.ImportJobResponseDto;
+import com.library.api.exception.ImportJobNotFoundException;
+import com.library.api.exception.ImportJobStateException;
+import com.library.api.ingest.BookRowReader;
+import com.library.api.ingest.ImportFormat;
+import com.library.api.ingest.ImportJob;
+import com.library.api.ingest.ImportRow;
+import com.library.api.service.BookImportService;
+import com.library.api.service.BookService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the BookImportService interface.
+ *
+ * Content is parsed one row at a time and committed in chunks through
+ * {@link BookService#createBooks(List)}, each chunk in its own transaction.
+ * The next rows are only read once the current chunk has committed, so a
+ * slow database throttles the upload through TCP flow control instead of
+ * buffering it. Jobs are kept in memory, bounded by
+ * {@code library.import.max-retained-jobs}: when full, the oldest finished
+ * job is evicted to make room, and new jobs are refused while every retained
+ * job is still pending or running.
+ */
+@Service
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final BookImportProperties importProperties;
+    private final BookBatchProperties batchProperties;
+    private final Map<String, ImportJob> jobs;
+
+    public BookImportServiceImpl(BookService bookService,
+                                 ObjectMapper objectMapper,
+                                 BookImportProperties importProperties,
+                                 BookBatchProperties batchProperties) {
+        this.bookService = bookService;
+        this.objectMapper = objectMapper;
+        this.importProperties = importProperties;
+        this.batchProperties = batchProperties;
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImportJobResponseDto createJob(ImportFormat format) {
+        ImportJob job = new ImportJob(format, importProperties.getMaxReportedErrors());
+        synchronized (jobs) {
+            if (jobs.size() >= importProperties.getMaxRetainedJobs() && !evictOldestFinishedJob()) {
+                throw ImportJobStateException.tooManyInProgress(importProperties.getMaxRetainedJobs());
+            }
+            jobs.put(job.getId(), job);
+        }
+
+        log.info("Created {} import job with ID: {}", format, job.getId());
+
+        return job.snapshot();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImportJobResponseDto getJob(String jobId) {
+        return findJobOrThrow(jobId).snapshot();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImportJobResponseDto runJob(String jobId, InputStream content) {
+        ImportJob job = findJobOrThrow(jobId);
+        if (!job.start()) {
+            throw ImportJobStateException.notRunnable(jobId, job.getStatus());
+        }
+
+        long resumeAfter = job.getCommittedRows();
+        int chunkSize = Math.max(1, Math.min(importProperties.getChunkSize(), batchProperties.getMaxItems()));
+
+        log.info("Running import job {} from row {} in chunks of {}", jobId, resumeAfter + 1, chunkSize);
+
+        try (BookRowReader reader = BookRowReader.open(
+                job.getFormat(), content, objectMapper, importProperties.getMaxRecordLength())) {
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                if (row.rowNumber() <= resumeAfter) {
+                    continue;
+                }
+                job.rowRead(row.rowNumber());
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    commitChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(job, chunk);
+            }
+            job.complete();
+
+            log.info("Import job {} completed", jobId);
+        } catch (IOException | RuntimeException ex) {
+            log.error("Import job {} failed after {} committed rows", jobId, job.getCommittedRows(), ex);
+            job.fail(ex.getMessage());
+        }
+
+        return job.snapshot();
+    }
+
+    /**
+     * Removes the oldest completed or failed job. Pending and running jobs are
+     * never evicted, since their clients are about to upload or still uploading.
+     * Must be called while holding the lock on {@code jobs}.
+     *
+     * @return true if a job was evicted, false if every retained job is pending or running
+     */
+    private boolean evictOldestFinishedJob() {
+        Iterator<ImportJob> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            ImportJob job = iterator.next();
+            if (job.isFinished()) {
+                iterator.remove();
+                log.debug("Evicted {} import job {}", job.getStatus(), job.getId());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the books of a chunk in one transaction and records the outcome on the job.
+     *
+     * @param job the running job
+     * @param chunk the rows of the chunk, in input order
+     */
+    private void commitChunk(ImportJob job, List<ImportRow> chunk) {
+        List<ImportJobResponseDto.RowError> rejected = new ArrayList<>();
+        List<BookRequestDto> books = new ArrayList<>(chunk.size());
+        List<ImportRow> bookRows = new ArrayList<>(chunk.size());
+
+        for (ImportRow row : chunk) {
+            if (row.book() == null) {
+                rejected.add(rowError(row, BatchItemResultDto.Status.VALIDATION_ERROR, row.error()));
+            } else {
+                books.add(row.book());
+                bookRows.add(row);
+            }
+        }
+
+        long created = 0;
+        long duplicates = 0;
+        if (!books.isEmpty()) {
+            BatchCreateResponseDto response = bookService.createBooks(books);
+            created = response.getCreated();
+            duplicates = response.getDuplicates();
+            for (BatchItemResultDto result : response.getResults()) {
+                if (result.getStatus() != BatchItemResultDto.Status.CREATED) {
+                    rejected.add(rowError(bookRows.get(result.getIndex()), result.getStatus(), describe(result)));
+                }
+            }
+        }
+
+        job.chunkCommitted(chunk.get(chunk.size() - 1).rowNumber(), created, duplicates, rejected);
+    }
+
+    /**
+     * Describes why a batch item was rejected, listing field errors when there are any.
+     *
+     * @param result the batch item result
+     * @return the rejection reason
+     */
+    private String describe(BatchItemResultDto result) {
+        if (result.getValidationErrors() == null) {
+            return result.getMessage();
+        }
+        return result.getValidationErrors().stream()
+                .map(error -> error.getField() + ": " + error.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Builds the error details of a rejected row.
+     *
+     * @param row the rejected row
+     * @param status the outcome of the row
+     * @param message the rejection reason
+     * @return the row error
+     */
+    private ImportJobResponseDto.RowError rowError(ImportRow row, BatchItemResultDto.Status status, String message) {
+        return ImportJobResponseDto.RowError.builder()
+                .row(row.rowNumber())
+                .isbn(row.book() == null ? null : row.book().getIsbn())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Finds an import job by ID or throws ImportJobNotFoundException.
+     *
+     * @param jobId the job ID
+     * @return the found job
+     * @throws ImportJobNotFoundException if the job is not known
+     */
+    private ImportJob findJobOrThrow(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw ImportJobNotFoundException.forId(jobId);
+        }
+        return job;
+    }
+}
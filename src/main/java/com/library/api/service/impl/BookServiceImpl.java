@@ -1,19 +1,76 @@
 package com.library.api.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.api.cache.BookCache;
+import com.library.api.cache.BookIsbnCache;
+import com.library.api.cache.CachedBook;
+import com.library.api.config.BookBatchProperties;
+import com.library.api.config.BookCacheProperties;
+import com.library.api.config.BookSearchProperties;
+import com.library.api.config.PaginationProperties;
+import com.library.api.dto.BatchCreateResponseDto;
+import com.library.api.dto.BatchItemResultDto;
+import com.library.api.dto.BookLookupResponseDto;
 import com.library.api.dto.BookRequestDto;
 import com.library.api.dto.BookResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
+import com.library.api.dto.ErrorResponseDto;
+import com.library.api.dto.FuzzyMatchDto;
+import com.library.api.dto.SearchHitDto;
+import com.library.api.dto.SuggestionDto;
 import com.library.api.entity.Book;
+import com.library.api.exception.BatchSizeExceededException;
 import com.library.api.exception.BookNotFoundException;
+import com.library.api.exception.BookVersionMismatchException;
 import com.library.api.exception.DuplicateIsbnException;
+import com.library.api.exception.InvalidPageRequestException;
+import com.library.api.exception.InvalidPatchException;
+import com.library.api.exception.InvalidSearchRequestException;
+import com.library.api.exception.ServiceOverloadedException;
 import com.library.api.mapper.BookMapper;
+import com.library.api.membership.BookMembership;
+import com.library.api.pagination.BookCursor;
+import com.library.api.pagination.BookQueryCursor;
+import com.library.api.pagination.BookQuerySortKey;
+import com.library.api.pagination.BookSortKey;
+import com.library.api.pagination.SearchHitCursor;
+import com.library.api.query.BookFilter;
+import com.library.api.query.BookSpecifications;
 import com.library.api.repository.BookRepository;
+import com.library.api.search.BookFullTextIndex;
+import com.library.api.search.BookSearchField;
+import com.library.api.search.BookSearchIndex;
+import com.library.api.search.FuzzyMatch;
+import com.library.api.search.ScoredMatch;
 import com.library.api.service.BookService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the BookService interface.
@@ -28,8 +85,22 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class BookServiceImpl implements BookService {
 
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
+    private final PaginationProperties paginationProperties;
+    private final BookBatchProperties batchProperties;
+    private final Validator validator;
+    private final BookCache bookCache;
+    private final BookIsbnCache isbnCache;
+    private final BookCacheProperties cacheProperties;
+    private final BookMembership membership;
+    private final BookSearchIndex searchIndex;
+    private final BookSearchProperties searchProperties;
+    private final BookFullTextIndex fullTextIndex;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * {@inheritDoc}
@@ -39,10 +110,11 @@ public class BookServiceImpl implements BookService {
     public BookResponseDto createBook(BookRequestDto requestDto) {
         log.debug("Creating new book with ISBN: {}", requestDto.getIsbn());
 
-        validateIsbnDoesNotExist(requestDto.getIsbn());
-
         Book book = bookMapper.toEntity(requestDto);
-        Book savedBook = bookRepository.save(book);
+        Book savedBook = saveAndFlushUniqueIsbn(book);
+        membership.recordBook(savedBook.getId(), savedBook.getIsbn());
+        searchIndex.recordBook(savedBook);
+        fullTextIndex.recordBook(savedBook);
 
         log.info("Successfully created book with ID: {} and ISBN: {}",
                 savedBook.getId(), savedBook.getIsbn());
@@ -50,6 +122,139 @@ public class BookServiceImpl implements BookService {
         return bookMapper.toResponseDto(savedBook);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchCreateResponseDto createBooks(List<BookRequestDto> requestDtos) {
+        if (requestDtos.size() > batchProperties.getMaxItems()) {
+            throw BatchSizeExceededException.forSize(requestDtos.size(), batchProperties.getMaxItems());
+        }
+
+        log.debug("Creating batch of {} books", requestDtos.size());
+
+        BatchItemResultDto[] results = new BatchItemResultDto[requestDtos.size()];
+
+        // First valid occurrence of each ISBN, in request order
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int index = 0; index < requestDtos.size(); index++) {
+            BookRequestDto requestDto = requestDtos.get(index);
+            Set<ConstraintViolation<BookRequestDto>> violations =
+                    requestDto == null ? Set.of() : validator.validate(requestDto);
+
+            if (requestDto == null || !violations.isEmpty()) {
+                results[index] = invalidItem(index, requestDto, violations);
+            } else if (candidates.putIfAbsent(requestDto.getIsbn(), index) != null) {
+                results[index] = duplicateItem(index, requestDto.getIsbn());
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertCandidates(requestDtos, candidates, results));
+        } catch (DuplicateIsbnException e) {
+            // A concurrent insert took one of the ISBNs after the lookup; the batch
+            // was rolled back, so create the undecided items one transaction each
+            log.debug("Batch of {} books hit a concurrent ISBN conflict, retrying one by one", candidates.size());
+            candidates.forEach((isbn, index) -> {
+                if (results[index] == null) {
+                    results[index] = insertCandidate(index, requestDtos.get(index));
+                }
+            });
+        }
+
+        BatchCreateResponseDto response = summarize(Arrays.asList(results));
+
+        log.info("Batch create finished: {} created, {} duplicates, {} invalid",
+                response.getCreated(), response.getDuplicates(), response.getInvalid());
+
+        return response;
+    }
+
+    /**
+     * Inserts the candidates of a batch whose ISBNs are not taken yet, in the
+     * current transaction, and records the outcome of each of them.
+     *
+     * @param requestDtos the batch
+     * @param candidates the first valid occurrence of each ISBN, by ISBN
+     * @param results the per-item results, filled in for every candidate
+     * @throws DuplicateIsbnException if a concurrent insert took one of the ISBNs
+     */
+    private void insertCandidates(List<BookRequestDto> requestDtos, Map<String, Integer> candidates,
+                                  BatchItemResultDto[] results) {
+        Set<String> existingIsbns = findExistingIsbns(candidates.keySet());
+
+        List<Book> books = new ArrayList<>(candidates.size());
+        List<Integer> bookIndexes = new ArrayList<>(candidates.size());
+        candidates.forEach((isbn, index) -> {
+            if (existingIsbns.contains(isbn)) {
+                results[index] = duplicateItem(index, isbn);
+            } else {
+                books.add(bookMapper.toEntity(requestDtos.get(index)));
+                bookIndexes.add(index);
+            }
+        });
+
+        List<Book> savedBooks = saveAllAndFlushUniqueIsbns(books);
+        for (int i = 0; i < savedBooks.size(); i++) {
+            results[bookIndexes.get(i)] = createdItem(bookIndexes.get(i), savedBooks.get(i));
+        }
+    }
+
+    /**
+     * Inserts a single candidate of a batch in its own transaction.
+     *
+     * @param index the position of the item in the request
+     * @param requestDto the item
+     * @return the item result, a duplicate if the ISBN is already taken
+     */
+    private BatchItemResultDto insertCandidate(int index, BookRequestDto requestDto) {
+        try {
+            return transactionTemplate.execute(status ->
+                    createdItem(index, saveAndFlushUniqueIsbn(bookMapper.toEntity(requestDto))));
+        } catch (DuplicateIsbnException e) {
+            return duplicateItem(index, requestDto.getIsbn());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public List<BookResponseDto> createBooksSkippingDuplicates(List<BookRequestDto> requestDtos) {
+        log.debug("Group-committing {} books", requestDtos.size());
+
+        Set<String> existingIsbns = findExistingIsbns(requestDtos.stream()
+                .map(BookRequestDto::getIsbn)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+
+        Set<String> acceptedIsbns = new HashSet<>();
+        List<Book> books = new ArrayList<>(requestDtos.size());
+        List<Integer> bookIndexes = new ArrayList<>(requestDtos.size());
+        for (int index = 0; index < requestDtos.size(); index++) {
+            BookRequestDto requestDto = requestDtos.get(index);
+            if (!existingIsbns.contains(requestDto.getIsbn()) && acceptedIsbns.add(requestDto.getIsbn())) {
+                books.add(bookMapper.toEntity(requestDto));
+                bookIndexes.add(index);
+            }
+        }
+
+        List<Book> savedBooks = saveAllAndFlushUniqueIsbns(books);
+        BookResponseDto[] results = new BookResponseDto[requestDtos.size()];
+        for (int i = 0; i < savedBooks.size(); i++) {
+            Book savedBook = savedBooks.get(i);
+            membership.recordBook(savedBook.getId(), savedBook.getIsbn());
+            searchIndex.recordBook(savedBook);
+            fullTextIndex.recordBook(savedBook);
+            results[bookIndexes.get(i)] = bookMapper.toResponseDto(savedBook);
+        }
+
+        log.info("Group commit finished: {} of {} books created", savedBooks.size(), requestDtos.size());
+
+        return Arrays.asList(results);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -57,23 +262,120 @@ public class BookServiceImpl implements BookService {
     public BookResponseDto getBookById(Long id) {
         log.debug("Retrieving book with ID: {}", id);
 
-        Book book = findBookByIdOrThrow(id);
+        BookResponseDto cached = findCurrentCachedBook(id);
+        if (cached != null) {
+            return cached;
+        }
 
-        return bookMapper.toResponseDto(book);
+        return toCachedResponseDto(findBookByIdOrThrow(id));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<BookResponseDto> getAllBooks() {
-        log.debug("Retrieving all books");
+    public BookResponseDto getBookByIsbn(String isbn) {
+        log.debug("Retrieving book with ISBN: {}", isbn);
 
-        List<Book> books = bookRepository.findAll();
+        if (membership.isbnDefinitelyAbsent(isbn)) {
+            throw BookNotFoundException.forIsbn(isbn);
+        }
 
-        log.debug("Found {} books", books.size());
+        Long cachedId = isbnCache.get(isbn);
+        if (cachedId != null) {
+            BookResponseDto cached = findCurrentCachedBook(cachedId);
+            if (cached != null && isbn.equals(cached.getIsbn())) {
+                return cached;
+            }
+            isbnCache.evict(isbn);
+        }
 
-        return bookMapper.toResponseDtoList(books);
+        Book book = bookRepository.findByIsbn(isbn)
+                .orElseThrow(() -> BookNotFoundException.forIsbn(isbn));
+        isbnCache.put(isbn, book.getId());
+
+        return toCachedResponseDto(book);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getBookVersion(Long id) {
+        if (membership.idDefinitelyAbsent(id)) {
+            throw BookNotFoundException.forId(id);
+        }
+        return bookRepository.findVersionById(id)
+                .orElseThrow(() -> BookNotFoundException.forId(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookLookupResponseDto getBooksByIds(List<Long> ids) {
+        Set<Long> requestedIds = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (requestedIds.size() > batchProperties.getMaxItems()) {
+            throw BatchSizeExceededException.forSize(requestedIds.size(), batchProperties.getMaxItems());
+        }
+
+        log.debug("Retrieving {} books by ID", requestedIds.size());
+
+        Map<Long, Book> booksById = new HashMap<>();
+        List<Long> pending = requestedIds.stream()
+                .filter(id -> !membership.idDefinitelyAbsent(id))
+                .toList();
+        int chunkSize = batchProperties.getLookupChunkSize();
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Long> chunk = pending.subList(from, Math.min(pending.size(), from + chunkSize));
+            bookRepository.findAllById(chunk).forEach(book -> booksById.put(book.getId(), book));
+        }
+
+        List<Book> books = new ArrayList<>(booksById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Book book = booksById.get(id);
+            if (book != null) {
+                books.add(book);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        log.debug("Found {} of {} requested books", books.size(), requestedIds.size());
+
+        return BookLookupResponseDto.builder()
+                .books(bookMapper.toResponseDtoList(books))
+                .missingIds(missingIds)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> getBooksPage(String cursor, Integer size, BookSortKey sortKey) {
+        int pageSize = resolvePageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        log.debug("Retrieving page of {} books sorted by {}", pageSize, sortKey);
+
+        List<Book> books;
+        if (cursor == null) {
+            books = sortKey == BookSortKey.TITLE
+                    ? bookRepository.findAllByOrderByTitleAscIdAsc(limit)
+                    : bookRepository.findByIdGreaterThanOrderByIdAsc(0L, limit);
+        } else {
+            BookCursor position = BookCursor.decode(cursor, sortKey);
+            books = sortKey == BookSortKey.TITLE
+                    ? bookRepository.findPageAfterTitle(position.title(), position.id(), limit)
+                    : bookRepository.findByIdGreaterThanOrderByIdAsc(position.id(), limit);
+        }
+
+        return toPage(books, pageSize, sortKey);
     }
 
     /**
@@ -81,24 +383,88 @@ public class BookServiceImpl implements BookService {
      */
     @Override
     @Transactional
-    public BookResponseDto updateBook(Long id, BookRequestDto requestDto) {
+    public BookResponseDto updateBook(Long id, BookRequestDto requestDto, Long expectedVersion) {
         log.debug("Updating book with ID: {}", id);
 
         Book existingBook = findBookByIdOrThrow(id);
+        checkExpectedVersion(existingBook, expectedVersion);
 
-        // Check ISBN uniqueness if it's being changed
-        if (!existingBook.getIsbn().equals(requestDto.getIsbn())) {
-            validateIsbnDoesNotExistForUpdate(requestDto.getIsbn(), id);
-        }
-
+        String previousIsbn = existingBook.getIsbn();
         bookMapper.updateEntityFromDto(requestDto, existingBook);
-        Book updatedBook = bookRepository.save(existingBook);
+        Book updatedBook = saveAndFlushUniqueIsbn(existingBook);
+        bookCache.evict(id);
+        if (!previousIsbn.equals(updatedBook.getIsbn())) {
+            isbnCache.evict(previousIsbn);
+            membership.recordBook(id, updatedBook.getIsbn());
+        }
+        searchIndex.recordBook(updatedBook);
+        fullTextIndex.recordBook(updatedBook);
 
         log.info("Successfully updated book with ID: {}", id);
 
         return bookMapper.toResponseDto(updatedBook);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public BookResponseDto patchBook(Long id, JsonNode patch, Long expectedVersion) {
+        if (!patch.isObject()) {
+            throw InvalidPatchException.notAnObject();
+        }
+
+        Set<String> fields = new LinkedHashSet<>();
+        patch.fieldNames().forEachRemaining(fields::add);
+
+        log.debug("Patching fields {} of book with ID: {}", fields, id);
+
+        List<String> unknownFields = fields.stream()
+                .filter(field -> !BookMapper.PATCHABLE_FIELDS.contains(field))
+                .toList();
+        if (!unknownFields.isEmpty()) {
+            throw InvalidPatchException.unknownFields(unknownFields);
+        }
+
+        BookRequestDto changes;
+        try {
+            changes = objectMapper.treeToValue(patch, BookRequestDto.class);
+        } catch (JsonProcessingException e) {
+            throw InvalidPatchException.unreadable(e.getOriginalMessage());
+        }
+
+        List<ErrorResponseDto.ValidationError> validationErrors = fields.stream()
+                .flatMap(field -> validator.validateProperty(changes, field).stream())
+                .map(violation -> ErrorResponseDto.ValidationError.builder()
+                        .field(violation.getPropertyPath().toString())
+                        .rejectedValue(violation.getInvalidValue())
+                        .message(violation.getMessage())
+                        .build())
+                .toList();
+        if (!validationErrors.isEmpty()) {
+            throw InvalidPatchException.invalidFields(validationErrors);
+        }
+
+        Book existingBook = findBookByIdOrThrow(id);
+        checkExpectedVersion(existingBook, expectedVersion);
+
+        String previousIsbn = existingBook.getIsbn();
+        bookMapper.patchEntity(changes, fields, existingBook);
+        Book patchedBook = saveAndFlushUniqueIsbn(existingBook);
+        bookCache.evict(id);
+        if (!previousIsbn.equals(patchedBook.getIsbn())) {
+            isbnCache.evict(previousIsbn);
+            membership.recordBook(id, patchedBook.getIsbn());
+        }
+        searchIndex.recordBook(patchedBook);
+        fullTextIndex.recordBook(patchedBook);
+
+        log.info("Successfully patched book with ID: {}", id);
+
+        return bookMapper.toResponseDto(patchedBook);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -107,8 +473,14 @@ public class BookServiceImpl implements BookService {
     public void deleteBook(Long id) {
         log.debug("Deleting book with ID: {}", id);
 
-        Book book = findBookByIdOrThrow(id);
-        bookRepository.delete(book);
+        if (membership.idDefinitelyAbsent(id) || bookRepository.deleteBookById(id) == 0) {
+            throw BookNotFoundException.forId(id);
+        }
+        // The ISBN mapping is left in place: it no longer resolves to a cached book and is dropped on next use
+        bookCache.evict(id);
+        membership.recordDeletion(id);
+        searchIndex.recordDeletion(id);
+        fullTextIndex.recordDeletion(id);
 
         log.info("Successfully deleted book with ID: {}", id);
     }
@@ -117,66 +489,520 @@ public class BookServiceImpl implements BookService {
      * {@inheritDoc}
      */
     @Override
-    public List<BookResponseDto> searchBooksByTitle(String title) {
-        log.debug("Searching books by title: {}", title);
+    public CursorPageResponseDto<BookResponseDto> searchBooksByTitlePage(String title, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+
+        log.debug("Searching page of {} books by title: {}", pageSize, title);
+
+        List<Book> books = searchIndex.canSearch(title)
+                ? findIndexedMatches(title, afterId(cursor), pageSize + 1, searchIndex::searchTitles, Book::getTitle)
+                : bookRepository.searchByTitleAfterId(title, afterId(cursor), Limit.of(pageSize + 1));
+
+        return toPage(books, pageSize, BookSortKey.ID);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> searchBooksByAuthorPage(String author, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+
+        log.debug("Searching page of {} books by author: {}", pageSize, author);
+
+        List<Book> books = searchIndex.canSearch(author)
+                ? findIndexedMatches(author, afterId(cursor), pageSize + 1, searchIndex::searchAuthors, Book::getAuthor)
+                : bookRepository.searchByAuthorAfterId(author, afterId(cursor), Limit.of(pageSize + 1));
+
+        return toPage(books, pageSize, BookSortKey.ID);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FuzzyMatchDto> searchBooksFuzzy(String query, BookSearchField field, Integer maxEdits, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchRequestException("Query must not be blank");
+        }
+        if (maxEdits != null && (maxEdits < 0 || maxEdits > BookSearchIndex.MAX_EDITS)) {
+            throw new InvalidSearchRequestException(
+                    "maxEdits must be between 0 and " + BookSearchIndex.MAX_EDITS);
+        }
+        int resultLimit = resolvePageSize(limit);
+        // Without the index the only alternative would be computing a distance to every row
+        if (!searchIndex.isReady()) {
+            throw ServiceOverloadedException.searchIndexUnavailable(searchProperties.getUnavailableRetryAfter());
+        }
+
+        log.debug("Fuzzy searching up to {} books by {}: {}", resultLimit, field.getParameterValue(), query);
+
+        List<FuzzyMatch> matches = searchIndex.searchFuzzy(query, field, maxEdits, resultLimit);
+        Map<Long, Book> booksById = new HashMap<>();
+        bookRepository.findAllById(matches.stream().map(FuzzyMatch::id).toList())
+                .forEach(book -> booksById.put(book.getId(), book));
+
+        // A book deleted since it was matched is dropped rather than reported
+        List<FuzzyMatchDto> results = new ArrayList<>(matches.size());
+        for (FuzzyMatch match : matches) {
+            Book book = booksById.get(match.id());
+            if (book != null) {
+                results.add(new FuzzyMatchDto(bookMapper.toResponseDto(book), match.distance()));
+            }
+        }
+
+        log.debug("Found {} books close to {}: {}", results.size(), field.getParameterValue(), query);
+
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SuggestionDto> suggestBooks(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidSearchRequestException("Prefix must not be blank");
+        }
+        if (limit != null && limit < 1) {
+            throw new InvalidSearchRequestException("Limit must be at least 1");
+        }
+        int resultLimit = Math.min(limit == null ? searchProperties.getDefaultSuggestions() : limit,
+                searchProperties.getMaxSuggestions());
+        if (!searchIndex.isReady()) {
+            throw ServiceOverloadedException.searchIndexUnavailable(searchProperties.getUnavailableRetryAfter());
+        }
 
-        List<Book> books = bookRepository.searchByTitle(title);
+        return searchIndex.suggest(prefix, resultLimit).stream()
+                .map(suggestion -> new SuggestionDto(suggestion.text(),
+                        suggestion.field().getParameterValue(), suggestion.weight()))
+                .toList();
+    }
 
-        log.debug("Found {} books matching title: {}", books.size(), title);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<SearchHitDto> searchBooks(String query, String cursor, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchRequestException("Query must not be blank");
+        }
+        int pageSize = resolvePageSize(size);
+        ScoredMatch after = cursor == null ? null : SearchHitCursor.decode(cursor).toMatch();
+        // Ranking needs statistics over every description, which no database index provides
+        if (!fullTextIndex.isReady()) {
+            throw ServiceOverloadedException.searchIndexUnavailable(searchProperties.getUnavailableRetryAfter());
+        }
 
-        return bookMapper.toResponseDtoList(books);
+        log.debug("Full-text searching page of {} books: {}", pageSize, query);
+
+        List<ScoredMatch> matches = fullTextIndex.search(query, after, pageSize + 1);
+        boolean hasNext = matches.size() > pageSize;
+        List<ScoredMatch> pageMatches = hasNext ? matches.subList(0, pageSize) : matches;
+        Map<Long, Book> booksById = new HashMap<>();
+        bookRepository.findAllById(pageMatches.stream().map(ScoredMatch::id).toList())
+                .forEach(book -> booksById.put(book.getId(), book));
+
+        // A book deleted since it was matched is dropped; the cursor still follows the last match
+        List<SearchHitDto> hits = new ArrayList<>(pageMatches.size());
+        for (ScoredMatch match : pageMatches) {
+            Book book = booksById.get(match.id());
+            if (book != null) {
+                hits.add(new SearchHitDto(bookMapper.toResponseDto(book), match.score()));
+            }
+        }
+        String nextCursor = hasNext
+                ? SearchHitCursor.after(pageMatches.get(pageMatches.size() - 1)).encode()
+                : null;
+
+        return CursorPageResponseDto.<SearchHitDto>builder()
+                .content(hits)
+                .size(hits.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<BookResponseDto> searchBooksByAuthor(String author) {
-        log.debug("Searching books by author: {}", author);
+    public CursorPageResponseDto<BookResponseDto> queryBooks(BookFilter filter, String cursor, Integer size,
+                                                             BookQuerySortKey sortKey) {
+        validateFilter(filter);
+        int pageSize = resolvePageSize(size);
+        BookQueryCursor after = cursor == null ? null : BookQueryCursor.decode(cursor, sortKey);
+
+        log.debug("Querying page of {} books sorted by {} matching {}", pageSize, sortKey, filter);
+
+        List<Book> books = bookRepository.findBy(BookSpecifications.matching(filter, after),
+                query -> query.sortBy(BookSpecifications.orderBy(sortKey)).limit(pageSize + 1).all());
+
+        return toPage(books, pageSize, last -> BookQueryCursor.after(sortKey, last).encode());
+    }
+
+    /**
+     * Finds books whose field contains the keyword through the search index.
+     * Candidates are loaded by ID in chunks and re-checked against the loaded row,
+     * since the index can lag behind writes; rejected candidates are replaced by
+     * asking the index for more.
+     *
+     * @param keyword the search keyword
+     * @param afterId only books with a greater ID are returned
+     * @param limit the maximum number of books to return
+     * @param search the index lookup for the field
+     * @param field the searched field
+     * @return the matching books in ascending ID order
+     */
+    private List<Book> findIndexedMatches(String keyword, long afterId, int limit,
+                                          IndexSearch search, Function<Book, String> field) {
+        int chunkSize = batchProperties.getLookupChunkSize();
+        List<Book> matches = new ArrayList<>();
+        long position = afterId;
+
+        while (matches.size() < limit) {
+            int wanted = Math.min(limit - matches.size(), chunkSize);
+            List<Long> candidateIds = search.find(keyword, position, wanted);
+            if (candidateIds.isEmpty()) {
+                break;
+            }
+            bookRepository.findAllById(candidateIds).stream()
+                    .filter(book -> BookSearchIndex.containsKeyword(field.apply(book), keyword))
+                    .sorted(Comparator.comparing(Book::getId))
+                    .forEach(matches::add);
+            if (candidateIds.size() < wanted) {
+                break;
+            }
+            position = candidateIds.get(candidateIds.size() - 1);
+        }
+
+        return matches;
+    }
+
+    /**
+     * Lookup of candidate book IDs in one field of the search index.
+     */
+    @FunctionalInterface
+    private interface IndexSearch {
+        List<Long> find(String keyword, long afterId, int limit);
+    }
 
-        List<Book> books = bookRepository.searchByAuthor(author);
+    /**
+     * Returns the cached representation of a book if it is still current.
+     * When version validation is enabled this costs one version-only query;
+     * entries for books that were modified or deleted are evicted.
+     *
+     * @param id the book ID
+     * @return the cached book, or null if it must be loaded from the database
+     */
+    private BookResponseDto findCurrentCachedBook(Long id) {
+        CachedBook cached = bookCache.get(id);
+        if (cached == null) {
+            return null;
+        }
+        if (!cacheProperties.isValidateVersion()) {
+            return cached.book();
+        }
 
-        log.debug("Found {} books matching author: {}", books.size(), author);
+        Optional<Long> currentVersion = bookRepository.findVersionById(id);
+        if (currentVersion.isEmpty()) {
+            bookCache.evict(id);
+            return null;
+        }
 
-        return bookMapper.toResponseDtoList(books);
+        return bookCache.isCurrent(id, cached, currentVersion.get()) ? cached.book() : null;
+    }
+
+    /**
+     * Maps a freshly loaded book and caches the result at the book's version.
+     *
+     * @param book the loaded book
+     * @return the response representation
+     */
+    private BookResponseDto toCachedResponseDto(Book book) {
+        BookResponseDto responseDto = bookMapper.toResponseDto(book);
+        bookCache.put(book.getId(), book.getVersion(), responseDto);
+        return responseDto;
     }
 
     /**
      * Finds a book by ID or throws BookNotFoundException.
+     * IDs the membership bitmap reports as absent are rejected without a query.
      *
      * @param id the book ID
      * @return the found book
      * @throws BookNotFoundException if book not found
      */
     private Book findBookByIdOrThrow(Long id) {
+        if (membership.idDefinitelyAbsent(id)) {
+            throw BookNotFoundException.forId(id);
+        }
         return bookRepository.findById(id)
                 .orElseThrow(() -> BookNotFoundException.forId(id));
     }
 
     /**
-     * Validates that no book exists with the given ISBN.
+     * Rejects a modification based on a version of the book other than the loaded one.
+     * The flushed UPDATE is itself conditional on the loaded version, which covers
+     * writes committed between this check and the flush.
      *
-     * @param isbn the ISBN to validate
-     * @throws DuplicateIsbnException if a book with the ISBN already exists
+     * @param book the loaded book
+     * @param expectedVersion the version the client based its change on, or null
+     * @throws BookVersionMismatchException if the versions differ
      */
-    private void validateIsbnDoesNotExist(String isbn) {
-        if (bookRepository.existsByIsbn(isbn)) {
-            log.warn("Attempt to create book with duplicate ISBN: {}", isbn);
-            throw DuplicateIsbnException.forIsbn(isbn);
+    private void checkExpectedVersion(Book book, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            throw BookVersionMismatchException.forVersion(book.getId(), expectedVersion, book.getVersion());
         }
     }
 
     /**
-     * Validates that no other book exists with the given ISBN (for updates).
+     * Saves a book and flushes the resulting INSERT or versioned UPDATE right away,
+     * so that a conflict on the unique ISBN index surfaces here rather than at commit.
      *
-     * @param isbn the ISBN to validate
-     * @param currentBookId the ID of the book being updated
-     * @throws DuplicateIsbnException if another book with the ISBN exists
+     * @param book the new or modified book
+     * @return the saved book
+     * @throws DuplicateIsbnException if another book already has the ISBN
      */
-    private void validateIsbnDoesNotExistForUpdate(String isbn, Long currentBookId) {
-        if (bookRepository.existsByIsbnAndIdNot(isbn, currentBookId)) {
-            log.warn("Attempt to update book with duplicate ISBN: {}", isbn);
-            throw DuplicateIsbnException.forIsbn(isbn);
+    private Book saveAndFlushUniqueIsbn(Book book) {
+        try {
+            Book savedBook = bookRepository.save(book);
+            bookRepository.flush();
+            return savedBook;
+        } catch (DataIntegrityViolationException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            log.warn("Attempt to save book with duplicate ISBN: {}", book.getIsbn());
+            throw DuplicateIsbnException.forIsbn(book.getIsbn());
         }
     }
+
+    /**
+     * Inserts books and flushes, translating a unique violation into a
+     * DuplicateIsbnException for the whole batch.
+     *
+     * @param books the books to insert
+     * @return the saved books, in the given order
+     * @throws DuplicateIsbnException if one of the ISBNs is already taken
+     */
+    private List<Book> saveAllAndFlushUniqueIsbns(List<Book> books) {
+        try {
+            List<Book> savedBooks = bookRepository.saveAll(books);
+            bookRepository.flush();
+            return savedBooks;
+        } catch (DataIntegrityViolationException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            log.warn("Batch of {} books hit an existing ISBN", books.size());
+            throw DuplicateIsbnException.forBatch();
+        }
+    }
+
+    /**
+     * Returns whether a data integrity violation was caused by a unique constraint.
+     * ISBN is the only unique column of the books table besides the generated ID.
+     *
+     * @param e the translated exception
+     * @return true if the database reported a unique violation
+     */
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolves the effective page size, applying the configured default and upper bound.
+     *
+     * @param size the requested page size, may be null
+     * @return the page size to use
+     * @throws InvalidPageRequestException if the requested size is not positive
+     */
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return paginationProperties.getDefaultPageSize();
+        }
+        if (size < 1) {
+            throw new InvalidPageRequestException("Page size must be at least 1");
+        }
+        return Math.min(size, paginationProperties.getMaxPageSize());
+    }
+
+    /**
+     * Extracts the last seen ID from an ID-ordered cursor.
+     *
+     * @param cursor the continuation token, may be null
+     * @return the ID to seek after, 0 for the first page
+     */
+    private Long afterId(String cursor) {
+        return cursor == null ? 0L : BookCursor.decode(cursor, BookSortKey.ID).id();
+    }
+
+    /**
+     * Rejects filters that can never match, so they are not sent to the database.
+     *
+     * @param filter the query criteria
+     * @throws InvalidSearchRequestException if a name is blank or a range is empty
+     */
+    private void validateFilter(BookFilter filter) {
+        if (filter.author() != null && filter.author().isBlank()) {
+            throw new InvalidSearchRequestException("Author must not be blank");
+        }
+        if (filter.publisher() != null && filter.publisher().isBlank()) {
+            throw new InvalidSearchRequestException("Publisher must not be blank");
+        }
+        if (filter.minPrice() != null && filter.maxPrice() != null
+                && filter.minPrice().compareTo(filter.maxPrice()) > 0) {
+            throw new InvalidSearchRequestException("minPrice must not be greater than maxPrice");
+        }
+        if (filter.publishedFrom() != null && filter.publishedTo() != null
+                && filter.publishedFrom().isAfter(filter.publishedTo())) {
+            throw new InvalidSearchRequestException("publishedFrom must not be after publishedTo");
+        }
+    }
+
+    /**
+     * Builds a page from rows fetched with one extra look-ahead row.
+     *
+     * @param books the fetched rows, at most {@code pageSize + 1}
+     * @param pageSize the page size
+     * @param sortKey the ordering used to fetch the rows
+     * @return the page with its continuation cursor
+     */
+    private CursorPageResponseDto<BookResponseDto> toPage(List<Book> books, int pageSize, BookSortKey sortKey) {
+        return toPage(books, pageSize, last -> BookCursor.after(sortKey, last).encode());
+    }
+
+    /**
+     * Builds a page from rows fetched with one extra look-ahead row.
+     *
+     * @param books the fetched rows, at most {@code pageSize + 1}
+     * @param pageSize the page size
+     * @param cursorAfter encodes the continuation token following a book
+     * @return the page with its continuation cursor
+     */
+    private CursorPageResponseDto<BookResponseDto> toPage(List<Book> books, int pageSize,
+                                                          Function<Book, String> cursorAfter) {
+        boolean hasNext = books.size() > pageSize;
+        List<Book> pageBooks = hasNext ? books.subList(0, pageSize) : books;
+        String nextCursor = hasNext ? cursorAfter.apply(pageBooks.get(pageBooks.size() - 1)) : null;
+
+        return CursorPageResponseDto.<BookResponseDto>builder()
+                .content(bookMapper.toResponseDtoList(pageBooks))
+                .size(pageBooks.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Finds which ISBNs already exist, binding at most the configured number
+     * of parameters per query. ISBNs the membership filter reports as absent
+     * are not queried.
+     *
+     * @param isbns the ISBNs to check
+     * @return the ISBNs that already belong to a book
+     */
+    private Set<String> findExistingIsbns(Set<String> isbns) {
+        Set<String> existing = new HashSet<>();
+        List<String> pending = isbns.stream()
+                .filter(isbn -> !membership.isbnDefinitelyAbsent(isbn))
+                .toList();
+        int chunkSize = batchProperties.getLookupChunkSize();
+
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<String> chunk = pending.subList(from, Math.min(pending.size(), from + chunkSize));
+            existing.addAll(bookRepository.findExistingIsbns(chunk));
+        }
+
+        return existing;
+    }
+
+    /**
+     * Builds the result of a batch item rejected by validation.
+     *
+     * @param index the position of the item in the request
+     * @param requestDto the item, may be null
+     * @param violations the constraint violations of the item
+     * @return the item result
+     */
+    private BatchItemResultDto invalidItem(int index, BookRequestDto requestDto,
+                                           Set<ConstraintViolation<BookRequestDto>> violations) {
+        List<ErrorResponseDto.ValidationError> validationErrors = violations.stream()
+                .map(violation -> ErrorResponseDto.ValidationError.builder()
+                        .field(violation.getPropertyPath().toString())
+                        .rejectedValue(violation.getInvalidValue())
+                        .message(violation.getMessage())
+                        .build())
+                .toList();
+
+        return BatchItemResultDto.builder()
+                .index(index)
+                .status(BatchItemResultDto.Status.VALIDATION_ERROR)
+                .isbn(requestDto == null ? null : requestDto.getIsbn())
+                .message(requestDto == null ? "Item must not be null" : "Validation failed for one or more fields")
+                .validationErrors(validationErrors.isEmpty() ? null : validationErrors)
+                .build();
+    }
+
+    /**
+     * Records a book created by a batch in the membership filter and search
+     * indexes and builds its item result.
+     *
+     * @param index the position of the item in the request
+     * @param savedBook the saved book
+     * @return the item result
+     */
+    private BatchItemResultDto createdItem(int index, Book savedBook) {
+        membership.recordBook(savedBook.getId(), savedBook.getIsbn());
+        searchIndex.recordBook(savedBook);
+        fullTextIndex.recordBook(savedBook);
+        return BatchItemResultDto.builder()
+                .index(index)
+                .status(BatchItemResultDto.Status.CREATED)
+                .isbn(savedBook.getIsbn())
+                .id(savedBook.getId())
+                .build();
+    }
+
+    /**
+     * Builds the result of a batch item rejected because its ISBN already exists.
+     *
+     * @param index the position of the item in the request
+     * @param isbn the duplicate ISBN
+     * @return the item result
+     */
+    private BatchItemResultDto duplicateItem(int index, String isbn) {
+        return BatchItemResultDto.builder()
+                .index(index)
+                .status(BatchItemResultDto.Status.DUPLICATE_ISBN)
+                .isbn(isbn)
+                .message(DuplicateIsbnException.forIsbn(isbn).getMessage())
+                .build();
+    }
+
+    /**
+     * Aggregates per-item results into a batch response.
+     *
+     * @param results the per-item results, in request order
+     * @return the batch response
+     */
+    private BatchCreateResponseDto summarize(List<BatchItemResultDto> results) {
+        Map<BatchItemResultDto.Status, Long> counts = new LinkedHashMap<>();
+        results.forEach(result -> counts.merge(result.getStatus(), 1L, Long::sum));
+
+        return BatchCreateResponseDto.builder()
+                .total(results.size())
+                .created(counts.getOrDefault(BatchItemResultDto.Status.CREATED, 0L).intValue())
+                .duplicates(counts.getOrDefault(BatchItemResultDto.Status.DUPLICATE_ISBN, 0L).intValue())
+                .invalid(counts.getOrDefault(BatchItemResultDto.Status.VALIDATION_ERROR, 0L).intValue())
+                .results(results)
+                .build();
+    }
 }
@@ -0,0 +1,309 @@
+package com.library.api.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.library.api.coalescing.SingleFlight;
+import com.library.api.dto.BatchCreateResponseDto;
+import com.library.api.dto.BookLookupResponseDto;
+import com.library.api.dto.BookRequestDto;
+import com.library.api.dto.BookResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
+import com.library.api.dto.FuzzyMatchDto;
+import com.library.api.dto.SearchHitDto;
+import com.library.api.dto.SuggestionDto;
+import com.library.api.exception.ServiceOverloadedException;
+import com.library.api.pagination.BookQuerySortKey;
+import com.library.api.pagination.BookSortKey;
+import com.library.api.query.BookFilter;
+import com.library.api.search.BookSearchField;
+import com.library.api.resilience.CircuitBreaker;
+import com.library.api.resilience.StaleResponseStore;
+import com.library.api.resilience.StaleResponses;
+import com.library.api.service.BookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * BookService decorator that fails fast while the database is unavailable.
+ *
+ * Every call goes through {@link CircuitBreaker}. Reads remember their last
+ * good response in {@link StaleResponseStore} and fall back to it when the
+ * breaker is open or the database fails, marking the response as stale.
+ * Reads without a stored response, and all writes, are refused with a 503
+ * while the breaker is open. Updates and patches reach it once, after
+ * {@link OptimisticLockRetryBookService} has retried any lost races. As the
+ * outermost decorator, it lets every caller sharing a
+ * coalesced read see whether the result was stale, while the outcome of the
+ * shared call is recorded only once, for the caller that executed it.
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+public class CircuitBreakerBookService implements BookService {
+
+    private final OptimisticLockRetryBookService delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final StaleResponseStore staleResponses;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto createBook(BookRequestDto requestDto) {
+        return guard(() -> delegate.createBook(requestDto));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchCreateResponseDto createBooks(List<BookRequestDto> requestDtos) {
+        return guard(() -> delegate.createBooks(requestDtos));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BookResponseDto> createBooksSkippingDuplicates(List<BookRequestDto> requestDtos) {
+        return guard(() -> delegate.createBooksSkippingDuplicates(requestDtos));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto getBookById(Long id) {
+        return read("getBookById", List.of(id), () -> delegate.getBookById(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getBookVersion(Long id) {
+        return read("getBookVersion", List.of(id), () -> delegate.getBookVersion(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto getBookByIsbn(String isbn) {
+        return read("getBookByIsbn", List.of(isbn), () -> delegate.getBookByIsbn(isbn));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookLookupResponseDto getBooksByIds(List<Long> ids) {
+        return read("getBooksByIds", Arrays.asList(ids), () -> delegate.getBooksByIds(ids));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> getBooksPage(String cursor, Integer size, BookSortKey sortKey) {
+        return read("getBooksPage", Arrays.asList(cursor, size, sortKey),
+                () -> delegate.getBooksPage(cursor, size, sortKey));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto updateBook(Long id, BookRequestDto requestDto, Long expectedVersion) {
+        BookResponseDto updated = guard(() -> delegate.updateBook(id, requestDto, expectedVersion));
+        evictStale(id);
+        return updated;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto patchBook(Long id, JsonNode patch, Long expectedVersion) {
+        BookResponseDto patched = guard(() -> delegate.patchBook(id, patch, expectedVersion));
+        evictStale(id);
+        return patched;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteBook(Long id) {
+        guard(() -> {
+            delegate.deleteBook(id);
+            return null;
+        });
+        evictStale(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> searchBooksByTitlePage(String title, String cursor, Integer size) {
+        return read("searchBooksByTitlePage", Arrays.asList(title, cursor, size),
+                () -> delegate.searchBooksByTitlePage(title, cursor, size));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> searchBooksByAuthorPage(String author, String cursor, Integer size) {
+        return read("searchBooksByAuthorPage", Arrays.asList(author, cursor, size),
+                () -> delegate.searchBooksByAuthorPage(author, cursor, size));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FuzzyMatchDto> searchBooksFuzzy(String query, BookSearchField field, Integer maxEdits, Integer limit) {
+        return read("searchBooksFuzzy", Arrays.asList(query, field, maxEdits, limit),
+                () -> delegate.searchBooksFuzzy(query, field, maxEdits, limit));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SuggestionDto> suggestBooks(String prefix, Integer limit) {
+        // Suggestions are answered from memory and keep working while the database is down
+        return delegate.suggestBooks(prefix, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<SearchHitDto> searchBooks(String query, String cursor, Integer size) {
+        return read("searchBooks", Arrays.asList(query, cursor, size),
+                () -> delegate.searchBooks(query, cursor, size));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> queryBooks(BookFilter filter, String cursor, Integer size,
+                                                             BookQuerySortKey sortKey) {
+        return read("queryBooks", Arrays.asList(filter, cursor, size, sortKey),
+                () -> delegate.queryBooks(filter, cursor, size, sortKey));
+    }
+
+    /**
+     * Runs a read through the breaker, falling back to its last good response.
+     *
+     * @param operation the operation name
+     * @param arguments the operation arguments
+     * @param call the delegate call
+     * @param <T> the result type
+     * @return the fresh result, or the stored one if the database is unavailable
+     */
+    private <T> T read(String operation, List<?> arguments, Supplier<T> call) {
+        CircuitBreaker.Permission permission = circuitBreaker.tryAcquirePermission();
+        if (!permission.isGranted()) {
+            return serveStale(operation, arguments,
+                    ServiceOverloadedException.circuitOpen(circuitBreaker.getRetryAfter()));
+        }
+
+        T value;
+        try {
+            value = call(permission, call);
+        } catch (RuntimeException e) {
+            if (!CircuitBreaker.isDatabaseFailure(e)) {
+                throw e;
+            }
+            return serveStale(operation, arguments, e);
+        }
+        staleResponses.put(operation, arguments, value);
+        return value;
+    }
+
+    /**
+     * Runs a call through the breaker without a stale fallback.
+     *
+     * @param call the delegate call
+     * @param <T> the result type
+     * @return the result of the call
+     * @throws ServiceOverloadedException if the breaker is open
+     */
+    private <T> T guard(Supplier<T> call) {
+        CircuitBreaker.Permission permission = circuitBreaker.tryAcquirePermission();
+        if (!permission.isGranted()) {
+            throw ServiceOverloadedException.circuitOpen(circuitBreaker.getRetryAfter());
+        }
+        return call(permission, call);
+    }
+
+    /**
+     * Makes a permitted call and records its outcome. A call that only shared
+     * a coalesced execution is not recorded, so that one database call counts
+     * once however many callers waited for it.
+     *
+     * @param permission the granted permission
+     * @param call the delegate call
+     * @param <T> the result type
+     * @return the result of the call
+     */
+    private <T> T call(CircuitBreaker.Permission permission, Supplier<T> call) {
+        SingleFlight.clearShared();
+        try {
+            T value = call.get();
+            if (SingleFlight.lastCallShared()) {
+                circuitBreaker.onIgnored(permission);
+            } else {
+                circuitBreaker.onSuccess(permission);
+            }
+            return value;
+        } catch (RuntimeException e) {
+            if (CircuitBreaker.isDatabaseFailure(e) && !SingleFlight.lastCallShared()) {
+                circuitBreaker.onFailure(permission);
+            } else {
+                circuitBreaker.onIgnored(permission);
+            }
+            throw e;
+        } finally {
+            SingleFlight.clearShared();
+        }
+    }
+
+    /**
+     * Returns the last good response of a read and marks the request as stale.
+     *
+     * @param operation the operation name
+     * @param arguments the operation arguments
+     * @param failure the failure to rethrow when there is no stored response
+     * @param <T> the result type
+     * @return the stored response
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T serveStale(String operation, List<?> arguments, RuntimeException failure) {
+        StaleResponseStore.Entry entry = staleResponses.serve(operation, arguments);
+        if (entry == null) {
+            throw failure;
+        }
+        StaleResponses.markStale(entry.age());
+        return (T) entry.value();
+    }
+
+    /**
+     * Drops stored responses of a book that changed, so they are not served after the write.
+     *
+     * @param id the book ID
+     */
+    private void evictStale(Long id) {
+        staleResponses.evict("getBookById", List.of(id));
+        staleResponses.evict("getBookVersion", List.of(id));
+    }
+}
@@ -0,0 +1,223 @@
+package com.library.api.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.library.api.admission.AdaptiveConcurrencyLimiter;
+import com.library.api.deadline.RequestDeadline;
+import com.library.api.dto.BatchCreateResponseDto;
+import com.library.api.dto.BookLookupResponseDto;
+import com.library.api.dto.BookRequestDto;
+import com.library.api.dto.BookResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
+import com.library.api.dto.FuzzyMatchDto;
+import com.library.api.dto.SearchHitDto;
+import com.library.api.dto.SuggestionDto;
+import com.library.api.exception.DeadlineExceededException;
+import com.library.api.exception.ServiceOverloadedException;
+import com.library.api.pagination.BookQuerySortKey;
+import com.library.api.pagination.BookSortKey;
+import com.library.api.query.BookFilter;
+import com.library.api.search.BookSearchField;
+import com.library.api.service.BookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * BookService decorator that applies admission control to database-bound calls.
+ *
+ * Every call is routed through {@link AdaptiveConcurrencyLimiter} before it
+ * reaches {@link BookServiceImpl}, so excess load is shed with a 503 instead
+ * of queueing on the connection pool. Calls whose {@link RequestDeadline} has
+ * passed are rejected before they take a slot, and database failures seen
+ * after the deadline are reported as {@link DeadlineExceededException}.
+ * Batch creates report their size, so the limiter judges them per item. It
+ * sits behind {@link SingleFlightBookService}, so coalesced callers do not
+ * use a slot.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConcurrencyLimitedBookService implements BookService {
+
+    private final BookServiceImpl delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto createBook(BookRequestDto requestDto) {
+        return admit(() -> delegate.createBook(requestDto));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchCreateResponseDto createBooks(List<BookRequestDto> requestDtos) {
+        return admit(() -> delegate.createBooks(requestDtos), requestDtos.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BookResponseDto> createBooksSkippingDuplicates(List<BookRequestDto> requestDtos) {
+        return admit(() -> delegate.createBooksSkippingDuplicates(requestDtos), requestDtos.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto getBookById(Long id) {
+        return admit(() -> delegate.getBookById(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getBookVersion(Long id) {
+        return admit(() -> delegate.getBookVersion(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto getBookByIsbn(String isbn) {
+        return admit(() -> delegate.getBookByIsbn(isbn));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookLookupResponseDto getBooksByIds(List<Long> ids) {
+        return admit(() -> delegate.getBooksByIds(ids));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> getBooksPage(String cursor, Integer size, BookSortKey sortKey) {
+        return admit(() -> delegate.getBooksPage(cursor, size, sortKey));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto updateBook(Long id, BookRequestDto requestDto, Long expectedVersion) {
+        return admit(() -> delegate.updateBook(id, requestDto, expectedVersion));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto patchBook(Long id, JsonNode patch, Long expectedVersion) {
+        return admit(() -> delegate.patchBook(id, patch, expectedVersion));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteBook(Long id) {
+        admit(() -> {
+            delegate.deleteBook(id);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> searchBooksByTitlePage(String title, String cursor, Integer size) {
+        return admit(() -> delegate.searchBooksByTitlePage(title, cursor, size));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> searchBooksByAuthorPage(String author, String cursor, Integer size) {
+        return admit(() -> delegate.searchBooksByAuthorPage(author, cursor, size));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FuzzyMatchDto> searchBooksFuzzy(String query, BookSearchField field, Integer maxEdits, Integer limit) {
+        return admit(() -> delegate.searchBooksFuzzy(query, field, maxEdits, limit));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SuggestionDto> suggestBooks(String prefix, Integer limit) {
+        // Suggestions are answered from memory, so they do not take a database permit
+        return delegate.suggestBooks(prefix, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<SearchHitDto> searchBooks(String query, String cursor, Integer size) {
+        return admit(() -> delegate.searchBooks(query, cursor, size));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> queryBooks(BookFilter filter, String cursor, Integer size,
+                                                             BookQuerySortKey sortKey) {
+        return admit(() -> delegate.queryBooks(filter, cursor, size, sortKey));
+    }
+
+    /**
+     * Runs a delegate call under the request deadline and the concurrency limit.
+     *
+     * @param call the delegate call
+     * @param <T> the result type
+     * @return the result of the call
+     * @throws DeadlineExceededException if the deadline passed before or during the call
+     */
+    private <T> T admit(Supplier<T> call) {
+        return admit(call, 1);
+    }
+
+    /**
+     * Runs a bulk delegate call under the request deadline and the concurrency limit.
+     *
+     * @param call the delegate call
+     * @param items the number of items the call works on
+     * @param <T> the result type
+     * @return the result of the call
+     * @throws DeadlineExceededException if the deadline passed before or during the call
+     */
+    private <T> T admit(Supplier<T> call, int items) {
+        Optional<RequestDeadline> deadline = RequestDeadline.current();
+        deadline.ifPresent(RequestDeadline::checkNotExpired);
+        try {
+            return limiter.execute(call, items);
+        } catch (DataAccessException | TransactionException | ServiceOverloadedException e) {
+            if (deadline.isPresent() && deadline.get().isExpired()) {
+                throw DeadlineExceededException.forTimeout(deadline.get().getTimeout(), e);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.library.api.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.library.api.dto.BatchCreateResponseDto;
+import com.library.api.dto.BookLookupResponseDto;
+import com.library.api.dto.BookRequestDto;
+import com.library.api.dto.BookResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
+import com.library.api.dto.FuzzyMatchDto;
+import com.library.api.dto.SearchHitDto;
+import com.library.api.dto.SuggestionDto;
+import com.library.api.pagination.BookQuerySortKey;
+import com.library.api.pagination.BookSortKey;
+import com.library.api.query.BookFilter;
+import com.library.api.resilience.OptimisticLockRetry;
+import com.library.api.search.BookSearchField;
+import com.library.api.service.BookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * BookService decorator that retries updates lost to a concurrent write.
+ *
+ * Updates and patches that lose an optimistic-lock race are retried by
+ * {@link OptimisticLockRetry}. It sits in front of
+ * {@link SingleFlightBookService}, outside every transaction, so each attempt
+ * runs in a fresh one and takes its own concurrency slot. All other calls are
+ * passed through unchanged.
+ */
+@Service
+@RequiredArgsConstructor
+public class OptimisticLockRetryBookService implements BookService {
+
+    private final SingleFlightBookService delegate;
+    private final OptimisticLockRetry optimisticLockRetry;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto createBook(BookRequestDto requestDto) {
+        return delegate.createBook(requestDto);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchCreateResponseDto createBooks(List<BookRequestDto> requestDtos) {
+        return delegate.createBooks(requestDtos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BookResponseDto> createBooksSkippingDuplicates(List<BookRequestDto> requestDtos) {
+        return delegate.createBooksSkippingDuplicates(requestDtos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto getBookById(Long id) {
+        return delegate.getBookById(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getBookVersion(Long id) {
+        return delegate.getBookVersion(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto getBookByIsbn(String isbn) {
+        return delegate.getBookByIsbn(isbn);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookLookupResponseDto getBooksByIds(List<Long> ids) {
+        return delegate.getBooksByIds(ids);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> getBooksPage(String cursor, Integer size, BookSortKey sortKey) {
+        return delegate.getBooksPage(cursor, size, sortKey);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto updateBook(Long id, BookRequestDto requestDto, Long expectedVersion) {
+        return optimisticLockRetry.execute("updateBook", id,
+                () -> delegate.updateBook(id, requestDto, expectedVersion));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto patchBook(Long id, JsonNode patch, Long expectedVersion) {
+        return optimisticLockRetry.execute("patchBook", id,
+                () -> delegate.patchBook(id, patch, expectedVersion));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteBook(Long id) {
+        delegate.deleteBook(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> searchBooksByTitlePage(String title, String cursor, Integer size) {
+        return delegate.searchBooksByTitlePage(title, cursor, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> searchBooksByAuthorPage(String author, String cursor, Integer size) {
+        return delegate.searchBooksByAuthorPage(author, cursor, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FuzzyMatchDto> searchBooksFuzzy(String query, BookSearchField field, Integer maxEdits, Integer limit) {
+        return delegate.searchBooksFuzzy(query, field, maxEdits, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SuggestionDto> suggestBooks(String prefix, Integer limit) {
+        return delegate.suggestBooks(prefix, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<SearchHitDto> searchBooks(String query, String cursor, Integer size) {
+        return delegate.searchBooks(query, cursor, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> queryBooks(BookFilter filter, String cursor, Integer size,
+                                                             BookQuerySortKey sortKey) {
+        return delegate.queryBooks(filter, cursor, size, sortKey);
+    }
+}
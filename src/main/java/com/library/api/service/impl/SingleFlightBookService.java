@@ -0,0 +1,214 @@
+package com.library.api.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.library.api.coalescing.CreateBookBatcher;
+import com.library.api.coalescing.SingleFlight;
+import com.library.api.dto.BatchCreateResponseDto;
+import com.library.api.dto.BookLookupResponseDto;
+import com.library.api.dto.BookRequestDto;
+import com.library.api.dto.BookResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
+import com.library.api.dto.FuzzyMatchDto;
+import com.library.api.dto.SearchHitDto;
+import com.library.api.dto.SuggestionDto;
+import com.library.api.pagination.BookQuerySortKey;
+import com.library.api.pagination.BookSortKey;
+import com.library.api.query.BookFilter;
+import com.library.api.search.BookSearchField;
+import com.library.api.routing.ReadYourWritesTracker;
+import com.library.api.service.BookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * BookService decorator that coalesces concurrent identical reads and,
+ * when group commit is enabled, concurrent single-book creates.
+ *
+ * Read methods are routed through {@link SingleFlight} before they reach
+ * {@link ConcurrencyLimitedBookService}, so callers that share an in-flight
+ * call do not take a concurrency slot, open a transaction or take a pooled
+ * connection of their own. Single-book creates are handed to
+ * {@link CreateBookBatcher}, which commits them in batches. Other writes are
+ * passed through unchanged, and so are reads by clients that wrote recently,
+ * which must not share a read that a lagging replica may serve. It sits
+ * behind {@link OptimisticLockRetryBookService}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SingleFlightBookService implements BookService {
+
+    private final ConcurrencyLimitedBookService delegate;
+    private final SingleFlight singleFlight;
+    private final CreateBookBatcher createBatcher;
+    private final ReadYourWritesTracker readYourWrites;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto createBook(BookRequestDto requestDto) {
+        if (!createBatcher.isEnabled()) {
+            return delegate.createBook(requestDto);
+        }
+        BookResponseDto created = createBatcher.submit(requestDto,
+                delegate::createBooksSkippingDuplicates, delegate::createBook);
+        readYourWrites.recordWrite();
+        return created;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchCreateResponseDto createBooks(List<BookRequestDto> requestDtos) {
+        return delegate.createBooks(requestDtos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BookResponseDto> createBooksSkippingDuplicates(List<BookRequestDto> requestDtos) {
+        return delegate.createBooksSkippingDuplicates(requestDtos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto getBookById(Long id) {
+        return coalesce("getBookById", List.of(id), () -> delegate.getBookById(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getBookVersion(Long id) {
+        return coalesce("getBookVersion", List.of(id), () -> delegate.getBookVersion(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto getBookByIsbn(String isbn) {
+        return coalesce("getBookByIsbn", List.of(isbn), () -> delegate.getBookByIsbn(isbn));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookLookupResponseDto getBooksByIds(List<Long> ids) {
+        return delegate.getBooksByIds(ids);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> getBooksPage(String cursor, Integer size, BookSortKey sortKey) {
+        return coalesce("getBooksPage", Arrays.asList(cursor, size, sortKey),
+                () -> delegate.getBooksPage(cursor, size, sortKey));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto updateBook(Long id, BookRequestDto requestDto, Long expectedVersion) {
+        return delegate.updateBook(id, requestDto, expectedVersion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookResponseDto patchBook(Long id, JsonNode patch, Long expectedVersion) {
+        return delegate.patchBook(id, patch, expectedVersion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteBook(Long id) {
+        delegate.deleteBook(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> searchBooksByTitlePage(String title, String cursor, Integer size) {
+        return coalesce("searchBooksByTitlePage", Arrays.asList(title, cursor, size),
+                () -> delegate.searchBooksByTitlePage(title, cursor, size));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> searchBooksByAuthorPage(String author, String cursor, Integer size) {
+        return coalesce("searchBooksByAuthorPage", Arrays.asList(author, cursor, size),
+                () -> delegate.searchBooksByAuthorPage(author, cursor, size));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FuzzyMatchDto> searchBooksFuzzy(String query, BookSearchField field, Integer maxEdits, Integer limit) {
+        return coalesce("searchBooksFuzzy", Arrays.asList(query, field, maxEdits, limit),
+                () -> delegate.searchBooksFuzzy(query, field, maxEdits, limit));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SuggestionDto> suggestBooks(String prefix, Integer limit) {
+        // Suggestions are answered from memory, so there is no database call to share
+        return delegate.suggestBooks(prefix, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<SearchHitDto> searchBooks(String query, String cursor, Integer size) {
+        return coalesce("searchBooks", Arrays.asList(query, cursor, size),
+                () -> delegate.searchBooks(query, cursor, size));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageResponseDto<BookResponseDto> queryBooks(BookFilter filter, String cursor, Integer size,
+                                                             BookQuerySortKey sortKey) {
+        return coalesce("queryBooks", Arrays.asList(filter, cursor, size, sortKey),
+                () -> delegate.queryBooks(filter, cursor, size, sortKey));
+    }
+
+    /**
+     * Coalesces a read unless the client's reads are pinned to the primary.
+     *
+     * @param operation the operation name
+     * @param arguments the operation arguments
+     * @param call the delegate call
+     * @param <T> the result type
+     * @return the result of the call
+     */
+    private <T> T coalesce(String operation, List<?> arguments, Supplier<T> call) {
+        if (readYourWrites.isSticky()) {
+            return call.get();
+        }
+        return singleFlight.execute(operation, arguments, call);
+    }
+}
@@ -0,0 +1,173 @@
+package com.library.api.admission;
+
+import com.library.api.config.ConcurrencyLimitProperties;
+import com.library.api.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter.
+ */
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private ConcurrencyLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(1);
+        properties.setMaxQueueWait(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should shed a call that cannot get a slot within the queue wait")
+    void shouldRejectWhenLimitReached() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> holder = executor.submit(() -> limiter.execute(() -> {
+                started.countDown();
+                await(release);
+                return 1;
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> limiter.execute(() -> 2))
+                    .isInstanceOf(ServiceOverloadedException.class)
+                    .extracting("retryAfter").isEqualTo(Duration.ofSeconds(1));
+
+            release.countDown();
+            assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+
+        assertThat(meterRegistry.get("library.concurrency.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should admit a queued call once a slot frees up")
+    void shouldAdmitQueuedCallWhenSlotReleased() throws Exception {
+        properties.setMaxQueueWait(Duration.ofSeconds(5));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> limiter.execute(() -> {
+                started.countDown();
+                await(release);
+                return 1;
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<Integer> queued = executor.submit(() -> limiter.execute(() -> 2));
+            while (limiter.getQueued() == 0) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        }
+
+        assertThat(meterRegistry.get("library.concurrency.queue-wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when the database is out of capacity")
+    void shouldBackOffOnOverload() {
+        properties.setInitialLimit(20);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new CannotCreateTransactionException("Connection is not available");
+        })).isInstanceOf(CannotCreateTransactionException.class);
+
+        assertThat(limiter.getLimit()).isEqualTo(18);
+        assertThat(meterRegistry.get("library.concurrency.limit").gauge().value()).isEqualTo(18.0);
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when calls exceed the latency threshold")
+    void shouldBackOffOnSlowCalls() {
+        properties.setInitialLimit(10);
+        properties.setLatencyThreshold(Duration.ofMillis(1));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        limiter.execute(() -> {
+            sleep(20);
+            return 1;
+        });
+
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should judge bulk calls by their latency per item")
+    void shouldNormalizeBulkLatencyPerItem() {
+        properties.setInitialLimit(10);
+        properties.setLatencyThreshold(Duration.ofMillis(100));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        limiter.execute(() -> {
+            sleep(150);
+            return 1;
+        }, 1000);
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while fast calls keep it busy")
+    void shouldGrowLimitOnFastCalls() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.execute(() -> 1);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Should run calls directly when disabled")
+    void shouldBypassWhenDisabled() {
+        properties.setEnabled(false);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        assertThat(limiter.execute(() -> 7)).isEqualTo(7);
+        assertThat(meterRegistry.get("library.concurrency.rejected").counter().count()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
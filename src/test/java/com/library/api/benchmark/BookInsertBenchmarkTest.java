@@ -0,0 +1,160 @@
+package com.library.api.benchmark;
+
+import com.library.api.entity.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput benchmark comparing IDENTITY and pooled-lo sequence IDs.
+ *
+ * Books are persisted through Hibernate with their pooled-lo sequence IDs.
+ * The IDENTITY baseline is a copy of the table created over plain JDBC, so
+ * no test-only entity leaks into other application contexts. Each row is
+ * inserted with its own {@code INSERT ... RETURNING id}, the one round trip
+ * per row Hibernate needs to learn an IDENTITY value before it can continue.
+ * Runs against a throwaway PostgreSQL container and is skipped unless
+ * enabled explicitly:
+ * <pre>
+ * mvn test -Dtest=BookInsertBenchmarkTest -Dbenchmark=true
+ * </pre>
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "library.full-text.snapshot-path=",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Book insert benchmark")
+@Slf4j
+class BookInsertBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    @DisplayName("Pooled sequence IDs should batch inserts that IDENTITY IDs cannot")
+    void comparePooledSequenceWithIdentity() {
+        jdbcTemplate.execute("""
+                CREATE TABLE identity_benchmark_books (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    title VARCHAR(255) NOT NULL,
+                    author VARCHAR(255) NOT NULL,
+                    isbn VARCHAR(20) NOT NULL UNIQUE,
+                    publication_date DATE NOT NULL,
+                    price NUMERIC(12, 2) NOT NULL)
+                """);
+
+        // Warm up connections, statement caches and the JIT on both paths
+        insertWithIdentity(ROWS, 2_000);
+        insertWithSequence(ROWS, 2_000);
+
+        Result identity = insertWithIdentity(0, ROWS);
+        Result sequence = insertWithSequence(0, ROWS);
+
+        log.info("Inserted {} rows in transactions of {}", ROWS, ROWS_PER_TRANSACTION);
+        log.info("IDENTITY          : {} ms, {} rows/s, {} JDBC statements",
+                identity.millis(), identity.rowsPerSecond(), identity.statements());
+        log.info("pooled-lo sequence: {} ms, {} rows/s, {} JDBC statements",
+                sequence.millis(), sequence.rowsPerSecond(), sequence.statements());
+
+        assertThat(sequence.statements()).isLessThan(identity.statements() / 10);
+    }
+
+    private Result insertWithIdentity(int first, int rows) {
+        long start = System.nanoTime();
+
+        for (int offset = 0; offset < rows; offset += ROWS_PER_TRANSACTION) {
+            int from = first + offset;
+            int to = first + Math.min(rows, offset + ROWS_PER_TRANSACTION);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = from; i < to; i++) {
+                    jdbcTemplate.queryForObject("""
+                            INSERT INTO identity_benchmark_books (title, author, isbn, publication_date, price)
+                            VALUES (?, ?, ?, ?, ?) RETURNING id
+                            """, Long.class, "Benchmark Book " + i, "Benchmark Author", isbn(i),
+                            LocalDate.of(2020, 1, 1), new BigDecimal("19.99"));
+                }
+            });
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        return new Result(millis, rows * 1000L / millis, rows);
+    }
+
+    private Result insertWithSequence(int first, int rows) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+
+        for (int offset = 0; offset < rows; offset += ROWS_PER_TRANSACTION) {
+            int from = first + offset;
+            int to = first + Math.min(rows, offset + ROWS_PER_TRANSACTION);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = from; i < to; i++) {
+                    entityManager.persist(Book.builder()
+                            .title("Benchmark Book " + i)
+                            .author("Benchmark Author")
+                            .isbn(isbn(i))
+                            .publicationDate(LocalDate.of(2020, 1, 1))
+                            .price(new BigDecimal("19.99"))
+                            .build());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        return new Result(millis, rows * 1000L / millis, statistics.getPrepareStatementCount());
+    }
+
+    private static String isbn(int i) {
+        return String.format("978%010d", i);
+    }
+
+    private record Result(long millis, long rowsPerSecond, long statements) {
+    }
+}
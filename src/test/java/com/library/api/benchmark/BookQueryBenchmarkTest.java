@@ -0,0 +1,242 @@
+package com.library.api.benchmark;
+
+import com.library.api.dto.BookResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
+import com.library.api.pagination.BookQueryCursor;
+import com.library.api.pagination.BookQuerySortKey;
+import com.library.api.query.BookFilter;
+import com.library.api.service.BookService;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency benchmark of multi-criteria book queries and of the indexes they rely on.
+ *
+ * Loads a million books into a throwaway PostgreSQL container, then runs each
+ * query shape through the service, once with the composite indexes declared
+ * on {@link com.library.api.entity.Book} and once without them. The SQL
+ * Hibernate generated is captured and explained with the same parameters to
+ * show which index served it. Skipped unless enabled explicitly:
+ * <pre>
+ * mvn test -Dtest=BookQueryBenchmarkTest -Dbenchmark=true
+ * </pre>
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "library.full-text.snapshot-path=",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Book query benchmark")
+@Slf4j
+class BookQueryBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int INDEXED_RUNS = 200;
+    private static final int UNINDEXED_RUNS = 10;
+
+    private static final List<String> QUERY_INDEXES = List.of(
+            "idx_author_publication_date",
+            "idx_publisher_publication_date",
+            "idx_publisher_price",
+            "idx_price_id",
+            "idx_publication_date_id");
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final AtomicReference<String> LAST_BOOK_QUERY = new AtomicReference<>();
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    /**
+     * Records the last query Hibernate sends for books, so that it can be explained.
+     */
+    @TestConfiguration
+    static class CaptureBookQueries {
+
+        @Bean
+        HibernatePropertiesCustomizer bookQueryInspector() {
+            StatementInspector inspector = sql -> {
+                if (sql.startsWith("select") && sql.contains(" from books ")) {
+                    LAST_BOOK_QUERY.set(sql);
+                }
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Test
+    @DisplayName("Filtered, sorted pages should be read from a composite index instead of scanning the table")
+    void measureQueryLatencyWithAndWithoutIndexes() {
+        loadBooks();
+
+        CursorPageResponseDto<BookResponseDto> firstPriceQueryPage = bookService.queryBooks(
+                new BookFilter(null, "Publisher 42", new BigDecimal("20"), new BigDecimal("40"), null, null),
+                null, PAGE_SIZE, BookQuerySortKey.PRICE);
+        List<Shape> shapes = List.of(
+                new Shape("author + date range, by date", "idx_author_publication_date",
+                        new BookFilter("Author 123", null, null, null,
+                                LocalDate.of(1960, 1, 1), LocalDate.of(2000, 1, 1)),
+                        BookQuerySortKey.PUBLICATION_DATE, null),
+                new Shape("publisher + date range, by date", "idx_publisher_publication_date",
+                        new BookFilter(null, "Publisher 42", null, null, LocalDate.of(1980, 1, 1), null),
+                        BookQuerySortKey.PUBLICATION_DATE, null),
+                new Shape("publisher + price range, by price", "idx_publisher_price",
+                        new BookFilter(null, "Publisher 42", new BigDecimal("20"), new BigDecimal("40"), null, null),
+                        BookQuerySortKey.PRICE, null),
+                new Shape("publisher + price range, by price, page 2", "idx_publisher_price",
+                        new BookFilter(null, "Publisher 42", new BigDecimal("20"), new BigDecimal("40"), null, null),
+                        BookQuerySortKey.PRICE, firstPriceQueryPage.getNextCursor()),
+                new Shape("price range, by price", "idx_price_id",
+                        new BookFilter(null, null, new BigDecimal("50"), new BigDecimal("60"), null, null),
+                        BookQuerySortKey.PRICE, null),
+                new Shape("date range, by date", "idx_publication_date_id",
+                        new BookFilter(null, null, null, null, LocalDate.of(1990, 1, 1), LocalDate.of(1995, 1, 1)),
+                        BookQuerySortKey.PUBLICATION_DATE, null));
+
+        // Warm up connections, the statement cache and the JIT on every shape
+        for (Shape shape : shapes) {
+            for (int i = 0; i < 20; i++) {
+                run(shape);
+            }
+        }
+
+        double[] indexedMillis = new double[shapes.size()];
+        for (int s = 0; s < shapes.size(); s++) {
+            Shape shape = shapes.get(s);
+            indexedMillis[s] = medianMillis(shape, INDEXED_RUNS);
+            String plan = explain(shape);
+            log.info("{}: p50 {} ms with indexes, plan:\n{}", shape.name(),
+                    String.format("%.2f", indexedMillis[s]), plan);
+
+            assertThat(plan).contains(shape.expectedIndex()).doesNotContain("Seq Scan");
+        }
+
+        jdbcTemplate.execute("DROP INDEX " + String.join(", ", QUERY_INDEXES));
+        jdbcTemplate.execute("ANALYZE books");
+
+        for (int s = 0; s < shapes.size(); s++) {
+            Shape shape = shapes.get(s);
+            double unindexedMillis = medianMillis(shape, UNINDEXED_RUNS);
+            log.info("{}: p50 {} ms without indexes ({}x slower), plan:\n{}", shape.name(),
+                    String.format("%.2f", unindexedMillis), String.format("%.0f", unindexedMillis / indexedMillis[s]),
+                    explain(shape));
+
+            assertThat(indexedMillis[s]).isLessThan(unindexedMillis);
+        }
+    }
+
+    /**
+     * Inserts the books in a single statement: 20,000 authors with 50 books each,
+     * 500 publishers with 2,000 each, prices from 1.00 to 200.99 and publication
+     * dates spread over 1950 to 2023.
+     */
+    private void loadBooks() {
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+                INSERT INTO books (id, title, author, isbn, publication_date, price, publisher,
+                                   created_at, updated_at, version)
+                SELECT i,
+                       'Book ' || i,
+                       'Author ' || (i % 20000),
+                       '978' || lpad(i::text, 10, '0'),
+                       DATE '1950-01-01' + (i * 7919 % 27000)::int,
+                       1 + (i * 104729 % 20000) / 100.0,
+                       'Publisher ' || (i % 500),
+                       now(), now(), 0
+                FROM generate_series(1::bigint, ?) AS i
+                """, (long) ROWS);
+        jdbcTemplate.queryForObject("SELECT setval('books_id_seq', ?)", Long.class, (long) ROWS);
+        jdbcTemplate.execute("ANALYZE books");
+        log.info("Loaded {} books in {} ms", ROWS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private CursorPageResponseDto<BookResponseDto> run(Shape shape) {
+        return bookService.queryBooks(shape.filter(), shape.cursor(), PAGE_SIZE, shape.sortKey());
+    }
+
+    private double medianMillis(Shape shape, int runs) {
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            CursorPageResponseDto<BookResponseDto> page = run(shape);
+            nanos[i] = System.nanoTime() - start;
+            assertThat(page.getContent()).isNotEmpty();
+        }
+        Arrays.sort(nanos);
+        return nanos[runs / 2] / 1e6;
+    }
+
+    /**
+     * Explains the SQL the last run of a shape generated, binding the
+     * parameters in the order {@code BookSpecifications} adds its predicates,
+     * followed by the page limit.
+     */
+    private String explain(Shape shape) {
+        run(shape);
+        String sql = LAST_BOOK_QUERY.get();
+        BookFilter filter = shape.filter();
+        List<Object> parameters = new ArrayList<>();
+        Stream.of(filter.author(), filter.publisher(), filter.minPrice(), filter.maxPrice(),
+                        filter.publishedFrom(), filter.publishedTo())
+                .filter(Objects::nonNull)
+                .forEach(parameters::add);
+        if (shape.cursor() != null) {
+            BookQueryCursor after = BookQueryCursor.decode(shape.cursor(), shape.sortKey());
+            if (after.sortKey() != BookQuerySortKey.ID) {
+                parameters.add(after.sortValue());
+                parameters.add(after.sortValue());
+            }
+            parameters.add(after.id());
+        }
+        parameters.add(PAGE_SIZE + 1);
+        assertThat(sql.chars().filter(c -> c == '?').count()).isEqualTo(parameters.size());
+
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + sql, String.class,
+                parameters.toArray()));
+    }
+
+    private record Shape(String name, String expectedIndex, BookFilter filter, BookQuerySortKey sortKey,
+                         String cursor) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.library.api.benchmark;
+
+import com.library.api.config.FullTextSearchProperties;
+import com.library.api.repository.BookRepository;
+import com.library.api.search.BookFullTextIndex;
+import com.library.api.search.BookTextFields;
+import com.library.api.search.ScoredMatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latency benchmark of ranked full-text searches and of restarting from a snapshot.
+ *
+ * Loads the full-text index from a generated catalog whose word frequencies
+ * follow Zipf's law, as in natural text, without a database. Skipped unless
+ * enabled explicitly:
+ * <pre>
+ * mvn test -Dtest=FullTextSearchBenchmarkTest -Dbenchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Full-text search benchmark")
+@Slf4j
+class FullTextSearchBenchmarkTest {
+
+    private static final int BOOKS = 500_000;
+    private static final int VOCABULARY = 50_000;
+    private static final int DESCRIPTION_WORDS = 40;
+    private static final int QUERIES = 2_000;
+    private static final int EXHAUSTIVE_QUERIES = 200;
+
+    @TempDir
+    private Path snapshotDirectory;
+
+    @Test
+    @DisplayName("Top-10 searches should skip most candidates, and restarts should not re-tokenize the catalog")
+    void measureFullTextSearchLatency() {
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = randomWord(random);
+        }
+        double[] cumulative = new double[VOCABULARY];
+        double total = 0;
+        for (int i = 0; i < VOCABULARY; i++) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < VOCABULARY; i++) {
+            cumulative[i] /= total;
+        }
+        String[] titles = new String[BOOKS];
+        String[] descriptions = new String[BOOKS];
+        for (int i = 0; i < BOOKS; i++) {
+            titles[i] = text(random, cumulative, words, 3);
+            descriptions[i] = text(random, cumulative, words, DESCRIPTION_WORDS);
+        }
+
+        FullTextSearchProperties properties = new FullTextSearchProperties();
+        properties.setSnapshotPath(snapshotDirectory.resolve("full-text.bin").toString());
+        BookRepository bookRepository = mock(BookRepository.class);
+        when(bookRepository.streamAllTextFields()).thenReturn(LongStream.range(0, BOOKS)
+                .mapToObj(id -> new BookTextFields(id + 1, titles[(int) id], descriptions[(int) id])));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BookFullTextIndex index = new BookFullTextIndex(properties, bookRepository,
+                mock(PlatformTransactionManager.class), meterRegistry);
+
+        // Loading also writes the snapshot
+        long rebuildStart = System.nanoTime();
+        index.load();
+        long rebuildMillis = (System.nanoTime() - rebuildStart) / 1_000_000;
+
+        when(bookRepository.streamTextFieldsUpdatedSince(any())).thenReturn(Stream.empty());
+        when(bookRepository.streamAllIds()).thenReturn(LongStream.rangeClosed(1, BOOKS).boxed());
+        BookFullTextIndex restarted = new BookFullTextIndex(properties, bookRepository,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        long restoreStart = System.nanoTime();
+        restarted.load();
+        long restoreMillis = (System.nanoTime() - restoreStart) / 1_000_000;
+
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = text(random, cumulative, words, 2 + random.nextInt(2));
+        }
+
+        // Warm up the JIT on the same code paths
+        for (String query : queries) {
+            restarted.search(query, null, 10);
+        }
+
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            restarted.search(queries[i], null, 10);
+            nanos[i] = System.nanoTime() - start;
+        }
+        long[] exhaustiveNanos = new long[EXHAUSTIVE_QUERIES];
+        for (int i = 0; i < EXHAUSTIVE_QUERIES; i++) {
+            long start = System.nanoTime();
+            restarted.search(queries[i], null, BOOKS);
+            exhaustiveNanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        Arrays.sort(exhaustiveNanos);
+        double p50 = nanos[QUERIES / 2] / 1e6;
+        double p99 = nanos[QUERIES * 99 / 100] / 1e6;
+        double exhaustiveP50 = exhaustiveNanos[EXHAUSTIVE_QUERIES / 2] / 1e6;
+
+        log.info("Indexed {} books in {} ms: {} terms in {} bytes; restarted from the snapshot in {} ms",
+                BOOKS, rebuildMillis,
+                meterRegistry.get("library.full-text.terms").gauge().value(),
+                meterRegistry.get("library.full-text.memory").gauge().value(), restoreMillis);
+        log.info("Top-10 search over {} queries: p50 {} ms, p99 {} ms; ranking every match: p50 {} ms",
+                QUERIES, String.format("%.2f", p50), String.format("%.2f", p99),
+                String.format("%.2f", exhaustiveP50));
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(restarted.search(queries[i], null, 10))
+                    .extracting(ScoredMatch::id)
+                    .containsExactlyElementsOf(index.search(queries[i], null, 10).stream()
+                            .map(ScoredMatch::id).toList());
+        }
+        assertThat(restoreMillis).isLessThan(rebuildMillis);
+        assertThat(p50).isLessThan(exhaustiveP50);
+        assertThat(p99).isLessThan(100.0);
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+
+    /**
+     * Draws words by rank with probability proportional to 1 / rank.
+     */
+    private static String text(Random random, double[] cumulative, String[] words, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            text.append(words[Math.min(rank < 0 ? -rank - 1 : rank, words.length - 1)]).append(' ');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,122 @@
+package com.library.api.benchmark;
+
+import com.library.api.config.BookSearchProperties;
+import com.library.api.repository.BookRepository;
+import com.library.api.search.BookSearchField;
+import com.library.api.search.BookSearchFields;
+import com.library.api.search.BookSearchIndex;
+import com.library.api.search.FuzzyMatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latency benchmark of typo-tolerant searches over a dictionary of a million terms.
+ *
+ * Loads the search index from a generated catalog, without a database, and is
+ * skipped unless enabled explicitly:
+ * <pre>
+ * mvn test -Dtest=FuzzySearchBenchmarkTest -Dbenchmark=true -DargLine=-Xmx4g
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Fuzzy search benchmark")
+@Slf4j
+class FuzzySearchBenchmarkTest {
+
+    private static final int BOOKS = 500_000;
+    private static final int QUERIES = 2_000;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    @Test
+    @DisplayName("Misspelled author lookups should stay in the low milliseconds on a million terms")
+    void measureFuzzySearchLatency() {
+        // Two random names per author give about a million distinct terms
+        String[] authors = new String[BOOKS];
+        Random random = new Random(42);
+        for (int i = 0; i < BOOKS; i++) {
+            authors[i] = randomTerm(random) + " " + randomTerm(random);
+        }
+
+        BookRepository bookRepository = mock(BookRepository.class);
+        when(bookRepository.streamAllSearchFields()).thenReturn(LongStream.range(0, BOOKS)
+                .mapToObj(id -> new BookSearchFields(id + 1, "Title " + id, authors[(int) id])));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BookSearchProperties properties = new BookSearchProperties();
+        properties.setEnabled(true);
+        BookSearchIndex index = new BookSearchIndex(properties, bookRepository,
+                mock(PlatformTransactionManager.class), meterRegistry);
+
+        long loadStart = System.nanoTime();
+        index.load();
+        long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String term = authors[random.nextInt(BOOKS)].split(" ")[random.nextInt(2)];
+            queries[i] = misspell(misspell(term, random), random);
+        }
+
+        // Warm up the JIT on the same code paths
+        for (String query : queries) {
+            index.searchFuzzy(query, BookSearchField.AUTHOR, BookSearchIndex.MAX_EDITS, 10);
+        }
+
+        long[] nanos = new long[QUERIES];
+        int found = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            List<FuzzyMatch> matches =
+                    index.searchFuzzy(queries[i], BookSearchField.AUTHOR, BookSearchIndex.MAX_EDITS, 10);
+            nanos[i] = System.nanoTime() - start;
+            found += matches.isEmpty() ? 0 : 1;
+        }
+        Arrays.sort(nanos);
+        double p50 = nanos[QUERIES / 2] / 1e6;
+        double p99 = nanos[QUERIES * 99 / 100] / 1e6;
+
+        log.info("Loaded {} books in {} ms: {} author terms in {} bytes", BOOKS, loadMillis,
+                meterRegistry.get("library.search.terms").tag("field", "author").gauge().value(),
+                meterRegistry.get("library.search.memory").tag("field", "author").tag("index", "terms")
+                        .gauge().value());
+        log.info("Fuzzy author search over {} queries with up to 2 edits: p50 {} ms, p99 {} ms, {} found",
+                QUERIES, String.format("%.2f", p50), String.format("%.2f", p99), found);
+
+        // Every query is within two edits of an indexed term
+        assertThat(found).isEqualTo(QUERIES);
+        assertThat(p99).isLessThan(10.0);
+    }
+
+    private static String randomTerm(Random random) {
+        char[] term = new char[6 + random.nextInt(5)];
+        for (int i = 0; i < term.length; i++) {
+            term[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        }
+        return new String(term);
+    }
+
+    /**
+     * Applies one random substitution, insertion or deletion after the first character.
+     */
+    private static String misspell(String term, Random random) {
+        int position = 1 + random.nextInt(term.length() - 1);
+        char letter = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        return switch (random.nextInt(3)) {
+            case 0 -> term.substring(0, position) + letter + term.substring(position + 1);
+            case 1 -> term.substring(0, position) + letter + term.substring(position);
+            default -> term.substring(0, position) + term.substring(position + 1);
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package com.library.api.benchmark;
+
+import com.library.api.config.BookSearchProperties;
+import com.library.api.entity.Book;
+import com.library.api.repository.BookRepository;
+import com.library.api.search.BookSearchFields;
+import com.library.api.search.BookSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latency benchmark of prefix suggestions over a catalog of a million books.
+ *
+ * Loads the search index from a generated catalog, without a database, and is
+ * skipped unless enabled explicitly:
+ * <pre>
+ * mvn test -Dtest=SuggestionBenchmarkTest -Dbenchmark=true -DargLine=-Xmx4g
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Suggestion benchmark")
+@Slf4j
+class SuggestionBenchmarkTest {
+
+    private static final int BOOKS = 1_000_000;
+    private static final int WORDS = 5_000;
+    private static final int QUERIES = 200_000;
+    private static final int UPDATES = 10_000;
+
+    @Test
+    @DisplayName("Prefix suggestions should take microseconds on a million books")
+    void measureSuggestionLatency() {
+        Random random = new Random(42);
+        String[] words = new String[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            words[i] = randomWord(random);
+        }
+        // Common words are picked far more often, so titles and authors repeat like in a real catalog
+        String[] titles = new String[BOOKS];
+        String[] authors = new String[BOOKS];
+        for (int i = 0; i < BOOKS; i++) {
+            titles[i] = randomText(random, words, 1 + random.nextInt(5));
+            authors[i] = randomText(random, words, 2);
+        }
+
+        BookRepository bookRepository = mock(BookRepository.class);
+        when(bookRepository.streamAllSearchFields()).thenReturn(LongStream.range(0, BOOKS)
+                .mapToObj(id -> new BookSearchFields(id + 1, titles[(int) id], authors[(int) id])));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BookSearchProperties properties = new BookSearchProperties();
+        properties.setEnabled(true);
+        BookSearchIndex index = new BookSearchIndex(properties, bookRepository,
+                mock(PlatformTransactionManager.class), meterRegistry);
+        index.load();
+
+        String[] prefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String text = random.nextBoolean() ? titles[random.nextInt(BOOKS)] : authors[random.nextInt(BOOKS)];
+            prefixes[i] = text.substring(0, 1 + random.nextInt(Math.min(text.length(), 8)));
+        }
+
+        // Warm up the JIT on the same code paths
+        for (String prefix : prefixes) {
+            index.suggest(prefix, 10);
+        }
+
+        long[] nanos = new long[QUERIES];
+        int found = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            int suggestions = index.suggest(prefixes[i], 10).size();
+            nanos[i] = System.nanoTime() - start;
+            found += suggestions > 0 ? 1 : 0;
+        }
+        Arrays.sort(nanos);
+        double p50 = nanos[QUERIES / 2] / 1e3;
+        double p99 = nanos[QUERIES * 99 / 100] / 1e3;
+
+        long updateStart = System.nanoTime();
+        for (int i = 0; i < UPDATES; i++) {
+            long id = 1 + random.nextInt(BOOKS);
+            index.recordBook(Book.builder().id(id).title(titles[(int) id - 1] + " volume 2")
+                    .author(authors[(int) id - 1]).build());
+        }
+        double updateMicros = (System.nanoTime() - updateStart) / 1e3 / UPDATES;
+
+        log.info("{} books: {} title and {} author suggestions in {} + {} bytes", BOOKS,
+                gauge(meterRegistry, "library.search.suggestions", "title", null),
+                gauge(meterRegistry, "library.search.suggestions", "author", null),
+                gauge(meterRegistry, "library.search.memory", "title", "suggestions"),
+                gauge(meterRegistry, "library.search.memory", "author", "suggestions"));
+        log.info("Suggestions for {} prefixes: p50 {} us, p99 {} us; {} us per indexed book update",
+                QUERIES, String.format("%.1f", p50), String.format("%.1f", p99), String.format("%.1f", updateMicros));
+
+        // Every prefix was cut from an indexed text
+        assertThat(found).isEqualTo(QUERIES);
+        assertThat(p99).isLessThan(100.0);
+    }
+
+    private static double gauge(SimpleMeterRegistry meterRegistry, String name, String field, String index) {
+        var search = meterRegistry.get(name).tag("field", field);
+        return (index == null ? search : search.tag("index", index)).gauge().value();
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[3 + random.nextInt(7)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        word[0] = Character.toUpperCase(word[0]);
+        return new String(word);
+    }
+
+    private static String randomText(Random random, String[] words, int wordCount) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(words[(int) Math.min(words.length - 1, Math.abs(random.nextGaussian()) * words.length / 6)]);
+        }
+        return text.toString();
+    }
+}
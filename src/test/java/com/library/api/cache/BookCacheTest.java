@@ -0,0 +1,78 @@
+package com.library.api.cache;
+
+import com.library.api.config.BookCacheProperties;
+import com.library.api.dto.BookResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BookCache.
+ */
+@DisplayName("BookCache Tests")
+class BookCacheTest {
+
+    private BookCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private BookResponseDto book;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BookCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        book = BookResponseDto.builder().id(1L).title("Clean Code").build();
+    }
+
+    @Test
+    @DisplayName("Should record hits and misses as cache metrics")
+    void shouldRecordHitsAndMisses() {
+        BookCache cache = new BookCache(properties, meterRegistry);
+
+        assertThat(cache.get(1L)).isNull();
+        cache.put(1L, 0L, book);
+        assertThat(cache.get(1L).book()).isSameAs(book);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "books").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "books").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should discard entry whose version was overtaken by a write")
+    void shouldDiscardStaleEntry() {
+        BookCache cache = new BookCache(properties, meterRegistry);
+        cache.put(1L, 0L, book);
+        CachedBook cached = cache.get(1L);
+
+        assertThat(cache.isCurrent(1L, cached, 0L)).isTrue();
+        assertThat(cache.isCurrent(1L, cached, 1L)).isFalse();
+        assertThat(cache.get(1L)).isNull();
+        assertThat(meterRegistry.get("library.cache.stale").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict entry on write")
+    void shouldEvictEntry() {
+        BookCache cache = new BookCache(properties, meterRegistry);
+        cache.put(1L, 0L, book);
+
+        cache.evict(1L);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when disabled")
+    void shouldBypassCacheWhenDisabled() {
+        properties.setEnabled(false);
+        BookCache cache = new BookCache(properties, meterRegistry);
+
+        cache.put(1L, 0L, book);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+}
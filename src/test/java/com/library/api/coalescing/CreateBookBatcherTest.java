@@ -0,0 +1,183 @@
+package com.library.api.coalescing;
+
+import com.library.api.config.GroupCommitProperties;
+import com.library.api.dto.BookRequestDto;
+import com.library.api.dto.BookResponseDto;
+import com.library.api.exception.DeadlineExceededException;
+import com.library.api.exception.DuplicateIsbnException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for CreateBookBatcher.
+ */
+@DisplayName("CreateBookBatcher Tests")
+class CreateBookBatcherTest {
+
+    private GroupCommitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Integer> batchCalls;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GroupCommitProperties();
+        properties.setEnabled(true);
+        properties.setWindow(Duration.ofMillis(200));
+        meterRegistry = new SimpleMeterRegistry();
+        batchCalls = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should commit concurrent creates together and give each caller its own book")
+    void shouldBatchConcurrentCreates() throws Exception {
+        properties.setMaxBatchSize(10);
+        CreateBookBatcher batcher = new CreateBookBatcher(properties, meterRegistry);
+
+        List<Future<BookResponseDto>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                String isbn = "isbn-" + i;
+                results.add(executor.submit(() -> batcher.submit(request(isbn), createAll(), createOne())));
+            }
+            for (int i = 0; i < 10; i++) {
+                assertThat(results.get(i).get(5, TimeUnit.SECONDS).getIsbn()).isEqualTo("isbn-" + i);
+            }
+        }
+
+        assertThat(batchCalls).containsExactly(10);
+        assertThat(meterRegistry.get("library.group-commit.batch-size").summary().max()).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("Should commit a lone create once the window passes")
+    void shouldFlushAfterWindow() {
+        properties.setWindow(Duration.ofMillis(5));
+        CreateBookBatcher batcher = new CreateBookBatcher(properties, meterRegistry);
+
+        BookResponseDto created = batcher.submit(request("isbn-1"), createAll(), createOne());
+
+        assertThat(created.getIsbn()).isEqualTo("isbn-1");
+        assertThat(batchCalls).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Should fail only the creates whose ISBN was skipped as a duplicate")
+    void shouldFailSkippedCreatesOnly() throws Exception {
+        properties.setMaxBatchSize(2);
+        CreateBookBatcher batcher = new CreateBookBatcher(properties, meterRegistry);
+        Function<List<BookRequestDto>, List<BookResponseDto>> firstWins = requests -> {
+            batchCalls.add(requests.size());
+            List<BookResponseDto> created = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                created.add(i == 0 ? response(requests.get(i).getIsbn()) : null);
+            }
+            return created;
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<BookResponseDto> first = executor.submit(() -> batcher.submit(request("same"), firstWins, createOne()));
+            Future<BookResponseDto> second = executor.submit(() -> batcher.submit(request("same"), firstWins, createOne()));
+
+            List<Object> outcomes = new ArrayList<>();
+            for (Future<BookResponseDto> future : List.of(first, second)) {
+                try {
+                    outcomes.add(future.get(5, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    outcomes.add(e.getCause());
+                }
+            }
+            assertThat(outcomes).hasAtLeastOneElementOfType(BookResponseDto.class)
+                    .hasAtLeastOneElementOfType(DuplicateIsbnException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should retry creates one by one when a concurrent writer took an ISBN")
+    void shouldFallBackToSingleCreates() {
+        properties.setWindow(Duration.ofMillis(5));
+        CreateBookBatcher batcher = new CreateBookBatcher(properties, meterRegistry);
+
+        BookResponseDto created = batcher.submit(request("isbn-1"),
+                requests -> {
+                    throw DuplicateIsbnException.forBatch();
+                },
+                createOne());
+
+        assertThat(created.getIsbn()).isEqualTo("isbn-1");
+        assertThat(meterRegistry.get("library.group-commit.fallbacks").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should let the other callers create their own book when the batch ran out of the leader's time")
+    void shouldRetryOnOwnThreadWhenLeaderDeadlineExceeded() throws Exception {
+        properties.setMaxBatchSize(2);
+        properties.setWindow(Duration.ofSeconds(5));
+        CreateBookBatcher batcher = new CreateBookBatcher(properties, meterRegistry);
+        List<String> singleCreateThreads = new CopyOnWriteArrayList<>();
+        Function<List<BookRequestDto>, List<BookResponseDto>> outOfTime = requests -> {
+            throw DeadlineExceededException.forTimeout(Duration.ofMillis(50));
+        };
+        Function<BookRequestDto, BookResponseDto> createOne = request -> {
+            singleCreateThreads.add(request.getIsbn() + "@" + Thread.currentThread().threadId());
+            return response(request.getIsbn());
+        };
+
+        List<Object> outcomes = new ArrayList<>();
+        List<String> callerThreads = new CopyOnWriteArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<BookResponseDto>> futures = new ArrayList<>();
+            for (String isbn : List.of("isbn-1", "isbn-2")) {
+                futures.add(executor.submit(() -> {
+                    callerThreads.add(isbn + "@" + Thread.currentThread().threadId());
+                    return batcher.submit(request(isbn), outOfTime, createOne);
+                }));
+            }
+            for (Future<BookResponseDto> future : futures) {
+                try {
+                    outcomes.add(future.get(5, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    outcomes.add(e.getCause());
+                }
+            }
+        }
+
+        assertThat(outcomes).hasAtLeastOneElementOfType(BookResponseDto.class)
+                .hasAtLeastOneElementOfType(DeadlineExceededException.class);
+        assertThat(singleCreateThreads).hasSize(1);
+        assertThat(callerThreads).contains(singleCreateThreads.get(0));
+    }
+
+    private Function<List<BookRequestDto>, List<BookResponseDto>> createAll() {
+        return requests -> {
+            batchCalls.add(requests.size());
+            return requests.stream().map(request -> response(request.getIsbn())).toList();
+        };
+    }
+
+    private static Function<BookRequestDto, BookResponseDto> createOne() {
+        return request -> response(request.getIsbn());
+    }
+
+    private static BookRequestDto request(String isbn) {
+        return BookRequestDto.builder().title("Title").isbn(isbn).build();
+    }
+
+    private static BookResponseDto response(String isbn) {
+        return BookResponseDto.builder().isbn(isbn).build();
+    }
+}
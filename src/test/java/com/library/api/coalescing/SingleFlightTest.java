@@ -0,0 +1,183 @@
+package com.library.api.coalescing;
+
+import com.library.api.config.SingleFlightProperties;
+import com.library.api.deadline.RequestDeadline;
+import com.library.api.exception.DeadlineExceededException;
+import com.library.api.exception.BookNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlight.
+ */
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private SingleFlightProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SingleFlightProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should share one execution between concurrent identical calls")
+    void shouldCoalesceConcurrentIdenticalCalls() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(properties, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("getBookById", List.of(1L), () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            }
+        }
+
+        double executed = meterRegistry.get("library.single-flight.calls").tag("outcome", "executed").counter().count();
+        double coalesced = meterRegistry.get("library.single-flight.calls").tag("outcome", "coalesced").counter().count();
+        assertThat(executions.get()).isEqualTo((int) executed);
+        assertThat(executed + coalesced).isEqualTo(20);
+        assertThat(coalesced).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should not coalesce calls with different arguments")
+    void shouldNotCoalesceDifferentArguments() {
+        SingleFlight singleFlight = new SingleFlight(properties, meterRegistry);
+
+        assertThat(singleFlight.execute("getBookById", List.of(1L), () -> 1)).isEqualTo(1);
+        assertThat(singleFlight.execute("getBookById", List.of(2L), () -> 2)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should propagate the exception of the shared call")
+    void shouldPropagateException() {
+        SingleFlight singleFlight = new SingleFlight(properties, meterRegistry);
+
+        assertThatThrownBy(() -> singleFlight.execute("getBookById", List.of(9L), () -> {
+            throw BookNotFoundException.forId(9L);
+        })).isInstanceOf(BookNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should run the call again for a waiting caller when the leader fails on its shorter deadline")
+    void shouldRetryWhenLeaderRunsOutOfTime() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(properties, meterRegistry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> leader = executor.submit(() -> withDeadline(Duration.ofMillis(50),
+                    () -> singleFlight.execute("getBookById", List.of(1L), () -> {
+                        if (executions.incrementAndGet() == 1) {
+                            leaderStarted.countDown();
+                            sleep(200);
+                            throw DeadlineExceededException.forTimeout(Duration.ofMillis(50));
+                        }
+                        return 42;
+                    })));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+            Future<Integer> follower = executor.submit(() -> withDeadline(Duration.ofSeconds(30),
+                    () -> singleFlight.execute("getBookById", List.of(1L), () -> {
+                        executions.incrementAndGet();
+                        return 42;
+                    })));
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(DeadlineExceededException.class);
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        }
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for the leader when the waiting caller's own deadline passes")
+    void shouldBoundWaitByOwnDeadline() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(properties, meterRegistry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> leader = executor.submit(() -> singleFlight.execute("getBookById", List.of(1L), () -> {
+                leaderStarted.countDown();
+                await(release);
+                return 42;
+            }));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> withDeadline(Duration.ofMillis(50),
+                    () -> singleFlight.execute("getBookById", List.of(1L), () -> 0)))
+                    .isInstanceOf(DeadlineExceededException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        }
+    }
+
+    @Test
+    @DisplayName("Should run every call when disabled")
+    void shouldRunEveryCallWhenDisabled() {
+        properties.setEnabled(false);
+        SingleFlight singleFlight = new SingleFlight(properties, meterRegistry);
+
+        singleFlight.execute("getBookById", List.of(1L), () -> 1);
+
+        assertThat(meterRegistry.find("library.single-flight.calls").counters()).isEmpty();
+    }
+
+    private static <T> T withDeadline(Duration timeout, Supplier<T> call) {
+        RequestDeadline.bind(RequestDeadline.after(timeout));
+        try {
+            return call.get();
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
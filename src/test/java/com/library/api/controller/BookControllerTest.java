@@ -1,10 +1,31 @@
 package com.library.api.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.api.dto.BatchCreateResponseDto;
+import com.library.api.dto.BatchItemResultDto;
+import com.library.api.dto.BookLookupRequestDto;
+import com.library.api.dto.BookLookupResponseDto;
 import com.library.api.dto.BookRequestDto;
 import com.library.api.dto.BookResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
+import com.library.api.dto.ErrorResponseDto;
 import com.library.api.exception.BookNotFoundException;
+import com.library.api.exception.BookUpdateConflictException;
+import com.library.api.exception.BookVersionMismatchException;
 import com.library.api.exception.DuplicateIsbnException;
+import com.library.api.exception.InvalidPageRequestException;
+import com.library.api.exception.InvalidPatchException;
+import com.library.api.exception.IdempotencyKeyMismatchException;
+import com.library.api.exception.ServiceOverloadedException;
+import com.library.api.export.ExportFormat;
+import com.library.api.idempotency.IdempotencyStore;
+import com.library.api.idempotency.IdempotentResult;
+import com.library.api.pagination.BookQuerySortKey;
+import com.library.api.pagination.BookSortKey;
+import com.library.api.query.BookFilter;
+import com.library.api.resilience.StaleResponses;
+import com.library.api.service.BookExportService;
 import com.library.api.service.BookService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,10 +33,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -23,7 +50,10 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -47,6 +77,12 @@ class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private BookExportService bookExportService;
+
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
     private BookRequestDto validBookRequest;
     private BookResponseDto bookResponse;
 
@@ -125,6 +161,31 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.message", containsString("already exists")));
     }
 
+    @Test
+    @DisplayName("Should create books in batch with per-item results")
+    void shouldCreateBooksInBatch() throws Exception {
+        BatchCreateResponseDto batchResponse = BatchCreateResponseDto.builder()
+                .total(2)
+                .created(1)
+                .duplicates(1)
+                .results(List.of(
+                        BatchItemResultDto.builder().index(0).id(1L)
+                                .status(BatchItemResultDto.Status.CREATED).build(),
+                        BatchItemResultDto.builder().index(1)
+                                .status(BatchItemResultDto.Status.DUPLICATE_ISBN).build()))
+                .build();
+        when(bookService.createBooks(anyList())).thenReturn(batchResponse);
+
+        mockMvc.perform(post("/api/v1/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validBookRequest, validBookRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.results[1].status", is("DUPLICATE_ISBN")));
+
+        verify(bookService, times(1)).createBooks(anyList());
+    }
+
     @Test
     @DisplayName("Should get book by ID successfully")
     void shouldGetBookByIdSuccessfully() throws Exception {
@@ -138,6 +199,235 @@ class BookControllerTest {
         verify(bookService, times(1)).getBookById(1L);
     }
 
+    @Test
+    @DisplayName("Should replay stored response for a repeated Idempotency-Key")
+    void shouldReplayResponseForRepeatedIdempotencyKey() throws Exception {
+        when(idempotencyStore.execute(eq("key-1"), any(BookRequestDto.class), any()))
+                .thenReturn(new IdempotentResult<>(bookResponse, true));
+
+        mockMvc.perform(post("/api/v1/books")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest())))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id", is(1)));
+
+        verify(bookService, never()).createBook(any());
+    }
+
+    @Test
+    @DisplayName("Should return 422 when an Idempotency-Key is reused for another request")
+    void shouldReturn422WhenIdempotencyKeyReused() throws Exception {
+        when(idempotencyStore.execute(eq("key-1"), any(BookRequestDto.class), any()))
+                .thenThrow(IdempotencyKeyMismatchException.forKey("key-1"));
+
+        mockMvc.perform(post("/api/v1/books")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest())))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("Should return ETag derived from ID and version")
+    void shouldReturnETagForBook() throws Exception {
+        bookResponse.setVersion(3L);
+        when(bookService.getBookById(1L)).thenReturn(bookResponse);
+
+        mockMvc.perform(get("/api/v1/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return 304 from a version check when If-None-Match is current")
+    void shouldReturn304WhenBookNotModified() throws Exception {
+        when(bookService.getBookVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/v1/books/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(content().string(""));
+
+        verify(bookService, never()).getBookById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should return 304 for an unchanged page")
+    void shouldReturn304WhenPageNotModified() throws Exception {
+        bookResponse.setVersion(3L);
+        when(bookService.getBooksPage(isNull(), isNull(), eq(BookSortKey.ID)))
+                .thenReturn(page(List.of(bookResponse), null));
+
+        String etag = mockMvc.perform(get("/api/v1/books"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Should pass the If-Match version to the update and return 412 on mismatch")
+    void shouldReturn412WhenIfMatchIsOutdated() throws Exception {
+        when(bookService.patchBook(eq(1L), any(JsonNode.class), eq(2L)))
+                .thenThrow(BookVersionMismatchException.forVersion(1L, 2L, 3L));
+
+        mockMvc.perform(patch("/api/v1/books/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-2\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"price\": 39.99}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("Should return 412 when If-Match names another book")
+    void shouldReturn412WhenIfMatchNamesAnotherBook() throws Exception {
+        mockMvc.perform(patch("/api/v1/books/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2-5\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"price\": 39.99}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Should get book by ISBN successfully")
+    void shouldGetBookByIsbnSuccessfully() throws Exception {
+        when(bookService.getBookByIsbn("978-0132350884")).thenReturn(bookResponse);
+
+        mockMvc.perform(get("/api/v1/books/isbn/978-0132350884"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)));
+
+        verify(bookService, times(1)).getBookByIsbn("978-0132350884");
+    }
+
+    @Test
+    @DisplayName("Should return 404 when no book has the ISBN")
+    void shouldReturn404WhenBookNotFoundByIsbn() throws Exception {
+        when(bookService.getBookByIsbn("978-0000000000"))
+                .thenThrow(BookNotFoundException.forIsbn("978-0000000000"));
+
+        mockMvc.perform(get("/api/v1/books/isbn/978-0000000000"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", containsString("ISBN")));
+    }
+
+    @Test
+    @DisplayName("Should return 503 with Retry-After when the service is overloaded")
+    void shouldReturn503WhenOverloaded() throws Exception {
+        when(bookService.getBookById(1L))
+                .thenThrow(ServiceOverloadedException.atLimit(10, Duration.ofSeconds(2)));
+
+        mockMvc.perform(get("/api/v1/books/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    @DisplayName("Should return 409 when an update keeps conflicting with concurrent updates")
+    void shouldReturn409WhenUpdateConflictsPersist() throws Exception {
+        when(bookService.updateBook(eq(1L), any(BookRequestDto.class), isNull()))
+                .thenThrow(BookUpdateConflictException.forId(1L, 4));
+
+        mockMvc.perform(put("/api/v1/books/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest())))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    @DisplayName("Should return 409 instead of 500 for an unretried optimistic-lock failure")
+    void shouldReturn409ForOptimisticLockFailure() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException("Book", 1L)).when(bookService).deleteBook(1L);
+
+        mockMvc.perform(delete("/api/v1/books/1"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    @DisplayName("Should return 504 when the request arrives without time left")
+    void shouldReturn504WhenDeadlineAlreadyExpired() throws Exception {
+        mockMvc.perform(get("/api/v1/books/1").header("X-Request-Timeout", "0"))
+                .andExpect(status().isGatewayTimeout());
+
+        verify(bookService, never()).getBookById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the request timeout header is not a number")
+    void shouldReturn400WhenRequestTimeoutInvalid() throws Exception {
+        mockMvc.perform(get("/api/v1/books/1").header("X-Request-Timeout", "soon"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("X-Request-Timeout")));
+    }
+
+    @Test
+    @DisplayName("Should mark responses built from stale data with Age and Warning headers")
+    void shouldAddStalenessHeaders() throws Exception {
+        when(bookService.getBookById(1L)).thenAnswer(invocation -> {
+            StaleResponses.markStale(Duration.ofSeconds(42));
+            return bookResponse;
+        });
+
+        mockMvc.perform(get("/api/v1/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.AGE, "42"))
+                .andExpect(header().string(HttpHeaders.WARNING, containsString("110")));
+    }
+
+    @Test
+    @DisplayName("Should get many books by IDs with missing IDs reported")
+    void shouldGetBooksByIds() throws Exception {
+        when(bookService.getBooksByIds(List.of(1L, 42L))).thenReturn(BookLookupResponseDto.builder()
+                .books(List.of(bookResponse))
+                .missingIds(List.of(42L))
+                .build());
+
+        mockMvc.perform(get("/api/v1/books").param("ids", "1,42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books", hasSize(1)))
+                .andExpect(jsonPath("$.missingIds[0]", is(42)));
+
+        verify(bookService, times(1)).getBooksByIds(List.of(1L, 42L));
+        verify(bookService, never()).getBooksPage(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should look up many books by IDs from request body")
+    void shouldLookUpBooksByIdsFromBody() throws Exception {
+        when(bookService.getBooksByIds(List.of(2L, 1L))).thenReturn(BookLookupResponseDto.builder()
+                .books(List.of(bookResponse, bookResponse))
+                .missingIds(List.of())
+                .build());
+
+        mockMvc.perform(post("/api/v1/books/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookLookupRequestDto(List.of(2L, 1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books", hasSize(2)))
+                .andExpect(jsonPath("$.missingIds", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when lookup request has no IDs")
+    void shouldReturn400WhenLookupRequestHasNoIds() throws Exception {
+        mockMvc.perform(post("/api/v1/books/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
     @Test
     @DisplayName("Should return 404 when book not found")
     void shouldReturn404WhenBookNotFound() throws Exception {
@@ -150,22 +440,133 @@ class BookControllerTest {
     }
 
     @Test
-    @DisplayName("Should get all books successfully")
+    @DisplayName("Should get first page of books successfully")
     void shouldGetAllBooksSuccessfully() throws Exception {
         List<BookResponseDto> books = Arrays.asList(bookResponse, bookResponse);
-        when(bookService.getAllBooks()).thenReturn(books);
+        when(bookService.getBooksPage(isNull(), isNull(), eq(BookSortKey.ID)))
+                .thenReturn(page(books, "aWQ6Mg"));
 
         mockMvc.perform(get("/api/v1/books"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)));
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("aWQ6Mg")));
+
+        verify(bookService, times(1)).getBooksPage(null, null, BookSortKey.ID);
+    }
+
+    @Test
+    @DisplayName("Should pass cursor, size and sort key when getting a page of books")
+    void shouldPassCursorSizeAndSortWhenGettingBooksPage() throws Exception {
+        when(bookService.getBooksPage("abc", 5, BookSortKey.TITLE))
+                .thenReturn(page(List.of(bookResponse), null));
+
+        mockMvc.perform(get("/api/v1/books")
+                        .param("cursor", "abc")
+                        .param("size", "5")
+                        .param("sort", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+
+        verify(bookService, times(1)).getBooksPage("abc", 5, BookSortKey.TITLE);
+    }
+
+    @Test
+    @DisplayName("Should return 400 when cursor is invalid")
+    void shouldReturn400WhenCursorIsInvalid() throws Exception {
+        when(bookService.getBooksPage(eq("bogus"), isNull(), eq(BookSortKey.ID)))
+                .thenThrow(new InvalidPageRequestException("Malformed cursor"));
+
+        mockMvc.perform(get("/api/v1/books").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Malformed cursor")));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when sort key is unknown")
+    void shouldReturn400WhenSortKeyIsUnknown() throws Exception {
+        mockMvc.perform(get("/api/v1/books").param("sort", "price"))
+                .andExpect(status().isBadRequest());
 
-        verify(bookService, times(1)).getAllBooks();
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Should bind every query criterion and the price sort")
+    void shouldBindQueryCriteria() throws Exception {
+        BookFilter filter = new BookFilter("Robert C. Martin", "Prentice Hall", new BigDecimal("10.00"),
+                new BigDecimal("50"), LocalDate.of(2000, 1, 1), LocalDate.of(2009, 12, 31));
+        when(bookService.queryBooks(filter, "abc", 5, BookQuerySortKey.PRICE))
+                .thenReturn(page(List.of(bookResponse), "next"));
+
+        mockMvc.perform(get("/api/v1/books/query")
+                        .param("author", "Robert C. Martin")
+                        .param("publisher", "Prentice Hall")
+                        .param("minPrice", "10.00")
+                        .param("maxPrice", "50")
+                        .param("publishedFrom", "2000-01-01")
+                        .param("publishedTo", "2009-12-31")
+                        .param("sort", "price")
+                        .param("cursor", "abc")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+
+        verify(bookService, times(1)).queryBooks(filter, "abc", 5, BookQuerySortKey.PRICE);
+    }
+
+    @Test
+    @DisplayName("Should return 400 when a query criterion is malformed")
+    void shouldReturn400WhenQueryCriterionIsMalformed() throws Exception {
+        mockMvc.perform(get("/api/v1/books/query").param("minPrice", "cheap"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("minPrice")));
+        mockMvc.perform(get("/api/v1/books/query").param("publishedFrom", "01/02/2003"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/books/query").param("sort", "isbn"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Should stream catalog export as CSV")
+    void shouldStreamCatalogExportAsCsv() throws Exception {
+        when(bookExportService.exportBooks(eq(ExportFormat.CSV), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(1);
+                    out.write("id,title\r\n1,Clean Code\r\n".getBytes());
+                    return 1L;
+                });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/books/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("books.csv")))
+                .andExpect(content().string(containsString("1,Clean Code")));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when export format is unsupported")
+    void shouldReturn400WhenExportFormatIsUnsupported() throws Exception {
+        mockMvc.perform(get("/api/v1/books/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Unsupported format")));
+
+        verifyNoInteractions(bookExportService);
     }
 
     @Test
     @DisplayName("Should update book successfully")
     void shouldUpdateBookSuccessfully() throws Exception {
-        when(bookService.updateBook(eq(1L), any(BookRequestDto.class)))
+        when(bookService.updateBook(eq(1L), any(BookRequestDto.class), isNull()))
                 .thenReturn(bookResponse);
 
         mockMvc.perform(put("/api/v1/books/1")
@@ -174,7 +575,34 @@ class BookControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(1)));
 
-        verify(bookService, times(1)).updateBook(eq(1L), any(BookRequestDto.class));
+        verify(bookService, times(1)).updateBook(eq(1L), any(BookRequestDto.class), isNull());
+    }
+
+    @Test
+    @DisplayName("Should patch book with a merge patch document")
+    void shouldPatchBookSuccessfully() throws Exception {
+        when(bookService.patchBook(eq(1L), any(JsonNode.class), isNull())).thenReturn(bookResponse);
+
+        mockMvc.perform(patch("/api/v1/books/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"price\": 39.99}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)));
+
+        verify(bookService, times(1)).patchBook(eq(1L), argThat(node -> node.size() == 1 && node.has("price")), isNull());
+    }
+
+    @Test
+    @DisplayName("Should return 400 with field errors for an invalid patch")
+    void shouldReturn400ForInvalidPatch() throws Exception {
+        when(bookService.patchBook(eq(1L), any(JsonNode.class), isNull())).thenThrow(InvalidPatchException.invalidFields(
+                List.of(ErrorResponseDto.ValidationError.builder().field("price").message("Price must be greater than 0").build())));
+
+        mockMvc.perform(patch("/api/v1/books/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"price\": -1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors[0].field", is("price")));
     }
 
     @Test
@@ -192,27 +620,46 @@ class BookControllerTest {
     @DisplayName("Should search books by title successfully")
     void shouldSearchBooksByTitleSuccessfully() throws Exception {
         List<BookResponseDto> books = List.of(bookResponse);
-        when(bookService.searchBooksByTitle("Clean")).thenReturn(books);
+        when(bookService.searchBooksByTitlePage("Clean", null, null)).thenReturn(page(books, null));
 
         mockMvc.perform(get("/api/v1/books/search/title")
                         .param("title", "Clean"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.content", hasSize(1)));
 
-        verify(bookService, times(1)).searchBooksByTitle("Clean");
+        verify(bookService, times(1)).searchBooksByTitlePage("Clean", null, null);
     }
 
     @Test
     @DisplayName("Should search books by author successfully")
     void shouldSearchBooksByAuthorSuccessfully() throws Exception {
         List<BookResponseDto> books = List.of(bookResponse);
-        when(bookService.searchBooksByAuthor("Martin")).thenReturn(books);
+        when(bookService.searchBooksByAuthorPage("Martin", null, null)).thenReturn(page(books, null));
 
         mockMvc.perform(get("/api/v1/books/search/author")
                         .param("author", "Martin"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.content", hasSize(1)));
 
-        verify(bookService, times(1)).searchBooksByAuthor("Martin");
+        verify(bookService, times(1)).searchBooksByAuthorPage("Martin", null, null);
+    }
+
+    private BookRequestDto validRequest() {
+        return BookRequestDto.builder()
+                .title("Clean Code")
+                .author("Robert C. Martin")
+                .isbn("978-0-13235-088-4")
+                .publicationDate(LocalDate.of(2008, 8, 1))
+                .price(new BigDecimal("45.99"))
+                .build();
+    }
+
+    private CursorPageResponseDto<BookResponseDto> page(List<BookResponseDto> content, String nextCursor) {
+        return CursorPageResponseDto.<BookResponseDto>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor)
+                .build();
     }
 }
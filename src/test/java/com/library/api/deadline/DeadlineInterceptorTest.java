@@ -0,0 +1,130 @@
+package com.library.api.deadline;
+
+import com.library.api.config.DeadlineProperties;
+import com.library.api.exception.DeadlineExceededException;
+import com.library.api.exception.InvalidRequestTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for DeadlineInterceptor and DeadlineAwareJpaTransactionManager.
+ */
+@DisplayName("Request Deadline Tests")
+class DeadlineInterceptorTest {
+
+    private DeadlineProperties properties;
+    private DeadlineInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DeadlineProperties();
+        properties.getEndpointTimeouts().put("/api/v1/books/imports/*/content", Duration.ofHours(1));
+        interceptor = new DeadlineInterceptor(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("Should bind the default deadline when no header is sent")
+    void shouldBindDefaultDeadline() {
+        interceptor.preHandle(request("/api/v1/books/1"), new MockHttpServletResponse(), new Object());
+
+        assertThat(RequestDeadline.current()).get()
+                .extracting(RequestDeadline::getTimeout).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should use the endpoint default for a matching path")
+    void shouldBindEndpointDeadline() {
+        interceptor.preHandle(request("/api/v1/books/imports/job-1/content"), new MockHttpServletResponse(), new Object());
+
+        assertThat(RequestDeadline.current()).get()
+                .extracting(RequestDeadline::getTimeout).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Should honour the timeout header up to the configured maximum")
+    void shouldCapRequestedTimeout() {
+        MockHttpServletRequest request = request("/api/v1/books/1");
+        request.addHeader(DeadlineInterceptor.REQUEST_TIMEOUT_HEADER, "120000");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        assertThat(RequestDeadline.current()).get()
+                .extracting(RequestDeadline::getTimeout).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    @DisplayName("Should reject a request that arrives without time left")
+    void shouldRejectExpiredRequest() {
+        MockHttpServletRequest request = request("/api/v1/books/1");
+        request.addHeader(DeadlineInterceptor.REQUEST_TIMEOUT_HEADER, "0");
+
+        assertThatThrownBy(() -> interceptor.preHandle(request, new MockHttpServletResponse(), new Object()))
+                .isInstanceOf(DeadlineExceededException.class);
+        assertThat(RequestDeadline.current()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a timeout header that is not a number")
+    void shouldRejectInvalidHeader() {
+        MockHttpServletRequest request = request("/api/v1/books/1");
+        request.addHeader(DeadlineInterceptor.REQUEST_TIMEOUT_HEADER, "soon");
+
+        assertThatThrownBy(() -> interceptor.preHandle(request, new MockHttpServletResponse(), new Object()))
+                .isInstanceOf(InvalidRequestTimeoutException.class);
+    }
+
+    @Test
+    @DisplayName("Should clear the deadline when the request completes")
+    void shouldClearDeadlineAfterCompletion() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request("/api/v1/books/1"), response, new Object());
+
+        interceptor.afterCompletion(request("/api/v1/books/1"), response, new Object(), null);
+
+        assertThat(RequestDeadline.current()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should round the remaining time up into the transaction timeout")
+    void shouldDeriveTransactionTimeoutFromDeadline() {
+        DeadlineAwareJpaTransactionManager transactionManager = new DeadlineAwareJpaTransactionManager();
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+
+        assertThat(transactionManager.determineTimeout(definition)).isEqualTo(-1);
+
+        RequestDeadline.bind(RequestDeadline.after(Duration.ofMillis(2500)));
+        assertThat(transactionManager.determineTimeout(definition)).isEqualTo(3);
+
+        definition.setTimeout(1);
+        assertThat(transactionManager.determineTimeout(definition)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse to begin a transaction once the deadline has passed")
+    void shouldRefuseTransactionAfterDeadline() {
+        DeadlineAwareJpaTransactionManager transactionManager = new DeadlineAwareJpaTransactionManager();
+        RequestDeadline.bind(RequestDeadline.after(Duration.ZERO));
+
+        assertThatThrownBy(() -> transactionManager.determineTimeout(new DefaultTransactionDefinition()))
+                .isInstanceOf(TransactionTimedOutException.class);
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
@@ -0,0 +1,112 @@
+package com.library.api.idempotency;
+
+import com.library.api.config.IdempotencyProperties;
+import com.library.api.exception.DuplicateIsbnException;
+import com.library.api.exception.IdempotencyKeyMismatchException;
+import com.library.api.exception.InvalidIdempotencyKeyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for IdempotencyStore.
+ */
+@DisplayName("IdempotencyStore Tests")
+class IdempotencyStoreTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new IdempotencyStore(new IdempotencyProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response without running the operation again")
+    void shouldReplayStoredResponse() {
+        AtomicInteger runs = new AtomicInteger();
+
+        IdempotentResult<Integer> first = store.execute("key", "payload", runs::incrementAndGet);
+        IdempotentResult<Integer> second = store.execute("key", "payload", runs::incrementAndGet);
+
+        assertThat(first).isEqualTo(new IdempotentResult<>(1, false));
+        assertThat(second).isEqualTo(new IdempotentResult<>(1, true));
+        assertThat(runs).hasValue(1);
+        assertThat(meterRegistry.get("library.idempotency.replays").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different payload")
+    void shouldRejectKeyReusedWithDifferentPayload() {
+        store.execute("key", "payload", () -> 1);
+
+        assertThatThrownBy(() -> store.execute("key", "other", () -> 2))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    @Test
+    @DisplayName("Should forget a failed operation so that it can be retried")
+    void shouldForgetFailedOperation() {
+        assertThatThrownBy(() -> store.execute("key", "payload", () -> {
+            throw DuplicateIsbnException.forIsbn("978-0-13235-088-4");
+        })).isInstanceOf(DuplicateIsbnException.class);
+
+        assertThat(store.execute("key", "payload", () -> 3)).isEqualTo(new IdempotentResult<>(3, false));
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the in-flight request")
+    void shouldWaitForInFlightRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<IdempotentResult<Integer>> original = executor.submit(() -> store.execute("key", "payload", () -> {
+                started.countDown();
+                await(release);
+                return runs.incrementAndGet();
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<IdempotentResult<Integer>> duplicate =
+                    executor.submit(() -> store.execute("key", "payload", runs::incrementAndGet));
+
+            Thread.sleep(50);
+            assertThat(duplicate).isNotDone();
+            release.countDown();
+
+            assertThat(original.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(new IdempotentResult<>(1, true));
+            assertThat(runs).hasValue(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject blank or oversized keys")
+    void shouldRejectInvalidKeys() {
+        assertThatThrownBy(() -> store.execute(" ", "payload", () -> 1))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+        assertThatThrownBy(() -> store.execute("k".repeat(256), "payload", () -> 1))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
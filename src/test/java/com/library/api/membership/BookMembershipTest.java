@@ -0,0 +1,104 @@
+package com.library.api.membership;
+
+import com.library.api.config.BookMembershipProperties;
+import com.library.api.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookMembership and its filters.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookMembership Tests")
+class BookMembershipTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookMembershipProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BookMembershipProperties();
+        properties.setEnabled(true);
+        properties.setExpectedIsbns(10_000);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should report loaded keys as present and unknown keys as absent")
+    void shouldAnswerMembershipAfterLoading() {
+        when(bookRepository.streamAllKeys()).thenReturn(Stream.of(
+                new BookKey(1L, "978-0132350884"), new BookKey(70_000L, "978-0201633610")));
+        BookMembership membership = new BookMembership(properties, bookRepository, transactionManager, meterRegistry);
+
+        membership.load();
+
+        assertThat(membership.idDefinitelyAbsent(1L)).isFalse();
+        assertThat(membership.idDefinitelyAbsent(70_000L)).isFalse();
+        assertThat(membership.idDefinitelyAbsent(2L)).isTrue();
+        assertThat(membership.isbnDefinitelyAbsent("978-0132350884")).isFalse();
+        assertThat(membership.isbnDefinitelyAbsent("978-0000000000")).isTrue();
+        assertThat(meterRegistry.get("library.membership.short-circuits").tag("key", "id")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report nothing as absent until loaded or when disabled")
+    void shouldNotShortCircuitWhenNotLoaded() {
+        properties.setEnabled(false);
+        BookMembership membership = new BookMembership(properties, bookRepository, transactionManager, meterRegistry);
+
+        membership.load();
+
+        assertThat(membership.idDefinitelyAbsent(42L)).isFalse();
+        assertThat(membership.isbnDefinitelyAbsent("978-0000000000")).isFalse();
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should track created and deleted books")
+    void shouldTrackWrites() {
+        when(bookRepository.streamAllKeys()).thenReturn(Stream.empty());
+        BookMembership membership = new BookMembership(properties, bookRepository, transactionManager, meterRegistry);
+        membership.load();
+
+        membership.recordBook(5L, "978-0134494166");
+        assertThat(membership.idDefinitelyAbsent(5L)).isFalse();
+        assertThat(membership.isbnDefinitelyAbsent("978-0134494166")).isFalse();
+
+        membership.recordDeletion(5L);
+        assertThat(membership.idDefinitelyAbsent(5L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the Bloom filter false-positive rate near its target")
+    void shouldHonourFalsePositiveRate() {
+        IsbnBloomFilter filter = new IsbnBloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("isbn-" + i));
+
+        long falsePositives = IntStream.range(10_000, 110_000)
+                .filter(i -> filter.mightContain("isbn-" + i))
+                .count();
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("isbn-" + i))).isTrue();
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.estimatedFalsePositiveRate()).isBetween(0.005, 0.02);
+    }
+}
@@ -0,0 +1,155 @@
+package com.library.api.resilience;
+
+import com.library.api.config.CircuitBreakerProperties;
+import com.library.api.exception.BookNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for CircuitBreaker.
+ */
+@DisplayName("CircuitBreaker Tests")
+class CircuitBreakerTest {
+
+    private CircuitBreakerProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CircuitBreakerProperties();
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setPermittedProbes(2);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should stay closed until the minimum number of calls is reached")
+    void shouldStayClosedBelowMinimumCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(properties, meterRegistry);
+
+        fail(breaker, 3);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquirePermission().isGranted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should open and refuse calls once the failure rate crosses the threshold")
+    void shouldOpenOnFailureRate() {
+        CircuitBreaker breaker = new CircuitBreaker(properties, meterRegistry);
+
+        succeed(breaker, 2);
+        fail(breaker, 2);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission().isGranted()).isFalse();
+        assertThat(breaker.getRetryAfter()).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+        assertThat(meterRegistry.get("library.circuit-breaker.state").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("library.circuit-breaker.calls").tag("outcome", "rejected").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should close after the half-open probes succeed")
+    void shouldCloseAfterSuccessfulProbes() {
+        properties.setOpenDuration(Duration.ZERO);
+        CircuitBreaker breaker = new CircuitBreaker(properties, meterRegistry);
+        fail(breaker, 4);
+
+        CircuitBreaker.Permission first = breaker.tryAcquirePermission();
+        assertThat(first.isGranted()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        CircuitBreaker.Permission second = breaker.tryAcquirePermission();
+        assertThat(second.isGranted()).isTrue();
+        assertThat(breaker.tryAcquirePermission().isGranted()).isFalse();
+
+        breaker.onSuccess(first);
+        breaker.onSuccess(second);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should reopen when a half-open probe fails")
+    void shouldReopenWhenProbeFails() {
+        properties.setOpenDuration(Duration.ZERO);
+        CircuitBreaker breaker = new CircuitBreaker(properties, meterRegistry);
+        fail(breaker, 4);
+
+        CircuitBreaker.Permission probe = breaker.tryAcquirePermission();
+        assertThat(probe.isGranted()).isTrue();
+        breaker.onFailure(probe);
+
+        properties.setOpenDuration(Duration.ofMinutes(1));
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission().isGranted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not take a call admitted while closed for a half-open probe")
+    void shouldIgnoreOutcomesGrantedInEarlierState() {
+        properties.setOpenDuration(Duration.ZERO);
+        CircuitBreaker breaker = new CircuitBreaker(properties, meterRegistry);
+        CircuitBreaker.Permission admittedWhileClosed = breaker.tryAcquirePermission();
+        fail(breaker, 4);
+
+        CircuitBreaker.Permission probe = breaker.tryAcquirePermission();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess(admittedWhileClosed);
+        breaker.onSuccess(probe);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        CircuitBreaker.Permission lastProbe = breaker.tryAcquirePermission();
+        assertThat(lastProbe.isGranted()).isTrue();
+        breaker.onSuccess(lastProbe);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should only count failures that mean the database is unavailable")
+    void shouldClassifyDatabaseFailures() {
+        assertThat(CircuitBreaker.isDatabaseFailure(new CannotCreateTransactionException("no connection"))).isTrue();
+        assertThat(CircuitBreaker.isDatabaseFailure(new QueryTimeoutException("timeout"))).isTrue();
+        assertThat(CircuitBreaker.isDatabaseFailure(new DataIntegrityViolationException("dup"))).isFalse();
+        assertThat(CircuitBreaker.isDatabaseFailure(BookNotFoundException.forId(1L))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should let every call through when disabled")
+    void shouldPermitEverythingWhenDisabled() {
+        properties.setEnabled(false);
+        CircuitBreaker breaker = new CircuitBreaker(properties, meterRegistry);
+
+        fail(breaker, 10);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquirePermission().isGranted()).isTrue();
+    }
+
+    private static void succeed(CircuitBreaker breaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            CircuitBreaker.Permission permission = breaker.tryAcquirePermission();
+            assertThat(permission.isGranted()).isTrue();
+            breaker.onSuccess(permission);
+        }
+    }
+
+    private static void fail(CircuitBreaker breaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            CircuitBreaker.Permission permission = breaker.tryAcquirePermission();
+            assertThat(permission.isGranted()).isTrue();
+            breaker.onFailure(permission);
+        }
+    }
+}
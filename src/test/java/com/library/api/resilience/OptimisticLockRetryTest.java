@@ -0,0 +1,117 @@
+package com.library.api.resilience;
+
+import com.library.api.config.OptimisticLockRetryProperties;
+import com.library.api.deadline.RequestDeadline;
+import com.library.api.exception.BookUpdateConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for OptimisticLockRetry.
+ */
+@DisplayName("OptimisticLockRetry Tests")
+class OptimisticLockRetryTest {
+
+    private OptimisticLockRetryProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticLockRetry retry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OptimisticLockRetryProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        properties.setMaxBackoff(Duration.ofMillis(2));
+        meterRegistry = new SimpleMeterRegistry();
+        retry = new OptimisticLockRetry(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("Should retry conflicting updates until one commits")
+    void shouldRetryUntilCommitted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.execute("updateBook", 1L, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw conflict();
+            }
+            return "updated";
+        });
+
+        assertThat(result).isEqualTo("updated");
+        assertThat(attempts).hasValue(3);
+        assertThat(count("library.optimistic-lock.calls")).isEqualTo(1.0);
+        assertThat(count("library.optimistic-lock.conflicts")).isEqualTo(2.0);
+        assertThat(meterRegistry.find("library.optimistic-lock.exhausted").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fail with a conflict once the attempts run out")
+    void shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute("patchBook", 7L, () -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        }))
+                .isInstanceOf(BookUpdateConflictException.class)
+                .hasMessageContaining("ID 7");
+
+        assertThat(attempts).hasValue(3);
+        assertThat(meterRegistry.get("library.optimistic-lock.exhausted").tag("operation", "patchBook")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not retry failures other than optimistic-lock conflicts")
+    void shouldNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute("updateBook", 1L, () -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate");
+        })).isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(attempts).hasValue(1);
+        assertThat(meterRegistry.find("library.optimistic-lock.conflicts").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should stop retrying when the request deadline would pass during the backoff")
+    void shouldStopRetryingNearDeadline() {
+        properties.setInitialBackoff(Duration.ofSeconds(10));
+        properties.setMaxBackoff(Duration.ofSeconds(10));
+        RequestDeadline.bind(RequestDeadline.after(Duration.ZERO));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute("updateBook", 1L, () -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        })).isInstanceOf(BookUpdateConflictException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).tag("operation", "updateBook").counter().count();
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("Book", 1L);
+    }
+}
@@ -0,0 +1,55 @@
+package com.library.api.resilience;
+
+import com.library.api.config.CircuitBreakerProperties;
+import com.library.api.dto.BookLookupResponseDto;
+import com.library.api.dto.BookResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for StaleResponseStore.
+ */
+@DisplayName("StaleResponseStore Tests")
+class StaleResponseStoreTest {
+
+    private final BookResponseDto book = BookResponseDto.builder().id(1L).title("Clean Code").build();
+
+    @Test
+    @DisplayName("Should weigh responses by the number of books they hold")
+    void shouldWeighResponsesByBooks() {
+        CursorPageResponseDto<BookResponseDto> page = CursorPageResponseDto.<BookResponseDto>builder()
+                .content(Collections.nCopies(100, book))
+                .build();
+        BookLookupResponseDto lookup = BookLookupResponseDto.builder()
+                .books(List.of(book, book))
+                .missingIds(List.of(3L))
+                .build();
+
+        assertThat(StaleResponseStore.weigh(book)).isEqualTo(1);
+        assertThat(StaleResponseStore.weigh(7L)).isEqualTo(1);
+        assertThat(StaleResponseStore.weigh(page)).isEqualTo(100);
+        assertThat(StaleResponseStore.weigh(lookup)).isEqualTo(2);
+        assertThat(StaleResponseStore.weigh(List.of(book, book, book))).isEqualTo(3);
+        assertThat(StaleResponseStore.weigh(List.of())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve the last stored response and count it")
+    void shouldServeStoredResponse() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StaleResponseStore store = new StaleResponseStore(new CircuitBreakerProperties(), meterRegistry);
+
+        store.put("getBookById", List.of(1L), book);
+
+        assertThat(store.serve("getBookById", List.of(1L)).value()).isSameAs(book);
+        assertThat(store.serve("getBookById", List.of(2L))).isNull();
+        assertThat(meterRegistry.get("library.circuit-breaker.stale-served").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,198 @@
+package com.library.api.routing;
+
+import com.library.api.config.ReplicaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionExecution;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReplicaRoutingDataSource and ReadYourWritesTracker.
+ */
+@DisplayName("Replica Routing Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ReadYourWritesTracker tracker;
+    private DataSource primary;
+    private Connection primaryConnection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        properties = new ReplicaProperties();
+        properties.setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new ReadYourWritesTracker(properties);
+        primary = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRouting.clear();
+    }
+
+    @Test
+    @DisplayName("Should read from the primary until a replica's lag has been measured")
+    void shouldUsePrimaryBeforeFirstLagCheck() throws Exception {
+        ReplicaRoutingDataSource router = router(Map.of("r1", replica(0.0)));
+
+        assertThat(router.getConnection()).isSameAs(primaryConnection);
+        assertThat(routed("primary", "fallback")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should spread reads round-robin over replicas within the lag limit")
+    void shouldRoundRobinOverCurrentReplicas() throws Exception {
+        DataSource first = replica(0.0);
+        DataSource second = replica(1.0);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("r1", first);
+        replicas.put("r2", second);
+        ReplicaRoutingDataSource router = router(replicas);
+        router.checkLag();
+
+        Connection a = router.getConnection();
+        Connection b = router.getConnection();
+
+        assertThat(a).isNotSameAs(primaryConnection);
+        assertThat(b).isNotSameAs(primaryConnection).isNotSameAs(a);
+        assertThat(meterRegistry.get("library.replicas.lag").tag("replica", "r2").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when replicas lag too far behind")
+    void shouldSkipLaggingReplica() throws Exception {
+        ReplicaRoutingDataSource router = router(Map.of("r1", replica(30.0)));
+        router.checkLag();
+
+        assertThat(router.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when a replica cannot hand out a connection")
+    void shouldFallBackWhenReplicaUnavailable() throws Exception {
+        DataSource replica = replica(0.0);
+        ReplicaRoutingDataSource router = router(Map.of("r1", replica));
+        router.checkLag();
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+
+        assertThat(router.getConnection()).isSameAs(primaryConnection);
+        assertThat(router.getConnection()).isSameAs(primaryConnection);
+        verify(replica, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should route connections opened with explicit credentials like any other")
+    void shouldRouteConnectionsWithCredentials() throws Exception {
+        DataSource replica = replica(0.0);
+        Connection replicaConnection = mock(Connection.class);
+        when(replica.getConnection("reporting", "secret")).thenReturn(replicaConnection);
+        Connection pinnedConnection = mock(Connection.class);
+        when(primary.getConnection("reporting", "secret")).thenReturn(pinnedConnection);
+        ReplicaRoutingDataSource router = router(Map.of("r1", replica));
+        router.checkLag();
+
+        assertThat(router.getConnection("reporting", "secret")).isSameAs(replicaConnection);
+
+        Connection connection = ReplicaRouting.onPrimary(() -> {
+            try {
+                return router.getConnection("reporting", "secret");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(connection).isSameAs(pinnedConnection);
+    }
+
+    @Test
+    @DisplayName("Should keep a client's reads on the primary right after it writes")
+    void shouldStickToPrimaryAfterWrite() throws Exception {
+        ReplicaRoutingDataSource router = router(Map.of("r1", replica(0.0)));
+        router.checkLag();
+        ReplicaRouting.bindClient("client-a");
+
+        tracker.afterCommit(transaction(false), null);
+
+        assertThat(router.getConnection()).isSameAs(primaryConnection);
+        assertThat(routed("primary", "sticky")).isEqualTo(1.0);
+
+        ReplicaRouting.bindClient("client-b");
+        assertThat(router.getConnection()).isNotSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("Should not make a client sticky for read-only or failed transactions")
+    void shouldIgnoreReadOnlyAndFailedCommits() {
+        ReplicaRouting.bindClient("client-a");
+
+        tracker.afterCommit(transaction(true), null);
+        tracker.afterCommit(transaction(false), new IllegalStateException("commit failed"));
+
+        assertThat(tracker.isSticky()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should route pinned work to the primary")
+    void shouldRoutePinnedWorkToPrimary() throws Exception {
+        ReplicaRoutingDataSource router = router(Map.of("r1", replica(0.0)));
+        router.checkLag();
+
+        Connection connection = ReplicaRouting.onPrimary(() -> {
+            try {
+                return router.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(connection).isSameAs(primaryConnection);
+        assertThat(ReplicaRouting.isPrimaryPinned()).isFalse();
+    }
+
+    private ReplicaRoutingDataSource router(Map<String, DataSource> replicas) {
+        return new ReplicaRoutingDataSource(primary, replicas, tracker, properties, meterRegistry);
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("library.replicas.routed").tag("target", target).tag("reason", reason)
+                .counter().count();
+    }
+
+    private static DataSource replica(double lagSeconds) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+        return dataSource;
+    }
+
+    private static TransactionExecution transaction(boolean readOnly) {
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.isNewTransaction()).thenReturn(true);
+        when(transaction.isReadOnly()).thenReturn(readOnly);
+        return transaction;
+    }
+}
@@ -0,0 +1,215 @@
+package com.library.api.search;
+
+import com.library.api.config.FullTextSearchProperties;
+import com.library.api.entity.Book;
+import com.library.api.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookFullTextIndex and its BM25 index.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookFullTextIndex Tests")
+class BookFullTextIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path snapshotDirectory;
+
+    private FullTextSearchProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FullTextSearchProperties();
+        properties.setSnapshotPath("");
+        properties.setCatchUpInterval(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should rank books with more, rarer and title matches first")
+    void shouldRankByBm25() {
+        when(bookRepository.streamAllTextFields()).thenReturn(Stream.of(
+                new BookTextFields(1L, "Dragon Rider", "A boy finds an egg in the forest."),
+                new BookTextFields(2L, "Farm Life", "Cows, sheep and a dragon in the forest."),
+                new BookTextFields(3L, "Forest Cooking", null),
+                new BookTextFields(4L, "The Egg", "An egg, and another egg.")));
+        BookFullTextIndex index = new BookFullTextIndex(properties, bookRepository, transactionManager, meterRegistry);
+
+        index.load();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(ids(index.search("DRAGON", null, 10))).containsExactly(1L, 2L);
+        assertThat(ids(index.search("dragon egg", null, 10))).startsWith(1L).containsOnly(1L, 2L, 4L);
+        assertThat(ids(index.search("egg", null, 10))).containsExactly(4L, 1L);
+        assertThat(ids(index.search("forest sheep", null, 1))).containsExactly(2L);
+        assertThat(index.search("unicorn", null, 10)).isEmpty();
+        assertThat(index.search("...", null, 10)).isEmpty();
+        assertThat(meterRegistry.get("library.full-text.documents").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should return the same top results with early termination as a full ranking")
+    void shouldSkipBooksThatCannotRankWithoutChangingResults() {
+        Bm25Index index = new Bm25Index(2, 1.2, 0.75);
+        for (long id = 1; id <= 2_000; id++) {
+            String description = "the story of the " + (id % 7 == 0 ? "lighthouse keeper " : "")
+                    + "village number " + (id % 50) + (id % 300 == 0 ? " lighthouse lighthouse" : "");
+            index.put(id, "Volume " + id, description);
+        }
+
+        List<ScoredMatch> all = index.search("the lighthouse keeper", null, 2_000);
+        List<ScoredMatch> top = index.search("the lighthouse keeper", null, 5);
+
+        assertThat(all).hasSize(2_000).isSortedAccordingTo(Bm25Index.RANKING);
+        assertThat(top).containsExactlyElementsOf(all.subList(0, 5));
+    }
+
+    @Test
+    @DisplayName("Should page through ranked results without skipping or repeating books")
+    void shouldPageThroughRankedResults() {
+        Bm25Index index = new Bm25Index(2, 1.2, 0.75);
+        // Many books share a score, so pages must also break ties by ID
+        for (long id = 1; id <= 95; id++) {
+            index.put(id, "Book " + id, id % 3 == 0 ? "A tale of a dragon." : "A tale.");
+        }
+
+        List<ScoredMatch> paged = new ArrayList<>();
+        ScoredMatch after = null;
+        for (List<ScoredMatch> page = index.search("tale dragon", null, 10); !page.isEmpty();
+             page = index.search("tale dragon", after, 10)) {
+            paged.addAll(page);
+            after = page.get(page.size() - 1);
+        }
+
+        assertThat(paged).containsExactlyElementsOf(index.search("tale dragon", null, 100));
+        assertThat(paged).hasSize(95);
+    }
+
+    @Test
+    @DisplayName("Should reflect recorded writes and deletions and compact deleted books")
+    void shouldTrackWrites() {
+        when(bookRepository.streamAllTextFields()).thenReturn(Stream.empty());
+        BookFullTextIndex index = new BookFullTextIndex(properties, bookRepository, transactionManager, meterRegistry);
+        index.load();
+
+        index.recordBook(Book.builder().id(1L).title("Dune").description("Spice and sand worms.").build());
+        index.recordBook(Book.builder().id(2L).title("Sand").description(null).build());
+        assertThat(ids(index.search("sand", null, 10))).containsExactly(2L, 1L);
+
+        index.recordBook(Book.builder().id(2L).title("Sea").description("Waves.").build());
+        index.recordDeletion(1L);
+        assertThat(index.search("sand", null, 10)).isEmpty();
+        assertThat(ids(index.search("waves", null, 10))).containsExactly(2L);
+
+        // Rewriting books leaves deleted versions behind until the index compacts them
+        Bm25Index bm25 = new Bm25Index(2, 1.2, 0.75);
+        for (int round = 0; round < 5; round++) {
+            LongStream.rangeClosed(1, 1_000).forEach(id -> bm25.put(id, "Title " + id, "Same text"));
+        }
+        assertThat(bm25.size()).isEqualTo(1_000);
+        assertThat(bm25.search("same", null, 2_000)).hasSize(1_000);
+        assertThat(bm25.sizeInBytes()).isLessThan(1_000L * 200);
+    }
+
+    @Test
+    @DisplayName("Should catch up with books written or deleted by other writers")
+    void shouldCatchUpWithOtherWriters() {
+        when(bookRepository.streamAllTextFields()).thenReturn(Stream.of(
+                new BookTextFields(1L, "Dragon Rider", "A boy finds an egg."),
+                new BookTextFields(2L, "Farm Life", "Cows and a dragon.")));
+        when(bookRepository.streamTextFieldsUpdatedSince(any())).thenReturn(Stream.of(
+                new BookTextFields(2L, "Farm Life", "Cows and sheep."),
+                new BookTextFields(5L, "Sheep Shearing", null)));
+        when(bookRepository.streamAllIds()).thenReturn(Stream.of(2L, 5L));
+        BookFullTextIndex index = new BookFullTextIndex(properties, bookRepository, transactionManager, meterRegistry);
+        index.load();
+
+        index.catchUp();
+
+        assertThat(ids(index.search("dragon", null, 10))).isEmpty();
+        assertThat(ids(index.search("sheep", null, 10))).containsExactly(5L, 2L);
+        assertThat(meterRegistry.get("library.full-text.documents").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should restore a saved snapshot and only re-read books changed or deleted since")
+    void shouldRestoreSnapshotAndCatchUp() {
+        properties.setSnapshotPath(snapshotDirectory.resolve("full-text.bin").toString());
+        when(bookRepository.streamAllTextFields()).thenReturn(Stream.of(
+                new BookTextFields(1L, "Dragon Rider", "A boy finds an egg."),
+                new BookTextFields(2L, "Farm Life", "Cows and a dragon."),
+                new BookTextFields(3L, "Forest Cooking", "Recipes.")));
+        BookFullTextIndex first = new BookFullTextIndex(properties, bookRepository, transactionManager, meterRegistry);
+        first.load();
+        first.recordBook(Book.builder().id(4L).title("Dragon Eggs").description(null).build());
+        first.save();
+
+        when(bookRepository.streamTextFieldsUpdatedSince(any())).thenReturn(Stream.of(
+                new BookTextFields(2L, "Farm Life", "Cows and sheep.")));
+        when(bookRepository.streamAllIds()).thenReturn(Stream.of(2L, 3L, 4L));
+        BookFullTextIndex restarted = new BookFullTextIndex(properties, bookRepository, transactionManager,
+                new SimpleMeterRegistry());
+        restarted.load();
+
+        assertThat(restarted.isReady()).isTrue();
+        assertThat(ids(restarted.search("dragon", null, 10))).containsExactly(4L);
+        assertThat(ids(restarted.search("sheep recipes", null, 10))).containsOnly(2L, 3L);
+        verify(bookRepository, times(1)).streamAllTextFields();
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the database when the snapshot is unreadable or written with another title weight")
+    void shouldRebuildWithoutUsableSnapshot() throws IOException {
+        Path snapshot = snapshotDirectory.resolve("full-text.bin");
+        properties.setSnapshotPath(snapshot.toString());
+        Files.writeString(snapshot, "not a snapshot");
+        when(bookRepository.streamAllTextFields())
+                .thenReturn(Stream.of(new BookTextFields(1L, "Dune", "Sand.")))
+                .thenReturn(Stream.of(new BookTextFields(1L, "Dune", "Sand.")));
+
+        BookFullTextIndex index = new BookFullTextIndex(properties, bookRepository, transactionManager, meterRegistry);
+        index.load();
+        assertThat(ids(index.search("sand", null, 10))).containsExactly(1L);
+        assertThat(Files.size(snapshot)).isGreaterThan(20);
+
+        properties.setTitleWeight(3);
+        BookFullTextIndex reweighted = new BookFullTextIndex(properties, bookRepository, transactionManager,
+                new SimpleMeterRegistry());
+        reweighted.load();
+
+        assertThat(ids(reweighted.search("dune", null, 10))).containsExactly(1L);
+        verify(bookRepository, times(2)).streamAllTextFields();
+        verify(bookRepository, never()).streamTextFieldsUpdatedSince(any());
+    }
+
+    private static List<Long> ids(List<ScoredMatch> matches) {
+        return matches.stream().map(ScoredMatch::id).toList();
+    }
+}
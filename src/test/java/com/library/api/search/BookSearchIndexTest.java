@@ -0,0 +1,275 @@
+package com.library.api.search;
+
+import com.library.api.config.BookSearchProperties;
+import com.library.api.entity.Book;
+import com.library.api.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookSearchIndex and its trigram index, fuzzy term index and suggestion trie.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookSearchIndex Tests")
+class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookSearchProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BookSearchProperties();
+        properties.setEnabled(true);
+        properties.setCatchUpInterval(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should find loaded books by case-insensitive title and author substrings")
+    void shouldSearchLoadedBooks() {
+        when(bookRepository.streamAllSearchFields()).thenReturn(Stream.of(
+                new BookSearchFields(1L, "Clean Code", "Robert C. Martin"),
+                new BookSearchFields(2L, "Refactoring", "Martin Fowler"),
+                new BookSearchFields(5L, "Clean Architecture", "Robert C. Martin")));
+        BookSearchIndex index = new BookSearchIndex(properties, bookRepository, transactionManager, meterRegistry);
+
+        index.load();
+
+        assertThat(index.canSearch("clean")).isTrue();
+        assertThat(index.searchTitles("CLEAN", 0L, 10)).containsExactly(1L, 5L);
+        assertThat(index.searchTitles("clean", 1L, 10)).containsExactly(5L);
+        assertThat(index.searchAuthors("martin", 0L, 10)).containsExactly(1L, 2L, 5L);
+        assertThat(index.searchAuthors("martin", 0L, 2)).containsExactly(1L, 2L);
+        assertThat(index.searchTitles("code clean", 0L, 10)).isEmpty();
+        assertThat(meterRegistry.get("library.search.indexed").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should not search until loaded, when disabled, or for keywords shorter than a trigram")
+    void shouldNotSearchWhenNotLoaded() {
+        properties.setEnabled(false);
+        BookSearchIndex index = new BookSearchIndex(properties, bookRepository, transactionManager, meterRegistry);
+
+        index.load();
+
+        assertThat(index.canSearch("clean")).isFalse();
+        verifyNoInteractions(bookRepository);
+
+        properties.setEnabled(true);
+        when(bookRepository.streamAllSearchFields()).thenReturn(Stream.empty());
+        index.load();
+
+        assertThat(index.canSearch("clean")).isTrue();
+        assertThat(index.canSearch("go")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should track created, renamed and deleted books")
+    void shouldTrackWrites() {
+        when(bookRepository.streamAllSearchFields()).thenReturn(Stream.empty());
+        BookSearchIndex index = new BookSearchIndex(properties, bookRepository, transactionManager, meterRegistry);
+        index.load();
+
+        index.recordBook(Book.builder().id(7L).title("Domain-Driven Design").author("Eric Evans").build());
+        assertThat(index.searchTitles("driven", 0L, 10)).containsExactly(7L);
+
+        index.recordBook(Book.builder().id(7L).title("Implementing DDD").author("Vaughn Vernon").build());
+        assertThat(index.searchTitles("driven", 0L, 10)).isEmpty();
+        assertThat(index.searchAuthors("vernon", 0L, 10)).containsExactly(7L);
+
+        index.recordDeletion(7L);
+        assertThat(index.searchAuthors("vernon", 0L, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should catch up with books written or deleted by other writers")
+    void shouldCatchUpWithOtherWriters() {
+        when(bookRepository.streamAllSearchFields()).thenReturn(Stream.of(
+                new BookSearchFields(1L, "Clean Code", "Robert C. Martin"),
+                new BookSearchFields(2L, "Refactoring", "Martin Fowler"),
+                new BookSearchFields(3L, "Clean Architecture", "Robert C. Martin")));
+        when(bookRepository.streamSearchFieldsUpdatedSince(any())).thenReturn(Stream.of(
+                new BookSearchFields(3L, "Clean Agile", "Robert C. Martin"),
+                new BookSearchFields(9L, "Release It!", "Michael Nygard")));
+        when(bookRepository.streamAllIds()).thenReturn(Stream.of(1L, 3L, 9L));
+        BookSearchIndex index = new BookSearchIndex(properties, bookRepository, transactionManager, meterRegistry);
+        index.load();
+
+        index.catchUp();
+
+        assertThat(index.searchTitles("clean", 0L, 10)).containsExactly(1L, 3L);
+        assertThat(index.searchTitles("release", 0L, 10)).containsExactly(9L);
+        assertThat(index.searchAuthors("fowler", 0L, 10)).isEmpty();
+        assertThat(index.searchFuzzy("nygrad", BookSearchField.AUTHOR, null, 10))
+                .extracting(FuzzyMatch::id).containsExactly(9L);
+        assertThat(index.suggest("clean", 10)).extracting(Suggestion::text)
+                .containsExactlyInAnyOrder("Clean Code", "Clean Agile");
+        assertThat(index.suggest("martin", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should intersect posting lists and page through matches in ID order")
+    void shouldPageThroughLargePostingLists() {
+        TrigramIndex index = new TrigramIndex();
+        LongStream.rangeClosed(1, 10_000).forEach(id ->
+                index.put(id, id % 100 == 0 ? "The Art of Computer Programming " + id : "The Art of War " + id));
+
+        assertThat(index.search("computer", 0L, 1_000)).hasSize(100).startsWith(100L, 200L);
+        assertThat(index.search("computer", 9_800L, 10)).containsExactly(9_900L, 10_000L);
+        assertThat(index.search("art of", 0L, 3)).containsExactly(1L, 2L, 3L);
+        assertThat(index.size()).isEqualTo(10_000);
+        assertThatThrownBy(() -> index.search("ar", 0L, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should find loaded books despite typos, closest first")
+    void shouldSearchFuzzy() {
+        when(bookRepository.streamAllSearchFields()).thenReturn(Stream.of(
+                new BookSearchFields(1L, "Clean Code", "Robert C. Martin"),
+                new BookSearchFields(2L, "Refactoring", "Martin Fowler"),
+                new BookSearchFields(3L, "Clean Architecture", "Robert C. Martin"),
+                new BookSearchFields(4L, "Effective Java", "Joshua Bloch")));
+        BookSearchIndex index = new BookSearchIndex(properties, bookRepository, transactionManager, meterRegistry);
+
+        assertThat(index.isReady()).isFalse();
+        index.load();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.searchFuzzy("Robert C. Marin", BookSearchField.AUTHOR, null, 10))
+                .containsExactly(new FuzzyMatch(1L, 1), new FuzzyMatch(3L, 1));
+        assertThat(index.searchFuzzy("martin", BookSearchField.AUTHOR, null, 10))
+                .extracting(FuzzyMatch::id).containsExactly(1L, 2L, 3L);
+        assertThat(index.searchFuzzy("artchitecure", BookSearchField.TITLE, null, 10))
+                .containsExactly(new FuzzyMatch(3L, 2));
+        assertThat(index.searchFuzzy("artchitecure", BookSearchField.TITLE, 1, 10)).isEmpty();
+        assertThat(index.searchFuzzy("efective jav", BookSearchField.TITLE, null, 10))
+                .containsExactly(new FuzzyMatch(4L, 2));
+        assertThat(index.searchFuzzy("clean", BookSearchField.TITLE, null, 1))
+                .containsExactly(new FuzzyMatch(1L, 0));
+        // The first character must match exactly
+        assertThat(index.searchFuzzy("vlean", BookSearchField.TITLE, null, 10)).isEmpty();
+        assertThat(meterRegistry.get("library.search.terms").tag("field", "author").gauge().value())
+                .isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should keep fuzzy matches consistent with writes before and after the terms are rebuilt")
+    void shouldTrackFuzzyTermsAcrossRebuilds() {
+        FuzzyTermIndex index = new FuzzyTermIndex(1);
+        index.startBulkLoad();
+        LongStream.rangeClosed(1, 10_000).forEach(id -> index.put(id, "Author" + id));
+        index.finishBulkLoad();
+
+        index.put(10_001L, "Kent Beck");
+        index.put(10_002L, "Kent Bock");
+        assertThat(index.search("kent beck", null, 10))
+                .containsExactly(new FuzzyMatch(10_001L, 0), new FuzzyMatch(10_002L, 1));
+        assertThat(index.search("author42", 0, 10)).containsExactly(new FuzzyMatch(42L, 0));
+        assertThat(index.search("author42", 1, 3)).extracting(FuzzyMatch::distance).containsExactly(0, 1, 1);
+
+        index.remove(42L);
+        index.remove(10_001L);
+        assertThat(index.search("author42", 0, 10)).isEmpty();
+        assertThat(index.search("kent beck", null, 10)).containsExactly(new FuzzyMatch(10_002L, 1));
+
+        // Enough new terms to rebuild the sorted terms, which still list the removed ones until then
+        LongStream.rangeClosed(20_001, 25_000).forEach(id -> index.put(id, "Writer" + id));
+        assertThat(index.search("writer24999", 0, 10)).containsExactly(new FuzzyMatch(24_999L, 0));
+        assertThat(index.search("author42", 0, 10)).isEmpty();
+        assertThat(index.search("kent beck", null, 10)).containsExactly(new FuzzyMatch(10_002L, 1));
+        assertThat(index.termCount()).isEqualTo(15_001);
+        assertThat(index.search(" ", null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should suggest titles and authors by prefix, most common first, and follow writes")
+    void shouldSuggestByPrefix() {
+        when(bookRepository.streamAllSearchFields()).thenReturn(Stream.of(
+                new BookSearchFields(1L, "Clean Code", "Robert C. Martin"),
+                new BookSearchFields(2L, "Refactoring", "Martin Fowler"),
+                new BookSearchFields(3L, "Clean Architecture", "Robert C. Martin"),
+                new BookSearchFields(4L, "Clean  code", "Robert  Cecil Martin")));
+        BookSearchIndex index = new BookSearchIndex(properties, bookRepository, transactionManager, meterRegistry);
+        index.load();
+
+        assertThat(index.suggest("CLEAN ", 10)).containsExactly(
+                new Suggestion("Clean code", BookSearchField.TITLE, 2),
+                new Suggestion("Clean Architecture", BookSearchField.TITLE, 1));
+        assertThat(index.suggest("  robert c", 10)).containsExactly(
+                new Suggestion("Robert C. Martin", BookSearchField.AUTHOR, 2),
+                new Suggestion("Robert Cecil Martin", BookSearchField.AUTHOR, 1));
+        assertThat(index.suggest("r", 2)).extracting(Suggestion::text)
+                .containsExactly("Robert C. Martin", "Refactoring");
+        assertThat(index.suggest("martin f", 10)).extracting(Suggestion::text).containsExactly("Martin Fowler");
+        assertThat(index.suggest("cleaner", 10)).isEmpty();
+
+        index.recordBook(Book.builder().id(3L).title("Clean Code").author("Robert C. Martin").build());
+        assertThat(index.suggest("clean", 10)).containsExactly(
+                new Suggestion("Clean Code", BookSearchField.TITLE, 3));
+
+        index.recordDeletion(1L);
+        index.recordDeletion(4L);
+        assertThat(index.suggest("clean", 10)).containsExactly(
+                new Suggestion("Clean Code", BookSearchField.TITLE, 1));
+        assertThat(index.suggest("robert", 10)).containsExactly(
+                new Suggestion("Robert C. Martin", BookSearchField.AUTHOR, 1));
+        assertThat(meterRegistry.get("library.search.suggestions").tag("field", "author").gauge().value())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("library.search.memory").tag("field", "title").tag("index", "suggestions")
+                .gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep the cached best suggestions of large subtrees up to date")
+    void shouldMaintainCachedSuggestions() {
+        SuggestionTrie trie = new SuggestionTrie(BookSearchField.TITLE, 3);
+        trie.startBulkLoad();
+        LongStream.rangeClosed(1, 100).forEach(i -> {
+            for (int copy = 0; copy < i % 10; copy++) {
+                trie.replace(null, "Volume " + i);
+            }
+        });
+        trie.finishBulkLoad();
+
+        assertThat(trie.suggest("volume", 3)).extracting(Suggestion::text)
+                .containsExactly("Volume 19", "Volume 29", "Volume 39");
+        assertThat(trie.suggest("volume 2", 2)).extracting(Suggestion::weight).containsExactly(9, 8);
+
+        for (int copy = 0; copy < 10; copy++) {
+            trie.replace(null, "Volume 100");
+        }
+        trie.replace(null, "volume   100");
+        assertThat(trie.suggest("volume", 3)).extracting(Suggestion::text)
+                .containsExactly("volume 100", "Volume 19", "Volume 29");
+
+        trie.replace("volume 100", "Volume 1000");
+        trie.replace("volume 100", null);
+        trie.replace("volume 100", null);
+        trie.replace("volume 19", null);
+        assertThat(trie.suggest("volume", 3)).extracting(Suggestion::text)
+                .containsExactly("Volume 29", "Volume 39", "Volume 49");
+        assertThat(trie.suggest("volume 10", 3)).containsExactly(
+                new Suggestion("volume 100", BookSearchField.TITLE, 8),
+                new Suggestion("Volume 1000", BookSearchField.TITLE, 1));
+        assertThat(trie.size()).isEqualTo(92);
+    }
+}
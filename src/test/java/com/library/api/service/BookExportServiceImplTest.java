@@ -0,0 +1,112 @@
+package com.library.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.library.api.dto.BookResponseDto;
+import com.library.api.entity.Book;
+import com.library.api.export.ExportFormat;
+import com.library.api.mapper.BookMapper;
+import com.library.api.repository.BookRepository;
+import com.library.api.service.impl.BookExportServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookExportServiceImpl.
+ *
+ * These tests verify the streamed export formats and that exported
+ * entities are detached from the persistence context.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookExportServiceImpl Tests")
+class BookExportServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookMapper bookMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private BookExportServiceImpl bookExportService;
+
+    private Book first;
+    private Book second;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        bookExportService = new BookExportServiceImpl(bookRepository, bookMapper, entityManager, objectMapper);
+
+        first = Book.builder().id(1L).title("Clean Code").build();
+        second = Book.builder().id(2L).title("Refactoring").build();
+
+        when(bookMapper.toResponseDto(first)).thenReturn(BookResponseDto.builder()
+                .id(1L)
+                .title("Clean Code")
+                .author("Robert C. Martin")
+                .isbn("978-0132350884")
+                .publicationDate(LocalDate.of(2008, 8, 1))
+                .price(new BigDecimal("45.99"))
+                .description("A handbook of agile software craftsmanship, \"revised\"")
+                .build());
+        when(bookMapper.toResponseDto(second)).thenReturn(BookResponseDto.builder()
+                .id(2L)
+                .title("Refactoring")
+                .author("Martin Fowler")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should export books as NDJSON and detach each entity")
+    void shouldExportBooksAsNdjson() throws Exception {
+        when(bookRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = bookExportService.exportBooks(ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":1").contains("\"publicationDate\":\"2008-08-01\"");
+        assertThat(lines[1]).contains("\"title\":\"Refactoring\"");
+
+        verify(entityManager, times(1)).detach(first);
+        verify(entityManager, times(1)).detach(second);
+    }
+
+    @Test
+    @DisplayName("Should export books as CSV with header and quoted fields")
+    void shouldExportBooksAsCsv() throws Exception {
+        when(bookRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = bookExportService.exportBooks(ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,title,author,isbn");
+        assertThat(lines[1]).startsWith("1,Clean Code,Robert C. Martin,978-0132350884,2008-08-01,45.99,"
+                + "\"A handbook of agile software craftsmanship, \"\"revised\"\"\"");
+        assertThat(lines[2]).startsWith("2,Refactoring,Martin Fowler,");
+
+        verify(entityManager, times(2)).detach(any(Book.class));
+    }
+}
@@ -0,0 +1,205 @@
+package com.library.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.library.api.config.BookBatchProperties;
+import com.library.api.config.BookImportProperties;
+import com.library.api.dto.BatchCreateResponseDto;
+import com.library.api.dto.BatchItemResultDto;
+import com.library.api.dto.BookRequestDto;
+import com.library.api.dto.ImportJobResponseDto;
+import com.library.api.exception.ImportJobNotFoundException;
+import com.library.api.exception.ImportJobStateException;
+import com.library.api.ingest.ImportFormat;
+import com.library.api.service.impl.BookImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookImportServiceImpl.
+ *
+ * These tests verify chunked commits, per-row error reporting and
+ * resuming a failed import job.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookImportServiceImpl Tests")
+class BookImportServiceImplTest {
+
+    private static final String CSV = """
+            title,author,isbn,publicationDate,price,description
+            Clean Code,Robert C. Martin,978-0-13235-088-4,2008-08-01,45.99,"Agile, \"\"craftsmanship\"\"\"
+            Refactoring,Martin Fowler,978-0-20148-567-7,1999-07-08,not-a-price,
+            Design Patterns,Gang of Four,978-0-20163-361-0,1994-10-31,54.99,"Multi
+            line"
+            Domain-Driven Design,Eric Evans,978-0-32112-521-7,2003-08-30,59.99,
+            """;
+
+    @Mock
+    private BookService bookService;
+
+    private BookImportProperties importProperties;
+    private BookImportServiceImpl bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        importProperties = new BookImportProperties();
+        importProperties.setChunkSize(2);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        bookImportService = new BookImportServiceImpl(
+                bookService, objectMapper, importProperties, new BookBatchProperties());
+    }
+
+    @Test
+    @DisplayName("Should import CSV in chunks and report unparseable rows")
+    void shouldImportCsvInChunks() {
+        when(bookService.createBooks(anyList())).thenAnswer(invocation -> allCreated(invocation.getArgument(0)));
+        String jobId = bookImportService.createJob(ImportFormat.CSV).getId();
+
+        ImportJobResponseDto result = bookImportService.runJob(jobId, stream(CSV));
+
+        assertThat(result.getStatus()).isEqualTo(ImportJobResponseDto.Status.COMPLETED);
+        assertThat(result.getRowsRead()).isEqualTo(4);
+        assertThat(result.getCommittedRows()).isEqualTo(4);
+        assertThat(result.getCreated()).isEqualTo(3);
+        assertThat(result.getInvalid()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement()
+                .extracting(ImportJobResponseDto.RowError::getRow)
+                .isEqualTo(2L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BookRequestDto>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(bookService, times(2)).createBooks(chunks.capture());
+        BookRequestDto first = chunks.getAllValues().get(0).get(0);
+        assertThat(first.getDescription()).isEqualTo("Agile, \"craftsmanship\"");
+        assertThat(first.getPublicationDate()).isEqualTo(LocalDate.of(2008, 8, 1));
+        assertThat(first.getPrice()).isEqualByComparingTo(new BigDecimal("45.99"));
+        assertThat(chunks.getAllValues().get(1).get(0).getDescription()).isEqualTo("Multi\nline");
+    }
+
+    @Test
+    @DisplayName("Should resume a failed job after the last committed chunk")
+    void shouldResumeFailedJobAfterLastCommittedChunk() {
+        when(bookService.createBooks(anyList()))
+                .thenAnswer(invocation -> allCreated(invocation.getArgument(0)))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"))
+                .thenAnswer(invocation -> allCreated(invocation.getArgument(0)));
+        String jobId = bookImportService.createJob(ImportFormat.CSV).getId();
+
+        ImportJobResponseDto failed = bookImportService.runJob(jobId, stream(CSV));
+
+        assertThat(failed.getStatus()).isEqualTo(ImportJobResponseDto.Status.FAILED);
+        assertThat(failed.getCommittedRows()).isEqualTo(2);
+        assertThat(failed.getFailureMessage()).contains("connection lost");
+
+        ImportJobResponseDto resumed = bookImportService.runJob(jobId, stream(CSV));
+
+        assertThat(resumed.getStatus()).isEqualTo(ImportJobResponseDto.Status.COMPLETED);
+        assertThat(resumed.getCommittedRows()).isEqualTo(4);
+        assertThat(resumed.getCreated()).isEqualTo(3);
+        assertThat(resumed.getInvalid()).isEqualTo(1);
+        verify(bookService, times(3)).createBooks(anyList());
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON and report invalid JSON lines")
+    void shouldImportNdjson() {
+        when(bookService.createBooks(anyList())).thenAnswer(invocation -> allCreated(invocation.getArgument(0)));
+        String jobId = bookImportService.createJob(ImportFormat.NDJSON).getId();
+        String ndjson = """
+                {"title":"Clean Code","author":"Robert C. Martin","isbn":"978-0-13235-088-4","publicationDate":"2008-08-01","price":45.99}
+
+                {"title": broken
+                """;
+
+        ImportJobResponseDto result = bookImportService.runJob(jobId, stream(ndjson));
+
+        assertThat(result.getStatus()).isEqualTo(ImportJobResponseDto.Status.COMPLETED);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getInvalid()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getMessage()).startsWith("Invalid JSON");
+    }
+
+    @Test
+    @DisplayName("Should fail job when CSV header lacks required columns")
+    void shouldFailJobWhenCsvHeaderLacksRequiredColumns() {
+        String jobId = bookImportService.createJob(ImportFormat.CSV).getId();
+
+        ImportJobResponseDto result = bookImportService.runJob(jobId, stream("title,author\nA,B\n"));
+
+        assertThat(result.getStatus()).isEqualTo(ImportJobResponseDto.Status.FAILED);
+        assertThat(result.getFailureMessage()).contains("missing required columns");
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Should reject content for a completed job")
+    void shouldRejectContentForCompletedJob() {
+        String jobId = bookImportService.createJob(ImportFormat.NDJSON).getId();
+        bookImportService.runJob(jobId, stream(""));
+
+        assertThatThrownBy(() -> bookImportService.runJob(jobId, stream("")))
+                .isInstanceOf(ImportJobStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should only evict finished jobs when the job limit is reached")
+    void shouldOnlyEvictFinishedJobsWhenLimitIsReached() {
+        importProperties.setMaxRetainedJobs(2);
+        String completed = bookImportService.createJob(ImportFormat.NDJSON).getId();
+        bookImportService.runJob(completed, stream(""));
+        String pending = bookImportService.createJob(ImportFormat.NDJSON).getId();
+
+        String next = bookImportService.createJob(ImportFormat.NDJSON).getId();
+
+        assertThatThrownBy(() -> bookImportService.getJob(completed))
+                .isInstanceOf(ImportJobNotFoundException.class);
+        assertThat(bookImportService.getJob(pending).getStatus()).isEqualTo(ImportJobResponseDto.Status.PENDING);
+        assertThat(bookImportService.getJob(next).getStatus()).isEqualTo(ImportJobResponseDto.Status.PENDING);
+        assertThatThrownBy(() -> bookImportService.createJob(ImportFormat.NDJSON))
+                .isInstanceOf(ImportJobStateException.class);
+        assertThat(bookImportService.getJob(pending).getStatus()).isEqualTo(ImportJobResponseDto.Status.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when import job is unknown")
+    void shouldThrowExceptionWhenImportJobIsUnknown() {
+        assertThatThrownBy(() -> bookImportService.getJob("missing"))
+                .isInstanceOf(ImportJobNotFoundException.class);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BatchCreateResponseDto allCreated(List<BookRequestDto> books) {
+        List<BatchItemResultDto> results = IntStream.range(0, books.size())
+                .mapToObj(index -> BatchItemResultDto.builder()
+                        .index(index)
+                        .status(BatchItemResultDto.Status.CREATED)
+                        .build())
+                .toList();
+        return BatchCreateResponseDto.builder()
+                .total(books.size())
+                .created(books.size())
+                .results(results)
+                .build();
+    }
+}
@@ -1,22 +1,66 @@
 package com.library.api.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.api.cache.BookCache;
+import com.library.api.cache.BookIsbnCache;
+import com.library.api.cache.CachedBook;
+import com.library.api.config.BookBatchProperties;
+import com.library.api.config.BookCacheProperties;
+import com.library.api.config.BookSearchProperties;
+import com.library.api.config.PaginationProperties;
+import com.library.api.dto.BatchCreateResponseDto;
+import com.library.api.dto.BatchItemResultDto;
+import com.library.api.dto.BookLookupResponseDto;
 import com.library.api.dto.BookRequestDto;
 import com.library.api.dto.BookResponseDto;
+import com.library.api.dto.CursorPageResponseDto;
+import com.library.api.dto.ErrorResponseDto;
+import com.library.api.dto.FuzzyMatchDto;
+import com.library.api.dto.SearchHitDto;
+import com.library.api.dto.SuggestionDto;
 import com.library.api.entity.Book;
+import com.library.api.exception.BatchSizeExceededException;
 import com.library.api.exception.BookNotFoundException;
+import com.library.api.exception.BookVersionMismatchException;
 import com.library.api.exception.DuplicateIsbnException;
+import com.library.api.exception.InvalidPageRequestException;
+import com.library.api.exception.InvalidPatchException;
+import com.library.api.exception.InvalidSearchRequestException;
+import com.library.api.exception.ServiceOverloadedException;
 import com.library.api.mapper.BookMapper;
+import com.library.api.membership.BookMembership;
+import com.library.api.pagination.BookCursor;
+import com.library.api.pagination.BookQueryCursor;
+import com.library.api.pagination.BookQuerySortKey;
+import com.library.api.pagination.BookSortKey;
+import com.library.api.pagination.SearchHitCursor;
+import com.library.api.query.BookFilter;
 import com.library.api.repository.BookRepository;
+import com.library.api.search.BookFullTextIndex;
+import com.library.api.search.BookSearchField;
+import com.library.api.search.BookSearchIndex;
+import com.library.api.search.FuzzyMatch;
+import com.library.api.search.ScoredMatch;
+import com.library.api.search.Suggestion;
 import com.library.api.service.impl.BookServiceImpl;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
@@ -42,6 +86,42 @@ class BookServiceImplTest {
     @Mock
     private BookMapper bookMapper;
 
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @Spy
+    private BookBatchProperties batchProperties = new BookBatchProperties();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private BookCache bookCache;
+
+    @Mock
+    private BookIsbnCache isbnCache;
+
+    @Spy
+    private BookCacheProperties cacheProperties = new BookCacheProperties();
+
+    @Mock
+    private BookMembership membership;
+
+    @Mock
+    private BookSearchIndex searchIndex;
+
+    @Spy
+    private BookSearchProperties searchProperties = new BookSearchProperties();
+
+    @Mock
+    private BookFullTextIndex fullTextIndex;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -90,7 +170,6 @@ class BookServiceImplTest {
     @Test
     @DisplayName("Should create book successfully")
     void shouldCreateBookSuccessfully() {
-        when(bookRepository.existsByIsbn(anyString())).thenReturn(false);
         when(bookMapper.toEntity(any(BookRequestDto.class))).thenReturn(book);
         when(bookRepository.save(any(Book.class))).thenReturn(book);
         when(bookMapper.toResponseDto(any(Book.class))).thenReturn(bookResponseDto);
@@ -101,8 +180,9 @@ class BookServiceImplTest {
         assertThat(result.getTitle()).isEqualTo("Clean Code");
         assertThat(result.getIsbn()).isEqualTo("978-0132350884");
 
-        verify(bookRepository, times(1)).existsByIsbn(anyString());
+        verify(bookRepository, never()).existsByIsbn(anyString());
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookRepository, times(1)).flush();
         verify(bookMapper, times(1)).toEntity(any(BookRequestDto.class));
         verify(bookMapper, times(1)).toResponseDto(any(Book.class));
     }
@@ -110,14 +190,29 @@ class BookServiceImplTest {
     @Test
     @DisplayName("Should throw exception when creating book with duplicate ISBN")
     void shouldThrowExceptionWhenCreatingBookWithDuplicateIsbn() {
-        when(bookRepository.existsByIsbn(anyString())).thenReturn(true);
+        when(bookMapper.toEntity(any(BookRequestDto.class))).thenReturn(book);
+        when(bookRepository.save(any(Book.class))).thenReturn(book);
+        doThrow(uniqueViolation()).when(bookRepository).flush();
 
         assertThatThrownBy(() -> bookService.createBook(bookRequestDto))
                 .isInstanceOf(DuplicateIsbnException.class)
                 .hasMessageContaining("already exists");
 
-        verify(bookRepository, times(1)).existsByIsbn(anyString());
-        verify(bookRepository, never()).save(any(Book.class));
+        verify(bookRepository, never()).existsByIsbn(anyString());
+        verify(membership, never()).recordBook(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should propagate integrity violations other than a duplicate ISBN")
+    void shouldPropagateNonUniqueIntegrityViolation() {
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("null value",
+                new SQLException("null value in column", "23502"));
+        when(bookMapper.toEntity(any(BookRequestDto.class))).thenReturn(book);
+        when(bookRepository.save(any(Book.class))).thenReturn(book);
+        doThrow(notNull).when(bookRepository).flush();
+
+        assertThatThrownBy(() -> bookService.createBook(bookRequestDto))
+                .isSameAs(notNull);
     }
 
     @Test
@@ -150,40 +245,134 @@ class BookServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should get all books successfully")
-    void shouldGetAllBooksSuccessfully() {
-        List<Book> books = Arrays.asList(book, book);
-        List<BookResponseDto> responseDtos = Arrays.asList(bookResponseDto, bookResponseDto);
+    @DisplayName("Should reject definitely absent ID without querying the database")
+    void shouldRejectDefinitelyAbsentIdWithoutQuery() {
+        when(membership.idDefinitelyAbsent(999L)).thenReturn(true);
 
-        when(bookRepository.findAll()).thenReturn(books);
-        when(bookMapper.toResponseDtoList(anyList())).thenReturn(responseDtos);
+        assertThatThrownBy(() -> bookService.getBookById(999L))
+                .isInstanceOf(BookNotFoundException.class);
 
-        List<BookResponseDto> result = bookService.getAllBooks();
+        verify(bookRepository, never()).findById(anyLong());
+    }
 
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(2);
+    @Test
+    @DisplayName("Should skip batch ISBN lookup when every ISBN is definitely absent")
+    void shouldSkipBatchIsbnLookupForDefinitelyAbsentIsbns() {
+        BookRequestDto fresh = validRequest("978-0-13235-088-4");
+        Book savedBook = Book.builder().id(42L).isbn("978-0-13235-088-4").build();
+        when(membership.isbnDefinitelyAbsent("978-0-13235-088-4")).thenReturn(true);
+        when(bookMapper.toEntity(fresh)).thenReturn(savedBook);
+        when(bookRepository.saveAll(anyList())).thenReturn(List.of(savedBook));
+
+        bookService.createBooks(List.of(fresh));
+
+        verify(bookRepository, never()).findExistingIsbns(anyCollection());
+        verify(membership, times(1)).recordBook(42L, "978-0-13235-088-4");
+    }
+
+    @Test
+    @DisplayName("Should serve cached book when its version is current")
+    void shouldServeCachedBookWhenVersionIsCurrent() {
+        CachedBook cached = new CachedBook(3L, bookResponseDto);
+        when(bookCache.get(1L)).thenReturn(cached);
+        when(bookRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        when(bookCache.isCurrent(1L, cached, 3L)).thenReturn(true);
+
+        BookResponseDto result = bookService.getBookById(1L);
 
-        verify(bookRepository, times(1)).findAll();
-        verify(bookMapper, times(1)).toResponseDtoList(anyList());
+        assertThat(result).isSameAs(bookResponseDto);
+        verify(bookRepository, never()).findById(anyLong());
+        verifyNoInteractions(bookMapper);
+    }
+
+    @Test
+    @DisplayName("Should reload and re-cache book when cached version is stale")
+    void shouldReloadBookWhenCachedVersionIsStale() {
+        book.setVersion(4L);
+        CachedBook cached = new CachedBook(3L, bookResponseDto);
+        when(bookCache.get(1L)).thenReturn(cached);
+        when(bookRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+        when(bookCache.isCurrent(1L, cached, 4L)).thenReturn(false);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookMapper.toResponseDto(book)).thenReturn(bookResponseDto);
+
+        bookService.getBookById(1L);
+
+        verify(bookRepository, times(1)).findById(1L);
+        verify(bookCache, times(1)).put(1L, 4L, bookResponseDto);
+    }
+
+    @Test
+    @DisplayName("Should evict cached book and throw when it was deleted elsewhere")
+    void shouldEvictCachedBookWhenDeletedElsewhere() {
+        when(bookCache.get(1L)).thenReturn(new CachedBook(3L, bookResponseDto));
+        when(bookRepository.findVersionById(1L)).thenReturn(Optional.empty());
+        when(bookRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> bookService.getBookById(1L))
+                .isInstanceOf(BookNotFoundException.class);
+
+        verify(bookCache, times(1)).evict(1L);
+    }
+
+    @Test
+    @DisplayName("Should resolve repeat ISBN lookup through the caches")
+    void shouldResolveIsbnThroughCaches() {
+        cacheProperties.setValidateVersion(false);
+        when(isbnCache.get("978-0132350884")).thenReturn(1L);
+        when(bookCache.get(1L)).thenReturn(new CachedBook(0L, bookResponseDto));
+
+        BookResponseDto result = bookService.getBookByIsbn("978-0132350884");
+
+        assertThat(result).isSameAs(bookResponseDto);
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should reload ISBN lookup when cached book no longer carries the ISBN")
+    void shouldReloadIsbnLookupWhenMappingIsOutdated() {
+        cacheProperties.setValidateVersion(false);
+        BookResponseDto renumbered = BookResponseDto.builder().id(1L).isbn("978-0000000000").build();
+        Book other = Book.builder().id(2L).isbn("978-0132350884").version(0L).build();
+        when(isbnCache.get("978-0132350884")).thenReturn(1L);
+        when(bookCache.get(1L)).thenReturn(new CachedBook(0L, renumbered));
+        when(bookRepository.findByIsbn("978-0132350884")).thenReturn(Optional.of(other));
+        when(bookMapper.toResponseDto(other)).thenReturn(bookResponseDto);
+
+        bookService.getBookByIsbn("978-0132350884");
+
+        verify(isbnCache, times(1)).evict("978-0132350884");
+        verify(isbnCache, times(1)).put("978-0132350884", 2L);
+        verify(bookCache, times(1)).put(2L, 0L, bookResponseDto);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when no book has the ISBN")
+    void shouldThrowExceptionWhenBookNotFoundByIsbn() {
+        when(bookRepository.findByIsbn("978-0000000000")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> bookService.getBookByIsbn("978-0000000000"))
+                .isInstanceOf(BookNotFoundException.class)
+                .hasMessageContaining("ISBN");
     }
 
     @Test
     @DisplayName("Should update book successfully")
     void shouldUpdateBookSuccessfully() {
         when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(bookRepository.existsByIsbnAndIdNot(anyString(), anyLong())).thenReturn(false);
         when(bookRepository.save(any(Book.class))).thenReturn(book);
         when(bookMapper.toResponseDto(any(Book.class))).thenReturn(bookResponseDto);
         doNothing().when(bookMapper).updateEntityFromDto(any(BookRequestDto.class), any(Book.class));
 
-        BookResponseDto result = bookService.updateBook(1L, bookRequestDto);
+        BookResponseDto result = bookService.updateBook(1L, bookRequestDto, null);
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
 
         verify(bookRepository, times(1)).findById(1L);
-        verify(bookRepository, times(1)).existsByIsbnAndIdNot(anyString(), anyLong());
+        verify(bookRepository, never()).existsByIsbnAndIdNot(anyString(), anyLong());
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookRepository, times(1)).flush();
         verify(bookMapper, times(1)).updateEntityFromDto(any(BookRequestDto.class), any(Book.class));
     }
 
@@ -191,106 +380,494 @@ class BookServiceImplTest {
     @DisplayName("Should throw exception when updating with duplicate ISBN")
     void shouldThrowExceptionWhenUpdatingWithDuplicateIsbn() {
         when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(bookRepository.existsByIsbnAndIdNot(anyString(), anyLong())).thenReturn(true);
+        when(bookRepository.save(any(Book.class))).thenReturn(book);
+        doThrow(uniqueViolation()).when(bookRepository).flush();
 
-        assertThatThrownBy(() -> bookService.updateBook(1L, bookRequestDto))
+        assertThatThrownBy(() -> bookService.updateBook(1L, bookRequestDto, null))
                 .isInstanceOf(DuplicateIsbnException.class)
                 .hasMessageContaining("already exists");
 
         verify(bookRepository, times(1)).findById(1L);
-        verify(bookRepository, times(1)).existsByIsbnAndIdNot(anyString(), anyLong());
+        verify(bookRepository, never()).existsByIsbnAndIdNot(anyString(), anyLong());
+        verify(bookCache, never()).evict(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject update based on an outdated version")
+    void shouldRejectUpdateBasedOnOutdatedVersion() {
+        book.setVersion(4L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+
+        assertThatThrownBy(() -> bookService.updateBook(1L, bookRequestDto, 3L))
+                .isInstanceOf(BookVersionMismatchException.class)
+                .hasMessageContaining("version 4");
+
         verify(bookRepository, never()).save(any(Book.class));
     }
 
+    @Test
+    @DisplayName("Should read only the version of a book")
+    void shouldGetBookVersionWithoutLoadingBook() {
+        when(bookRepository.findVersionById(1L)).thenReturn(Optional.of(7L));
+
+        assertThat(bookService.getBookVersion(1L)).isEqualTo(7L);
+
+        verify(bookRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should patch only the supplied fields")
+    void shouldPatchOnlySuppliedFields() throws Exception {
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.save(any(Book.class))).thenReturn(book);
+        when(bookMapper.toResponseDto(any(Book.class))).thenReturn(bookResponseDto);
+        doCallRealMethod().when(bookMapper).patchEntity(any(), anySet(), any());
+
+        bookService.patchBook(1L, objectMapper.readTree("{\"price\": 39.99, \"publisher\": null}"), null);
+
+        assertThat(book.getPrice()).isEqualByComparingTo("39.99");
+        assertThat(book.getPublisher()).isNull();
+        assertThat(book.getTitle()).isEqualTo("Clean Code");
+        assertThat(book.getDescription()).isEqualTo("A handbook of agile software craftsmanship");
+        verify(bookRepository, times(1)).flush();
+        verify(bookCache, times(1)).evict(1L);
+        verify(isbnCache, never()).evict(anyString());
+    }
+
+    @Test
+    @DisplayName("Should validate only the supplied fields of a patch")
+    void shouldValidateOnlySuppliedPatchFields() {
+        assertThatThrownBy(() -> bookService.patchBook(1L, objectMapper.readTree("{\"price\": -1, \"title\": null}"), null))
+                .isInstanceOf(InvalidPatchException.class)
+                .satisfies(e -> assertThat(((InvalidPatchException) e).getValidationErrors())
+                        .extracting(ErrorResponseDto.ValidationError::getField)
+                        .containsExactlyInAnyOrder("price", "title"));
+
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject patch of fields that cannot be modified")
+    void shouldRejectPatchOfUnknownFields() {
+        assertThatThrownBy(() -> bookService.patchBook(1L, objectMapper.readTree("{\"id\": 7, \"version\": 0}"), null))
+                .isInstanceOf(InvalidPatchException.class)
+                .hasMessageContaining("id, version");
+
+        verifyNoInteractions(bookRepository);
+    }
+
     @Test
     @DisplayName("Should delete book successfully")
     void shouldDeleteBookSuccessfully() {
-        when(bookRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(bookRepository).deleteById(1L);
+        when(bookRepository.deleteBookById(1L)).thenReturn(1);
 
         assertThatCode(() -> bookService.deleteBook(1L))
                 .doesNotThrowAnyException();
 
-        verify(bookRepository, times(1)).existsById(1L);
-        verify(bookRepository, times(1)).deleteById(1L);
+        verify(bookRepository, times(1)).deleteBookById(1L);
+        verify(bookRepository, never()).findById(anyLong());
+        verify(bookCache, times(1)).evict(1L);
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existing book")
     void shouldThrowExceptionWhenDeletingNonExistingBook() {
-        when(bookRepository.existsById(999L)).thenReturn(false);
+        when(bookRepository.deleteBookById(999L)).thenReturn(0);
 
         assertThatThrownBy(() -> bookService.deleteBook(999L))
                 .isInstanceOf(BookNotFoundException.class)
                 .hasMessageContaining("not found");
 
-        verify(bookRepository, times(1)).existsById(999L);
-        verify(bookRepository, never()).deleteById(anyLong());
+        verify(bookRepository, times(1)).deleteBookById(999L);
+        verify(membership, never()).recordDeletion(anyLong());
     }
 
     @Test
-    @DisplayName("Should search books by title successfully")
-    void shouldSearchBooksByTitleSuccessfully() {
-        List<Book> books = List.of(book);
-        List<BookResponseDto> responseDtos = List.of(bookResponseDto);
+    @DisplayName("Should answer title search from the index and drop candidates that no longer match")
+    void shouldSearchTitlePageThroughIndex() {
+        Book renamed = Book.builder().id(3L).title("Refactoring").build();
+        Book later = Book.builder().id(8L).title("Clean Architecture").build();
 
-        when(bookRepository.findByTitleContainingIgnoreCase("Clean")).thenReturn(books);
-        when(bookMapper.toResponseDtoList(anyList())).thenReturn(responseDtos);
+        when(searchIndex.canSearch("clean")).thenReturn(true);
+        when(searchIndex.searchTitles("clean", 0L, 2)).thenReturn(List.of(1L, 3L));
+        when(searchIndex.searchTitles("clean", 3L, 1)).thenReturn(List.of(8L));
+        when(bookRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(renamed, book));
+        when(bookRepository.findAllById(List.of(8L))).thenReturn(List.of(later));
+        when(bookMapper.toResponseDtoList(anyList())).thenReturn(List.of(bookResponseDto));
 
-        List<BookResponseDto> result = bookService.searchBooksByTitle("Clean");
+        CursorPageResponseDto<BookResponseDto> result = bookService.searchBooksByTitlePage("clean", null, 1);
 
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getTitle()).contains("Clean");
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(BookCursor.decode(result.getNextCursor(), BookSortKey.ID).id()).isEqualTo(1L);
 
-        verify(bookRepository, times(1)).findByTitleContainingIgnoreCase("Clean");
-        verify(bookMapper, times(1)).toResponseDtoList(anyList());
+        verify(bookMapper, times(1)).toResponseDtoList(List.of(book));
+        verify(bookRepository, never()).searchByTitleAfterId(anyString(), anyLong(), any());
     }
 
     @Test
-    @DisplayName("Should search books by author successfully")
-    void shouldSearchBooksByAuthorSuccessfully() {
-        List<Book> books = List.of(book);
-        List<BookResponseDto> responseDtos = List.of(bookResponseDto);
+    @DisplayName("Should return fuzzy matches closest first and drop books deleted since indexing")
+    void shouldSearchFuzzyInMatchOrder() {
+        Book fowler = Book.builder().id(2L).title("Refactoring").author("Martin Fowler").build();
+        BookResponseDto fowlerDto = BookResponseDto.builder().id(2L).author("Martin Fowler").build();
 
-        when(bookRepository.findByAuthorContainingIgnoreCase("Martin")).thenReturn(books);
-        when(bookMapper.toResponseDtoList(anyList())).thenReturn(responseDtos);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.searchFuzzy("martin", BookSearchField.AUTHOR, null, 10)).thenReturn(List.of(
+                new FuzzyMatch(2L, 0), new FuzzyMatch(9L, 0), new FuzzyMatch(1L, 1)));
+        when(bookRepository.findAllById(List.of(2L, 9L, 1L))).thenReturn(List.of(book, fowler));
+        when(bookMapper.toResponseDto(book)).thenReturn(bookResponseDto);
+        when(bookMapper.toResponseDto(fowler)).thenReturn(fowlerDto);
 
-        List<BookResponseDto> result = bookService.searchBooksByAuthor("Martin");
+        List<FuzzyMatchDto> result = bookService.searchBooksFuzzy("martin", BookSearchField.AUTHOR, null, 10);
 
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getAuthor()).contains("Martin");
+        assertThat(result).containsExactly(new FuzzyMatchDto(fowlerDto, 0), new FuzzyMatchDto(bookResponseDto, 1));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid fuzzy searches and refuse them until the index is loaded")
+    void shouldRejectFuzzySearchWhenInvalidOrIndexNotReady() {
+        assertThatThrownBy(() -> bookService.searchBooksFuzzy(" ", BookSearchField.TITLE, null, null))
+                .isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> bookService.searchBooksFuzzy("clean", BookSearchField.TITLE, 3, null))
+                .isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> bookService.searchBooksFuzzy("clean", BookSearchField.TITLE, null, 0))
+                .isInstanceOf(InvalidPageRequestException.class);
+
+        when(searchIndex.isReady()).thenReturn(false);
+        assertThatThrownBy(() -> bookService.searchBooksFuzzy("clean", BookSearchField.TITLE, null, null))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        verify(searchIndex, never()).searchFuzzy(anyString(), any(), any(), anyInt());
+        verifyNoInteractions(bookRepository);
+    }
 
-        verify(bookRepository, times(1)).findByAuthorContainingIgnoreCase("Martin");
-        verify(bookMapper, times(1)).toResponseDtoList(anyList());
+    @Test
+    @DisplayName("Should suggest from the index with the default limit and cap larger limits")
+    void shouldSuggestFromIndex() {
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.suggest("rob", 10)).thenReturn(List.of(
+                new Suggestion("Robert C. Martin", BookSearchField.AUTHOR, 2),
+                new Suggestion("Robinson Crusoe", BookSearchField.TITLE, 1)));
+
+        List<SuggestionDto> result = bookService.suggestBooks("rob", null);
+
+        assertThat(result).containsExactly(
+                new SuggestionDto("Robert C. Martin", "author", 2),
+                new SuggestionDto("Robinson Crusoe", "title", 1));
+
+        bookService.suggestBooks("rob", 1_000);
+        verify(searchIndex).suggest("rob", 20);
+        assertThatThrownBy(() -> bookService.suggestBooks(" ", null))
+                .isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> bookService.suggestBooks("rob", 0))
+                .isInstanceOf(InvalidSearchRequestException.class);
+        verifyNoInteractions(bookRepository);
     }
 
     @Test
-    @DisplayName("Should return empty list when no books match title search")
-    void shouldReturnEmptyListWhenNoBooksMatchTitleSearch() {
-        when(bookRepository.findByTitleContainingIgnoreCase("NonExistent")).thenReturn(List.of());
-        when(bookMapper.toResponseDtoList(anyList())).thenReturn(List.of());
+    @DisplayName("Should return full-text hits by rank with a cursor following the last match")
+    void shouldSearchFullTextInRankOrder() {
+        Book fowler = Book.builder().id(2L).title("Refactoring").author("Martin Fowler").build();
+        BookResponseDto fowlerDto = BookResponseDto.builder().id(2L).title("Refactoring").build();
+        ScoredMatch after = new ScoredMatch(5L, 9.5);
+
+        when(fullTextIndex.isReady()).thenReturn(true);
+        when(fullTextIndex.search("clean refactoring", after, 3)).thenReturn(List.of(
+                new ScoredMatch(2L, 8.25), new ScoredMatch(9L, 4.0), new ScoredMatch(1L, 4.0)));
+        when(bookRepository.findAllById(List.of(2L, 9L))).thenReturn(List.of(fowler));
+        when(bookMapper.toResponseDto(fowler)).thenReturn(fowlerDto);
+
+        CursorPageResponseDto<SearchHitDto> page = bookService.searchBooks(
+                "clean refactoring", SearchHitCursor.after(after).encode(), 2);
+
+        // Book 9 was deleted after it was matched, so the page is short but the cursor still skips it
+        assertThat(page.getContent()).containsExactly(new SearchHitDto(fowlerDto, 8.25));
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(SearchHitCursor.decode(page.getNextCursor()).toMatch()).isEqualTo(new ScoredMatch(9L, 4.0));
+    }
 
-        List<BookResponseDto> result = bookService.searchBooksByTitle("NonExistent");
+    @Test
+    @DisplayName("Should reject invalid full-text searches and refuse them until the index is loaded")
+    void shouldRejectFullTextSearchWhenInvalidOrIndexNotReady() {
+        String idCursor = new BookCursor(BookSortKey.ID, 5L, null).encode();
+
+        assertThatThrownBy(() -> bookService.searchBooks(" ", null, null))
+                .isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> bookService.searchBooks("clean", idCursor, null))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> bookService.searchBooks("clean", null, 0))
+                .isInstanceOf(InvalidPageRequestException.class);
+
+        when(fullTextIndex.isReady()).thenReturn(false);
+        assertThatThrownBy(() -> bookService.searchBooks("clean", null, null))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        verify(fullTextIndex, never()).search(anyString(), any(), anyInt());
+        verifyNoInteractions(bookRepository);
+    }
 
-        assertThat(result).isNotNull();
-        assertThat(result).isEmpty();
+    @Test
+    @DisplayName("Should return first page with next cursor when more books exist")
+    void shouldReturnFirstPageWithNextCursor() {
+        Book second = Book.builder().id(2L).title("Refactoring").build();
+        Book third = Book.builder().id(3L).title("Working Effectively").build();
+
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(List.of(book, second, third));
+        when(bookMapper.toResponseDtoList(anyList())).thenReturn(List.of(bookResponseDto, bookResponseDto));
+
+        CursorPageResponseDto<BookResponseDto> result = bookService.getBooksPage(null, 2, BookSortKey.ID);
 
-        verify(bookRepository, times(1)).findByTitleContainingIgnoreCase("NonExistent");
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getSize()).isEqualTo(2);
+        assertThat(BookCursor.decode(result.getNextCursor(), BookSortKey.ID).id()).isEqualTo(2L);
+
+        verify(bookMapper, times(1)).toResponseDtoList(List.of(book, second));
     }
 
     @Test
-    @DisplayName("Should return empty list when no books match author search")
-    void shouldReturnEmptyListWhenNoBooksMatchAuthorSearch() {
-        when(bookRepository.findByAuthorContainingIgnoreCase("NonExistent")).thenReturn(List.of());
-        when(bookMapper.toResponseDtoList(anyList())).thenReturn(List.of());
+    @DisplayName("Should seek after cursor position when sorting by title")
+    void shouldSeekAfterCursorWhenSortingByTitle() {
+        String cursor = new BookCursor(BookSortKey.TITLE, 7L, "Clean Code").encode();
 
-        List<BookResponseDto> result = bookService.searchBooksByAuthor("NonExistent");
+        when(bookRepository.findPageAfterTitle("Clean Code", 7L, Limit.of(21))).thenReturn(List.of(book));
+        when(bookMapper.toResponseDtoList(anyList())).thenReturn(List.of(bookResponseDto));
 
-        assertThat(result).isNotNull();
-        assertThat(result).isEmpty();
+        CursorPageResponseDto<BookResponseDto> result = bookService.getBooksPage(cursor, null, BookSortKey.TITLE);
+
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+
+        verify(bookRepository, times(1)).findPageAfterTitle("Clean Code", 7L, Limit.of(21));
+    }
+
+    @Test
+    @DisplayName("Should query one filtered page sorted by price and continue after its last book")
+    @SuppressWarnings("unchecked")
+    void shouldQueryFilteredPageSortedByPrice() {
+        Book second = Book.builder().id(2L).title("Refactoring").price(new BigDecimal("47.50")).build();
+        Book third = Book.builder().id(3L).title("Working Effectively").price(new BigDecimal("52.00")).build();
+        when(bookRepository.findBy(any(Specification.class), any())).thenReturn(List.of(book, second, third));
+        when(bookMapper.toResponseDtoList(anyList())).thenReturn(List.of(bookResponseDto, bookResponseDto));
+        BookFilter filter = new BookFilter(null, "Prentice Hall", new BigDecimal("40"), new BigDecimal("60"),
+                null, null);
+
+        CursorPageResponseDto<BookResponseDto> result = bookService.queryBooks(filter, null, 2, BookQuerySortKey.PRICE);
+
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getSize()).isEqualTo(2);
+        BookQueryCursor next = BookQueryCursor.decode(result.getNextCursor(), BookQuerySortKey.PRICE);
+        assertThat(next.id()).isEqualTo(2L);
+        assertThat(next.sortValue()).isEqualTo(new BigDecimal("47.50"));
+
+        verify(bookMapper, times(1)).toResponseDtoList(List.of(book, second));
+    }
+
+    @Test
+    @DisplayName("Should reject blank names, empty ranges and foreign cursors without querying")
+    void shouldRejectInvalidQueryFilters() {
+        BigDecimal low = new BigDecimal("10");
+        BigDecimal high = new BigDecimal("20");
+        LocalDate early = LocalDate.of(2000, 1, 1);
+        LocalDate late = LocalDate.of(2010, 1, 1);
+        String titleCursor = new BookQueryCursor(BookQuerySortKey.TITLE, 7L, "Clean Code").encode();
+        String listingCursor = new BookCursor(BookSortKey.ID, 7L, null).encode();
+
+        assertThatThrownBy(() -> bookService.queryBooks(new BookFilter(" ", null, null, null, null, null),
+                null, null, BookQuerySortKey.ID))
+                .isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> bookService.queryBooks(new BookFilter(null, null, high, low, null, null),
+                null, null, BookQuerySortKey.ID))
+                .isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> bookService.queryBooks(new BookFilter(null, null, null, null, late, early),
+                null, null, BookQuerySortKey.ID))
+                .isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> bookService.queryBooks(new BookFilter(null, null, low, high, early, late),
+                titleCursor, null, BookQuerySortKey.PRICE))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> bookService.queryBooks(new BookFilter(null, null, null, null, null, null),
+                listingCursor, null, BookQuerySortKey.ID))
+                .isInstanceOf(InvalidPageRequestException.class);
+
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should cap page size at configured maximum")
+    void shouldCapPageSizeAtConfiguredMaximum() {
+        when(bookRepository.searchByAuthorAfterId("Martin", 0L, Limit.of(101))).thenReturn(List.of(book));
+        when(bookMapper.toResponseDtoList(anyList())).thenReturn(List.of(bookResponseDto));
+
+        bookService.searchBooksByAuthorPage("Martin", null, 5000);
 
-        verify(bookRepository, times(1)).findByAuthorContainingIgnoreCase("NonExistent");
+        verify(bookRepository, times(1)).searchByAuthorAfterId("Martin", 0L, Limit.of(101));
+    }
+
+    @Test
+    @DisplayName("Should reject cursor issued for another sort order")
+    void shouldRejectCursorIssuedForAnotherSortOrder() {
+        String cursor = new BookCursor(BookSortKey.TITLE, 7L, "Clean Code").encode();
+
+        assertThatThrownBy(() -> bookService.searchBooksByTitlePage("Clean", cursor, null))
+                .isInstanceOf(InvalidPageRequestException.class);
+
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive page size")
+    void shouldRejectNonPositivePageSize() {
+        assertThatThrownBy(() -> bookService.getBooksPage(null, 0, BookSortKey.ID))
+                .isInstanceOf(InvalidPageRequestException.class);
+
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should create valid books in batch and report rejected items individually")
+    void shouldCreateBooksInBatchWithPerItemResults() {
+        BookRequestDto fresh = validRequest("978-0-13235-088-4");
+        BookRequestDto existing = validRequest("978-0-20163-361-0");
+        BookRequestDto repeated = validRequest("978-0-13235-088-4");
+        BookRequestDto invalid = BookRequestDto.builder().title("").isbn("bad").build();
+        Book freshBook = Book.builder().isbn("978-0-13235-088-4").build();
+        Book savedBook = Book.builder().id(42L).isbn("978-0-13235-088-4").build();
+
+        when(bookRepository.findExistingIsbns(anyCollection())).thenReturn(List.of("978-0-20163-361-0"));
+        when(bookMapper.toEntity(fresh)).thenReturn(freshBook);
+        when(bookRepository.saveAll(List.of(freshBook))).thenReturn(List.of(savedBook));
+
+        BatchCreateResponseDto result = bookService.createBooks(List.of(fresh, existing, repeated, invalid));
+
+        assertThat(result.getTotal()).isEqualTo(4);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getDuplicates()).isEqualTo(2);
+        assertThat(result.getInvalid()).isEqualTo(1);
+        assertThat(result.getResults())
+                .extracting(BatchItemResultDto::getStatus)
+                .containsExactly(
+                        BatchItemResultDto.Status.CREATED,
+                        BatchItemResultDto.Status.DUPLICATE_ISBN,
+                        BatchItemResultDto.Status.DUPLICATE_ISBN,
+                        BatchItemResultDto.Status.VALIDATION_ERROR);
+        assertThat(result.getResults().get(0).getId()).isEqualTo(42L);
+        assertThat(result.getResults().get(3).getValidationErrors()).isNotEmpty();
+
+        verify(bookRepository, times(1)).findExistingIsbns(anyCollection());
+        verify(bookRepository, never()).existsByIsbn(anyString());
+        verify(bookRepository).flush();
+    }
+
+    @Test
+    @DisplayName("Should retry batch items one by one when a concurrent insert takes an ISBN")
+    void shouldRetryBatchItemsIndividuallyOnUniqueViolation() {
+        BookRequestDto winner = validRequest("978-0-13235-088-4");
+        BookRequestDto loser = validRequest("978-0-20163-361-0");
+        Book winnerBook = Book.builder().isbn("978-0-13235-088-4").build();
+        Book loserBook = Book.builder().isbn("978-0-20163-361-0").build();
+        Book savedWinner = Book.builder().id(42L).isbn("978-0-13235-088-4").build();
+
+        when(bookRepository.findExistingIsbns(anyCollection())).thenReturn(List.of());
+        when(bookMapper.toEntity(winner)).thenReturn(winnerBook);
+        when(bookMapper.toEntity(loser)).thenReturn(loserBook);
+        when(bookRepository.saveAll(List.of(winnerBook, loserBook))).thenReturn(List.of(winnerBook, loserBook));
+        when(bookRepository.save(winnerBook)).thenReturn(savedWinner);
+        when(bookRepository.save(loserBook)).thenReturn(loserBook);
+        doThrow(uniqueViolation())
+                .doNothing()
+                .doThrow(uniqueViolation())
+                .when(bookRepository).flush();
+
+        BatchCreateResponseDto result = bookService.createBooks(List.of(winner, loser));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getDuplicates()).isEqualTo(1);
+        assertThat(result.getResults())
+                .extracting(BatchItemResultDto::getStatus)
+                .containsExactly(BatchItemResultDto.Status.CREATED, BatchItemResultDto.Status.DUPLICATE_ISBN);
+        assertThat(result.getResults().get(0).getId()).isEqualTo(42L);
+        verify(membership).recordBook(42L, "978-0-13235-088-4");
+        verify(membership, never()).recordBook(anyLong(), eq("978-0-20163-361-0"));
+    }
+
+    @Test
+    @DisplayName("Should group-commit books and skip existing or repeated ISBNs")
+    void shouldCreateBooksSkippingDuplicates() {
+        BookRequestDto fresh = validRequest("978-0-13235-088-4");
+        BookRequestDto existing = validRequest("978-0-20163-361-0");
+        BookRequestDto repeated = validRequest("978-0-13235-088-4");
+        Book freshBook = Book.builder().isbn("978-0-13235-088-4").build();
+        Book savedBook = Book.builder().id(42L).isbn("978-0-13235-088-4").build();
+        BookResponseDto savedResponse = BookResponseDto.builder().id(42L).isbn("978-0-13235-088-4").build();
+
+        when(bookRepository.findExistingIsbns(anyCollection())).thenReturn(List.of("978-0-20163-361-0"));
+        when(bookMapper.toEntity(fresh)).thenReturn(freshBook);
+        when(bookRepository.saveAll(List.of(freshBook))).thenReturn(List.of(savedBook));
+        when(bookMapper.toResponseDto(savedBook)).thenReturn(savedResponse);
+
+        List<BookResponseDto> result = bookService.createBooksSkippingDuplicates(List.of(fresh, existing, repeated));
+
+        assertThat(result).containsExactly(savedResponse, null, null);
+        verify(bookRepository).flush();
+        verify(membership).recordBook(42L, "978-0-13235-088-4");
+    }
+
+    @Test
+    @DisplayName("Should throw DuplicateIsbnException when a group commit races a concurrent insert")
+    void shouldThrowWhenGroupCommitHitsUniqueViolation() {
+        BookRequestDto fresh = validRequest("978-0-13235-088-4");
+        Book freshBook = Book.builder().isbn("978-0-13235-088-4").build();
+
+        when(bookMapper.toEntity(fresh)).thenReturn(freshBook);
+        when(bookRepository.saveAll(List.of(freshBook))).thenReturn(List.of(freshBook));
+        doThrow(uniqueViolation()).when(bookRepository).flush();
+
+        assertThatThrownBy(() -> bookService.createBooksSkippingDuplicates(List.of(fresh)))
+                .isInstanceOf(DuplicateIsbnException.class);
+        verify(membership, never()).recordBook(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject batch larger than configured maximum")
+    void shouldRejectBatchLargerThanConfiguredMaximum() {
+        batchProperties.setMaxItems(1);
+
+        assertThatThrownBy(() -> bookService.createBooks(List.of(bookRequestDto, bookRequestDto)))
+                .isInstanceOf(BatchSizeExceededException.class);
+
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should get books by IDs in requested order and report missing IDs")
+    void shouldGetBooksByIdsInRequestedOrder() {
+        Book third = Book.builder().id(3L).title("Refactoring").build();
+        batchProperties.setLookupChunkSize(2);
+
+        when(bookRepository.findAllById(List.of(3L, 99L))).thenReturn(List.of(third));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(book));
+        when(bookMapper.toResponseDtoList(anyList())).thenReturn(List.of(bookResponseDto, bookResponseDto));
+
+        BookLookupResponseDto result = bookService.getBooksByIds(Arrays.asList(3L, 99L, 3L, null, 1L));
+
+        assertThat(result.getMissingIds()).containsExactly(99L);
+        assertThat(result.getBooks()).hasSize(2);
+
+        verify(bookMapper, times(1)).toResponseDtoList(List.of(third, book));
+        verify(bookRepository, never()).findById(anyLong());
+    }
+
+    private DataIntegrityViolationException uniqueViolation() {
+        return new DataIntegrityViolationException("duplicate key",
+                new SQLException("duplicate key value violates unique constraint \"idx_isbn\"", "23505"));
+    }
+
+    private BookRequestDto validRequest(String isbn) {
+        return BookRequestDto.builder()
+                .title("Clean Code")
+                .author("Robert C. Martin")
+                .isbn(isbn)
+                .publicationDate(LocalDate.of(2008, 8, 1))
+                .price(new BigDecimal("45.99"))
+                .build();
     }
 }
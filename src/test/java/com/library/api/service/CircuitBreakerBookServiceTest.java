@@ -0,0 +1,156 @@
+package com.library.api.service;
+
+import com.library.api.coalescing.SingleFlight;
+import com.library.api.config.CircuitBreakerProperties;
+import com.library.api.config.SingleFlightProperties;
+import com.library.api.dto.BookResponseDto;
+import com.library.api.exception.BookNotFoundException;
+import com.library.api.exception.ServiceOverloadedException;
+import com.library.api.resilience.CircuitBreaker;
+import com.library.api.resilience.StaleResponseStore;
+import com.library.api.service.impl.CircuitBreakerBookService;
+import com.library.api.service.impl.OptimisticLockRetryBookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CircuitBreakerBookService.
+ */
+@DisplayName("CircuitBreakerBookService Tests")
+class CircuitBreakerBookServiceTest {
+
+    private OptimisticLockRetryBookService delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private MockHttpServletRequest request;
+    private CircuitBreakerBookService service;
+    private BookResponseDto book;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setMinimumCalls(2);
+        properties.setOpenDuration(Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+        delegate = mock(OptimisticLockRetryBookService.class);
+        service = new CircuitBreakerBookService(delegate, new CircuitBreaker(properties, meterRegistry),
+                new StaleResponseStore(properties, meterRegistry));
+        book = BookResponseDto.builder().id(1L).title("Clean Code").build();
+
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should serve the last good response when the database fails")
+    void shouldServeStaleOnDatabaseFailure() {
+        when(delegate.getBookById(1L))
+                .thenReturn(book)
+                .thenThrow(new CannotCreateTransactionException("Connection is not available"));
+
+        assertThat(service.getBookById(1L)).isSameAs(book);
+        assertThat(Collections.list(request.getAttributeNames())).isEmpty();
+
+        assertThat(service.getBookById(1L)).isSameAs(book);
+        assertThat(Collections.list(request.getAttributeNames())).hasSize(1);
+        assertThat(meterRegistry.get("library.circuit-breaker.stale-served").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should answer from the stale store without calling the database while open")
+    void shouldFailFastWhileOpen() {
+        when(delegate.getBookById(1L)).thenReturn(book);
+        service.getBookById(1L);
+        when(delegate.getBookById(1L)).thenThrow(new CannotCreateTransactionException("down"));
+        service.getBookById(1L);
+        clearInvocations(delegate);
+
+        assertThat(service.getBookById(1L)).isSameAs(book);
+        verifyNoInteractions(delegate);
+
+        assertThatThrownBy(() -> service.getBookById(2L)).isInstanceOf(ServiceOverloadedException.class);
+        assertThatThrownBy(() -> service.deleteBook(1L)).isInstanceOf(ServiceOverloadedException.class);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("Should rethrow domain errors without serving stale data")
+    void shouldNotServeStaleForDomainErrors() {
+        when(delegate.getBookById(1L))
+                .thenReturn(book)
+                .thenThrow(BookNotFoundException.forId(1L));
+
+        service.getBookById(1L);
+
+        assertThatThrownBy(() -> service.getBookById(1L)).isInstanceOf(BookNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should not serve a stale copy of a book after it was deleted")
+    void shouldEvictStaleCopyOnDelete() {
+        when(delegate.getBookById(1L)).thenReturn(book);
+        service.getBookById(1L);
+        service.deleteBook(1L);
+        when(delegate.getBookById(1L)).thenThrow(new CannotCreateTransactionException("down"));
+
+        assertThatThrownBy(() -> service.getBookById(1L)).isInstanceOf(CannotCreateTransactionException.class);
+    }
+
+    @Test
+    @DisplayName("Should record a failed database call once however many coalesced callers shared it")
+    void shouldRecordSharedFailureOnce() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(new SingleFlightProperties(), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getBookById(1L)).thenAnswer(invocation ->
+                singleFlight.execute("getBookById", List.of(1L), () -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new CannotCreateTransactionException("Connection is not available");
+                }));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                callers.add(executor.submit(() -> service.getBookById(1L)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> caller : callers) {
+                assertThatThrownBy(() -> caller.get(5, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(CannotCreateTransactionException.class);
+            }
+        }
+
+        double executed = meterRegistry.get("library.single-flight.calls").tag("outcome", "executed").counter().count();
+        assertThat(executed).isLessThan(10);
+        assertThat(meterRegistry.get("library.circuit-breaker.calls").tag("outcome", "failure").counter().count())
+                .isEqualTo(executed);
+    }
+}
@@ -0,0 +1,79 @@
+package com.library.api.service;
+
+import com.library.api.config.OptimisticLockRetryProperties;
+import com.library.api.dto.BookRequestDto;
+import com.library.api.dto.BookResponseDto;
+import com.library.api.exception.BookUpdateConflictException;
+import com.library.api.resilience.OptimisticLockRetry;
+import com.library.api.service.impl.OptimisticLockRetryBookService;
+import com.library.api.service.impl.SingleFlightBookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OptimisticLockRetryBookService.
+ */
+@DisplayName("OptimisticLockRetryBookService Tests")
+class OptimisticLockRetryBookServiceTest {
+
+    private SingleFlightBookService delegate;
+    private OptimisticLockRetryBookService service;
+    private BookRequestDto request;
+    private BookResponseDto book;
+
+    @BeforeEach
+    void setUp() {
+        OptimisticLockRetryProperties properties = new OptimisticLockRetryProperties();
+        properties.setMaxAttempts(2);
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        properties.setMaxBackoff(Duration.ofMillis(2));
+        delegate = mock(SingleFlightBookService.class);
+        service = new OptimisticLockRetryBookService(delegate,
+                new OptimisticLockRetry(properties, new SimpleMeterRegistry()));
+        request = BookRequestDto.builder().title("Clean Code").build();
+        book = BookResponseDto.builder().id(1L).title("Clean Code").build();
+    }
+
+    @Test
+    @DisplayName("Should retry an update that lost an optimistic-lock race")
+    void shouldRetryConflictingUpdate() {
+        when(delegate.updateBook(1L, request, null))
+                .thenThrow(conflict())
+                .thenReturn(book);
+
+        assertThat(service.updateBook(1L, request, null)).isSameAs(book);
+        verify(delegate, times(2)).updateBook(1L, request, null);
+    }
+
+    @Test
+    @DisplayName("Should report a conflict once every attempt lost the race")
+    void shouldFailWhenAttemptsRunOut() {
+        when(delegate.patchBook(1L, null, null)).thenThrow(conflict());
+
+        assertThatThrownBy(() -> service.patchBook(1L, null, null))
+                .isInstanceOf(BookUpdateConflictException.class);
+        verify(delegate, times(2)).patchBook(1L, null, null);
+    }
+
+    @Test
+    @DisplayName("Should not retry other calls")
+    void shouldPassOtherCallsThrough() {
+        when(delegate.getBookById(1L)).thenThrow(conflict());
+
+        assertThatThrownBy(() -> service.getBookById(1L))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(delegate, times(1)).getBookById(1L);
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("Book", 1L);
+    }
+}